@@ -3,16 +3,20 @@ package se.sundsvall.accessmapper;
 import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
 import static org.springframework.http.HttpMethod.DELETE;
 import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.PATCH;
 import static org.springframework.http.HttpMethod.POST;
 import static org.springframework.http.HttpMethod.PUT;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.CREATED;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.NO_CONTENT;
 import static org.springframework.http.HttpStatus.OK;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static se.sundsvall.accessmapper.Constants.APPLICATION_MERGE_PATCH_JSON_VALUE;
 
 import java.util.List;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
 import se.sundsvall.dept44.test.AbstractAppTest;
 import se.sundsvall.dept44.test.annotation.wiremock.WireMockAppTestSuite;
@@ -116,4 +120,56 @@ class AccessGroupIT extends AbstractAppTest {
 			.sendRequestAndVerifyResponse();
 
 	}
-}
\ No newline at end of file
+
+	@Test
+	void test06_getAccessGroupsPaged() {
+
+		setupCall()
+			.withServicePath(PATH + "?sort=-groupId&limit=1")
+			.withHttpMethod(GET)
+			.withExpectedResponseStatus(OK)
+			.withExpectedResponseHeader(CONTENT_TYPE, List.of(APPLICATION_JSON_VALUE))
+			.withExpectedResponseHeader("X-Total-Count", List.of("2"))
+			.withExpectedResponse(RESPONSE_FILE)
+			.sendRequestAndVerifyResponse();
+	}
+
+	@Test
+	void test07_importAccessGroups() {
+
+		setupCall()
+			.withServicePath(PATH + "/import")
+			.withHttpMethod(POST)
+			.withRequest(REQUEST_FILE)
+			.withExpectedResponseStatus(NO_CONTENT)
+			.sendRequest();
+
+		setupCall()
+			.withServicePath(PATH + "/import")
+			.withHttpMethod(POST)
+			.withRequest(REQUEST_FILE)
+			.withExpectedResponseStatus(CONFLICT)
+			.withExpectedResponse(RESPONSE_FILE)
+			.sendRequestAndVerifyResponse();
+	}
+
+	@Test
+	void test08_patchAccessGroup() {
+
+		setupCall()
+			.withServicePath(PATH + "/aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa")
+			.withHttpMethod(PATCH)
+			.withContentType(MediaType.parseMediaType(APPLICATION_MERGE_PATCH_JSON_VALUE))
+			.withRequest(REQUEST_FILE)
+			.withExpectedResponseStatus(NO_CONTENT)
+			.sendRequest();
+
+		setupCall()
+			.withServicePath(PATH + "/aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa")
+			.withHttpMethod(GET)
+			.withExpectedResponseStatus(OK)
+			.withExpectedResponseHeader(CONTENT_TYPE, List.of(APPLICATION_JSON_VALUE))
+			.withExpectedResponse(RESPONSE_FILE)
+			.sendRequestAndVerifyResponse();
+	}
+}
@@ -2,6 +2,7 @@ package se.sundsvall.accessmapper;
 
 import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
 import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.POST;
 import static org.springframework.http.HttpStatus.OK;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
@@ -22,6 +23,8 @@ class AccessIT extends AbstractAppTest {
 	private static final String MUNICIPALITY_ID = "2281";
 	private static final String AD_ID = "joe01doe";
 	private static final String PATH = "/" + MUNICIPALITY_ID + "/" + NAMESPACE + "/access/ad/" + AD_ID;
+	private static final String BULK_PATH = "/" + MUNICIPALITY_ID + "/" + NAMESPACE + "/access/ad";
+	private static final String REQUEST_FILE = "request.json";
 	private static final String RESPONSE_FILE = "response.json";
 
 	@Test
@@ -34,4 +37,27 @@ class AccessIT extends AbstractAppTest {
 			.withExpectedResponse(RESPONSE_FILE)
 			.sendRequestAndVerifyResponse();
 	}
+
+	@Test
+	void test02_getBulkAccessDetails() {
+		setupCall()
+			.withServicePath(BULK_PATH)
+			.withHttpMethod(POST)
+			.withRequest(REQUEST_FILE)
+			.withExpectedResponseStatus(OK)
+			.withExpectedResponseHeader(CONTENT_TYPE, List.of(APPLICATION_JSON_VALUE))
+			.withExpectedResponse(RESPONSE_FILE)
+			.sendRequestAndVerifyResponse();
+	}
+
+	@Test
+	void test03_getEffectiveAccess() {
+		setupCall()
+			.withServicePath(PATH + "/effective")
+			.withHttpMethod(GET)
+			.withExpectedResponseStatus(OK)
+			.withExpectedResponseHeader(CONTENT_TYPE, List.of(APPLICATION_JSON_VALUE))
+			.withExpectedResponse(RESPONSE_FILE)
+			.sendRequestAndVerifyResponse();
+	}
 }
@@ -0,0 +1,239 @@
+package se.sundsvall.accessmapper.loadtest;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import se.sundsvall.accessmapper.Application;
+import se.sundsvall.accessmapper.loadtest.FixedRateLoadGenerator.LoadResult;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static java.util.stream.Collectors.joining;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test of {@code GET /{municipalityId}/{namespace}/access/ad/{adId}}. Only runs when the system property
+ * {@code load-test} is {@code true}, see {@link LoadTestSettings} for the size of the seeded configuration, the active
+ * directory delay and the rates to drive. Active directory is simulated by WireMock and the database is the same
+ * MariaDB container as for the other integration tests, so the test runs on a single machine without network access
+ * once the container image is present.
+ * <p>
+ * Latency percentiles and throughput per rate are logged and written to {@code target/load-test/access-load-test.json},
+ * together with the virtual threads pinned to their carrier thread for more than 20 ms during the measured runs, counted
+ * per call site by JFR. Other application properties can be set as system properties as well, for example
+ * {@code -Dspring.threads.virtual.enabled=false} to compare with platform threads, or
+ * {@code -Dintegration.active-directory.group-cache.maximum-size=0} to send every request to active directory.
+ */
+@ActiveProfiles("it")
+@SpringBootTest(
+	webEnvironment = WebEnvironment.RANDOM_PORT,
+	classes = Application.class,
+	properties = {
+		"spring.main.banner-mode=off",
+		"logging.level.root=WARN",
+		"logging.level.se.sundsvall.accessmapper.loadtest=INFO"
+	})
+@Sql("/db/scripts/truncate.sql")
+@EnabledIfSystemProperty(named = "load-test", matches = "true")
+class AccessLoadIT {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(AccessLoadIT.class);
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String NAMESPACE_PREFIX = "LOAD-";
+	private static final String TYPE = "label";
+	private static final String[] ACCESS_LEVELS = {
+		"LR", "R", "RW"
+	};
+	private static final Path REPORT_FILE = Path.of("target", "load-test", "access-load-test.json");
+	private static final Duration PINNED_THRESHOLD = Duration.ofMillis(20);
+
+	private static final WireMockServer WIREMOCK = new WireMockServer(options()
+		.dynamicPort()
+		.containerThreads(200)
+		.asynchronousResponseEnabled(true)
+		.asynchronousResponseThreads(50));
+
+	@Value("${local.server.port}")
+	private int port;
+
+	@Value("${spring.threads.virtual.enabled:false}")
+	private boolean virtualThreads;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DynamicPropertySource
+	static void wireMockProperties(final DynamicPropertyRegistry registry) {
+		if (!WIREMOCK.isRunning()) {
+			WIREMOCK.start();
+		}
+		registry.add("wiremock.server.port", WIREMOCK::port);
+	}
+
+	@AfterAll
+	static void stopWireMock() {
+		WIREMOCK.stop();
+	}
+
+	@Test
+	void getAccessDetailsAtFixedRates() throws IOException {
+		final var settings = LoadTestSettings.fromSystemProperties();
+		final var groupIds = seedAccessConfiguration(settings);
+		final var adIds = stubActiveDirectory(settings, groupIds);
+
+		final var random = new Random(42);
+		final var generator = new FixedRateLoadGenerator();
+		final Supplier<URI> uris = () -> URI.create("http://localhost:%d/%s/%s%d/access/ad/%s".formatted(
+			port, MUNICIPALITY_ID, NAMESPACE_PREFIX, random.nextInt(settings.namespaces()), adIds.get(random.nextInt(adIds.size()))));
+
+		LOGGER.info("Warming up at {} requests per second for {}", settings.rates().getFirst(), settings.warmup());
+		generator.run(settings.rates().getFirst(), settings.warmup(), uris);
+
+		final var results = new ArrayList<LoadResult>();
+		final Map<String, Long> pinnedEventsByFrame;
+		try (var pinnedThreadMonitor = new PinnedThreadMonitor(PINNED_THRESHOLD)) {
+			for (final var rate : settings.rates()) {
+				final var result = generator.run(rate, settings.duration(), uris);
+				LOGGER.info("rate={}/s throughput={}/s requests={} errors={} p50={}ms p99={}ms p999={}ms max={}ms", result.rate(), String.format(Locale.ROOT, "%.1f", result.throughput()),
+					result.requests(), result.errors(), millis(result.p50()), millis(result.p99()), millis(result.p999()), millis(result.max()));
+				results.add(result);
+			}
+			pinnedEventsByFrame = pinnedThreadMonitor.pinnedEventsByFrame();
+			LOGGER.info("Virtual threads pinned for more than {}ms: {}", PINNED_THRESHOLD.toMillis(), pinnedThreadMonitor.pinnedEvents());
+			pinnedEventsByFrame.forEach((frame, count) -> LOGGER.warn("Virtual thread pinned {} times at {}", count, frame));
+		}
+
+		writeReport(settings, results, pinnedEventsByFrame);
+		assertThat(results).hasSameSizeAs(settings.rates()).allSatisfy(result -> assertThat(result.requests()).isPositive());
+	}
+
+	/**
+	 * Seeds every namespace with the same active directory groups, each with one access type holding the configured
+	 * number of patterns.
+	 */
+	private List<String> seedAccessConfiguration(final LoadTestSettings settings) {
+		final var groupIds = IntStream.range(0, settings.groups()).mapToObj(group -> UUID.randomUUID().toString()).toList();
+		final var accessGroups = new ArrayList<Object[]>();
+		final var accessTypes = new ArrayList<Object[]>();
+		final var accesses = new ArrayList<Object[]>();
+
+		for (var namespace = 0; namespace < settings.namespaces(); namespace++) {
+			for (var group = 0; group < settings.groups(); group++) {
+				final var accessGroupId = newId();
+				final var accessTypeId = newId();
+				accessGroups.add(new Object[] {
+					accessGroupId, MUNICIPALITY_ID, NAMESPACE_PREFIX + namespace, groupIds.get(group)
+				});
+				accessTypes.add(new Object[] {
+					accessTypeId, TYPE, accessGroupId
+				});
+				for (var pattern = 0; pattern < settings.patterns(); pattern++) {
+					accesses.add(new Object[] {
+						newId(), accessTypeId, "ORG" + group + "/UNIT" + pattern + "/**", ACCESS_LEVELS[pattern % ACCESS_LEVELS.length]
+					});
+				}
+			}
+		}
+
+		jdbcTemplate.batchUpdate("insert into access_group (id, municipality_id, namespace, group_id) values (?, ?, ?, ?)", accessGroups);
+		jdbcTemplate.batchUpdate("insert into access_type (id, type, access_group_id) values (?, ?, ?)", accessTypes);
+		jdbcTemplate.batchUpdate("insert into access (id, access_type_id, pattern, access_level) values (?, ?, ?, ?)", accesses);
+		return groupIds;
+	}
+
+	private static byte[] newId() {
+		final var id = UUID.randomUUID();
+		return ByteBuffer.allocate(16)
+			.putLong(id.getMostSignificantBits())
+			.putLong(id.getLeastSignificantBits())
+			.array();
+	}
+
+	/**
+	 * Stubs the token endpoint and the groups of every user. The share of configured groups among the groups of a user
+	 * is given by the settings, the rest are groups without access configuration.
+	 */
+	private List<String> stubActiveDirectory(final LoadTestSettings settings, final List<String> groupIds) {
+		final var random = new Random(4711);
+		final var configuredGroupsPerUser = (int) Math.round(settings.groupsPerUser() * settings.configuredGroupShare());
+
+		WIREMOCK.stubFor(post(urlPathEqualTo("/api-gateway/token"))
+			.willReturn(okJson("{\"access_token\":\"load-test-token\",\"token_type\":\"bearer\",\"expires_in\":3600}")));
+
+		final var adIds = IntStream.range(0, settings.users()).mapToObj(user -> "user" + user).toList();
+		adIds.forEach(adId -> {
+			final var groups = IntStream.range(0, settings.groupsPerUser())
+				.mapToObj(group -> group < configuredGroupsPerUser ? groupIds.get(random.nextInt(groupIds.size())) : UUID.randomUUID().toString())
+				.map(guid -> "{\"guid\":\"" + guid + "\",\"schemaClassName\":\"group\"}")
+				.collect(joining(",", "[", "]"));
+
+			WIREMOCK.stubFor(get(urlPathEqualTo("/api-active-directory/" + MUNICIPALITY_ID + "/usergroups/personal/" + adId))
+				.willReturn(settings.withActiveDirectoryDelay(okJson(groups))));
+		});
+		return adIds;
+	}
+
+	private void writeReport(final LoadTestSettings settings, final List<LoadResult> results, final Map<String, Long> pinnedEventsByFrame) throws IOException {
+		final var runs = results.stream()
+			.map(result -> String.format(Locale.ROOT, """
+				{"rate":%d,"requests":%d,"errors":%d,"throughput":%.1f,"p50Ms":%.3f,"p99Ms":%.3f,"p999Ms":%.3f,"maxMs":%.3f}""",
+				result.rate(), result.requests(), result.errors(), result.throughput(), millis(result.p50()), millis(result.p99()), millis(result.p999()), millis(result.max())))
+			.collect(joining(",\n    ", "[\n    ", "\n  ]"));
+		final var pinned = pinnedEventsByFrame.entrySet().stream()
+			.map(entry -> String.format(Locale.ROOT, "\"%s\":%d", entry.getKey(), entry.getValue()))
+			.collect(joining(",", "{", "}"));
+
+		Files.createDirectories(REPORT_FILE.getParent());
+		Files.writeString(REPORT_FILE, String.format(Locale.ROOT, """
+			{
+			  "virtualThreads": %s,
+			  "namespaces": %d,
+			  "groups": %d,
+			  "patterns": %d,
+			  "users": %d,
+			  "groupsPerUser": %d,
+			  "configuredGroupShare": %s,
+			  "activeDirectoryDelay": "%s",
+			  "duration": "%s",
+			  "pinnedThreadsByFrame": %s,
+			  "runs": %s
+			}
+			""", virtualThreads, settings.namespaces(), settings.groups(), settings.patterns(), settings.users(), settings.groupsPerUser(),
+			settings.configuredGroupShare(), settings.activeDirectoryDelay(), settings.duration(), pinned, runs)));
+		LOGGER.info("Load test report written to {}", REPORT_FILE.toAbsolutePath());
+	}
+
+	private static double millis(final Duration duration) {
+		return duration.toNanos() / 1e6;
+	}
+}
@@ -0,0 +1,93 @@
+package se.sundsvall.accessmapper.loadtest;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Sends GET requests at a fixed rate, independent of how fast they are answered. Latency is measured from when a
+ * request was scheduled to be sent, so that a stalled server shows up in the latencies instead of lowering the rate.
+ */
+final class FixedRateLoadGenerator {
+
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+	private final HttpClient httpClient = HttpClient.newBuilder()
+		.executor(Executors.newVirtualThreadPerTaskExecutor())
+		.connectTimeout(Duration.ofSeconds(10))
+		.build();
+
+	LoadResult run(final int rate, final Duration duration, final Supplier<URI> uris) {
+		final var interval = SECONDS.toNanos(1) / rate;
+		final var latencies = new long[Math.toIntExact(rate * duration.toSeconds())];
+		final var errors = new AtomicLong();
+
+		final var start = System.nanoTime();
+		try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (var i = 0; i < latencies.length; i++) {
+				final var index = i;
+				final var scheduled = start + i * interval;
+				final var uri = uris.get();
+				parkUntil(scheduled);
+				executor.submit(() -> {
+					if (!send(uri)) {
+						errors.incrementAndGet();
+					}
+					latencies[index] = System.nanoTime() - scheduled;
+				});
+			}
+		}
+		final var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+		Arrays.sort(latencies);
+		return new LoadResult(rate, latencies.length, errors.get(), latencies.length / (elapsed.toNanos() / 1e9),
+			percentile(latencies, 0.5), percentile(latencies, 0.99), percentile(latencies, 0.999), Duration.ofNanos(latencies[latencies.length - 1]));
+	}
+
+	private boolean send(final URI uri) {
+		try {
+			return httpClient.send(HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).GET().build(), BodyHandlers.discarding()).statusCode() == 200;
+		} catch (final IOException e) {
+			return false;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private static void parkUntil(final long deadline) {
+		for (var remaining = deadline - System.nanoTime(); remaining > 0; remaining = deadline - System.nanoTime()) {
+			LockSupport.parkNanos(remaining);
+		}
+	}
+
+	private static Duration percentile(final long[] sortedLatencies, final double percentile) {
+		final var index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+		return Duration.ofNanos(sortedLatencies[Math.max(index, 0)]);
+	}
+
+	/**
+	 * The outcome of driving one rate.
+	 *
+	 * @param rate       the requested rate per second
+	 * @param requests   the number of requests sent
+	 * @param errors     the number of requests not answered with 200 OK
+	 * @param throughput the number of requests completed per second
+	 * @param p50        the median latency
+	 * @param p99        the 99th percentile latency
+	 * @param p999       the 99.9th percentile latency
+	 * @param max        the highest latency
+	 */
+	record LoadResult(int rate, long requests, long errors, double throughput, Duration p50, Duration p99, Duration p999, Duration max) {
+	}
+}
@@ -0,0 +1,60 @@
+package se.sundsvall.accessmapper.loadtest;
+
+import static java.lang.Integer.parseInt;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Settings for {@link AccessLoadIT}, read from system properties prefixed with {@code load-test.}.
+ *
+ * @param namespaces           number of namespaces to seed
+ * @param groups               number of access groups to seed per namespace
+ * @param patterns             number of patterns to seed per access group
+ * @param users                number of active directory users to request access details for
+ * @param groupsPerUser        number of active directory groups per user
+ * @param configuredGroupShare share of the active directory groups of a user that are configured access groups
+ * @param activeDirectoryDelay delay distribution for active directory responses: {@code fixed:<ms>},
+ *                             {@code uniform:<min ms>:<max ms>} or {@code lognormal:<median ms>:<sigma>}
+ * @param rates                request rates per second to drive, one run each
+ * @param warmup               how long to drive the first rate before measuring
+ * @param duration             how long to drive each rate
+ */
+record LoadTestSettings(int namespaces, int groups, int patterns, int users, int groupsPerUser, double configuredGroupShare,
+	String activeDirectoryDelay, List<Integer> rates, Duration warmup, Duration duration) {
+
+	private static final String PREFIX = "load-test.";
+
+	static LoadTestSettings fromSystemProperties() {
+		return new LoadTestSettings(
+			parseInt(property("namespaces", "5")),
+			parseInt(property("groups", "200")),
+			parseInt(property("patterns", "10")),
+			parseInt(property("users", "1000")),
+			parseInt(property("groups-per-user", "20")),
+			Double.parseDouble(property("configured-group-share", "0.5")),
+			property("active-directory-delay", "lognormal:40:0.5"),
+			Arrays.stream(property("rates", "50,100,200").split(",")).map(String::trim).map(Integer::valueOf).toList(),
+			Duration.parse(property("warmup", "PT10S")),
+			Duration.parse(property("duration", "PT30S")));
+	}
+
+	/**
+	 * Adds the configured delay distribution to an active directory response.
+	 */
+	ResponseDefinitionBuilder withActiveDirectoryDelay(final ResponseDefinitionBuilder response) {
+		final var parts = activeDirectoryDelay.split(":");
+		return switch (parts[0]) {
+			case "fixed" -> response.withFixedDelay(parseInt(parts[1]));
+			case "uniform" -> response.withUniformRandomDelay(parseInt(parts[1]), parseInt(parts[2]));
+			case "lognormal" -> response.withLogNormalRandomDelay(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+			default -> throw new IllegalArgumentException("Unknown active directory delay: " + activeDirectoryDelay);
+		};
+	}
+
+	private static String property(final String name, final String defaultValue) {
+		return System.getProperty(PREFIX + name, defaultValue);
+	}
+}
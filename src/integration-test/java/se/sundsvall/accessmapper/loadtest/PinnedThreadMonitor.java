@@ -0,0 +1,62 @@
+package se.sundsvall.accessmapper.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Counts the JFR {@code jdk.VirtualThreadPinned} events emitted while it is open, that is every time a virtual thread
+ * blocked for longer than the threshold without being able to unmount from its carrier thread. The events are counted
+ * per top application frame, so that a pinning call site shows up in the load test report.
+ */
+final class PinnedThreadMonitor implements AutoCloseable {
+
+	private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+	private static final String APPLICATION_PACKAGE = "se.sundsvall.";
+	private static final String UNKNOWN_FRAME = "unknown";
+
+	private final RecordingStream recordingStream = new RecordingStream();
+	private final AtomicLong pinnedEvents = new AtomicLong();
+	private final Map<String, AtomicLong> pinnedEventsByFrame = new ConcurrentHashMap<>();
+
+	PinnedThreadMonitor(final Duration threshold) {
+		recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+		recordingStream.onEvent(PINNED_EVENT, this::count);
+		recordingStream.startAsync();
+	}
+
+	long pinnedEvents() {
+		return pinnedEvents.get();
+	}
+
+	Map<String, Long> pinnedEventsByFrame() {
+		final var result = new ConcurrentHashMap<String, Long>();
+		pinnedEventsByFrame.forEach((frame, count) -> result.put(frame, count.get()));
+		return result;
+	}
+
+	@Override
+	public void close() {
+		recordingStream.close();
+	}
+
+	private void count(final RecordedEvent event) {
+		pinnedEvents.incrementAndGet();
+		pinnedEventsByFrame.computeIfAbsent(topApplicationFrame(event), frame -> new AtomicLong()).incrementAndGet();
+	}
+
+	private static String topApplicationFrame(final RecordedEvent event) {
+		return Optional.ofNullable(event.getStackTrace()).stream()
+			.flatMap(stackTrace -> stackTrace.getFrames().stream())
+			.filter(RecordedFrame::isJavaFrame)
+			.map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber())
+			.filter(frame -> frame.startsWith(APPLICATION_PACKAGE))
+			.findFirst()
+			.orElse(UNKNOWN_FRAME);
+	}
+}
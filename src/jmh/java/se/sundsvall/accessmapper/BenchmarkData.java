@@ -0,0 +1,66 @@
+package se.sundsvall.accessmapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import se.sundsvall.accessmapper.api.model.Access;
+import se.sundsvall.accessmapper.api.model.AccessGroup;
+import se.sundsvall.accessmapper.api.model.AccessLevel;
+import se.sundsvall.accessmapper.api.model.AccessType;
+import se.sundsvall.accessmapper.integration.db.model.AccessEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessGroupEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessTypeEntity;
+
+/**
+ * Builds access configurations of a given size for the benchmarks. Types are named type0, type1 and so on, and
+ * patterns are three segments deep, like a typical label hierarchy.
+ */
+public final class BenchmarkData {
+
+	public static final String MUNICIPALITY_ID = "2281";
+	public static final String NAMESPACE = "BENCHMARK";
+
+	private static final AccessLevel[] ACCESS_LEVELS = AccessLevel.values();
+
+	private BenchmarkData() {}
+
+	public static List<AccessGroupEntity> createAccessGroupEntities(final int groupCount, final int typesPerGroup, final int patternsPerType) {
+		return IntStream.range(0, groupCount)
+			.mapToObj(group -> AccessGroupEntity.create()
+				.withId(UUID.randomUUID())
+				.withMunicipalityId(MUNICIPALITY_ID)
+				.withNamespace(NAMESPACE)
+				.withGroupId(UUID.randomUUID().toString())
+				.withAccessByType(new ArrayList<>(IntStream.range(0, typesPerGroup)
+					.mapToObj(type -> AccessTypeEntity.create()
+						.withId(UUID.randomUUID())
+						.withType("type" + type)
+						.withAccess(new ArrayList<>(IntStream.range(0, patternsPerType)
+							.mapToObj(pattern -> AccessEntity.create()
+								.withId(UUID.randomUUID())
+								.withPattern(toPattern(group, pattern))
+								.withAccessLevel(ACCESS_LEVELS[pattern % ACCESS_LEVELS.length].name()))
+							.toList())))
+					.toList())))
+			.toList();
+	}
+
+	public static AccessGroup createAccessGroup(final int typesPerGroup, final int patternsPerType) {
+		return AccessGroup.create()
+			.withGroupId(UUID.randomUUID().toString())
+			.withAccessByType(IntStream.range(0, typesPerGroup)
+				.mapToObj(type -> AccessType.create()
+					.withType("type" + type)
+					.withAccess(IntStream.range(0, patternsPerType)
+						.mapToObj(pattern -> Access.create()
+							.withPattern(toPattern(type, pattern))
+							.withAccessLevel(ACCESS_LEVELS[pattern % ACCESS_LEVELS.length]))
+						.toList()))
+				.toList());
+	}
+
+	private static String toPattern(final int group, final int pattern) {
+		return "ORG" + group + "/UNIT" + (pattern / 10) + "/TEAM" + pattern;
+	}
+}
@@ -0,0 +1,192 @@
+package se.sundsvall.accessmapper.service;
+
+import generated.se.sundsvall.activedirectory.OUChildren;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import se.sundsvall.accessmapper.api.model.AccessGroup;
+import se.sundsvall.accessmapper.integration.activedirectory.ActiveDirectoryClient;
+import se.sundsvall.accessmapper.integration.activedirectory.ActiveDirectoryIntegration;
+import se.sundsvall.accessmapper.integration.activedirectory.configuration.ActiveDirectoryProperties;
+import se.sundsvall.accessmapper.integration.activedirectory.configuration.ActiveDirectoryProperties.GroupCache;
+import se.sundsvall.accessmapper.integration.activedirectory.configuration.ActiveDirectoryProperties.GroupMirror;
+import se.sundsvall.accessmapper.integration.activedirectory.configuration.ActiveDirectoryProperties.LastKnownGroups;
+import se.sundsvall.accessmapper.integration.db.AccessConfigurationVersionRepository;
+import se.sundsvall.accessmapper.integration.db.AccessGroupRepository;
+import se.sundsvall.accessmapper.integration.db.AccessUserRepository;
+import se.sundsvall.accessmapper.integration.db.model.AccessGroupEntity;
+import se.sundsvall.accessmapper.service.membership.ActiveDirectoryGroupMirror;
+import se.sundsvall.accessmapper.service.metrics.AccessMetrics;
+import se.sundsvall.accessmapper.service.snapshot.AccessConfigurationIndex;
+
+import static se.sundsvall.accessmapper.BenchmarkData.MUNICIPALITY_ID;
+import static se.sundsvall.accessmapper.BenchmarkData.NAMESPACE;
+import static se.sundsvall.accessmapper.BenchmarkData.createAccessGroupEntities;
+
+/**
+ * Measures {@link AccessService#getAccessDetails} with active directory answered by an in-memory stub and the
+ * repositories answered from memory, so that only the service, the group cache and the configuration snapshot are
+ * measured. Each user is a member of the given number of active directory groups, half of which are configured. With
+ * the group mirror enabled, the groups of the users are resolved from the synced mirror instead of the group cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccessServiceBenchmark {
+
+	private static final int USER_COUNT = 1000;
+
+	@Param({
+		"100", "1000", "10000"
+	})
+	private int groupCount;
+
+	@Param({
+		"10", "50"
+	})
+	private int groupsPerUser;
+
+	@Param({
+		"false", "true"
+	})
+	private boolean groupMirror;
+
+	private AccessService accessService;
+	private List<String> adIds;
+	private int nextUser;
+
+	@Setup
+	public void setUp() {
+		final var accessGroupEntities = createAccessGroupEntities(groupCount, 3, 20);
+		final var groupsByAdId = createGroupsByAdId(accessGroupEntities);
+		adIds = new ArrayList<>(groupsByAdId.keySet());
+
+		final var properties = new ActiveDirectoryProperties(5, 30, "personal", 20,
+			new GroupCache(USER_COUNT * 2L, Duration.ofHours(1), Duration.ofHours(1), Duration.ofHours(1)),
+			new LastKnownGroups(Duration.ofHours(24), Duration.ofSeconds(2), Duration.ofSeconds(10)),
+			new GroupMirror(groupMirror, Duration.ofMinutes(5), Duration.ofHours(1)));
+		final var meterRegistry = new SimpleMeterRegistry();
+		final var activeDirectoryIntegration = new ActiveDirectoryIntegration(new StubActiveDirectoryClient(groupsByAdId, createMembersByGroupId(groupsByAdId)), properties, meterRegistry);
+
+		final var accessGroupRepository = inMemoryRepository(AccessGroupRepository.class, Map.of(
+			"findAllByMunicipalityIdAndNamespace", args -> accessGroupEntities,
+			"findDistinctMunicipalityIds", args -> List.of(MUNICIPALITY_ID),
+			"findDistinctGroupIdsByMunicipalityId", args -> accessGroupEntities.stream().map(AccessGroupEntity::getGroupId).distinct().toList()));
+		final var accessUserRepository = inMemoryRepository(AccessUserRepository.class, Map.of(
+			"findAllByMunicipalityIdAndNamespace", args -> List.of()));
+		final var accessConfigurationVersionRepository = inMemoryRepository(AccessConfigurationVersionRepository.class, Map.of(
+			"findAll", args -> List.of(),
+			"findByMunicipalityIdAndNamespace", args -> Optional.empty()));
+
+		final var activeDirectoryGroupMirror = new ActiveDirectoryGroupMirror(accessGroupRepository, activeDirectoryIntegration, meterRegistry, properties);
+		activeDirectoryGroupMirror.sync();
+
+		accessService = new AccessService(activeDirectoryIntegration, activeDirectoryGroupMirror,
+			new AccessConfigurationIndex(accessGroupRepository, accessUserRepository, accessConfigurationVersionRepository, new NoTransactionManager()),
+			new AccessMetrics(meterRegistry));
+	}
+
+	@Benchmark
+	public List<AccessGroup> getAccessDetails() {
+		return accessService.getAccessDetails(MUNICIPALITY_ID, NAMESPACE, nextAdId(), null);
+	}
+
+	@Benchmark
+	public List<AccessGroup> getAccessDetailsWithType() {
+		return accessService.getAccessDetails(MUNICIPALITY_ID, NAMESPACE, nextAdId(), "type0");
+	}
+
+	private String nextAdId() {
+		nextUser = (nextUser + 1) % adIds.size();
+		return adIds.get(nextUser);
+	}
+
+	private Map<String, List<OUChildren>> createGroupsByAdId(final List<AccessGroupEntity> accessGroupEntities) {
+		final var groupsByAdId = new HashMap<String, List<OUChildren>>();
+		IntStream.range(0, USER_COUNT).forEach(user -> groupsByAdId.put("user" + user, IntStream.range(0, groupsPerUser)
+			.mapToObj(group -> new OUChildren().guid(group % 2 == 0
+				? UUID.fromString(accessGroupEntities.get((user * groupsPerUser + group) % accessGroupEntities.size()).getGroupId())
+				: UUID.randomUUID()))
+			.toList()));
+		return groupsByAdId;
+	}
+
+	private static Map<String, List<OUChildren>> createMembersByGroupId(final Map<String, List<OUChildren>> groupsByAdId) {
+		final var membersByGroupId = new HashMap<String, List<OUChildren>>();
+		groupsByAdId.forEach((adId, groups) -> groups.forEach(group -> membersByGroupId
+			.computeIfAbsent(group.getGuid().toString(), key -> new ArrayList<>())
+			.add(new OUChildren().name(adId))));
+		return membersByGroupId;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T inMemoryRepository(final Class<T> repositoryType, final Map<String, Function<Object[], Object>> methods) {
+		return (T) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[] {
+			repositoryType
+		}, (proxy, method, args) -> {
+			final var implementation = methods.get(method.getName());
+			if (implementation == null) {
+				throw new UnsupportedOperationException(method.getName());
+			}
+			return implementation.apply(args);
+		});
+	}
+
+	private record StubActiveDirectoryClient(Map<String, List<OUChildren>> groupsByAdId, Map<String, List<OUChildren>> membersByGroupId) implements ActiveDirectoryClient {
+
+		@Override
+		public List<OUChildren> getGroupsForUser(final String municipalityId, final String domain, final String user) {
+			return groupsByAdId.get(user);
+		}
+
+		@Override
+		public List<OUChildren> getGroupMembers(final String municipalityId, final String domain, final String group) {
+			return membersByGroupId.getOrDefault(group, List.of());
+		}
+	}
+
+	private static final class NoTransactionManager implements PlatformTransactionManager {
+
+		@Override
+		public TransactionStatus getTransaction(final TransactionDefinition definition) {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(final TransactionStatus status) {
+			// Nothing to commit in memory
+		}
+
+		@Override
+		public void rollback(final TransactionStatus status) {
+			// Nothing to roll back in memory
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package se.sundsvall.accessmapper.service.mapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import se.sundsvall.accessmapper.api.model.AccessGroup;
+import se.sundsvall.accessmapper.integration.db.model.AccessGroupEntity;
+
+import static se.sundsvall.accessmapper.BenchmarkData.MUNICIPALITY_ID;
+import static se.sundsvall.accessmapper.BenchmarkData.NAMESPACE;
+import static se.sundsvall.accessmapper.BenchmarkData.createAccessGroup;
+import static se.sundsvall.accessmapper.BenchmarkData.createAccessGroupEntities;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+	@Param({
+		"10", "100", "1000"
+	})
+	private int groupCount;
+
+	@Param({
+		"1", "5"
+	})
+	private int typesPerGroup;
+
+	@Param({
+		"10", "50"
+	})
+	private int patternsPerType;
+
+	private List<AccessGroupEntity> entities;
+	private AccessGroup accessGroup;
+
+	@Setup
+	public void setUp() {
+		entities = createAccessGroupEntities(groupCount, typesPerGroup, patternsPerType);
+		accessGroup = createAccessGroup(typesPerGroup, patternsPerType);
+	}
+
+	@Benchmark
+	public List<AccessGroup> toAccessGroups() {
+		return Mapper.toAccessGroups(entities);
+	}
+
+	@Benchmark
+	public AccessGroupEntity toAccessGroupEntity() {
+		return Mapper.toAccessGroupEntity(MUNICIPALITY_ID, NAMESPACE, accessGroup);
+	}
+}
@@ -0,0 +1,43 @@
+package se.sundsvall.accessmapper.service.util;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+import se.sundsvall.accessmapper.integration.db.model.AccessGroupEntity;
+
+import static se.sundsvall.accessmapper.BenchmarkData.MUNICIPALITY_ID;
+import static se.sundsvall.accessmapper.BenchmarkData.NAMESPACE;
+import static se.sundsvall.accessmapper.service.util.SpecificationBuilder.withAccessType;
+import static se.sundsvall.accessmapper.service.util.SpecificationBuilder.withMunicipalityId;
+import static se.sundsvall.accessmapper.service.util.SpecificationBuilder.withNamespace;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpecificationBuilderBenchmark {
+
+	private String municipalityId = MUNICIPALITY_ID;
+	private String namespace = NAMESPACE;
+	private String type = "type0";
+
+	@Benchmark
+	public Specification<AccessGroupEntity> withMunicipalityIdAndNamespace() {
+		return withMunicipalityId(municipalityId).and(withNamespace(namespace));
+	}
+
+	@Benchmark
+	public Specification<AccessGroupEntity> withMunicipalityIdAndNamespaceAndAccessType() {
+		return withMunicipalityId(municipalityId).and(withNamespace(namespace)).and(withAccessType(type));
+	}
+}
@@ -5,6 +5,15 @@ public final class Constants {
 	public static final String NAMESPACE_REGEXP = "[\\w|\\-]+";
 	public static final String NAMESPACE_VALIDATION_MESSAGE = "can only contain A-Z, a-z, 0-9, - and _";
 	public static final String LOCAL_STORED_ACCESS_GROUP = "LOCAL STORED USER ACCESS";
+	public static final String ACCESS_GROUP_SORT_REGEXP = "-?(id|groupId)";
+	public static final String ACCESS_USER_SORT_REGEXP = "-?(id|userId)";
+	public static final String SORT_VALIDATION_MESSAGE = "must be a sortable property, optionally prefixed with - for descending order";
+	public static final int MAX_PAGE_SIZE = 1000;
+	public static final int MAX_IMPORT_SIZE = 50_000;
+	public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+	public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+	public static final String DATA_AGE_HEADER = "X-Data-Age";
+	public static final String APPLICATION_MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
 
 	private Constants() {}
 }
@@ -0,0 +1,135 @@
+package se.sundsvall.accessmapper.api;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Pattern;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import se.sundsvall.accessmapper.api.model.AccessConfigurationExportEntry;
+import se.sundsvall.accessmapper.service.AccessConfigurationExportService;
+import se.sundsvall.dept44.common.validators.annotation.ValidMunicipalityId;
+import se.sundsvall.dept44.problem.Problem;
+import se.sundsvall.dept44.problem.violations.ConstraintViolationProblem;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_PROBLEM_JSON_VALUE;
+import static se.sundsvall.accessmapper.Constants.NAMESPACE_REGEXP;
+import static se.sundsvall.accessmapper.Constants.NAMESPACE_VALIDATION_MESSAGE;
+import static se.sundsvall.dept44.util.LogUtils.sanitizeForLogging;
+
+@RestController
+@Validated
+@RequestMapping(value = "/{municipalityId}/{namespace}/access-config/export", produces = APPLICATION_NDJSON_VALUE)
+@Tag(name = "Access configuration", description = "Access configuration resources")
+@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = {
+	Problem.class, ConstraintViolationProblem.class
+})))
+@ApiResponse(responseCode = "500", description = "Internal Server error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+class AccessConfigurationExportResource {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(AccessConfigurationExportResource.class);
+
+	private static final byte LINE_SEPARATOR = '\n';
+	private static final String TOO_MANY_EXPORTS = "Too many exports are running, try again later";
+
+	private final AccessConfigurationExportService accessConfigurationExportService;
+	private final JsonMapper jsonMapper;
+	private final AsyncTaskExecutor taskExecutor;
+	private final Semaphore exportPermits;
+	private final Duration exportTimeout;
+
+	AccessConfigurationExportResource(final AccessConfigurationExportService accessConfigurationExportService, final JsonMapper jsonMapper,
+		@Qualifier("applicationTaskExecutor") final AsyncTaskExecutor taskExecutor,
+		@Value("${access-configuration.export-concurrency}") final int exportConcurrency,
+		@Value("${access-configuration.export-timeout}") final Duration exportTimeout) {
+		this.accessConfigurationExportService = accessConfigurationExportService;
+		this.jsonMapper = jsonMapper;
+		this.taskExecutor = taskExecutor;
+		this.exportPermits = new Semaphore(exportConcurrency);
+		this.exportTimeout = exportTimeout;
+	}
+
+	@GetMapping
+	@ApiResponse(responseCode = "200", description = "Successful operation, one access group or access user per line", content = @Content(mediaType = APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = AccessConfigurationExportEntry.class)))
+	@ApiResponse(responseCode = "503", description = "Service unavailable, too many exports are running", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+	ResponseEntity<ResponseBodyEmitter> exportAccessConfiguration(
+		@Parameter(name = "municipalityId", description = "Municipality ID", example = "2281") @ValidMunicipalityId @PathVariable final String municipalityId,
+		@Parameter(name = "namespace", description = "Namespace", example = "MY_NAMESPACE") @Pattern(regexp = NAMESPACE_REGEXP, message = NAMESPACE_VALIDATION_MESSAGE) @PathVariable final String namespace) {
+
+		// Every running export holds a permit until it has completed, so that exports cannot take up all task threads
+		if (!exportPermits.tryAcquire()) {
+			throw Problem.valueOf(SERVICE_UNAVAILABLE, TOO_MANY_EXPORTS);
+		}
+
+		// The emitter carries its own timeout, so that only exports may run longer than a regular request
+		final var emitter = new ResponseBodyEmitter(exportTimeout.toMillis());
+		try {
+			taskExecutor.execute(() -> export(municipalityId, namespace, emitter));
+		} catch (final TaskRejectedException e) {
+			exportPermits.release();
+			throw Problem.valueOf(SERVICE_UNAVAILABLE, TOO_MANY_EXPORTS);
+		}
+
+		return ResponseEntity.ok()
+			.contentType(APPLICATION_NDJSON)
+			.body(emitter);
+	}
+
+	private void export(final String municipalityId, final String namespace, final ResponseBodyEmitter emitter) {
+		try {
+			exportWithPermit(municipalityId, namespace, emitter);
+			emitter.complete();
+		} catch (final RuntimeException e) {
+			LOGGER.error("Export of access configuration failed for municipalityId: {}, namespace: {}", sanitizeForLogging(municipalityId), sanitizeForLogging(namespace), e);
+			emitter.completeWithError(e);
+		}
+	}
+
+	/**
+	 * Releases the permit before the response is completed, so that a client can start its next export as soon as it
+	 * has received this one.
+	 */
+	private void exportWithPermit(final String municipalityId, final String namespace, final ResponseBodyEmitter emitter) {
+		try {
+			accessConfigurationExportService.exportAccessConfiguration(municipalityId, namespace, page -> sendPage(emitter, page));
+		} finally {
+			exportPermits.release();
+		}
+	}
+
+	private void sendPage(final ResponseBodyEmitter emitter, final List<AccessConfigurationExportEntry> page) {
+		try {
+			final var lines = new ByteArrayOutputStream();
+			for (final var entry : page) {
+				lines.write(jsonMapper.writeValueAsBytes(entry));
+				lines.write(LINE_SEPARATOR);
+			}
+			emitter.send(lines.toByteArray());
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -6,12 +6,18 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -19,22 +25,32 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import se.sundsvall.accessmapper.api.model.AccessGroup;
 import se.sundsvall.accessmapper.service.AccessGroupService;
 import se.sundsvall.dept44.common.validators.annotation.ValidMunicipalityId;
 import se.sundsvall.dept44.common.validators.annotation.ValidUuid;
 import se.sundsvall.dept44.problem.Problem;
 import se.sundsvall.dept44.problem.violations.ConstraintViolationProblem;
+import tools.jackson.databind.JsonNode;
 
 import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
 import static org.springframework.http.MediaType.ALL_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_PROBLEM_JSON_VALUE;
 import static org.springframework.http.ResponseEntity.created;
 import static org.springframework.http.ResponseEntity.noContent;
 import static org.springframework.web.util.UriComponentsBuilder.fromPath;
+import static se.sundsvall.accessmapper.Constants.ACCESS_GROUP_SORT_REGEXP;
+import static se.sundsvall.accessmapper.Constants.APPLICATION_MERGE_PATCH_JSON_VALUE;
+import static se.sundsvall.accessmapper.Constants.MAX_IMPORT_SIZE;
+import static se.sundsvall.accessmapper.Constants.MAX_PAGE_SIZE;
 import static se.sundsvall.accessmapper.Constants.NAMESPACE_REGEXP;
 import static se.sundsvall.accessmapper.Constants.NAMESPACE_VALIDATION_MESSAGE;
+import static se.sundsvall.accessmapper.Constants.NEXT_CURSOR_HEADER;
+import static se.sundsvall.accessmapper.Constants.SORT_VALIDATION_MESSAGE;
+import static se.sundsvall.accessmapper.Constants.TOTAL_COUNT_HEADER;
 
 @RestController
 @Validated
@@ -54,11 +70,31 @@ class AccessGroupResource {
 
 	@GetMapping(produces = APPLICATION_JSON_VALUE)
 	@ApiResponse(responseCode = "200", description = "Successful operation")
+	@ApiResponse(responseCode = "304", description = "Not modified")
 	ResponseEntity<List<AccessGroup>> getAccessGroups(
 		@Parameter(name = "municipalityId", description = "Municipality ID", example = "2281") @ValidMunicipalityId @PathVariable final String municipalityId,
 		@Parameter(name = "namespace", description = "Namespace", example = "MY_NAMESPACE") @Pattern(regexp = NAMESPACE_REGEXP, message = NAMESPACE_VALIDATION_MESSAGE) @PathVariable final String namespace,
-		@Parameter(name = "type", description = "Filter type", example = "label") @RequestParam(required = false) final String type) {
-		return ResponseEntity.ok(accessGroupService.getAccessGroups(municipalityId, namespace, type));
+		@Parameter(name = "type", description = "Filter type", example = "label") @RequestParam(required = false) final String type,
+		@Parameter(name = "sort", description = "Property to sort on, prefixed with - for descending order", example = "groupId") @Pattern(regexp = ACCESS_GROUP_SORT_REGEXP, message = SORT_VALIDATION_MESSAGE) @RequestParam(required = false) final String sort,
+		@Parameter(name = "limit", description = "Maximum number of access groups to return. When set, the access groups are returned one page at a time", example = "100") @Min(1) @Max(MAX_PAGE_SIZE) @RequestParam(required = false) final Integer limit,
+		@Parameter(name = "after", description = "Cursor from the X-Next-Cursor header of the previous page. Only used together with limit") @RequestParam(required = false) final String after,
+		final WebRequest webRequest) {
+
+		final var eTag = accessGroupService.getAccessGroupsETag(municipalityId, namespace, type, sort, limit, after);
+		if (webRequest.checkNotModified(eTag)) {
+			return ResponseEntity.status(NOT_MODIFIED).eTag(eTag).build();
+		}
+
+		if (limit == null) {
+			final var accessGroups = accessGroupService.getAccessGroups(municipalityId, namespace, type, sort);
+			return ResponseEntity.ok().eTag(eTag).body(accessGroups);
+		}
+
+		final var page = accessGroupService.getAccessGroupPage(municipalityId, namespace, type, sort, after, limit);
+		return ResponseEntity.ok().eTag(eTag)
+			.header(TOTAL_COUNT_HEADER, String.valueOf(page.totalCount()))
+			.headers(headers -> Optional.ofNullable(page.nextCursor()).ifPresent(cursor -> headers.set(NEXT_CURSOR_HEADER, cursor)))
+			.body(page.content());
 	}
 
 	@GetMapping(path = "/{id}", produces = APPLICATION_JSON_VALUE)
@@ -84,6 +120,19 @@ class AccessGroupResource {
 			.build();
 	}
 
+	@PostMapping(path = "/import", consumes = APPLICATION_JSON_VALUE, produces = ALL_VALUE)
+	@ApiResponse(responseCode = "204", description = "No content - Successful operation", useReturnTypeSchema = true)
+	@ApiResponse(responseCode = "409", description = "Conflict", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+	ResponseEntity<Void> importAccessGroups(
+		@Parameter(name = "municipalityId", description = "Municipality ID", example = "2281") @ValidMunicipalityId @PathVariable final String municipalityId,
+		@Parameter(name = "namespace", description = "Namespace", example = "MY_NAMESPACE") @Pattern(regexp = NAMESPACE_REGEXP, message = NAMESPACE_VALIDATION_MESSAGE) @PathVariable final String namespace,
+		@RequestBody @NotEmpty @Size(max = MAX_IMPORT_SIZE) final List<AccessGroup> accessGroups) {
+		accessGroupService.importAccessGroups(municipalityId, namespace, accessGroups);
+		return noContent()
+			.header(CONTENT_TYPE, ALL_VALUE)
+			.build();
+	}
+
 	@PutMapping(path = "/{id}", consumes = APPLICATION_JSON_VALUE, produces = ALL_VALUE)
 	@ApiResponse(responseCode = "204", description = "No content - Successful operation", useReturnTypeSchema = true)
 	@ApiResponse(responseCode = "404", description = "Not found", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
@@ -98,6 +147,20 @@ class AccessGroupResource {
 			.build();
 	}
 
+	@PatchMapping(path = "/{id}", consumes = APPLICATION_MERGE_PATCH_JSON_VALUE, produces = ALL_VALUE)
+	@ApiResponse(responseCode = "204", description = "No content - Successful operation", useReturnTypeSchema = true)
+	@ApiResponse(responseCode = "404", description = "Not found", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+	ResponseEntity<Void> patchAccessGroup(
+		@Parameter(name = "municipalityId", description = "Municipality ID", example = "2281") @ValidMunicipalityId @PathVariable final String municipalityId,
+		@Parameter(name = "namespace", description = "Namespace", example = "MY_NAMESPACE") @Pattern(regexp = NAMESPACE_REGEXP, message = NAMESPACE_VALIDATION_MESSAGE) @PathVariable final String namespace,
+		@Parameter(name = "id", description = "Access group ID", example = "550e8400-e29b-41d4-a716-446655440000") @ValidUuid @PathVariable final String id,
+		@io.swagger.v3.oas.annotations.parameters.RequestBody(description = "JSON merge patch (RFC 7386) to apply", required = true, content = @Content(mediaType = APPLICATION_MERGE_PATCH_JSON_VALUE, schema = @Schema(implementation = AccessGroup.class))) @RequestBody final JsonNode patch) {
+		accessGroupService.patchAccessGroup(municipalityId, namespace, id, patch);
+		return noContent()
+			.header(CONTENT_TYPE, ALL_VALUE)
+			.build();
+	}
+
 	@DeleteMapping(path = "/{id}", produces = ALL_VALUE)
 	@ApiResponse(responseCode = "204", description = "No content - Successful operation", useReturnTypeSchema = true)
 	@ApiResponse(responseCode = "404", description = "Not found", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
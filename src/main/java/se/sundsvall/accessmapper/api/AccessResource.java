@@ -1,27 +1,40 @@
 package se.sundsvall.accessmapper.api;
 
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import java.util.List;
+import java.util.Map;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import se.sundsvall.accessmapper.api.model.AccessDecision;
+import se.sundsvall.accessmapper.api.model.AccessDetailsResult;
+import se.sundsvall.accessmapper.api.model.AccessDetailsRequest;
 import se.sundsvall.accessmapper.api.model.AccessGroup;
+import se.sundsvall.accessmapper.api.model.AccessType;
 import se.sundsvall.accessmapper.service.AccessService;
 import se.sundsvall.dept44.common.validators.annotation.ValidMunicipalityId;
 import se.sundsvall.dept44.problem.Problem;
 import se.sundsvall.dept44.problem.violations.ConstraintViolationProblem;
 
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_PROBLEM_JSON_VALUE;
+import static se.sundsvall.accessmapper.Constants.DATA_AGE_HEADER;
 import static se.sundsvall.accessmapper.Constants.NAMESPACE_REGEXP;
 import static se.sundsvall.accessmapper.Constants.NAMESPACE_VALIDATION_MESSAGE;
 
@@ -35,6 +48,8 @@ import static se.sundsvall.accessmapper.Constants.NAMESPACE_VALIDATION_MESSAGE;
 @ApiResponse(responseCode = "500", description = "Internal Server error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
 class AccessResource {
 
+	private static final String DATA_AGE_DESCRIPTION = "Age in seconds of the active directory groups that the access groups were resolved from";
+
 	private final AccessService accessService;
 
 	AccessResource(final AccessService accessService) {
@@ -42,14 +57,53 @@ class AccessResource {
 	}
 
 	@GetMapping(path = "/ad/{adId}")
-	@ApiResponse(responseCode = "200", description = "Successful operation", useReturnTypeSchema = true)
+	@ApiResponse(responseCode = "200", description = "Successful operation", useReturnTypeSchema = true, headers = @Header(name = DATA_AGE_HEADER, description = DATA_AGE_DESCRIPTION, schema = @Schema(type = "integer", format = "int64")))
+	@ApiResponse(responseCode = "304", description = "Not modified", headers = @Header(name = DATA_AGE_HEADER, description = DATA_AGE_DESCRIPTION, schema = @Schema(type = "integer", format = "int64")))
 	@ApiResponse(responseCode = "404", description = "Not found", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
 	ResponseEntity<List<AccessGroup>> getAccessDetails(
 		@Parameter(name = "municipalityId", description = "Municipality ID", example = "2281") @ValidMunicipalityId @PathVariable final String municipalityId,
 		@Parameter(name = "namespace", description = "Namespace", example = "MY_NAMESPACE") @Pattern(regexp = NAMESPACE_REGEXP, message = NAMESPACE_VALIDATION_MESSAGE) @PathVariable final String namespace,
 		@Parameter(name = "adId", description = "AdId for the user to get details about", example = "joe01doe") @PathVariable final String adId,
+		@Parameter(name = "type", description = "Filter type", example = "label") @RequestParam(required = false) final String type,
+		final WebRequest webRequest) {
+
+		final var accessDetails = accessService.getAccessDetailsWithMetadata(municipalityId, namespace, adId, type);
+		final var age = String.valueOf(accessDetails.age().toSeconds());
+		if (webRequest.checkNotModified(accessDetails.eTag())) {
+			return ResponseEntity.status(NOT_MODIFIED).eTag(accessDetails.eTag()).header(DATA_AGE_HEADER, age).build();
+		}
+
+		return ResponseEntity.ok().eTag(accessDetails.eTag()).header(DATA_AGE_HEADER, age).body(accessDetails.accessGroups());
+	}
+
+	@GetMapping(path = "/ad/{adId}/effective")
+	@ApiResponse(responseCode = "200", description = "Successful operation", useReturnTypeSchema = true)
+	ResponseEntity<List<AccessType>> getEffectiveAccess(
+		@Parameter(name = "municipalityId", description = "Municipality ID", example = "2281") @ValidMunicipalityId @PathVariable final String municipalityId,
+		@Parameter(name = "namespace", description = "Namespace", example = "MY_NAMESPACE") @Pattern(regexp = NAMESPACE_REGEXP, message = NAMESPACE_VALIDATION_MESSAGE) @PathVariable final String namespace,
+		@Parameter(name = "adId", description = "AdId for the user to get effective access for", example = "joe01doe") @PathVariable final String adId,
 		@Parameter(name = "type", description = "Filter type", example = "label") @RequestParam(required = false) final String type) {
-		return ResponseEntity.ok(accessService.getAccessDetails(municipalityId, namespace, adId, type));
+		return ResponseEntity.ok(accessService.getEffectiveAccess(municipalityId, namespace, adId, type));
+	}
+
+	@GetMapping(path = "/ad/{adId}/check")
+	@ApiResponse(responseCode = "200", description = "Successful operation", useReturnTypeSchema = true)
+	ResponseEntity<AccessDecision> checkAccess(
+		@Parameter(name = "municipalityId", description = "Municipality ID", example = "2281") @ValidMunicipalityId @PathVariable final String municipalityId,
+		@Parameter(name = "namespace", description = "Namespace", example = "MY_NAMESPACE") @Pattern(regexp = NAMESPACE_REGEXP, message = NAMESPACE_VALIDATION_MESSAGE) @PathVariable final String namespace,
+		@Parameter(name = "adId", description = "AdId for the user to check access for", example = "joe01doe") @PathVariable final String adId,
+		@Parameter(name = "type", description = "Access type", example = "label") @NotBlank @RequestParam final String type,
+		@Parameter(name = "resource", description = "Resource path to check access to", example = "FA/K1/T1") @NotBlank @RequestParam final String resource) {
+		return ResponseEntity.ok(accessService.checkAccess(municipalityId, namespace, adId, type, resource));
+	}
+
+	@PostMapping(path = "/ad", consumes = APPLICATION_JSON_VALUE)
+	@ApiResponse(responseCode = "200", description = "Successful operation", useReturnTypeSchema = true)
+	ResponseEntity<Map<String, AccessDetailsResult>> getBulkAccessDetails(
+		@Parameter(name = "municipalityId", description = "Municipality ID", example = "2281") @ValidMunicipalityId @PathVariable final String municipalityId,
+		@Parameter(name = "namespace", description = "Namespace", example = "MY_NAMESPACE") @Pattern(regexp = NAMESPACE_REGEXP, message = NAMESPACE_VALIDATION_MESSAGE) @PathVariable final String namespace,
+		@RequestBody @Valid final AccessDetailsRequest request) {
+		return ResponseEntity.ok(accessService.getBulkAccessDetails(municipalityId, namespace, request.getAdIds(), request.getType()));
 	}
 
 }
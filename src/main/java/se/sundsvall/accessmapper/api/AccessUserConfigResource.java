@@ -6,34 +6,48 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import se.sundsvall.accessmapper.api.model.AccessUser;
 import se.sundsvall.accessmapper.service.AccessUserService;
 import se.sundsvall.dept44.common.validators.annotation.ValidMunicipalityId;
 import se.sundsvall.dept44.problem.Problem;
 import se.sundsvall.dept44.problem.violations.ConstraintViolationProblem;
+import tools.jackson.databind.JsonNode;
 
 import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
 import static org.springframework.http.MediaType.ALL_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_PROBLEM_JSON_VALUE;
 import static org.springframework.http.ResponseEntity.created;
 import static org.springframework.http.ResponseEntity.noContent;
 import static org.springframework.web.util.UriComponentsBuilder.fromPath;
+import static se.sundsvall.accessmapper.Constants.ACCESS_USER_SORT_REGEXP;
+import static se.sundsvall.accessmapper.Constants.APPLICATION_MERGE_PATCH_JSON_VALUE;
+import static se.sundsvall.accessmapper.Constants.MAX_PAGE_SIZE;
 import static se.sundsvall.accessmapper.Constants.NAMESPACE_REGEXP;
 import static se.sundsvall.accessmapper.Constants.NAMESPACE_VALIDATION_MESSAGE;
+import static se.sundsvall.accessmapper.Constants.NEXT_CURSOR_HEADER;
+import static se.sundsvall.accessmapper.Constants.SORT_VALIDATION_MESSAGE;
+import static se.sundsvall.accessmapper.Constants.TOTAL_COUNT_HEADER;
 
 @RestController
 @Validated
@@ -53,10 +67,30 @@ class AccessUserConfigResource {
 
 	@GetMapping(produces = APPLICATION_JSON_VALUE)
 	@ApiResponse(responseCode = "200", description = "Successful operation")
+	@ApiResponse(responseCode = "304", description = "Not modified")
 	ResponseEntity<List<AccessUser>> getAccessUsers(
 		@Parameter(name = "municipalityId", description = "Municipality ID", example = "2281") @ValidMunicipalityId @PathVariable final String municipalityId,
-		@Parameter(name = "namespace", description = "Namespace", example = "MY_NAMESPACE") @Pattern(regexp = NAMESPACE_REGEXP, message = NAMESPACE_VALIDATION_MESSAGE) @PathVariable final String namespace) {
-		return ResponseEntity.ok(accessUserService.getAccessUsers(municipalityId, namespace));
+		@Parameter(name = "namespace", description = "Namespace", example = "MY_NAMESPACE") @Pattern(regexp = NAMESPACE_REGEXP, message = NAMESPACE_VALIDATION_MESSAGE) @PathVariable final String namespace,
+		@Parameter(name = "sort", description = "Property to sort on, prefixed with - for descending order", example = "userId") @Pattern(regexp = ACCESS_USER_SORT_REGEXP, message = SORT_VALIDATION_MESSAGE) @RequestParam(required = false) final String sort,
+		@Parameter(name = "limit", description = "Maximum number of access users to return. When set, the access users are returned one page at a time", example = "100") @Min(1) @Max(MAX_PAGE_SIZE) @RequestParam(required = false) final Integer limit,
+		@Parameter(name = "after", description = "Cursor from the X-Next-Cursor header of the previous page. Only used together with limit") @RequestParam(required = false) final String after,
+		final WebRequest webRequest) {
+
+		final var eTag = accessUserService.getAccessUsersETag(municipalityId, namespace, sort, limit, after);
+		if (webRequest.checkNotModified(eTag)) {
+			return ResponseEntity.status(NOT_MODIFIED).eTag(eTag).build();
+		}
+
+		if (limit == null) {
+			final var accessUsers = accessUserService.getAccessUsers(municipalityId, namespace, sort);
+			return ResponseEntity.ok().eTag(eTag).body(accessUsers);
+		}
+
+		final var page = accessUserService.getAccessUserPage(municipalityId, namespace, sort, after, limit);
+		return ResponseEntity.ok().eTag(eTag)
+			.header(TOTAL_COUNT_HEADER, String.valueOf(page.totalCount()))
+			.headers(headers -> Optional.ofNullable(page.nextCursor()).ifPresent(cursor -> headers.set(NEXT_CURSOR_HEADER, cursor)))
+			.body(page.content());
 	}
 
 	@GetMapping(path = "/{id}", produces = APPLICATION_JSON_VALUE)
@@ -96,6 +130,20 @@ class AccessUserConfigResource {
 			.build();
 	}
 
+	@PatchMapping(path = "/{id}", consumes = APPLICATION_MERGE_PATCH_JSON_VALUE, produces = ALL_VALUE)
+	@ApiResponse(responseCode = "204", description = "No content - Successful operation", useReturnTypeSchema = true)
+	@ApiResponse(responseCode = "404", description = "Not found", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+	ResponseEntity<Void> patchAccessUser(
+		@Parameter(name = "municipalityId", description = "Municipality ID", example = "2281") @ValidMunicipalityId @PathVariable final String municipalityId,
+		@Parameter(name = "namespace", description = "Namespace", example = "MY_NAMESPACE") @Pattern(regexp = NAMESPACE_REGEXP, message = NAMESPACE_VALIDATION_MESSAGE) @PathVariable final String namespace,
+		@Parameter(name = "id", description = "Access user ID", example = "81471222-5798-11e9-ae24-57fa13b361e1") @NotBlank @PathVariable final String id,
+		@io.swagger.v3.oas.annotations.parameters.RequestBody(description = "JSON merge patch (RFC 7386) to apply", required = true, content = @Content(mediaType = APPLICATION_MERGE_PATCH_JSON_VALUE, schema = @Schema(implementation = AccessUser.class))) @RequestBody final JsonNode patch) {
+		accessUserService.patchAccessUser(municipalityId, namespace, id, patch);
+		return noContent()
+			.header(CONTENT_TYPE, ALL_VALUE)
+			.build();
+	}
+
 	@DeleteMapping(path = "/{id}", produces = ALL_VALUE)
 	@ApiResponse(responseCode = "204", description = "No content - Successful operation", useReturnTypeSchema = true)
 	@ApiResponse(responseCode = "404", description = "Not found", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
@@ -0,0 +1,67 @@
+package se.sundsvall.accessmapper.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+@Schema(description = "Access configuration export entry model, holding either an access group or an access user")
+@JsonInclude(NON_NULL)
+public class AccessConfigurationExportEntry {
+
+	private AccessGroup accessGroup;
+
+	private AccessUser accessUser;
+
+	public static AccessConfigurationExportEntry create() {
+		return new AccessConfigurationExportEntry();
+	}
+
+	public AccessGroup getAccessGroup() {
+		return accessGroup;
+	}
+
+	public void setAccessGroup(final AccessGroup accessGroup) {
+		this.accessGroup = accessGroup;
+	}
+
+	public AccessConfigurationExportEntry withAccessGroup(final AccessGroup accessGroup) {
+		this.accessGroup = accessGroup;
+		return this;
+	}
+
+	public AccessUser getAccessUser() {
+		return accessUser;
+	}
+
+	public void setAccessUser(final AccessUser accessUser) {
+		this.accessUser = accessUser;
+	}
+
+	public AccessConfigurationExportEntry withAccessUser(final AccessUser accessUser) {
+		this.accessUser = accessUser;
+		return this;
+	}
+
+	@Override
+	public boolean equals(final Object o) {
+		if (o == null || getClass() != o.getClass())
+			return false;
+		final AccessConfigurationExportEntry that = (AccessConfigurationExportEntry) o;
+		return Objects.equals(accessGroup, that.accessGroup) && Objects.equals(accessUser, that.accessUser);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(accessGroup, accessUser);
+	}
+
+	@Override
+	public String toString() {
+		return "AccessConfigurationExportEntry{" +
+			"accessGroup=" + accessGroup +
+			", accessUser=" + accessUser +
+			'}';
+	}
+}
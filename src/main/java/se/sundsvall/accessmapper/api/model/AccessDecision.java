@@ -0,0 +1,48 @@
+package se.sundsvall.accessmapper.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Objects;
+
+@Schema(description = "Access decision model")
+public class AccessDecision {
+
+	@Schema(description = "Strongest access level granted for the resource, absent when no access is granted", examples = "RW")
+	private AccessLevel accessLevel;
+
+	public static AccessDecision create() {
+		return new AccessDecision();
+	}
+
+	public AccessLevel getAccessLevel() {
+		return accessLevel;
+	}
+
+	public void setAccessLevel(final AccessLevel accessLevel) {
+		this.accessLevel = accessLevel;
+	}
+
+	public AccessDecision withAccessLevel(final AccessLevel accessLevel) {
+		this.accessLevel = accessLevel;
+		return this;
+	}
+
+	@Override
+	public boolean equals(final Object o) {
+		if (o == null || getClass() != o.getClass())
+			return false;
+		final AccessDecision that = (AccessDecision) o;
+		return accessLevel == that.accessLevel;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(accessLevel);
+	}
+
+	@Override
+	public String toString() {
+		return "AccessDecision{" +
+			"accessLevel=" + accessLevel +
+			'}';
+	}
+}
@@ -0,0 +1,71 @@
+package se.sundsvall.accessmapper.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.Objects;
+
+@Schema(description = "Access details request model")
+public class AccessDetailsRequest {
+
+	@Schema(description = "AdIds for the users to get details about")
+	@NotEmpty
+	@Size(max = 1000)
+	private List<@NotBlank String> adIds;
+
+	@Schema(description = "Filter type", examples = "label")
+	private String type;
+
+	public static AccessDetailsRequest create() {
+		return new AccessDetailsRequest();
+	}
+
+	public List<String> getAdIds() {
+		return adIds;
+	}
+
+	public void setAdIds(final List<String> adIds) {
+		this.adIds = adIds;
+	}
+
+	public AccessDetailsRequest withAdIds(final List<String> adIds) {
+		this.adIds = adIds;
+		return this;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public void setType(final String type) {
+		this.type = type;
+	}
+
+	public AccessDetailsRequest withType(final String type) {
+		this.type = type;
+		return this;
+	}
+
+	@Override
+	public boolean equals(final Object o) {
+		if (o == null || getClass() != o.getClass())
+			return false;
+		final AccessDetailsRequest that = (AccessDetailsRequest) o;
+		return Objects.equals(adIds, that.adIds) && Objects.equals(type, that.type);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(adIds, type);
+	}
+
+	@Override
+	public String toString() {
+		return "AccessDetailsRequest{" +
+			"adIds=" + adIds +
+			", type='" + type + '\'' +
+			'}';
+	}
+}
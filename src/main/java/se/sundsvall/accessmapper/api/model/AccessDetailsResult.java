@@ -0,0 +1,66 @@
+package se.sundsvall.accessmapper.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import java.util.Objects;
+
+@Schema(description = "Access details of one user in a bulk request")
+public class AccessDetailsResult {
+
+	@Schema(description = "Access groups of the user, empty when the user could not be resolved")
+	private List<AccessGroup> accessGroups;
+
+	@Schema(description = "Why the user could not be resolved, absent when the user was resolved", examples = "Unable to retrieve groups from active directory")
+	private String error;
+
+	public static AccessDetailsResult create() {
+		return new AccessDetailsResult();
+	}
+
+	public List<AccessGroup> getAccessGroups() {
+		return accessGroups;
+	}
+
+	public void setAccessGroups(final List<AccessGroup> accessGroups) {
+		this.accessGroups = accessGroups;
+	}
+
+	public AccessDetailsResult withAccessGroups(final List<AccessGroup> accessGroups) {
+		this.accessGroups = accessGroups;
+		return this;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public void setError(final String error) {
+		this.error = error;
+	}
+
+	public AccessDetailsResult withError(final String error) {
+		this.error = error;
+		return this;
+	}
+
+	@Override
+	public boolean equals(final Object o) {
+		if (o == null || getClass() != o.getClass())
+			return false;
+		final AccessDetailsResult that = (AccessDetailsResult) o;
+		return Objects.equals(accessGroups, that.accessGroups) && Objects.equals(error, that.error);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(accessGroups, error);
+	}
+
+	@Override
+	public String toString() {
+		return "AccessDetailsResult{" +
+			"accessGroups=" + accessGroups +
+			", error='" + error + '\'' +
+			'}';
+	}
+}
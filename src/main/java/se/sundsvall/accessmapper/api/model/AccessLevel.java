@@ -1,5 +1,18 @@
 package se.sundsvall.accessmapper.api.model;
 
+/**
+ * Access levels, declared from strongest to weakest.
+ */
 public enum AccessLevel {
-	RW, R, LR
+	RW, R, LR;
+
+	/**
+	 * Tells if this access level is stronger than the given one. Any access level is stronger than no access level.
+	 *
+	 * @param  other the access level to compare with, may be null
+	 * @return       true if this access level is stronger than the given one
+	 */
+	public boolean isStrongerThan(final AccessLevel other) {
+		return other == null || ordinal() < other.ordinal();
+	}
 }
@@ -25,4 +25,15 @@ public interface ActiveDirectoryClient {
 	@GetMapping(path = "/{municipalityId}/usergroups/{domain}/{user}")
 	List<OUChildren> getGroupsForUser(@PathVariable String municipalityId, @PathVariable String domain, @PathVariable String user);
 
+	/**
+	 * Retrieves the members of a given active directory group. Returns 404 if the group is not found.
+	 *
+	 * @param  municipalityId the municipality id to search in
+	 * @param  domain         the domain to search in
+	 * @param  group          the name or guid of the group to search for
+	 * @return                the members of the group
+	 */
+	@GetMapping(path = "/{municipalityId}/groupmembers/{domain}/{group}")
+	List<OUChildren> getGroupMembers(@PathVariable String municipalityId, @PathVariable String domain, @PathVariable String group);
+
 }
@@ -0,0 +1,246 @@
+package se.sundsvall.accessmapper.integration.activedirectory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import generated.se.sundsvall.activedirectory.OUChildren;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import se.sundsvall.accessmapper.integration.activedirectory.configuration.ActiveDirectoryProperties;
+import se.sundsvall.dept44.exception.ClientProblem;
+import se.sundsvall.dept44.problem.ThrowableProblem;
+
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static se.sundsvall.dept44.util.LogUtils.sanitizeForLogging;
+
+/**
+ * Caching front for {@link ActiveDirectoryClient}. Group memberships are kept per municipality, domain and user and
+ * are refreshed in the background on virtual threads when read after the configured refresh interval. Users unknown to
+ * active directory are cached as an empty membership with a shorter time to live.
+ * <p>
+ * Every fetched group membership is also kept as the last known membership of the user. When active directory fails,
+ * for example because the circuit breaker is open, or does not answer within the configured maximum wait, the last
+ * known membership is served instead. A slow fetch is left running and replaces the served membership when it
+ * completes. Background refreshes and slow fetches still running when the application shuts down are interrupted.
+ */
+@Component
+public class ActiveDirectoryIntegration implements DisposableBean {
+
+	static final String GROUP_CACHE_NAME = "active-directory-groups";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ActiveDirectoryIntegration.class);
+
+	private final ActiveDirectoryClient activeDirectoryClient;
+	private final String domain;
+	private final int bulkConcurrency;
+	private final Duration maximumWait;
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private final Cache<GroupCacheKey, GroupMembership> lastKnownGroups;
+	private final LoadingCache<GroupCacheKey, GroupMembership> groupCache;
+
+	public ActiveDirectoryIntegration(final ActiveDirectoryClient activeDirectoryClient, final ActiveDirectoryProperties activeDirectoryProperties, final MeterRegistry meterRegistry) {
+		this.activeDirectoryClient = activeDirectoryClient;
+		this.domain = activeDirectoryProperties.domain();
+		this.bulkConcurrency = activeDirectoryProperties.bulkConcurrency();
+
+		final var groupCacheProperties = activeDirectoryProperties.groupCache();
+		final var lastKnownGroupsProperties = activeDirectoryProperties.lastKnownGroups();
+		this.maximumWait = lastKnownGroupsProperties.maximumWait();
+		this.lastKnownGroups = Caffeine.newBuilder()
+			.maximumSize(groupCacheProperties.maximumSize())
+			.expireAfterWrite(lastKnownGroupsProperties.timeToLive())
+			.build();
+		this.groupCache = Caffeine.newBuilder()
+			.maximumSize(groupCacheProperties.maximumSize())
+			.expireAfter(new GroupCacheExpiry(groupCacheProperties.timeToLive(), groupCacheProperties.negativeTimeToLive(), lastKnownGroupsProperties.retryAfter()))
+			.refreshAfterWrite(groupCacheProperties.refreshAfter())
+			.executor(executor)
+			.recordStats()
+			.build(this::loadGroupMembership);
+
+		CaffeineCacheMetrics.monitor(meterRegistry, groupCache, GROUP_CACHE_NAME);
+	}
+
+	/**
+	 * Retrieves the active directory groups for a given user in the configured domain. A user that is not found in
+	 * active directory is returned as a user without groups.
+	 *
+	 * @param  municipalityId the municipality id to search in
+	 * @param  adId           the user to search for
+	 * @return                the groups for the user
+	 */
+	public List<OUChildren> getGroupsForUser(final String municipalityId, final String adId) {
+		return getGroupMembership(municipalityId, adId).groups();
+	}
+
+	/**
+	 * Retrieves the active directory groups for a given user in the configured domain, together with when they were
+	 * fetched and whether they are the last known groups served because active directory could not answer.
+	 *
+	 * @param  municipalityId the municipality id to search in
+	 * @param  adId           the user to search for
+	 * @return                the group membership for the user
+	 */
+	public GroupMembership getGroupMembership(final String municipalityId, final String adId) {
+		return groupCache.get(new GroupCacheKey(municipalityId, domain, adId));
+	}
+
+	/**
+	 * Retrieves the active directory groups for each of the given users in the configured domain. Lookups not served by
+	 * the cache are made concurrently on virtual threads, at most the configured bulk concurrency at a time. A failing
+	 * lookup is logged and only leaves out the groups of its own user.
+	 *
+	 * @param  municipalityId the municipality id to search in
+	 * @param  adIds          the users to search for
+	 * @return                the groups per user, in the order the users were given, or empty for a user whose groups
+	 *                        could not be retrieved
+	 */
+	public Map<String, Optional<List<OUChildren>>> getGroupsForUsers(final String municipalityId, final Collection<String> adIds) {
+		final var permits = new Semaphore(bulkConcurrency);
+		final var futures = new LinkedHashMap<String, Future<List<OUChildren>>>();
+
+		try (var lookupExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+			adIds.stream()
+				.distinct()
+				.forEach(adId -> futures.put(adId, lookupExecutor.submit(() -> {
+					permits.acquire();
+					try {
+						return getGroupsForUser(municipalityId, adId);
+					} finally {
+						permits.release();
+					}
+				})));
+		}
+
+		final var result = new LinkedHashMap<String, Optional<List<OUChildren>>>();
+		futures.forEach((adId, future) -> result.put(adId, getResult(municipalityId, adId, future)));
+		return result;
+	}
+
+	/**
+	 * Retrieves the members of a given active directory group in the configured domain, bypassing the group cache. A
+	 * group that is not found in active directory is returned as a group without members.
+	 *
+	 * @param  municipalityId the municipality id to search in
+	 * @param  groupId        the name or guid of the group to search for
+	 * @return                the members of the group
+	 */
+	public List<OUChildren> getGroupMembers(final String municipalityId, final String groupId) {
+		try {
+			return Optional.ofNullable(activeDirectoryClient.getGroupMembers(municipalityId, domain, groupId))
+				.orElse(emptyList());
+		} catch (final ThrowableProblem e) {
+			if (NOT_FOUND == e.getStatus()) {
+				return emptyList();
+			}
+			throw e;
+		}
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+	}
+
+	private static Optional<List<OUChildren>> getResult(final String municipalityId, final String adId, final Future<List<OUChildren>> future) {
+		try {
+			return Optional.of(future.get());
+		} catch (final ExecutionException e) {
+			LOGGER.warn("Unable to retrieve groups from active directory for municipalityId: {}, adId: {}", sanitizeForLogging(municipalityId), sanitizeForLogging(adId), e.getCause());
+			return Optional.empty();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return Optional.empty();
+		}
+	}
+
+	private GroupMembership loadGroupMembership(final GroupCacheKey key) {
+		final var lastKnown = lastKnownGroups.getIfPresent(key);
+		if (lastKnown == null) {
+			return fetchGroupMembership(key);
+		}
+
+		final var fetch = CompletableFuture.supplyAsync(() -> fetchGroupMembership(key), executor);
+		try {
+			return fetch.get(maximumWait.toNanos(), NANOSECONDS);
+		} catch (final TimeoutException e) {
+			// Runs asynchronously as the cache entry is still being loaded when the fetch completes
+			fetch.thenAcceptAsync(groupMembership -> groupCache.put(key, groupMembership), executor);
+			return lastKnown.asStale();
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof final ClientProblem clientProblem) {
+				throw clientProblem;
+			}
+			return lastKnown.asStale();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return lastKnown.asStale();
+		}
+	}
+
+	private GroupMembership fetchGroupMembership(final GroupCacheKey key) {
+		final var groupMembership = GroupMembership.fetched(fetchGroupsForUser(key));
+		lastKnownGroups.put(key, groupMembership);
+		return groupMembership;
+	}
+
+	private List<OUChildren> fetchGroupsForUser(final GroupCacheKey key) {
+		try {
+			return Optional.ofNullable(activeDirectoryClient.getGroupsForUser(key.municipalityId(), key.domain(), key.adId()))
+				.orElse(emptyList());
+		} catch (final ThrowableProblem e) {
+			if (NOT_FOUND == e.getStatus()) {
+				return emptyList();
+			}
+			throw e;
+		}
+	}
+
+	record GroupCacheKey(String municipalityId, String domain, String adId) {
+	}
+
+	/**
+	 * Expires last known group memberships after the retry interval, empty group memberships after the negative time to
+	 * live and all other memberships after the ordinary time to live, counted from when they were cached.
+	 */
+	private record GroupCacheExpiry(Duration timeToLive, Duration negativeTimeToLive, Duration retryAfter) implements Expiry<GroupCacheKey, GroupMembership> {
+
+		@Override
+		public long expireAfterCreate(final GroupCacheKey key, final GroupMembership value, final long currentTime) {
+			if (value.stale()) {
+				return retryAfter.toNanos();
+			}
+			return (value.groups().isEmpty() ? negativeTimeToLive : timeToLive).toNanos();
+		}
+
+		@Override
+		public long expireAfterUpdate(final GroupCacheKey key, final GroupMembership value, final long currentTime, final long currentDuration) {
+			return expireAfterCreate(key, value, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(final GroupCacheKey key, final GroupMembership value, final long currentTime, final long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package se.sundsvall.accessmapper.integration.activedirectory;
+
+import generated.se.sundsvall.activedirectory.OUChildren;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The active directory groups of a user and when they were fetched.
+ *
+ * @param groups    the groups of the user
+ * @param fetchedAt when the groups were fetched from active directory
+ * @param stale     whether the groups are the last known groups, served because active directory could not answer
+ */
+public record GroupMembership(List<OUChildren> groups, Instant fetchedAt, boolean stale) {
+
+	static GroupMembership fetched(final List<OUChildren> groups) {
+		return new GroupMembership(groups, Instant.now(), false);
+	}
+
+	GroupMembership asStale() {
+		return new GroupMembership(groups, fetchedAt, true);
+	}
+
+	/**
+	 * @return the time passed since the groups were fetched from active directory
+	 */
+	public Duration age() {
+		final var age = Duration.between(fetchedAt, Instant.now());
+		return age.isNegative() ? Duration.ZERO : age;
+	}
+}
@@ -1,7 +1,52 @@
 package se.sundsvall.accessmapper.integration.activedirectory.configuration;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+/**
+ * Settings for the active directory integration.
+ *
+ * @param connectTimeout  connect timeout in seconds
+ * @param readTimeout     read timeout in seconds
+ * @param domain          the domain to look up users in
+ * @param bulkConcurrency the maximum number of concurrent active directory lookups for a bulk request
+ * @param groupCache      settings for the group membership cache
+ * @param lastKnownGroups settings for the last known group memberships served when active directory cannot answer
+ * @param groupMirror     settings for the local mirror of the members of the configured access groups
+ */
 @ConfigurationProperties("integration.active-directory")
-public record ActiveDirectoryProperties(int connectTimeout, int readTimeout, String domain) {
+public record ActiveDirectoryProperties(int connectTimeout, int readTimeout, String domain, int bulkConcurrency, GroupCache groupCache,
+	LastKnownGroups lastKnownGroups, GroupMirror groupMirror) {
+
+	/**
+	 * Settings for the in-memory cache of active directory group memberships.
+	 *
+	 * @param maximumSize        the maximum number of users to keep group memberships for
+	 * @param timeToLive         how long a fetched group membership is kept
+	 * @param refreshAfter       how long after fetch a group membership is refreshed in the background on next read
+	 * @param negativeTimeToLive how long an empty group membership (for example an unknown user) is kept
+	 */
+	public record GroupCache(long maximumSize, Duration timeToLive, Duration refreshAfter, Duration negativeTimeToLive) {
+	}
+
+	/**
+	 * Settings for the last known group memberships, which are served when active directory fails or is slow to answer.
+	 *
+	 * @param timeToLive  how long a fetched group membership is kept as last known
+	 * @param maximumWait how long to wait for active directory before serving the last known group membership
+	 * @param retryAfter  how long a served last known group membership is kept before active directory is asked again
+	 */
+	public record LastKnownGroups(Duration timeToLive, Duration maximumWait, Duration retryAfter) {
+	}
+
+	/**
+	 * Settings for the local mirror of the active directory members of the configured access groups, which lets group
+	 * memberships be resolved without asking active directory per request.
+	 *
+	 * @param enabled      whether the mirror is synced and used
+	 * @param syncInterval the delay between the end of one sync and the start of the next
+	 * @param maximumAge   how old the last completed sync may be before active directory is asked instead
+	 */
+	public record GroupMirror(boolean enabled, Duration syncInterval, Duration maximumAge) {
+	}
 }
@@ -0,0 +1,58 @@
+package se.sundsvall.accessmapper.integration.db;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import se.sundsvall.accessmapper.integration.db.model.AccessConfigurationVersionEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessConfigurationVersionId;
+
+import static java.util.stream.Collectors.toUnmodifiableMap;
+import static java.util.stream.Collectors.toUnmodifiableSet;
+
+/**
+ * Polls the configuration versions, to detect modifications made on other nodes.
+ * <p>
+ * The versions are read once per poll, and an {@link AccessConfigurationVersionsChangedEvent} is published when any
+ * version has changed since the previous poll, naming the municipalities and namespaces that changed. The first poll
+ * always publishes, with every municipality and namespace as changed, as state may have been built before it from a
+ * configuration that has since been changed elsewhere.
+ */
+@Component
+public class AccessConfigurationVersionPoller {
+
+	private final AccessConfigurationVersionRepository accessConfigurationVersionRepository;
+	private final ApplicationEventPublisher applicationEventPublisher;
+	private final AtomicReference<Map<AccessConfigurationVersionId, Long>> knownVersions = new AtomicReference<>();
+
+	public AccessConfigurationVersionPoller(final AccessConfigurationVersionRepository accessConfigurationVersionRepository, final ApplicationEventPublisher applicationEventPublisher) {
+		this.accessConfigurationVersionRepository = accessConfigurationVersionRepository;
+		this.applicationEventPublisher = applicationEventPublisher;
+	}
+
+	@Scheduled(initialDelayString = "${access-configuration.version-poll-interval}", fixedDelayString = "${access-configuration.version-poll-interval}")
+	public void poll() {
+		final var versions = accessConfigurationVersionRepository.findAll().stream()
+			.collect(toUnmodifiableMap(entity -> AccessConfigurationVersionId.create()
+				.withMunicipalityId(entity.getMunicipalityId())
+				.withNamespace(entity.getNamespace()), AccessConfigurationVersionEntity::getVersion));
+
+		final var previousVersions = knownVersions.getAndSet(versions);
+		if (!versions.equals(previousVersions)) {
+			applicationEventPublisher.publishEvent(new AccessConfigurationVersionsChangedEvent(versions, changed(previousVersions, versions)));
+		}
+	}
+
+	private static Set<AccessConfigurationVersionId> changed(final Map<AccessConfigurationVersionId, Long> previousVersions, final Map<AccessConfigurationVersionId, Long> versions) {
+		if (previousVersions == null) {
+			return versions.keySet();
+		}
+		return Stream.concat(previousVersions.keySet().stream(), versions.keySet().stream())
+			.filter(id -> !Objects.equals(previousVersions.get(id), versions.get(id)))
+			.collect(toUnmodifiableSet());
+	}
+}
@@ -0,0 +1,37 @@
+package se.sundsvall.accessmapper.integration.db;
+
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import jakarta.persistence.QueryHint;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import se.sundsvall.accessmapper.integration.db.model.AccessConfigurationVersionEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessConfigurationVersionId;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@CircuitBreaker(name = "accessConfigurationVersionRepository")
+public interface AccessConfigurationVersionRepository extends JpaRepository<AccessConfigurationVersionEntity, AccessConfigurationVersionId> {
+
+	Optional<AccessConfigurationVersionEntity> findByMunicipalityIdAndNamespace(String municipalityId, String namespace);
+
+	/**
+	 * Increments the configuration version for the given municipality and namespace, creating it if missing. Must be
+	 * called within the transaction that modifies the configuration. The statement only touches the version table, which
+	 * is declared as its query space so that Hibernate does not evict every cache region when it is executed.
+	 *
+	 * @param municipalityId the municipality id
+	 * @param namespace      the namespace
+	 */
+	@Modifying
+	@QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "access_configuration_version"))
+	@Query(value = """
+		insert into access_configuration_version (municipality_id, namespace, version)
+		values (:municipalityId, :namespace, 1)
+		on duplicate key update version = version + 1
+		""", nativeQuery = true)
+	void incrementVersion(@Param("municipalityId") String municipalityId, @Param("namespace") String namespace);
+}
@@ -0,0 +1,26 @@
+package se.sundsvall.accessmapper.integration.db;
+
+import java.util.Map;
+import java.util.Set;
+import se.sundsvall.accessmapper.integration.db.model.AccessConfigurationVersionId;
+
+/**
+ * Published when a poll of the configuration versions differs from the previous poll, or on the first poll.
+ *
+ * @param versions the stored version of each municipality and namespace
+ * @param changed  the municipalities and namespaces whose version differs from the previous poll, being all of them on
+ *                 the first poll
+ */
+public record AccessConfigurationVersionsChangedEvent(Map<AccessConfigurationVersionId, Long> versions, Set<AccessConfigurationVersionId> changed) {
+
+	/**
+	 * @param  municipalityId the municipality id
+	 * @param  namespace      the namespace
+	 * @return                the stored version, or 0 if no version has been stored
+	 */
+	public long getVersion(final String municipalityId, final String namespace) {
+		return versions.getOrDefault(AccessConfigurationVersionId.create()
+			.withMunicipalityId(municipalityId)
+			.withNamespace(namespace), 0L);
+	}
+}
@@ -0,0 +1,111 @@
+package se.sundsvall.accessmapper.integration.db;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import se.sundsvall.accessmapper.integration.db.model.AccessConfigurationVersionId;
+import se.sundsvall.accessmapper.integration.db.model.AccessEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessGroupEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessTypeEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessUserEntity;
+
+/**
+ * Keeps the second-level and query caches of the access entities consistent with changes that Hibernate does not see.
+ * <p>
+ * Changes made through Hibernate on this node update the caches themselves. Rows written with plain JDBC, and changes
+ * made on other nodes, are not visible to the local caches. The former evict the cached query results explicitly, and
+ * the latter are detected by the {@link AccessConfigurationVersionPoller}, evicting the cached entities of each
+ * municipality and namespace whose version has changed since the last poll.
+ */
+@Component
+public class AccessEntityCache {
+
+	private static final String ACCESS_GROUP_IDS_QUERY = """
+		select g.id, t.id, a.id from AccessGroupEntity g left join g.accessByType t left join t.access a
+		where g.municipalityId = :municipalityId and g.namespace = :namespace""";
+	private static final String ACCESS_USER_IDS_QUERY = """
+		select u.id, t.id, a.id from AccessUserEntity u left join u.accessByType t left join t.access a
+		where u.municipalityId = :municipalityId and u.namespace = :namespace""";
+	private static final String ACCESS_BY_TYPE_ROLE = ".accessByType";
+	private static final String ACCESS_ROLE = AccessTypeEntity.class.getName() + ".access";
+
+	private final EntityManagerFactory entityManagerFactory;
+
+	public AccessEntityCache(final EntityManagerFactory entityManagerFactory) {
+		this.entityManagerFactory = entityManagerFactory;
+	}
+
+	/**
+	 * Evicts all cached query results. When called within a transaction the eviction is deferred until the transaction
+	 * has been committed, so that results read before the commit are not cached again.
+	 */
+	public void evictQueryResults() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					cache().evictQueryRegions();
+				}
+			});
+		} else {
+			cache().evictQueryRegions();
+		}
+	}
+
+	/**
+	 * Evicts the cached access groups and access users, with their access types and access, of each municipality and
+	 * namespace whose configuration version has changed since the last poll. Cached query results cannot be told apart by
+	 * municipality and namespace, so they are all evicted.
+	 *
+	 * @param event the polled configuration versions
+	 */
+	@EventListener
+	public void evictOnVersionChange(final AccessConfigurationVersionsChangedEvent event) {
+		if (event.changed().isEmpty()) {
+			return;
+		}
+
+		final var cache = cache();
+		try (final var entityManager = entityManagerFactory.createEntityManager()) {
+			event.changed().forEach(id -> {
+				evictEntities(cache, AccessGroupEntity.class, readIds(entityManager, ACCESS_GROUP_IDS_QUERY, id));
+				evictEntities(cache, AccessUserEntity.class, readIds(entityManager, ACCESS_USER_IDS_QUERY, id));
+			});
+		}
+		cache.evictQueryRegions();
+	}
+
+	private static List<Object[]> readIds(final EntityManager entityManager, final String query, final AccessConfigurationVersionId id) {
+		return entityManager.createQuery(query, Object[].class)
+			.setParameter("municipalityId", id.getMunicipalityId())
+			.setParameter("namespace", id.getNamespace())
+			.getResultList();
+	}
+
+	/**
+	 * Evicts the owners, their access types and access, given as rows of owner, access type and access id where the
+	 * latter two are null for an owner or access type without any.
+	 */
+	private static void evictEntities(final org.hibernate.Cache cache, final Class<?> ownerType, final List<Object[]> ids) {
+		ids.forEach(row -> {
+			cache.evictEntityData(ownerType, row[0]);
+			cache.evictCollectionData(ownerType.getName() + ACCESS_BY_TYPE_ROLE, row[0]);
+			if (row[1] != null) {
+				cache.evictEntityData(AccessTypeEntity.class, row[1]);
+				cache.evictCollectionData(ACCESS_ROLE, row[1]);
+			}
+			if (row[2] != null) {
+				cache.evictEntityData(AccessEntity.class, row[2]);
+			}
+		});
+	}
+
+	private org.hibernate.Cache cache() {
+		return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+	}
+}
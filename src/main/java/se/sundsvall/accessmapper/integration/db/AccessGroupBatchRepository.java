@@ -0,0 +1,121 @@
+package se.sundsvall.accessmapper.integration.db;
+
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.hibernate.id.uuid.UuidVersion7Strategy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import se.sundsvall.accessmapper.integration.db.converter.AccessTreeConverter;
+import se.sundsvall.accessmapper.integration.db.model.AccessEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessGroupEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessTypeEntity;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Inserts complete access group trees with JDBC batch statements, bypassing the persistence context. Used for imports
+ * where inserting row by row through cascaded saves is too slow.
+ */
+@Repository
+@CircuitBreaker(name = "accessGroupRepository")
+public class AccessGroupBatchRepository {
+
+	static final int BATCH_SIZE = 1000;
+
+	private static final String INSERT_ACCESS_GROUP = "insert into access_group (id, version, municipality_id, namespace, group_id, access_tree) values (?, ?, ?, ?, ?, ?)";
+	private static final String INSERT_ACCESS_TYPE = "insert into access_type (id, type, access_group_id) values (?, ?, ?)";
+	private static final String INSERT_ACCESS = "insert into access (id, access_type_id, pattern, access_level) values (?, ?, ?, ?)";
+
+	private static final AccessTreeConverter ACCESS_TREE_CONVERTER = new AccessTreeConverter();
+
+	private final JdbcTemplate jdbcTemplate;
+	private final AccessEntityCache accessEntityCache;
+
+	public AccessGroupBatchRepository(final JdbcTemplate jdbcTemplate, final AccessEntityCache accessEntityCache) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.accessEntityCache = accessEntityCache;
+	}
+
+	/**
+	 * Inserts the access groups together with their access types and access, one batched statement per table. Time-ordered
+	 * ids are generated for all inserted rows, and the access groups start at version 0. Should be called within a
+	 * transaction so that a failing batch leaves nothing behind. Cached query results are evicted once the transaction has
+	 * been committed.
+	 *
+	 * @param accessGroups the access groups to insert
+	 */
+	public void insertAll(final List<AccessGroupEntity> accessGroups) {
+		accessGroups.forEach(AccessGroupBatchRepository::assignIds);
+
+		final var accessTypes = accessGroups.stream()
+			.flatMap(group -> accessByType(group).stream().map(type -> new AccessTypeRow(group.getId(), type)))
+			.toList();
+		final var access = accessTypes.stream()
+			.flatMap(row -> access(row.accessType()).stream().map(entity -> new AccessRow(row.accessType().getId(), entity)))
+			.toList();
+
+		jdbcTemplate.batchUpdate(INSERT_ACCESS_GROUP, accessGroups, BATCH_SIZE, (statement, group) -> {
+			statement.setBytes(1, toBytes(group.getId()));
+			statement.setLong(2, group.getVersion());
+			statement.setString(3, group.getMunicipalityId());
+			statement.setString(4, group.getNamespace());
+			statement.setString(5, group.getGroupId());
+			statement.setString(6, ACCESS_TREE_CONVERTER.convertToDatabaseColumn(group.getAccessTree()));
+		});
+		jdbcTemplate.batchUpdate(INSERT_ACCESS_TYPE, accessTypes, BATCH_SIZE, (statement, row) -> {
+			statement.setBytes(1, toBytes(row.accessType().getId()));
+			statement.setString(2, row.accessType().getType());
+			statement.setBytes(3, toBytes(row.accessGroupId()));
+		});
+		jdbcTemplate.batchUpdate(INSERT_ACCESS, access, BATCH_SIZE, (statement, row) -> {
+			statement.setBytes(1, toBytes(row.access().getId()));
+			statement.setBytes(2, toBytes(row.accessTypeId()));
+			statement.setString(3, row.access().getPattern());
+			statement.setString(4, row.access().getAccessLevel());
+		});
+
+		// The inserts bypass Hibernate, so cached query results over the access groups are not invalidated by them
+		accessEntityCache.evictQueryResults();
+	}
+
+	private static void assignIds(final AccessGroupEntity group) {
+		group.setId(newId());
+		group.setVersion(0L);
+		accessByType(group).forEach(type -> {
+			type.setId(newId());
+			access(type).forEach(entity -> entity.setId(newId()));
+		});
+	}
+
+	/**
+	 * Generates an id with the same version 7 strategy that generates the ids of entities saved through JPA, so that batch
+	 * inserted rows are appended to the end of the primary key index as well. The strategy does not use the session.
+	 */
+	private static UUID newId() {
+		return UuidVersion7Strategy.INSTANCE.generateUuid(null);
+	}
+
+	private static byte[] toBytes(final UUID id) {
+		return ByteBuffer.allocate(16)
+			.putLong(id.getMostSignificantBits())
+			.putLong(id.getLeastSignificantBits())
+			.array();
+	}
+
+	private static List<AccessTypeEntity> accessByType(final AccessGroupEntity group) {
+		return Optional.ofNullable(group.getAccessByType()).orElse(emptyList());
+	}
+
+	private static List<AccessEntity> access(final AccessTypeEntity type) {
+		return Optional.ofNullable(type.getAccess()).orElse(emptyList());
+	}
+
+	private record AccessTypeRow(UUID accessGroupId, AccessTypeEntity accessType) {
+	}
+
+	private record AccessRow(UUID accessTypeId, AccessEntity access) {
+	}
+}
@@ -1,16 +1,41 @@
 package se.sundsvall.accessmapper.integration.db;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import se.sundsvall.accessmapper.integration.db.model.AccessGroupEntity;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 @CircuitBreaker(name = "accessGroupRepository")
-public interface AccessGroupRepository extends JpaRepository<AccessGroupEntity, Long>, JpaSpecificationExecutor<AccessGroupEntity> {
+public interface AccessGroupRepository extends JpaRepository<AccessGroupEntity, UUID>, JpaSpecificationExecutor<AccessGroupEntity> {
 
-	AccessGroupEntity findByMunicipalityIdAndNamespaceAndGroupId(String municipalityId, String namespace, String groupId);
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+	List<AccessGroupEntity> findAllByMunicipalityIdAndNamespace(String municipalityId, String namespace);
 
-	AccessGroupEntity findByMunicipalityIdAndNamespaceAndId(String municipalityId, String namespace, String id);
+	AccessGroupEntity findByMunicipalityIdAndNamespaceAndId(String municipalityId, String namespace, UUID id);
 
 	boolean existsByMunicipalityIdAndNamespaceAndGroupId(String municipalityId, String namespace, String groupId);
+
+	@Query("select g.groupId from AccessGroupEntity g where g.municipalityId = :municipalityId and g.namespace = :namespace and g.groupId in :groupIds order by g.groupId")
+	List<String> findGroupIdsByMunicipalityIdAndNamespaceAndGroupIdIn(@Param("municipalityId") String municipalityId, @Param("namespace") String namespace, @Param("groupIds") Collection<String> groupIds);
+
+	@Query("select g.id from AccessGroupEntity g where g.municipalityId = :municipalityId and g.namespace = :namespace and g.id > :afterId order by g.id")
+	List<UUID> findIdsByMunicipalityIdAndNamespaceAfter(@Param("municipalityId") String municipalityId, @Param("namespace") String namespace, @Param("afterId") UUID afterId, Limit limit);
+
+	List<AccessGroupEntity> findAllByIdInOrderById(Collection<UUID> ids);
+
+	@Query("select distinct g.municipalityId from AccessGroupEntity g")
+	List<String> findDistinctMunicipalityIds();
+
+	@Query("select distinct g.groupId from AccessGroupEntity g where g.municipalityId = :municipalityId")
+	List<String> findDistinctGroupIdsByMunicipalityId(@Param("municipalityId") String municipalityId);
 }
@@ -1,17 +1,35 @@
 package se.sundsvall.accessmapper.integration.db;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import se.sundsvall.accessmapper.integration.db.model.AccessUserEntity;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 @CircuitBreaker(name = "accessUserRepository")
-public interface AccessUserRepository extends JpaRepository<AccessUserEntity, String> {
+public interface AccessUserRepository extends JpaRepository<AccessUserEntity, UUID>, JpaSpecificationExecutor<AccessUserEntity> {
 
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
 	List<AccessUserEntity> findAllByMunicipalityIdAndNamespace(String municipalityId, String namespace);
 
-	Optional<AccessUserEntity> findByMunicipalityIdAndNamespaceAndId(String municipalityId, String namespace, String id);
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+	List<AccessUserEntity> findAllByMunicipalityIdAndNamespace(String municipalityId, String namespace, Sort sort);
+
+	Optional<AccessUserEntity> findByMunicipalityIdAndNamespaceAndId(String municipalityId, String namespace, UUID id);
+
+	@Query("select u.id from AccessUserEntity u where u.municipalityId = :municipalityId and u.namespace = :namespace and u.id > :afterId order by u.id")
+	List<UUID> findIdsByMunicipalityIdAndNamespaceAfter(@Param("municipalityId") String municipalityId, @Param("namespace") String namespace, @Param("afterId") UUID afterId, Limit limit);
 
-	List<AccessUserEntity> findAllByMunicipalityIdAndNamespaceAndUserId(String municipalityId, String namespace, String userId);
+	List<AccessUserEntity> findAllByIdInOrderById(Collection<UUID> ids);
 }
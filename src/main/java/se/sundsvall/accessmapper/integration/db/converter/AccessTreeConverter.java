@@ -0,0 +1,29 @@
+package se.sundsvall.accessmapper.integration.db.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.util.List;
+import se.sundsvall.accessmapper.integration.db.model.AccessTreeType;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Converts a complete access tree (access types with their access) to and from the JSON stored in the read-optimized
+ * {@code access_tree} column.
+ */
+@Converter
+public class AccessTreeConverter implements AttributeConverter<List<AccessTreeType>, String> {
+
+	private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+	private static final TypeReference<List<AccessTreeType>> ACCESS_TREE_TYPE = new TypeReference<>() {};
+
+	@Override
+	public String convertToDatabaseColumn(final List<AccessTreeType> accessTree) {
+		return accessTree == null ? null : JSON_MAPPER.writeValueAsString(accessTree);
+	}
+
+	@Override
+	public List<AccessTreeType> convertToEntityAttribute(final String json) {
+		return json == null ? null : JSON_MAPPER.readValue(json, ACCESS_TREE_TYPE);
+	}
+}
@@ -0,0 +1,95 @@
+package se.sundsvall.accessmapper.integration.db.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.util.Objects;
+
+/**
+ * Version counter for the access configuration of a municipality and namespace. The counter is incremented in the same
+ * transaction as every modification of the configuration, which lets each node detect when its in-memory copy is
+ * stale.
+ */
+@Entity
+@Table(name = "access_configuration_version")
+@IdClass(AccessConfigurationVersionId.class)
+public class AccessConfigurationVersionEntity {
+
+	@Id
+	@Column(name = "municipality_id")
+	private String municipalityId;
+
+	@Id
+	@Column(name = "namespace")
+	private String namespace;
+
+	@Column(name = "version")
+	private long version;
+
+	public static AccessConfigurationVersionEntity create() {
+		return new AccessConfigurationVersionEntity();
+	}
+
+	public String getMunicipalityId() {
+		return municipalityId;
+	}
+
+	public void setMunicipalityId(final String municipalityId) {
+		this.municipalityId = municipalityId;
+	}
+
+	public AccessConfigurationVersionEntity withMunicipalityId(final String municipalityId) {
+		this.municipalityId = municipalityId;
+		return this;
+	}
+
+	public String getNamespace() {
+		return namespace;
+	}
+
+	public void setNamespace(final String namespace) {
+		this.namespace = namespace;
+	}
+
+	public AccessConfigurationVersionEntity withNamespace(final String namespace) {
+		this.namespace = namespace;
+		return this;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(final long version) {
+		this.version = version;
+	}
+
+	public AccessConfigurationVersionEntity withVersion(final long version) {
+		this.version = version;
+		return this;
+	}
+
+	@Override
+	public boolean equals(final Object o) {
+		if (o == null || getClass() != o.getClass())
+			return false;
+		final AccessConfigurationVersionEntity that = (AccessConfigurationVersionEntity) o;
+		return version == that.version && Objects.equals(municipalityId, that.municipalityId) && Objects.equals(namespace, that.namespace);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(municipalityId, namespace, version);
+	}
+
+	@Override
+	public String toString() {
+		return "AccessConfigurationVersionEntity{" +
+			"municipalityId='" + municipalityId + '\'' +
+			", namespace='" + namespace + '\'' +
+			", version=" + version +
+			'}';
+	}
+}
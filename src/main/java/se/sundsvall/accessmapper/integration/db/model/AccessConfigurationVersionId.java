@@ -0,0 +1,64 @@
+package se.sundsvall.accessmapper.integration.db.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class AccessConfigurationVersionId implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private String municipalityId;
+
+	private String namespace;
+
+	public static AccessConfigurationVersionId create() {
+		return new AccessConfigurationVersionId();
+	}
+
+	public String getMunicipalityId() {
+		return municipalityId;
+	}
+
+	public void setMunicipalityId(final String municipalityId) {
+		this.municipalityId = municipalityId;
+	}
+
+	public AccessConfigurationVersionId withMunicipalityId(final String municipalityId) {
+		this.municipalityId = municipalityId;
+		return this;
+	}
+
+	public String getNamespace() {
+		return namespace;
+	}
+
+	public void setNamespace(final String namespace) {
+		this.namespace = namespace;
+	}
+
+	public AccessConfigurationVersionId withNamespace(final String namespace) {
+		this.namespace = namespace;
+		return this;
+	}
+
+	@Override
+	public boolean equals(final Object o) {
+		if (o == null || getClass() != o.getClass())
+			return false;
+		final AccessConfigurationVersionId that = (AccessConfigurationVersionId) o;
+		return Objects.equals(municipalityId, that.municipalityId) && Objects.equals(namespace, that.namespace);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(municipalityId, namespace);
+	}
+
+	@Override
+	public String toString() {
+		return "AccessConfigurationVersionId{" +
+			"municipalityId='" + municipalityId + '\'' +
+			", namespace='" + namespace + '\'' +
+			'}';
+	}
+}
@@ -5,16 +5,25 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import java.util.Objects;
+import java.util.UUID;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UuidGenerator;
 
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
+import static org.hibernate.annotations.UuidGenerator.Style.VERSION_7;
+import static org.hibernate.type.SqlTypes.BINARY;
+
 @Entity
 @Table(name = "access")
+@Cache(usage = READ_WRITE)
 public class AccessEntity {
 
 	@Id
-	@UuidGenerator
-	@Column(name = "id")
-	private String id;
+	@UuidGenerator(style = VERSION_7)
+	@JdbcTypeCode(BINARY)
+	@Column(name = "id", length = 16)
+	private UUID id;
 
 	@Column(name = "pattern")
 	private String pattern;
@@ -26,15 +35,15 @@ public class AccessEntity {
 		return new AccessEntity();
 	}
 
-	public String getId() {
+	public UUID getId() {
 		return id;
 	}
 
-	public void setId(final String id) {
+	public void setId(final UUID id) {
 		this.id = id;
 	}
 
-	public AccessEntity withId(final String id) {
+	public AccessEntity withId(final UUID id) {
 		this.id = id;
 		return this;
 	}
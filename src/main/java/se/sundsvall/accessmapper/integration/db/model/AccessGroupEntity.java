@@ -2,6 +2,7 @@ package se.sundsvall.accessmapper.integration.db.model;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.ForeignKey;
 import jakarta.persistence.Id;
@@ -10,9 +11,21 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import java.util.List;
 import java.util.Objects;
+import java.util.UUID;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UuidGenerator;
+import se.sundsvall.accessmapper.integration.db.converter.AccessTreeConverter;
+
+import static org.hibernate.Length.LONG32;
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
+import static org.hibernate.annotations.FetchMode.SUBSELECT;
+import static org.hibernate.annotations.UuidGenerator.Style.VERSION_7;
+import static org.hibernate.type.SqlTypes.BINARY;
 
 @Entity
 @Table(name = "access_group", uniqueConstraints = @UniqueConstraint(name = "uq_municipality_id_namespace_group_id", columnNames = {
@@ -21,12 +34,21 @@ import org.hibernate.annotations.UuidGenerator;
 	@Index(name = "idx_id_group_id", columnList = "id, group_id"),
 	@Index(name = "idx_municipality_id_namespace_group_id", columnList = "municipality_id, namespace, group_id")
 })
+@Cache(usage = READ_WRITE)
 public class AccessGroupEntity {
 
 	@Id
-	@UuidGenerator
-	@Column(name = "id")
-	private String id;
+	@UuidGenerator(style = VERSION_7)
+	@JdbcTypeCode(BINARY)
+	@Column(name = "id", length = 16)
+	private UUID id;
+
+	/**
+	 * Incremented on every write, so that a write based on a stale read fails instead of overwriting a concurrent change.
+	 */
+	@Version
+	@Column(name = "version", nullable = false)
+	private Long version;
 
 	@Column(name = "municipality_id")
 	private String municipalityId;
@@ -38,26 +60,49 @@ public class AccessGroupEntity {
 	private String groupId;
 
 	@OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+	@Fetch(SUBSELECT)
+	@Cache(usage = READ_WRITE)
 	@JoinColumn(name = "access_group_id", foreignKey = @ForeignKey(name = "fk_access_group_id"))
 	private List<AccessTypeEntity> accessByType;
 
+	/**
+	 * Read-optimized copy of {@link #accessByType}, kept in sync on every write so that the whole tree can be read from
+	 * this row alone. The normalized access types are the source of truth.
+	 */
+	@Convert(converter = AccessTreeConverter.class)
+	@Column(name = "access_tree", length = LONG32)
+	private List<AccessTreeType> accessTree;
+
 	public static AccessGroupEntity create() {
 		return new AccessGroupEntity();
 	}
 
-	public String getId() {
+	public UUID getId() {
 		return id;
 	}
 
-	public void setId(final String id) {
+	public void setId(final UUID id) {
 		this.id = id;
 	}
 
-	public AccessGroupEntity withId(final String id) {
+	public AccessGroupEntity withId(final UUID id) {
 		this.id = id;
 		return this;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(final Long version) {
+		this.version = version;
+	}
+
+	public AccessGroupEntity withVersion(final Long version) {
+		this.version = version;
+		return this;
+	}
+
 	public String getMunicipalityId() {
 		return municipalityId;
 	}
@@ -110,27 +155,42 @@ public class AccessGroupEntity {
 		return this;
 	}
 
+	public List<AccessTreeType> getAccessTree() {
+		return accessTree;
+	}
+
+	public void setAccessTree(final List<AccessTreeType> accessTree) {
+		this.accessTree = accessTree;
+	}
+
+	public AccessGroupEntity withAccessTree(final List<AccessTreeType> accessTree) {
+		this.accessTree = accessTree;
+		return this;
+	}
+
 	@Override
 	public boolean equals(final Object o) {
 		if (o == null || getClass() != o.getClass())
 			return false;
 		final AccessGroupEntity that = (AccessGroupEntity) o;
-		return Objects.equals(id, that.id) && Objects.equals(municipalityId, that.municipalityId) && Objects.equals(namespace, that.namespace) && Objects.equals(groupId, that.groupId) && Objects.equals(accessByType, that.accessByType);
+		return Objects.equals(id, that.id) && Objects.equals(version, that.version) && Objects.equals(municipalityId, that.municipalityId) && Objects.equals(namespace, that.namespace) && Objects.equals(groupId, that.groupId) && Objects.equals(accessByType, that.accessByType) && Objects.equals(accessTree, that.accessTree);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(id, municipalityId, namespace, groupId, accessByType);
+		return Objects.hash(id, version, municipalityId, namespace, groupId, accessByType, accessTree);
 	}
 
 	@Override
 	public String toString() {
 		return "AccessGroupEntity{" +
 			"id='" + id + '\'' +
+			", version=" + version +
 			", municipalityId='" + municipalityId + '\'' +
 			", namespace='" + namespace + '\'' +
 			", groupId='" + groupId + '\'' +
 			", accessByType=" + accessByType +
+			", accessTree=" + accessTree +
 			'}';
 	}
 }
@@ -0,0 +1,10 @@
+package se.sundsvall.accessmapper.integration.db.model;
+
+/**
+ * An access pattern with its access level, as stored in the read-optimized {@code access_tree} column.
+ *
+ * @param pattern     the access pattern
+ * @param accessLevel the name of the access level
+ */
+public record AccessTreeAccess(String pattern, String accessLevel) {
+}
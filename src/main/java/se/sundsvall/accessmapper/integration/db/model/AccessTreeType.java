@@ -0,0 +1,12 @@
+package se.sundsvall.accessmapper.integration.db.model;
+
+import java.util.List;
+
+/**
+ * An access type with its access, as stored in the read-optimized {@code access_tree} column.
+ *
+ * @param type   the access type
+ * @param access the access of the type
+ */
+public record AccessTreeType(String type, List<AccessTreeAccess> access) {
+}
@@ -10,21 +10,34 @@ import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import java.util.List;
 import java.util.Objects;
+import java.util.UUID;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UuidGenerator;
 
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
+import static org.hibernate.annotations.FetchMode.SUBSELECT;
+import static org.hibernate.annotations.UuidGenerator.Style.VERSION_7;
+import static org.hibernate.type.SqlTypes.BINARY;
+
 @Entity
 @Table(name = "access_type")
+@Cache(usage = READ_WRITE)
 public class AccessTypeEntity {
 
 	@Id
-	@UuidGenerator
-	@Column(name = "id")
-	private String id;
+	@UuidGenerator(style = VERSION_7)
+	@JdbcTypeCode(BINARY)
+	@Column(name = "id", length = 16)
+	private UUID id;
 
 	@Column(name = "type")
 	private String type;
 
 	@OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+	@Fetch(SUBSELECT)
+	@Cache(usage = READ_WRITE)
 	@JoinColumn(name = "access_type_id", foreignKey = @ForeignKey(name = "fk_access_type_id"))
 	private List<AccessEntity> access;
 
@@ -32,15 +45,15 @@ public class AccessTypeEntity {
 		return new AccessTypeEntity();
 	}
 
-	public String getId() {
+	public UUID getId() {
 		return id;
 	}
 
-	public void setId(final String id) {
+	public void setId(final UUID id) {
 		this.id = id;
 	}
 
-	public AccessTypeEntity withId(final String id) {
+	public AccessTypeEntity withId(final UUID id) {
 		this.id = id;
 		return this;
 	}
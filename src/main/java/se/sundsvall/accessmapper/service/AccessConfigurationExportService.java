@@ -0,0 +1,113 @@
+package se.sundsvall.accessmapper.service;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import se.sundsvall.accessmapper.api.model.AccessConfigurationExportEntry;
+import se.sundsvall.accessmapper.integration.db.AccessGroupRepository;
+import se.sundsvall.accessmapper.integration.db.AccessUserRepository;
+
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_CACHE_STORE_MODE;
+import static se.sundsvall.accessmapper.service.mapper.Mapper.toAccessGroup;
+import static se.sundsvall.accessmapper.service.mapper.Mapper.toAccessUser;
+
+/**
+ * Exports the access configuration of a namespace page by page.
+ * <p>
+ * Each page is read in its own short read-only transaction, and is handed on only once that transaction has ended, so
+ * neither a database connection nor a transaction is held while a page is written to a slow client. Pages are selected
+ * by keyset on the entity id, so every entry that exists for the whole export is exported exactly once, while an entry
+ * changed during the export is exported as it was when its page was read. The export does not store entities in the
+ * second-level cache, so that it does not push out the entities of regular requests, and no more than one page of
+ * entities is held in memory.
+ */
+@Service
+public class AccessConfigurationExportService {
+
+	static final int PAGE_SIZE = 500;
+
+	private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+	private final AccessGroupRepository accessGroupRepository;
+	private final AccessUserRepository accessUserRepository;
+	private final EntityManager entityManager;
+	private final TransactionTemplate transactionTemplate;
+
+	public AccessConfigurationExportService(final AccessGroupRepository accessGroupRepository, final AccessUserRepository accessUserRepository,
+		final EntityManager entityManager, final PlatformTransactionManager transactionManager) {
+		this.accessGroupRepository = accessGroupRepository;
+		this.accessUserRepository = accessUserRepository;
+		this.entityManager = entityManager;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+	}
+
+	/**
+	 * Exports all access groups followed by all access users of the given municipality and namespace, handing each page
+	 * of entries to the consumer as soon as it has been read and its transaction has ended.
+	 *
+	 * @param municipalityId the municipality id
+	 * @param namespace      the namespace
+	 * @param pageConsumer   consumer of each non-empty page of entries
+	 */
+	public void exportAccessConfiguration(final String municipalityId, final String namespace, final Consumer<List<AccessConfigurationExportEntry>> pageConsumer) {
+		exportAccessGroups(municipalityId, namespace, pageConsumer);
+		exportAccessUsers(municipalityId, namespace, pageConsumer);
+	}
+
+	private void exportAccessGroups(final String municipalityId, final String namespace, final Consumer<List<AccessConfigurationExportEntry>> pageConsumer) {
+		exportPages(afterId -> accessGroupRepository.findIdsByMunicipalityIdAndNamespaceAfter(municipalityId, namespace, afterId, Limit.of(PAGE_SIZE)),
+			ids -> accessGroupRepository.findAllByIdInOrderById(ids).stream()
+				.map(entity -> AccessConfigurationExportEntry.create().withAccessGroup(toAccessGroup(entity)))
+				.toList(),
+			pageConsumer);
+	}
+
+	private void exportAccessUsers(final String municipalityId, final String namespace, final Consumer<List<AccessConfigurationExportEntry>> pageConsumer) {
+		exportPages(afterId -> accessUserRepository.findIdsByMunicipalityIdAndNamespaceAfter(municipalityId, namespace, afterId, Limit.of(PAGE_SIZE)),
+			ids -> accessUserRepository.findAllByIdInOrderById(ids).stream()
+				.map(entity -> AccessConfigurationExportEntry.create().withAccessUser(toAccessUser(entity)))
+				.toList(),
+			pageConsumer);
+	}
+
+	private void exportPages(final Function<UUID, List<UUID>> idPageLoader, final Function<List<UUID>, List<AccessConfigurationExportEntry>> entryLoader,
+		final Consumer<List<AccessConfigurationExportEntry>> pageConsumer) {
+
+		var afterId = FIRST_ID;
+		while (afterId != null) {
+			final var page = readPage(afterId, idPageLoader, entryLoader);
+			if (page.entries().isEmpty()) {
+				return;
+			}
+
+			pageConsumer.accept(page.entries());
+			afterId = page.nextAfterId();
+		}
+	}
+
+	private ExportPage readPage(final UUID afterId, final Function<UUID, List<UUID>> idPageLoader, final Function<List<UUID>, List<AccessConfigurationExportEntry>> entryLoader) {
+		return transactionTemplate.execute(status -> {
+			entityManager.setProperty(HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+
+			final var ids = idPageLoader.apply(afterId);
+			if (ids.isEmpty()) {
+				return new ExportPage(List.of(), null);
+			}
+			return new ExportPage(entryLoader.apply(ids), ids.size() == PAGE_SIZE ? ids.getLast() : null);
+		});
+	}
+
+	/**
+	 * A page of exported entries, together with the id to read the next page after, or {@code null} for the last page.
+	 */
+	private record ExportPage(List<AccessConfigurationExportEntry> entries, UUID nextAfterId) {
+	}
+}
@@ -0,0 +1,30 @@
+package se.sundsvall.accessmapper.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+import se.sundsvall.accessmapper.api.model.AccessGroup;
+
+/**
+ * The access groups of a user, together with an ETag and the age of the active directory groups they were resolved
+ * from. All three are derived from the same active directory lookup and configuration snapshot. The access groups are
+ * only resolved when first asked for, so that a request that the ETag answers as not modified never resolves them.
+ *
+ * @param eTag           ETag derived from the configuration version, the user's active directory groups and the
+ *                       request parameters
+ * @param age            the age of the active directory groups that the access groups are resolved from
+ * @param accessGroupsOf supplier of the access groups of the user, resolving them at most once
+ */
+public record AccessDetails(String eTag, Duration age, Supplier<List<AccessGroup>> accessGroupsOf) {
+
+	public AccessDetails(final List<AccessGroup> accessGroups, final String eTag, final Duration age) {
+		this(eTag, age, () -> accessGroups);
+	}
+
+	/**
+	 * Returns the access groups of the user, resolving them on the first call.
+	 */
+	public List<AccessGroup> accessGroups() {
+		return accessGroupsOf.get();
+	}
+}
@@ -1,18 +1,44 @@
 package se.sundsvall.accessmapper.service;
 
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import se.sundsvall.accessmapper.api.model.AccessGroup;
+import se.sundsvall.accessmapper.integration.db.AccessConfigurationVersionRepository;
+import se.sundsvall.accessmapper.integration.db.AccessGroupBatchRepository;
 import se.sundsvall.accessmapper.integration.db.AccessGroupRepository;
+import se.sundsvall.accessmapper.integration.db.model.AccessConfigurationVersionEntity;
 import se.sundsvall.accessmapper.integration.db.model.AccessGroupEntity;
+import se.sundsvall.accessmapper.service.snapshot.AccessConfigurationIndex;
+import se.sundsvall.accessmapper.service.util.CursorPage;
 import se.sundsvall.dept44.problem.Problem;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
 
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.joining;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static se.sundsvall.accessmapper.service.mapper.Mapper.toAccessGroup;
 import static se.sundsvall.accessmapper.service.mapper.Mapper.toAccessGroupEntity;
 import static se.sundsvall.accessmapper.service.mapper.Mapper.toAccessGroups;
+import static se.sundsvall.accessmapper.service.mapper.Mapper.updateAccessGroupEntity;
+import static se.sundsvall.accessmapper.service.util.CursorUtil.afterCursor;
+import static se.sundsvall.accessmapper.service.util.CursorUtil.toCursor;
+import static se.sundsvall.accessmapper.service.util.CursorUtil.toKeysetSort;
+import static se.sundsvall.accessmapper.service.util.CursorUtil.toSort;
+import static se.sundsvall.accessmapper.service.util.ETagUtil.toETag;
+import static se.sundsvall.accessmapper.service.util.IdUtil.toUuid;
+import static se.sundsvall.accessmapper.service.util.MergePatchUtil.applyMergePatch;
+import static se.sundsvall.accessmapper.service.util.ValidationUtil.isAccessLevelMissing;
 import static se.sundsvall.accessmapper.service.util.SpecificationBuilder.withAccessType;
 import static se.sundsvall.accessmapper.service.util.SpecificationBuilder.withMunicipalityId;
 import static se.sundsvall.accessmapper.service.util.SpecificationBuilder.withNamespace;
@@ -21,10 +47,22 @@ import static se.sundsvall.dept44.util.LogUtils.sanitizeForLogging;
 @Service
 public class AccessGroupService {
 
+	private static final int MAX_GROUP_IDS_IN_MESSAGE = 10;
+
 	private final AccessGroupRepository accessGroupRepository;
+	private final AccessGroupBatchRepository accessGroupBatchRepository;
+	private final AccessConfigurationVersionRepository accessConfigurationVersionRepository;
+	private final AccessConfigurationIndex accessConfigurationIndex;
+	private final JsonMapper jsonMapper;
 
-	public AccessGroupService(final AccessGroupRepository accessGroupRepository) {
+	public AccessGroupService(final AccessGroupRepository accessGroupRepository, final AccessGroupBatchRepository accessGroupBatchRepository,
+		final AccessConfigurationVersionRepository accessConfigurationVersionRepository, final AccessConfigurationIndex accessConfigurationIndex,
+		final JsonMapper jsonMapper) {
 		this.accessGroupRepository = accessGroupRepository;
+		this.accessGroupBatchRepository = accessGroupBatchRepository;
+		this.accessConfigurationVersionRepository = accessConfigurationVersionRepository;
+		this.accessConfigurationIndex = accessConfigurationIndex;
+		this.jsonMapper = jsonMapper;
 	}
 
 	public AccessGroup getAccessGroup(final String municipalityId, final String namespace, final String id) {
@@ -32,15 +70,45 @@ public class AccessGroupService {
 		return toAccessGroup(getAccessGroupEntity(municipalityId, namespace, id));
 	}
 
-	public List<AccessGroup> getAccessGroups(final String municipalityId, final String namespace, final String type) {
-		final var specification = withMunicipalityId(municipalityId)
-			.and(withNamespace(namespace))
-			.and(withAccessType(type));
+	public List<AccessGroup> getAccessGroups(final String municipalityId, final String namespace, final String type, final String sort) {
+		return toAccessGroups(accessGroupRepository.findAll(toSpecification(municipalityId, namespace, type), toSort(sort)));
+	}
+
+	/**
+	 * Returns one page of access groups. Pages are positioned by keyset from the cursor of the previous page, so the cost
+	 * of reading a page does not depend on how far into the listing it is.
+	 *
+	 * @param  municipalityId the municipality id
+	 * @param  namespace      the namespace
+	 * @param  type           optional access type filter
+	 * @param  sort           optional sort expression
+	 * @param  after          cursor from the previous page, or null for the first page
+	 * @param  limit          maximum number of access groups in the page
+	 * @return                the page
+	 */
+	public CursorPage<AccessGroup> getAccessGroupPage(final String municipalityId, final String namespace, final String type, final String sort, final String after, final int limit) {
+		final var specification = toSpecification(municipalityId, namespace, type);
+		final var keysetSort = toKeysetSort(sort);
+		final var window = accessGroupRepository.findBy(afterCursor(specification, after, keysetSort), query -> query.sortBy(keysetSort).limit(limit).scroll(ScrollPosition.keyset()));
+
+		return new CursorPage<>(toAccessGroups(window.getContent()), accessGroupRepository.count(specification), toCursor(window, keysetSort));
+	}
+
+	/**
+	 * Returns an ETag for the access group listing, derived from the stored configuration version and the request
+	 * parameters, so that every page and sort order of the listing gets its own ETag.
+	 */
+	public String getAccessGroupsETag(final String municipalityId, final String namespace, final String type, final String sort, final Integer limit, final String after) {
+		final var version = accessConfigurationVersionRepository.findByMunicipalityIdAndNamespace(municipalityId, namespace)
+			.map(AccessConfigurationVersionEntity::getVersion)
+			.orElse(0L);
 
-		return toAccessGroups(accessGroupRepository.findAll(specification));
+		return toETag(version, type, sort, limit, after);
 	}
 
+	@Transactional
 	public void createAccessGroup(final String municipalityId, final String namespace, final AccessGroup accessGroup) {
+		validateAccessGroup(accessGroup);
 
 		if (accessGroupRepository.existsByMunicipalityIdAndNamespaceAndGroupId(municipalityId, namespace, accessGroup.getGroupId())) {
 			throw Problem.valueOf(CONFLICT,
@@ -51,24 +119,71 @@ public class AccessGroupService {
 		}
 		final var entity = toAccessGroupEntity(municipalityId, namespace, accessGroup);
 		accessGroupRepository.save(entity);
+		accessConfigurationVersionRepository.incrementVersion(municipalityId, namespace);
+		accessConfigurationIndex.refresh(municipalityId, namespace);
+	}
+
+	/**
+	 * Imports a batch of access groups. The whole batch is validated, and checked against existing access groups in one
+	 * query, before anything is written. All groups are then inserted with JDBC batch statements in a single transaction.
+	 *
+	 * @param municipalityId the municipality id
+	 * @param namespace      the namespace
+	 * @param accessGroups   the access groups to import
+	 */
+	@Transactional
+	public void importAccessGroups(final String municipalityId, final String namespace, final List<AccessGroup> accessGroups) {
+		validateImport(accessGroups);
+
+		final var groupIds = accessGroups.stream().map(AccessGroup::getGroupId).toList();
+		final var existingGroupIds = accessGroupRepository.findGroupIdsByMunicipalityIdAndNamespaceAndGroupIdIn(municipalityId, namespace, groupIds);
+		if (!existingGroupIds.isEmpty()) {
+			throw Problem.valueOf(CONFLICT,
+				"Access groups already exist for municipalityId: %s, namespace: %s, groupIds: %s.".formatted(
+					sanitizeForLogging(municipalityId),
+					sanitizeForLogging(namespace),
+					toGroupIdList(existingGroupIds)));
+		}
+
+		accessGroupBatchRepository.insertAll(accessGroups.stream()
+			.map(accessGroup -> toAccessGroupEntity(municipalityId, namespace, accessGroup))
+			.toList());
+		accessConfigurationVersionRepository.incrementVersion(municipalityId, namespace);
+		accessConfigurationIndex.refresh(municipalityId, namespace);
 	}
 
+	/**
+	 * Replaces the access group. The new state is diffed against the persisted access group so that only changed rows are
+	 * written, and nothing is written when the access group is unchanged.
+	 */
+	@Transactional
 	public void updateAccessGroup(final String municipalityId, final String namespace, final String id, final AccessGroup accessGroup) {
-		final var existingEntity = getAccessGroupEntity(municipalityId, namespace, id);
-		final var newEntity = toAccessGroupEntity(municipalityId, namespace, accessGroup);
-		newEntity.setId(existingEntity.getId());
+		final var entity = getAccessGroupEntity(municipalityId, namespace, id);
+		applyUpdate(municipalityId, namespace, entity, accessGroup);
+	}
 
-		accessGroupRepository.save(newEntity);
+	/**
+	 * Applies a JSON merge patch to the access group. The patched state is written the same way as by
+	 * {@link #updateAccessGroup(String, String, String, AccessGroup)}.
+	 */
+	@Transactional
+	public void patchAccessGroup(final String municipalityId, final String namespace, final String id, final JsonNode patch) {
+		final var entity = getAccessGroupEntity(municipalityId, namespace, id);
+		applyUpdate(municipalityId, namespace, entity, applyMergePatch(jsonMapper, toAccessGroup(entity), patch, AccessGroup.class));
 	}
 
+	@Transactional
 	public void deleteAccessGroup(final String municipalityId, final String namespace, final String id) {
 
 		final var entity = getAccessGroupEntity(municipalityId, namespace, id);
-		accessGroupRepository.delete(entity);
+		writeAndFlush(municipalityId, namespace, entity, accessGroupRepository::delete);
+		accessConfigurationVersionRepository.incrementVersion(municipalityId, namespace);
+		accessConfigurationIndex.refresh(municipalityId, namespace);
 	}
 
 	public AccessGroupEntity getAccessGroupEntity(final String municipalityId, final String namespace, final String id) {
-		return Optional.ofNullable(accessGroupRepository.findByMunicipalityIdAndNamespaceAndId(municipalityId, namespace, id))
+		return toUuid(id)
+			.map(uuid -> accessGroupRepository.findByMunicipalityIdAndNamespaceAndId(municipalityId, namespace, uuid))
 			.orElseThrow(() -> Problem.valueOf(NOT_FOUND,
 				"Access group not found for municipalityId: %s, namespace: %s, id: %s.".formatted(
 					sanitizeForLogging(municipalityId),
@@ -76,4 +191,87 @@ public class AccessGroupService {
 					sanitizeForLogging(id))));
 	}
 
+	private void applyUpdate(final String municipalityId, final String namespace, final AccessGroupEntity entity, final AccessGroup accessGroup) {
+		validateAccessGroup(accessGroup);
+		if (!updateAccessGroupEntity(entity, accessGroup)) {
+			return;
+		}
+
+		writeAndFlush(municipalityId, namespace, entity, accessGroupRepository::save);
+		accessConfigurationVersionRepository.incrementVersion(municipalityId, namespace);
+		accessConfigurationIndex.refresh(municipalityId, namespace);
+	}
+
+	/**
+	 * Writes the access group and flushes it, so that a concurrent change made since it was read is detected by its version
+	 * and reported as a conflict instead of being overwritten.
+	 */
+	private void writeAndFlush(final String municipalityId, final String namespace, final AccessGroupEntity entity, final Consumer<AccessGroupEntity> write) {
+		try {
+			write.accept(entity);
+			accessGroupRepository.flush();
+		} catch (final OptimisticLockingFailureException e) {
+			throw Problem.valueOf(CONFLICT,
+				"Access group was modified concurrently for municipalityId: %s, namespace: %s, id: %s.".formatted(
+					sanitizeForLogging(municipalityId),
+					sanitizeForLogging(namespace),
+					entity.getId()));
+		}
+	}
+
+	/**
+	 * Validates an access group that is to be written, which for a merge patch is the patched access group that has not
+	 * passed the request validation.
+	 */
+	private static void validateAccessGroup(final AccessGroup accessGroup) {
+		if (!hasGroupId(accessGroup)) {
+			throw Problem.valueOf(BAD_REQUEST, "Access group must have a groupId.");
+		}
+		if (isAccessLevelMissing(accessGroup.getAccessByType())) {
+			throw Problem.valueOf(BAD_REQUEST, "Access level is missing for groupId: %s.".formatted(sanitizeForLogging(accessGroup.getGroupId())));
+		}
+	}
+
+	private static boolean hasGroupId(final AccessGroup accessGroup) {
+		return accessGroup.getGroupId() != null && !accessGroup.getGroupId().isBlank();
+	}
+
+	private static void validateImport(final List<AccessGroup> accessGroups) {
+		if (!accessGroups.stream().allMatch(AccessGroupService::hasGroupId)) {
+			throw Problem.valueOf(BAD_REQUEST, "Every imported access group must have a groupId.");
+		}
+
+		final var missingAccessLevel = accessGroups.stream()
+			.filter(accessGroup -> isAccessLevelMissing(accessGroup.getAccessByType()))
+			.map(AccessGroup::getGroupId)
+			.toList();
+		if (!missingAccessLevel.isEmpty()) {
+			throw Problem.valueOf(BAD_REQUEST, "Access level is missing for groupIds: %s.".formatted(toGroupIdList(missingAccessLevel)));
+		}
+
+		final var duplicateGroupIds = accessGroups.stream()
+			.collect(groupingBy(AccessGroup::getGroupId, LinkedHashMap::new, counting()))
+			.entrySet().stream()
+			.filter(entry -> entry.getValue() > 1)
+			.map(Map.Entry::getKey)
+			.toList();
+		if (!duplicateGroupIds.isEmpty()) {
+			throw Problem.valueOf(BAD_REQUEST, "Duplicate groupIds in import: %s.".formatted(toGroupIdList(duplicateGroupIds)));
+		}
+	}
+
+	private static String toGroupIdList(final List<String> groupIds) {
+		final var listed = groupIds.stream()
+			.limit(MAX_GROUP_IDS_IN_MESSAGE)
+			.map(groupId -> sanitizeForLogging(groupId))
+			.collect(joining(", "));
+
+		return groupIds.size() > MAX_GROUP_IDS_IN_MESSAGE ? listed + " and %d more".formatted(groupIds.size() - MAX_GROUP_IDS_IN_MESSAGE) : listed;
+	}
+
+	private static Specification<AccessGroupEntity> toSpecification(final String municipalityId, final String namespace, final String type) {
+		return withMunicipalityId(municipalityId)
+			.and(withNamespace(namespace))
+			.and(withAccessType(type));
+	}
 }
@@ -2,67 +2,296 @@ package se.sundsvall.accessmapper.service;
 
 import generated.se.sundsvall.activedirectory.OUChildren;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import org.springframework.stereotype.Service;
+import org.springframework.util.function.SingletonSupplier;
+import se.sundsvall.accessmapper.api.model.Access;
+import se.sundsvall.accessmapper.api.model.AccessDecision;
+import se.sundsvall.accessmapper.api.model.AccessDetailsResult;
 import se.sundsvall.accessmapper.api.model.AccessGroup;
-import se.sundsvall.accessmapper.integration.activedirectory.ActiveDirectoryClient;
-import se.sundsvall.accessmapper.integration.activedirectory.configuration.ActiveDirectoryProperties;
-import se.sundsvall.accessmapper.integration.db.AccessGroupRepository;
-import se.sundsvall.accessmapper.integration.db.AccessUserRepository;
-import se.sundsvall.accessmapper.service.mapper.Mapper;
-import se.sundsvall.dept44.problem.ThrowableProblem;
+import se.sundsvall.accessmapper.api.model.AccessLevel;
+import se.sundsvall.accessmapper.api.model.AccessType;
+import se.sundsvall.accessmapper.integration.activedirectory.ActiveDirectoryIntegration;
+import se.sundsvall.accessmapper.integration.activedirectory.GroupMembership;
+import se.sundsvall.accessmapper.service.membership.ActiveDirectoryGroupMirror;
+import se.sundsvall.accessmapper.service.metrics.AccessMetrics;
+import se.sundsvall.accessmapper.service.snapshot.AccessConfigurationIndex;
+import se.sundsvall.accessmapper.service.snapshot.AccessConfigurationSnapshot;
+import se.sundsvall.dept44.problem.Problem;
 
-import static org.springframework.http.HttpStatus.NOT_FOUND;
-import static se.sundsvall.accessmapper.service.mapper.Mapper.toAccessGroups;
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.joining;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static se.sundsvall.accessmapper.service.metrics.AccessMetrics.STAGE_ACTIVE_DIRECTORY;
+import static se.sundsvall.accessmapper.service.metrics.AccessMetrics.STAGE_GROUPS;
+import static se.sundsvall.accessmapper.service.metrics.AccessMetrics.STAGE_SNAPSHOT;
+import static se.sundsvall.accessmapper.service.metrics.AccessMetrics.STAGE_USER;
+import static se.sundsvall.accessmapper.service.util.ETagUtil.toETag;
 
 @Service
 public class AccessService {
 
-	private final ActiveDirectoryClient activeDirectoryClient;
-	private final ActiveDirectoryProperties activeDirectoryProperties;
-	private final AccessGroupRepository accessGroupRepository;
-	private final AccessUserRepository accessUserRepository;
+	private static final String OPERATION_DETAILS = "details";
+	private static final String OPERATION_BULK = "bulk";
+	private static final String OPERATION_CHECK = "check";
+	private static final String BULK_LOOKUP_ERROR = "Unable to retrieve groups from active directory";
 
-	public AccessService(final ActiveDirectoryClient activeDirectoryClient, final ActiveDirectoryProperties activeDirectoryProperties, final AccessGroupRepository accessGroupRepository, final AccessUserRepository accessUserRepository) {
-		this.activeDirectoryClient = activeDirectoryClient;
-		this.activeDirectoryProperties = activeDirectoryProperties;
-		this.accessGroupRepository = accessGroupRepository;
-		this.accessUserRepository = accessUserRepository;
+	private final ActiveDirectoryIntegration activeDirectoryIntegration;
+	private final ActiveDirectoryGroupMirror activeDirectoryGroupMirror;
+	private final AccessConfigurationIndex accessConfigurationIndex;
+	private final AccessMetrics accessMetrics;
+	private final ConcurrentMap<AccessDetailsKey, CompletableFuture<AccessDetails>> inFlightAccessDetails = new ConcurrentHashMap<>();
+
+	public AccessService(final ActiveDirectoryIntegration activeDirectoryIntegration, final ActiveDirectoryGroupMirror activeDirectoryGroupMirror,
+		final AccessConfigurationIndex accessConfigurationIndex, final AccessMetrics accessMetrics) {
+		this.activeDirectoryIntegration = activeDirectoryIntegration;
+		this.activeDirectoryGroupMirror = activeDirectoryGroupMirror;
+		this.accessConfigurationIndex = accessConfigurationIndex;
+		this.accessMetrics = accessMetrics;
 	}
 
+	/**
+	 * Returns the access groups of a user.
+	 */
 	public List<AccessGroup> getAccessDetails(final String municipalityId, final String namespace, final String adId, final String type) {
+		return getAccessDetailsWithMetadata(municipalityId, namespace, adId, type).accessGroups();
+	}
+
+	/**
+	 * Returns the access groups of a user, together with an ETag and the age of the active directory groups they were
+	 * resolved from. The ETag is derived from the configuration version, the user's active directory groups that are
+	 * configured as access groups and the request parameters, so that it is kept when the user joins or leaves a group
+	 * that grants nothing. The access groups are not resolved until they are asked for, so that the ETag can be checked
+	 * first. The age grows past the cache refresh interval only while active directory cannot answer and the last known
+	 * groups are served, and groups resolved from the group mirror are as old as the least recently synced configured
+	 * group. Concurrent calls with the same parameters share one resolution: the first call resolves the access and the
+	 * others wait for, and get, the same result or error.
+	 */
+	public AccessDetails getAccessDetailsWithMetadata(final String municipalityId, final String namespace, final String adId, final String type) {
+		final var key = new AccessDetailsKey(municipalityId, namespace, adId, type);
+		final var future = new CompletableFuture<AccessDetails>();
+
+		final var inFlight = inFlightAccessDetails.putIfAbsent(key, future);
+		if (inFlight != null) {
+			return join(inFlight);
+		}
 
-		List<OUChildren> adGroups;
 		try {
-			adGroups = activeDirectoryClient.getGroupsForUser(municipalityId, activeDirectoryProperties.domain(), adId);
-		} catch (final ThrowableProblem e) {
-			if (NOT_FOUND == e.getStatus()) {
-				adGroups = Collections.emptyList();
-			} else {
+			final var result = resolveAccessDetails(municipalityId, namespace, adId, type);
+			future.complete(result);
+			return result;
+		} catch (final Throwable e) {
+			// Errors are handed to the waiting calls too, so that they never wait for a resolution that has stopped
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlightAccessDetails.remove(key, future);
+		}
+	}
+
+	public List<AccessType> getEffectiveAccess(final String municipalityId, final String namespace, final String adId, final String type) {
+		return toEffectiveAccess(getAccessDetails(municipalityId, namespace, adId, type), type);
+	}
+
+	/**
+	 * Returns the access groups of each of the given users. A user whose active directory groups could not be retrieved
+	 * gets an entry with an error and no access groups, so that the other users are still answered.
+	 */
+	public Map<String, AccessDetailsResult> getBulkAccessDetails(final String municipalityId, final String namespace, final List<String> adIds, final String type) {
+
+		return withGroupsAndSnapshot(OPERATION_BULK, municipalityId, namespace,
+			snapshot -> activeDirectoryGroupMirror.findGroupsForUsers(municipalityId, configuredGroupIds(snapshot), adIds),
+			() -> activeDirectoryIntegration.getGroupsForUsers(municipalityId, adIds), (adGroupsByAdId, snapshot) -> {
+			final var result = new LinkedHashMap<String, AccessDetailsResult>();
+			adGroupsByAdId.forEach((adId, adGroups) -> result.put(adId, adGroups
+				.map(groups -> AccessDetailsResult.create().withAccessGroups(resolveAccess(OPERATION_BULK, municipalityId, namespace, snapshot, adId, groups, type)))
+				.orElseGet(() -> AccessDetailsResult.create().withAccessGroups(List.of()).withError(BULK_LOOKUP_ERROR))));
+			return result;
+		});
+	}
+
+	public AccessDecision checkAccess(final String municipalityId, final String namespace, final String adId, final String type, final String resource) {
+
+		return withGroupsAndSnapshot(OPERATION_CHECK, municipalityId, namespace,
+			snapshot -> activeDirectoryGroupMirror.findGroupMembership(municipalityId, configuredGroupIds(snapshot), adId).map(GroupMembership::groups),
+			() -> activeDirectoryIntegration.getGroupsForUser(municipalityId, adId), (adGroups, snapshot) -> {
+			final var groupIds = adGroups.stream()
+				.map(OUChildren::getGuid)
+				.filter(Objects::nonNull)
+				.map(UUID::toString)
+				.distinct()
+				.toList();
+
+			return AccessDecision.create()
+				.withAccessLevel(snapshot.getAccessLevel(groupIds, adId, type, resource).orElse(null));
+		});
+	}
+
+	private AccessDetails resolveAccessDetails(final String municipalityId, final String namespace, final String adId, final String type) {
+
+		return withGroupsAndSnapshot(OPERATION_DETAILS, municipalityId, namespace,
+			snapshot -> activeDirectoryGroupMirror.findGroupMembership(municipalityId, configuredGroupIds(snapshot), adId),
+			() -> activeDirectoryIntegration.getGroupMembership(municipalityId, adId), (groupMembership, snapshot) -> {
+			final var adGroups = groupMembership.groups();
+			final var configuredGroupIds = configuredGroupIds(snapshot);
+			final var groupIds = adGroups.stream()
+				.map(OUChildren::getGuid)
+				.filter(Objects::nonNull)
+				.map(UUID::toString)
+				.filter(configuredGroupIds::contains)
+				.sorted()
+				.distinct()
+				.collect(joining(","));
+
+			return new AccessDetails(toETag(snapshot.version(), adId, type, groupIds), groupMembership.age(),
+				SingletonSupplier.of(() -> unmodifiableList(resolveAccess(OPERATION_DETAILS, municipalityId, namespace, snapshot, adId, adGroups, type))));
+		});
+	}
+
+	/**
+	 * The configured access groups of a snapshot, which the group mirror must have synced the members of to answer for
+	 * it.
+	 */
+	private static Set<String> configuredGroupIds(final AccessConfigurationSnapshot snapshot) {
+		return snapshot.accessGroupsByGroupId().keySet();
+	}
+
+	/**
+	 * Looks up the active directory groups and hands them together with the configuration snapshot to the resolver. When
+	 * the snapshot is present the groups are taken from the group mirror, as long as it has synced every configured access
+	 * group of the snapshot, and otherwise from active directory. When the snapshot must be built from the database, it
+	 * is built on a virtual thread while active directory is asked on the calling thread. If the active directory lookup
+	 * fails, the snapshot build is cancelled and the error is rethrown once the build has stopped. The group lookup is
+	 * timed, and so is the snapshot build when there is one.
+	 */
+	private <G, R> R withGroupsAndSnapshot(final String operation, final String municipalityId, final String namespace,
+		final Function<AccessConfigurationSnapshot, Optional<G>> mirrorLookup, final Supplier<G> activeDirectoryLookup, final BiFunction<G, AccessConfigurationSnapshot, R> resolver) {
+
+		final var snapshot = accessConfigurationIndex.findSnapshot(municipalityId, namespace);
+		if (snapshot.isPresent()) {
+			final var adGroups = accessMetrics.recordStage(operation, STAGE_ACTIVE_DIRECTORY, municipalityId, namespace,
+				() -> mirrorLookup.apply(snapshot.get()).orElseGet(activeDirectoryLookup));
+			return resolver.apply(adGroups, snapshot.get());
+		}
+
+		try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			final var snapshotTask = executor.submit(() -> accessMetrics.recordStage(operation, STAGE_SNAPSHOT, municipalityId, namespace,
+				() -> accessConfigurationIndex.getSnapshot(municipalityId, namespace)));
+
+			final G adGroups;
+			try {
+				adGroups = accessMetrics.recordStage(operation, STAGE_ACTIVE_DIRECTORY, municipalityId, namespace, activeDirectoryLookup);
+			} catch (final RuntimeException e) {
+				snapshotTask.cancel(true);
 				throw e;
 			}
+			return resolver.apply(adGroups, getResult(snapshotTask));
 		}
+	}
+
+	private static <T> T getResult(final Future<T> future) {
+		try {
+			return future.get();
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof final RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw Problem.valueOf(INTERNAL_SERVER_ERROR, "Unable to load access configuration");
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw Problem.valueOf(INTERNAL_SERVER_ERROR, "Interrupted while loading access configuration");
+		}
+	}
+
+	private static <T> T join(final CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (final CompletionException e) {
+			if (e.getCause() instanceof final RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (e.getCause() instanceof final Error error) {
+				throw error;
+			}
+			throw e;
+		}
+	}
 
-		final var accessGroups = adGroups.stream()
+	private List<AccessGroup> resolveAccess(final String operation, final String municipalityId, final String namespace, final AccessConfigurationSnapshot snapshot,
+		final String adId, final List<OUChildren> adGroups, final String type) {
+
+		final var groupAccess = accessMetrics.recordStage(operation, STAGE_GROUPS, municipalityId, namespace, () -> adGroups.stream()
 			.map(OUChildren::getGuid)
 			.filter(Objects::nonNull)
-			.map(guid -> accessGroupRepository.findByMunicipalityIdAndNamespaceAndGroupId(municipalityId, namespace, guid.toString()))
-			.filter(Objects::nonNull)
-			.filter(accessGroup -> type == null || accessGroup.getAccessByType().stream()
-				.anyMatch(accessType -> type.equals(accessType.getType())))
-			.toList();
+			.map(UUID::toString)
+			.distinct()
+			.map(groupId -> snapshot.getAccessGroup(groupId, type))
+			.flatMap(Optional::stream)
+			.toList());
 
-		final var result = new ArrayList<>(toAccessGroups(accessGroups));
+		final var userAccess = accessMetrics.recordStage(operation, STAGE_USER, municipalityId, namespace, () -> snapshot.getUserAccess(adId, type));
 
-		accessUserRepository.findAllByMunicipalityIdAndNamespaceAndUserId(municipalityId, namespace, adId)
-			.stream()
-			.filter(user -> type == null || user.getAccessByType().stream()
-				.anyMatch(accessType -> type.equals(accessType.getType())))
-			.map(Mapper::toAccessGroupFromUser)
-			.forEach(result::add);
+		final var result = new ArrayList<AccessGroup>(groupAccess.size() + userAccess.size());
+		result.addAll(groupAccess);
+		result.addAll(userAccess);
 
+		accessMetrics.recordSizes(operation, municipalityId, namespace, adGroups.size(), groupAccess.size(), countPatterns(result));
 		return result;
 	}
+
+	private static int countPatterns(final List<AccessGroup> accessGroups) {
+		return accessGroups.stream()
+			.flatMap(accessGroup -> accessGroup.getAccessByType().stream())
+			.mapToInt(accessType -> accessType.getAccess().size())
+			.sum();
+	}
+
+	/**
+	 * Collapses the access of the given groups to one entry per type and pattern, holding the strongest access level
+	 * granted for the pattern by any of the groups.
+	 */
+	private static List<AccessType> toEffectiveAccess(final List<AccessGroup> accessGroups, final String type) {
+		final var levelsByPatternByType = new LinkedHashMap<String, Map<String, AccessLevel>>();
+
+		for (final var accessGroup : accessGroups) {
+			for (final var accessType : accessGroup.getAccessByType()) {
+				if (accessType.getType() == null || (type != null && !type.equals(accessType.getType()))) {
+					continue;
+				}
+				final var levelsByPattern = levelsByPatternByType.computeIfAbsent(accessType.getType(), key -> new LinkedHashMap<>());
+				for (final var access : accessType.getAccess()) {
+					if (access.getPattern() != null && access.getAccessLevel() != null) {
+						levelsByPattern.merge(access.getPattern(), access.getAccessLevel(), (current, candidate) -> candidate.isStrongerThan(current) ? candidate : current);
+					}
+				}
+			}
+		}
+
+		final var result = new ArrayList<AccessType>(levelsByPatternByType.size());
+		levelsByPatternByType.forEach((accessType, levelsByPattern) -> result.add(AccessType.create()
+			.withType(accessType)
+			.withAccess(levelsByPattern.entrySet().stream()
+				.map(entry -> Access.create().withPattern(entry.getKey()).withAccessLevel(entry.getValue()))
+				.toList())));
+		return result;
+	}
+
+	private record AccessDetailsKey(String municipalityId, String namespace, String adId, String type) {
+	}
 }
@@ -1,55 +1,175 @@
 package se.sundsvall.accessmapper.service;
 
 import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import se.sundsvall.accessmapper.api.model.AccessUser;
+import se.sundsvall.accessmapper.integration.db.AccessConfigurationVersionRepository;
 import se.sundsvall.accessmapper.integration.db.AccessUserRepository;
+import se.sundsvall.accessmapper.integration.db.model.AccessConfigurationVersionEntity;
 import se.sundsvall.accessmapper.integration.db.model.AccessUserEntity;
+import se.sundsvall.accessmapper.service.snapshot.AccessConfigurationIndex;
+import se.sundsvall.accessmapper.service.util.CursorPage;
 import se.sundsvall.dept44.problem.Problem;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
 
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static se.sundsvall.accessmapper.service.mapper.Mapper.toAccessUser;
 import static se.sundsvall.accessmapper.service.mapper.Mapper.toAccessUserEntity;
 import static se.sundsvall.accessmapper.service.mapper.Mapper.toAccessUsers;
 import static se.sundsvall.accessmapper.service.mapper.Mapper.updateAccessUserEntity;
+import static se.sundsvall.accessmapper.service.util.CursorUtil.afterCursor;
+import static se.sundsvall.accessmapper.service.util.CursorUtil.toCursor;
+import static se.sundsvall.accessmapper.service.util.CursorUtil.toKeysetSort;
+import static se.sundsvall.accessmapper.service.util.CursorUtil.toSort;
+import static se.sundsvall.accessmapper.service.util.ETagUtil.toETag;
+import static se.sundsvall.accessmapper.service.util.IdUtil.toUuid;
+import static se.sundsvall.accessmapper.service.util.MergePatchUtil.applyMergePatch;
+import static se.sundsvall.accessmapper.service.util.SpecificationBuilder.withUserMunicipalityId;
+import static se.sundsvall.accessmapper.service.util.SpecificationBuilder.withUserNamespace;
+import static se.sundsvall.accessmapper.service.util.ValidationUtil.isAccessLevelMissing;
 import static se.sundsvall.dept44.util.LogUtils.sanitizeForLogging;
 
 @Service
 public class AccessUserService {
 
 	private final AccessUserRepository accessUserRepository;
+	private final AccessConfigurationVersionRepository accessConfigurationVersionRepository;
+	private final AccessConfigurationIndex accessConfigurationIndex;
+	private final JsonMapper jsonMapper;
 
-	public AccessUserService(final AccessUserRepository accessUserRepository) {
+	public AccessUserService(final AccessUserRepository accessUserRepository, final AccessConfigurationVersionRepository accessConfigurationVersionRepository, final AccessConfigurationIndex accessConfigurationIndex,
+		final JsonMapper jsonMapper) {
 		this.accessUserRepository = accessUserRepository;
+		this.accessConfigurationVersionRepository = accessConfigurationVersionRepository;
+		this.accessConfigurationIndex = accessConfigurationIndex;
+		this.jsonMapper = jsonMapper;
 	}
 
-	public List<AccessUser> getAccessUsers(final String municipalityId, final String namespace) {
-		return toAccessUsers(accessUserRepository.findAllByMunicipalityIdAndNamespace(municipalityId, namespace));
+	public List<AccessUser> getAccessUsers(final String municipalityId, final String namespace, final String sort) {
+		return toAccessUsers(accessUserRepository.findAllByMunicipalityIdAndNamespace(municipalityId, namespace, toSort(sort)));
+	}
+
+	/**
+	 * Returns one page of access users. Pages are positioned by keyset from the cursor of the previous page, so the cost of
+	 * reading a page does not depend on how far into the listing it is.
+	 *
+	 * @param  municipalityId the municipality id
+	 * @param  namespace      the namespace
+	 * @param  sort           optional sort expression
+	 * @param  after          cursor from the previous page, or null for the first page
+	 * @param  limit          maximum number of access users in the page
+	 * @return                the page
+	 */
+	public CursorPage<AccessUser> getAccessUserPage(final String municipalityId, final String namespace, final String sort, final String after, final int limit) {
+		final var specification = withUserMunicipalityId(municipalityId).and(withUserNamespace(namespace));
+		final var keysetSort = toKeysetSort(sort);
+		final var window = accessUserRepository.findBy(afterCursor(specification, after, keysetSort), query -> query.sortBy(keysetSort).limit(limit).scroll(ScrollPosition.keyset()));
+
+		return new CursorPage<>(toAccessUsers(window.getContent()), accessUserRepository.count(specification), toCursor(window, keysetSort));
 	}
 
 	public AccessUser getAccessUser(final String municipalityId, final String namespace, final String id) {
 		return toAccessUser(getAccessUserEntity(municipalityId, namespace, id));
 	}
 
+	/**
+	 * Returns an ETag for the access user listing, derived from the stored configuration version and the request
+	 * parameters, so that every page and sort order of the listing gets its own ETag.
+	 */
+	public String getAccessUsersETag(final String municipalityId, final String namespace, final String sort, final Integer limit, final String after) {
+		final var version = accessConfigurationVersionRepository.findByMunicipalityIdAndNamespace(municipalityId, namespace)
+			.map(AccessConfigurationVersionEntity::getVersion)
+			.orElse(0L);
+
+		return toETag(version, sort, limit, after);
+	}
+
+	@Transactional
 	public AccessUser createAccessUser(final String municipalityId, final String namespace, final AccessUser accessUser) {
+		validateAccessUser(accessUser);
 		final var entity = toAccessUserEntity(municipalityId, namespace, accessUser);
 		final var savedEntity = accessUserRepository.save(entity);
+		accessConfigurationVersionRepository.incrementVersion(municipalityId, namespace);
+		accessConfigurationIndex.refresh(municipalityId, namespace);
 		return toAccessUser(savedEntity);
 	}
 
+	/**
+	 * Replaces the access user. The new state is diffed against the persisted access user so that only changed rows are
+	 * written, and nothing is written when the access user is unchanged.
+	 */
+	@Transactional
 	public void updateAccessUser(final String municipalityId, final String namespace, final String id, final AccessUser accessUser) {
-		final var existingEntity = getAccessUserEntity(municipalityId, namespace, id);
-		updateAccessUserEntity(existingEntity, accessUser);
-		accessUserRepository.save(existingEntity);
+		final var entity = getAccessUserEntity(municipalityId, namespace, id);
+		applyUpdate(municipalityId, namespace, entity, accessUser);
+	}
+
+	/**
+	 * Applies a JSON merge patch to the access user. The patched state is written the same way as by
+	 * {@link #updateAccessUser(String, String, String, AccessUser)}.
+	 */
+	@Transactional
+	public void patchAccessUser(final String municipalityId, final String namespace, final String id, final JsonNode patch) {
+		final var entity = getAccessUserEntity(municipalityId, namespace, id);
+		applyUpdate(municipalityId, namespace, entity, applyMergePatch(jsonMapper, toAccessUser(entity), patch, AccessUser.class));
 	}
 
+	@Transactional
 	public void deleteAccessUser(final String municipalityId, final String namespace, final String id) {
 		final var entity = getAccessUserEntity(municipalityId, namespace, id);
-		accessUserRepository.delete(entity);
+		writeAndFlush(municipalityId, namespace, entity, accessUserRepository::delete);
+		accessConfigurationVersionRepository.incrementVersion(municipalityId, namespace);
+		accessConfigurationIndex.refresh(municipalityId, namespace);
+	}
+
+	private void applyUpdate(final String municipalityId, final String namespace, final AccessUserEntity entity, final AccessUser accessUser) {
+		validateAccessUser(accessUser);
+		if (!updateAccessUserEntity(entity, accessUser)) {
+			return;
+		}
+
+		writeAndFlush(municipalityId, namespace, entity, accessUserRepository::save);
+		accessConfigurationVersionRepository.incrementVersion(municipalityId, namespace);
+		accessConfigurationIndex.refresh(municipalityId, namespace);
+	}
+
+	/**
+	 * Writes the access user and flushes it, so that a concurrent change made since it was read is detected by its version
+	 * and reported as a conflict instead of being overwritten.
+	 */
+	private void writeAndFlush(final String municipalityId, final String namespace, final AccessUserEntity entity, final Consumer<AccessUserEntity> write) {
+		try {
+			write.accept(entity);
+			accessUserRepository.flush();
+		} catch (final OptimisticLockingFailureException e) {
+			throw Problem.valueOf(CONFLICT,
+				"Access user was modified concurrently for municipalityId: %s, namespace: %s, id: %s.".formatted(
+					sanitizeForLogging(municipalityId),
+					sanitizeForLogging(namespace),
+					entity.getId()));
+		}
+	}
+
+	/**
+	 * Validates an access user that is to be written, which for a merge patch is the patched access user that has not
+	 * passed the request validation.
+	 */
+	private static void validateAccessUser(final AccessUser accessUser) {
+		if (isAccessLevelMissing(accessUser.getAccessByType())) {
+			throw Problem.valueOf(BAD_REQUEST, "Access level is missing for userId: %s.".formatted(sanitizeForLogging(accessUser.getUserId())));
+		}
 	}
 
 	private AccessUserEntity getAccessUserEntity(final String municipalityId, final String namespace, final String id) {
-		return accessUserRepository.findByMunicipalityIdAndNamespaceAndId(municipalityId, namespace, id)
+		return toUuid(id)
+			.flatMap(uuid -> accessUserRepository.findByMunicipalityIdAndNamespaceAndId(municipalityId, namespace, uuid))
 			.orElseThrow(() -> Problem.valueOf(NOT_FOUND,
 				"Access user not found for municipalityId: %s, namespace: %s, id: %s.".formatted(
 					sanitizeForLogging(municipalityId),
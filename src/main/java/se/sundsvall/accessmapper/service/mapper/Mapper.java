@@ -1,7 +1,10 @@
 package se.sundsvall.accessmapper.service.mapper;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Predicate;
 import se.sundsvall.accessmapper.Constants;
 import se.sundsvall.accessmapper.api.model.Access;
 import se.sundsvall.accessmapper.api.model.AccessGroup;
@@ -10,10 +13,13 @@ import se.sundsvall.accessmapper.api.model.AccessType;
 import se.sundsvall.accessmapper.api.model.AccessUser;
 import se.sundsvall.accessmapper.integration.db.model.AccessEntity;
 import se.sundsvall.accessmapper.integration.db.model.AccessGroupEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessTreeAccess;
+import se.sundsvall.accessmapper.integration.db.model.AccessTreeType;
 import se.sundsvall.accessmapper.integration.db.model.AccessTypeEntity;
 import se.sundsvall.accessmapper.integration.db.model.AccessUserEntity;
 
 import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toCollection;
 
 public final class Mapper {
 
@@ -25,8 +31,8 @@ public final class Mapper {
 
 	public static AccessGroup toAccessGroup(final AccessGroupEntity entity) {
 		return AccessGroup.create()
-			.withId(entity.getId())
-			.withAccessByType(toAccessTypes(entity.getAccessByType()))
+			.withId(Objects.toString(entity.getId(), null))
+			.withAccessByType(toAccessTypes(entity.getAccessTree(), entity.getAccessByType()))
 			.withGroupId(entity.getGroupId());
 	}
 
@@ -34,6 +40,37 @@ public final class Mapper {
 		return Optional.ofNullable(entityList).orElse(emptyList()).stream().map(Mapper::toAccessType).toList();
 	}
 
+	/**
+	 * Maps the denormalized access tree when present, so that the normalized access types are not loaded. Falls back to
+	 * mapping the normalized access types for rows that have not been written since the access tree column was added.
+	 */
+	private static List<AccessType> toAccessTypes(final List<AccessTreeType> accessTree, final List<AccessTypeEntity> entityList) {
+		return Optional.ofNullable(accessTree)
+			.map(tree -> tree.stream().map(Mapper::toAccessType).toList())
+			.orElseGet(() -> toAccessTypes(entityList));
+	}
+
+	private static AccessType toAccessType(final AccessTreeType accessTreeType) {
+		return AccessType.create()
+			.withType(accessTreeType.type())
+			.withAccess(Optional.ofNullable(accessTreeType.access()).orElse(emptyList()).stream()
+				.map(access -> Access.create()
+					.withAccessLevel(AccessLevel.valueOf(access.accessLevel()))
+					.withPattern(access.pattern()))
+				.toList());
+	}
+
+	/**
+	 * Maps the normalized access types to the access tree stored alongside them.
+	 */
+	public static List<AccessTreeType> toAccessTree(final List<AccessTypeEntity> entityList) {
+		return Optional.ofNullable(entityList).orElse(emptyList()).stream()
+			.map(entity -> new AccessTreeType(entity.getType(), Optional.ofNullable(entity.getAccess()).orElse(emptyList()).stream()
+				.map(access -> new AccessTreeAccess(access.getPattern(), access.getAccessLevel()))
+				.toList()))
+			.toList();
+	}
+
 	public static AccessType toAccessType(final AccessTypeEntity entity) {
 		return AccessType.create()
 			.withType(entity.getType())
@@ -51,16 +88,18 @@ public final class Mapper {
 	}
 
 	public static AccessGroupEntity toAccessGroupEntity(final String municipalityId, final String namespace, final AccessGroup accessGroup) {
+		final var accessByType = toAccessTypeEntities(accessGroup.getAccessByType());
+
 		return AccessGroupEntity.create()
 			.withNamespace(namespace)
 			.withMunicipalityId(municipalityId)
 			.withGroupId(accessGroup.getGroupId())
-			.withAccessByType(toAccessTypeEntities(accessGroup.getAccessByType()));
-
+			.withAccessByType(accessByType)
+			.withAccessTree(toAccessTree(accessByType));
 	}
 
 	public static List<AccessTypeEntity> toAccessTypeEntities(final List<AccessType> entityList) {
-		return Optional.ofNullable(entityList).orElse(emptyList()).stream().map(Mapper::toAccessTypeEntity).toList();
+		return Optional.ofNullable(entityList).orElse(emptyList()).stream().map(Mapper::toAccessTypeEntity).collect(toCollection(ArrayList::new));
 	}
 
 	private static AccessTypeEntity toAccessTypeEntity(final AccessType accessType) {
@@ -70,8 +109,7 @@ public final class Mapper {
 	}
 
 	private static List<AccessEntity> toAccessEntities(final List<Access> access) {
-		return Optional.ofNullable(access).orElse(emptyList()).stream().map(Mapper::toAccessEntity).toList();
-
+		return Optional.ofNullable(access).orElse(emptyList()).stream().map(Mapper::toAccessEntity).collect(toCollection(ArrayList::new));
 	}
 
 	private static AccessEntity toAccessEntity(final Access access) {
@@ -86,28 +124,138 @@ public final class Mapper {
 
 	public static AccessUser toAccessUser(final AccessUserEntity entity) {
 		return AccessUser.create()
-			.withId(entity.getId())
+			.withId(Objects.toString(entity.getId(), null))
 			.withUserId(entity.getUserId())
-			.withAccessByType(toAccessTypes(entity.getAccessByType()));
+			.withAccessByType(toAccessTypes(entity.getAccessTree(), entity.getAccessByType()));
 	}
 
 	public static AccessUserEntity toAccessUserEntity(final String municipalityId, final String namespace, final AccessUser accessUser) {
+		final var accessByType = toAccessTypeEntities(accessUser.getAccessByType());
+
 		return AccessUserEntity.create()
 			.withMunicipalityId(municipalityId)
 			.withNamespace(namespace)
 			.withUserId(accessUser.getUserId())
-			.withAccessByType(toAccessTypeEntities(accessUser.getAccessByType()));
+			.withAccessByType(accessByType)
+			.withAccessTree(toAccessTree(accessByType));
+	}
+
+	/**
+	 * Applies the access group to the persisted entity, changing only what differs. The access tree is rewritten from the
+	 * resulting access types when anything changed.
+	 *
+	 * @param  entity      the persisted access group
+	 * @param  accessGroup the new state of the access group
+	 * @return             true if the entity was changed
+	 */
+	public static boolean updateAccessGroupEntity(final AccessGroupEntity entity, final AccessGroup accessGroup) {
+		var changed = false;
+		if (!Objects.equals(entity.getGroupId(), accessGroup.getGroupId())) {
+			entity.setGroupId(accessGroup.getGroupId());
+			changed = true;
+		}
+		if (entity.getAccessByType() == null) {
+			entity.setAccessByType(new ArrayList<>());
+		}
+		changed |= updateAccessTypeEntities(entity.getAccessByType(), accessGroup.getAccessByType());
+		if (changed) {
+			entity.setAccessTree(toAccessTree(entity.getAccessByType()));
+		}
+		return changed;
+	}
+
+	/**
+	 * Applies the access user to the persisted entity, changing only what differs. The access tree is rewritten from the
+	 * resulting access types when anything changed.
+	 *
+	 * @param  entity     the persisted access user
+	 * @param  accessUser the new state of the access user
+	 * @return            true if the entity was changed
+	 */
+	public static boolean updateAccessUserEntity(final AccessUserEntity entity, final AccessUser accessUser) {
+		var changed = false;
+		if (!Objects.equals(entity.getUserId(), accessUser.getUserId())) {
+			entity.setUserId(accessUser.getUserId());
+			changed = true;
+		}
+		if (entity.getAccessByType() == null) {
+			entity.setAccessByType(new ArrayList<>());
+		}
+		changed |= updateAccessTypeEntities(entity.getAccessByType(), accessUser.getAccessByType());
+		if (changed) {
+			entity.setAccessTree(toAccessTree(entity.getAccessByType()));
+		}
+		return changed;
+	}
+
+	/**
+	 * Diffs the access types against the persisted access type entities. Access types are matched on type and access on
+	 * pattern, so that rows which are unchanged are kept as they are, changed access levels are updated in place and only
+	 * added or removed access types and access result in inserted or deleted rows.
+	 */
+	private static boolean updateAccessTypeEntities(final List<AccessTypeEntity> entities, final List<AccessType> accessTypes) {
+		final var unmatched = new ArrayList<>(entities);
+		var changed = false;
+
+		for (final var accessType : Optional.ofNullable(accessTypes).orElse(emptyList())) {
+			final var match = removeFirst(unmatched, entity -> Objects.equals(entity.getType(), accessType.getType()));
+			if (match.isPresent()) {
+				changed |= updateAccessEntities(match.get(), accessType.getAccess());
+			} else {
+				entities.add(toAccessTypeEntity(accessType));
+				changed = true;
+			}
+		}
+
+		if (!unmatched.isEmpty()) {
+			entities.removeIf(entity -> unmatched.stream().anyMatch(removed -> removed == entity));
+			changed = true;
+		}
+		return changed;
+	}
+
+	private static boolean updateAccessEntities(final AccessTypeEntity entity, final List<Access> accessList) {
+		if (entity.getAccess() == null) {
+			entity.setAccess(new ArrayList<>());
+		}
+
+		final var unmatched = new ArrayList<>(entity.getAccess());
+		var changed = false;
+
+		for (final var access : Optional.ofNullable(accessList).orElse(emptyList())) {
+			final var match = removeFirst(unmatched, accessEntity -> Objects.equals(accessEntity.getPattern(), access.getPattern()));
+			if (match.isPresent()) {
+				if (!Objects.equals(match.get().getAccessLevel(), access.getAccessLevel().name())) {
+					match.get().setAccessLevel(access.getAccessLevel().name());
+					changed = true;
+				}
+			} else {
+				entity.getAccess().add(toAccessEntity(access));
+				changed = true;
+			}
+		}
+
+		if (!unmatched.isEmpty()) {
+			entity.getAccess().removeIf(accessEntity -> unmatched.stream().anyMatch(removed -> removed == accessEntity));
+			changed = true;
+		}
+		return changed;
 	}
 
-	public static void updateAccessUserEntity(final AccessUserEntity entity, final AccessUser accessUser) {
-		entity.setUserId(accessUser.getUserId());
-		entity.getAccessByType().clear();
-		entity.getAccessByType().addAll(toAccessTypeEntities(accessUser.getAccessByType()));
+	private static <T> Optional<T> removeFirst(final List<T> list, final Predicate<T> predicate) {
+		for (final var iterator = list.iterator(); iterator.hasNext();) {
+			final var element = iterator.next();
+			if (predicate.test(element)) {
+				iterator.remove();
+				return Optional.of(element);
+			}
+		}
+		return Optional.empty();
 	}
 
 	public static AccessGroup toAccessGroupFromUser(final AccessUserEntity entity) {
 		return AccessGroup.create()
-			.withAccessByType(toAccessTypes(entity.getAccessByType()))
+			.withAccessByType(toAccessTypes(entity.getAccessTree(), entity.getAccessByType()))
 			.withGroupId(Constants.LOCAL_STORED_ACCESS_GROUP);
 	}
 }
@@ -0,0 +1,216 @@
+package se.sundsvall.accessmapper.service.membership;
+
+import generated.se.sundsvall.activedirectory.OUChildren;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import se.sundsvall.accessmapper.integration.activedirectory.ActiveDirectoryIntegration;
+import se.sundsvall.accessmapper.integration.activedirectory.GroupMembership;
+import se.sundsvall.accessmapper.integration.activedirectory.configuration.ActiveDirectoryProperties;
+import se.sundsvall.accessmapper.integration.db.AccessGroupRepository;
+import se.sundsvall.accessmapper.service.membership.GroupMemberIndex.GroupMembers;
+import se.sundsvall.accessmapper.service.util.IdUtil;
+
+import static se.sundsvall.accessmapper.service.metrics.AccessMetrics.TAG_MUNICIPALITY_ID;
+import static se.sundsvall.dept44.util.LogUtils.sanitizeForLogging;
+
+/**
+ * In-memory mirror of the active directory members of the configured access groups, per municipality.
+ * <p>
+ * Only configured access groups can grant access, so knowing their members is enough to resolve the relevant groups of
+ * a user without asking active directory per request. The members are synced in the background at the configured
+ * interval, at most the configured bulk concurrency groups at a time, and each sync only touches the members that
+ * have joined or left a group. The members of nested groups are counted as members of the configured group, as active
+ * directory counts them when asked for the groups of a user. A group that cannot be fetched keeps its previously synced
+ * members. Until a
+ * municipality has been synced, once its least recently fetched group is older than the configured maximum age, and
+ * while a configured access group has not been synced yet, the mirror has no answer and active directory is to be asked
+ * instead.
+ */
+@Component
+public class ActiveDirectoryGroupMirror {
+
+	static final String SYNC_FAILURES_COUNTER = "access.group-mirror.sync.failures";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ActiveDirectoryGroupMirror.class);
+	private static final String GROUP_SCHEMA_CLASS = "group";
+
+	private final AccessGroupRepository accessGroupRepository;
+	private final ActiveDirectoryIntegration activeDirectoryIntegration;
+	private final MeterRegistry meterRegistry;
+	private final boolean enabled;
+	private final Duration maximumAge;
+	private final int syncConcurrency;
+	private final ConcurrentMap<String, GroupMemberIndex> indexes = new ConcurrentHashMap<>();
+
+	public ActiveDirectoryGroupMirror(final AccessGroupRepository accessGroupRepository, final ActiveDirectoryIntegration activeDirectoryIntegration,
+		final MeterRegistry meterRegistry, final ActiveDirectoryProperties activeDirectoryProperties) {
+		this.accessGroupRepository = accessGroupRepository;
+		this.activeDirectoryIntegration = activeDirectoryIntegration;
+		this.meterRegistry = meterRegistry;
+		this.enabled = activeDirectoryProperties.groupMirror().enabled();
+		this.maximumAge = activeDirectoryProperties.groupMirror().maximumAge();
+		this.syncConcurrency = activeDirectoryProperties.bulkConcurrency();
+	}
+
+	/**
+	 * Returns the configured access groups that a user is a member of, as last synced from active directory.
+	 *
+	 * @param  municipalityId the municipality id
+	 * @param  groupIds       the configured access groups the answer is for
+	 * @param  adId           the name or guid of the user
+	 * @return                the group membership of the user with only the guid of each group set, or empty if the
+	 *                        mirror cannot answer for the municipality and the given groups
+	 */
+	public Optional<GroupMembership> findGroupMembership(final String municipalityId, final Collection<String> groupIds, final String adId) {
+		return findIndex(municipalityId, groupIds).map(index -> new GroupMembership(index.getGroups(adId), index.syncedAt(), false));
+	}
+
+	/**
+	 * Returns the configured access groups that each of the given users is a member of, as last synced from active
+	 * directory.
+	 *
+	 * @param  municipalityId the municipality id
+	 * @param  groupIds       the configured access groups the answer is for
+	 * @param  adIds          the names or guids of the users
+	 * @return                the groups per user, in the order the users were given, with only the guid of each group
+	 *                        set, or empty if the mirror cannot answer for the municipality and the given groups
+	 */
+	public Optional<Map<String, Optional<List<OUChildren>>>> findGroupsForUsers(final String municipalityId, final Collection<String> groupIds, final Collection<String> adIds) {
+		return findIndex(municipalityId, groupIds).map(index -> {
+			final var result = new LinkedHashMap<String, Optional<List<OUChildren>>>();
+			adIds.stream()
+				.distinct()
+				.forEach(adId -> result.put(adId, Optional.of(index.getGroups(adId))));
+			return result;
+		});
+	}
+
+	/**
+	 * Syncs the members of the configured access groups of every municipality, if the mirror is enabled.
+	 */
+	@Scheduled(fixedDelayString = "${integration.active-directory.group-mirror.sync-interval}")
+	public void sync() {
+		if (!enabled) {
+			return;
+		}
+
+		final var municipalityIds = accessGroupRepository.findDistinctMunicipalityIds();
+		indexes.keySet().retainAll(municipalityIds);
+		municipalityIds.forEach(this::sync);
+	}
+
+	/**
+	 * Syncs the members of the configured access groups of a municipality. Groups whose id is not a guid cannot be
+	 * matched against active directory groups and are left out. If a group that has not been synced before cannot be
+	 * fetched, the index of the municipality is left as it is, since an index without the group would deny its members,
+	 * and the failure is logged and counted.
+	 */
+	void sync(final String municipalityId) {
+		final var current = indexes.getOrDefault(municipalityId, GroupMemberIndex.empty());
+		final var groupIds = accessGroupRepository.findDistinctGroupIdsByMunicipalityId(municipalityId).stream()
+			.filter(groupId -> IdUtil.toUuid(groupId).isPresent())
+			.toList();
+
+		final var permits = new Semaphore(syncConcurrency);
+		final var futures = new LinkedHashMap<String, Future<GroupMembers>>();
+
+		try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			groupIds.forEach(groupId -> futures.put(groupId, executor.submit(() -> {
+				permits.acquire();
+				try {
+					return GroupMembers.of(getNestedMembers(municipalityId, groupId), Instant.now());
+				} finally {
+					permits.release();
+				}
+			})));
+		}
+
+		final var latest = new HashMap<String, GroupMembers>();
+		for (final var entry : futures.entrySet()) {
+			final var members = getResult(entry.getValue()).or(() -> current.findMembers(entry.getKey()));
+			if (members.isEmpty()) {
+				LOGGER.warn("Unable to sync the members of groupId: {} in municipalityId: {}, leaving the group mirror of the municipality as it is",
+					sanitizeForLogging(entry.getKey()), sanitizeForLogging(municipalityId));
+				Counter.builder(SYNC_FAILURES_COUNTER)
+					.description("Number of group mirror syncs left undone as a group that has not been synced before could not be fetched")
+					.tag(TAG_MUNICIPALITY_ID, municipalityId)
+					.register(meterRegistry)
+					.increment();
+				return;
+			}
+			latest.put(entry.getKey(), members.get());
+		}
+		indexes.put(municipalityId, current.update(latest));
+	}
+
+	/**
+	 * Returns the users that are members of a group, directly or through nested groups. Every nested group is fetched
+	 * once, however many times and deep it is nested.
+	 */
+	private List<OUChildren> getNestedMembers(final String municipalityId, final String groupId) {
+		final var members = new ArrayList<OUChildren>();
+		final var fetchedGroupIds = new HashSet<>(Set.of(groupId.toLowerCase(Locale.ROOT)));
+		final var pendingGroupIds = new ArrayDeque<>(List.of(groupId));
+
+		while (!pendingGroupIds.isEmpty()) {
+			for (final var member : activeDirectoryIntegration.getGroupMembers(municipalityId, pendingGroupIds.poll())) {
+				if (!GROUP_SCHEMA_CLASS.equalsIgnoreCase(member.getSchemaClassName())) {
+					members.add(member);
+					continue;
+				}
+				Optional.ofNullable(member.getGuid()).map(UUID::toString).or(() -> Optional.ofNullable(member.getName()))
+					.filter(nestedGroupId -> fetchedGroupIds.add(nestedGroupId.toLowerCase(Locale.ROOT)))
+					.ifPresent(pendingGroupIds::add);
+			}
+		}
+		return members;
+	}
+
+	/**
+	 * Returns the index of a municipality if it is recent enough and holds the members of every given group. A group that
+	 * has been configured since the last sync is not in the index yet, and an index without it would deny its members.
+	 */
+	private Optional<GroupMemberIndex> findIndex(final String municipalityId, final Collection<String> groupIds) {
+		if (!enabled) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(indexes.get(municipalityId))
+			.filter(index -> Duration.between(index.syncedAt(), Instant.now()).compareTo(maximumAge) <= 0)
+			.filter(index -> index.covers(groupIds));
+	}
+
+	private static Optional<GroupMembers> getResult(final Future<GroupMembers> future) {
+		try {
+			return Optional.of(future.get());
+		} catch (final ExecutionException e) {
+			return Optional.empty();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return Optional.empty();
+		}
+	}
+}
@@ -0,0 +1,125 @@
+package se.sundsvall.accessmapper.service.membership;
+
+import generated.se.sundsvall.activedirectory.OUChildren;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import se.sundsvall.accessmapper.service.util.IdUtil;
+
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * Immutable index of the members of the configured access groups of one municipality, and of the groups per member.
+ * Members are keyed on their name and guid, ignoring case.
+ *
+ * @param membersByGroupId the members of each group, and when they were fetched
+ * @param groupIdsByMember the groups of each member
+ * @param syncedAt         when the members of the least recently fetched group were fetched, or when the index was
+ *                         built if it has no groups
+ */
+record GroupMemberIndex(Map<String, GroupMembers> membersByGroupId, Map<String, Set<String>> groupIdsByMember, Instant syncedAt) {
+
+	static GroupMemberIndex empty() {
+		return new GroupMemberIndex(Map.of(), Map.of(), Instant.EPOCH);
+	}
+
+	/**
+	 * Returns an index holding the given members. Only members that have joined or left a group since this index was
+	 * built are touched, so the cost of an update follows the size of the change rather than the size of the index.
+	 *
+	 * @param  latest the members of each group, groups not present are removed
+	 * @return        the updated index
+	 */
+	GroupMemberIndex update(final Map<String, GroupMembers> latest) {
+		final var updatedGroupIdsByMember = new HashMap<>(groupIdsByMember);
+		final var changedGroupIdsByMember = new HashMap<String, Set<String>>();
+
+		membersByGroupId.forEach((groupId, previous) -> {
+			final var next = latest.get(groupId);
+			previous.members().stream()
+				.filter(member -> next == null || !next.members().contains(member))
+				.forEach(member -> changedGroupIdsByMember.computeIfAbsent(member, key -> new HashSet<>(groupIdsByMember.getOrDefault(key, Set.of()))).remove(groupId));
+		});
+		latest.forEach((groupId, next) -> {
+			final var previous = membersByGroupId.get(groupId);
+			next.members().stream()
+				.filter(member -> previous == null || !previous.members().contains(member))
+				.forEach(member -> changedGroupIdsByMember.computeIfAbsent(member, key -> new HashSet<>(groupIdsByMember.getOrDefault(key, Set.of()))).add(groupId));
+		});
+
+		changedGroupIdsByMember.forEach((member, groupIds) -> {
+			if (groupIds.isEmpty()) {
+				updatedGroupIdsByMember.remove(member);
+			} else {
+				updatedGroupIdsByMember.put(member, Set.copyOf(groupIds));
+			}
+		});
+		final var syncedAt = latest.values().stream()
+			.map(GroupMembers::fetchedAt)
+			.min(Instant::compareTo)
+			.orElseGet(Instant::now);
+		return new GroupMemberIndex(Map.copyOf(latest), unmodifiableMap(updatedGroupIdsByMember), syncedAt);
+	}
+
+	/**
+	 * @param  groupId the group
+	 * @return         the members of the group, or empty if the group is not in the index
+	 */
+	Optional<GroupMembers> findMembers(final String groupId) {
+		return Optional.ofNullable(membersByGroupId.get(groupId));
+	}
+
+	/**
+	 * Tells whether the index holds the members of every given group. Groups whose id is not a guid are never synced and
+	 * are left out. Only ids missing from the index are parsed, so the check costs one lookup per group.
+	 *
+	 * @param  groupIds the groups
+	 * @return          true if the members of every group with a guid as id are in the index
+	 */
+	boolean covers(final Collection<String> groupIds) {
+		return groupIds.stream()
+			.allMatch(groupId -> membersByGroupId.containsKey(groupId) || IdUtil.toUuid(groupId).isEmpty());
+	}
+
+	/**
+	 * @param  adId the name or guid of the member
+	 * @return      the groups of the member, with only the guid set
+	 */
+	List<OUChildren> getGroups(final String adId) {
+		if (adId == null) {
+			return List.of();
+		}
+		return groupIdsByMember.getOrDefault(adId.toLowerCase(Locale.ROOT), Set.of()).stream()
+			.map(groupId -> new OUChildren().guid(UUID.fromString(groupId)))
+			.toList();
+	}
+
+	/**
+	 * The members of a group, keyed on their name and guid in lower case.
+	 *
+	 * @param members   the member keys
+	 * @param fetchedAt when the members were fetched from active directory
+	 */
+	record GroupMembers(Set<String> members, Instant fetchedAt) {
+
+		static GroupMembers of(final List<OUChildren> members, final Instant fetchedAt) {
+			final var keys = new HashSet<String>();
+			members.forEach(member -> {
+				if (member.getName() != null) {
+					keys.add(member.getName().toLowerCase(Locale.ROOT));
+				}
+				if (member.getGuid() != null) {
+					keys.add(member.getGuid().toString());
+				}
+			});
+			return new GroupMembers(Set.copyOf(keys), fetchedAt);
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package se.sundsvall.accessmapper.service.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Metrics for access resolution. Every stage of a resolution is timed, and the number of active directory groups, the
+ * number of matched access groups and the number of access patterns they hold are recorded per resolved user. All
+ * meters are tagged with the operation, municipality id and namespace, and the number of municipality ids and
+ * namespaces is limited by {@link AccessMetricsConfiguration}.
+ */
+@Component
+public class AccessMetrics {
+
+	public static final String METER_PREFIX = "access.resolution";
+	public static final String STAGE_TIMER = METER_PREFIX + ".stage";
+	public static final String ACTIVE_DIRECTORY_GROUPS_SUMMARY = METER_PREFIX + ".active-directory.groups";
+	public static final String MATCHED_GROUPS_SUMMARY = METER_PREFIX + ".matched.groups";
+	public static final String RESOLVED_PATTERNS_SUMMARY = METER_PREFIX + ".resolved.patterns";
+
+	public static final String TAG_OPERATION = "operation";
+	public static final String TAG_STAGE = "stage";
+	public static final String TAG_MUNICIPALITY_ID = "municipalityId";
+	public static final String TAG_NAMESPACE = "namespace";
+
+	public static final String STAGE_ACTIVE_DIRECTORY = "active-directory";
+	public static final String STAGE_SNAPSHOT = "snapshot";
+	public static final String STAGE_GROUPS = "groups";
+	public static final String STAGE_USER = "user";
+
+	private final MeterRegistry meterRegistry;
+
+	public AccessMetrics(final MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * Runs a stage of an access resolution and records its duration, whether it succeeds or not.
+	 *
+	 * @param  operation      the resolving operation
+	 * @param  stage          the stage
+	 * @param  municipalityId the municipality id
+	 * @param  namespace      the namespace
+	 * @param  supplier       the stage to run
+	 * @return                the result of the stage
+	 */
+	public <T> T recordStage(final String operation, final String stage, final String municipalityId, final String namespace, final Supplier<T> supplier) {
+		final var sample = Timer.start(meterRegistry);
+		try {
+			return supplier.get();
+		} finally {
+			sample.stop(Timer.builder(STAGE_TIMER)
+				.description("Time spent in each stage of access resolution")
+				.tags(tags(operation, municipalityId, namespace).and(TAG_STAGE, stage))
+				.register(meterRegistry));
+		}
+	}
+
+	/**
+	 * Records the sizes of the access resolved for one user.
+	 *
+	 * @param operation             the resolving operation
+	 * @param municipalityId        the municipality id
+	 * @param namespace             the namespace
+	 * @param activeDirectoryGroups the number of active directory groups of the user
+	 * @param matchedGroups         the number of access groups resolved for the user
+	 * @param resolvedPatterns      the number of access patterns in the resolved access groups
+	 */
+	public void recordSizes(final String operation, final String municipalityId, final String namespace, final int activeDirectoryGroups, final int matchedGroups,
+		final int resolvedPatterns) {
+
+		final var tags = tags(operation, municipalityId, namespace);
+		summary(ACTIVE_DIRECTORY_GROUPS_SUMMARY, "Number of active directory groups per resolved user", "groups", tags).record(activeDirectoryGroups);
+		summary(MATCHED_GROUPS_SUMMARY, "Number of access groups matched per resolved user", "groups", tags).record(matchedGroups);
+		summary(RESOLVED_PATTERNS_SUMMARY, "Number of access patterns resolved per user", "patterns", tags).record(resolvedPatterns);
+	}
+
+	private DistributionSummary summary(final String name, final String description, final String baseUnit, final Tags tags) {
+		return DistributionSummary.builder(name)
+			.description(description)
+			.baseUnit(baseUnit)
+			.tags(tags)
+			.register(meterRegistry);
+	}
+
+	private static Tags tags(final String operation, final String municipalityId, final String namespace) {
+		return Tags.of(TAG_OPERATION, operation, TAG_MUNICIPALITY_ID, municipalityId, TAG_NAMESPACE, namespace);
+	}
+}
@@ -0,0 +1,53 @@
+package se.sundsvall.accessmapper.service.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.MeterFilter;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static se.sundsvall.accessmapper.service.metrics.AccessMetrics.METER_PREFIX;
+import static se.sundsvall.accessmapper.service.metrics.AccessMetrics.TAG_MUNICIPALITY_ID;
+import static se.sundsvall.accessmapper.service.metrics.AccessMetrics.TAG_NAMESPACE;
+
+/**
+ * Guards the cardinality of the access resolution meters. Namespaces are given by the callers, so only the first
+ * values seen of the municipality id and namespace tags are kept and any further values are reported as
+ * {@value #OTHER}.
+ */
+@Configuration
+class AccessMetricsConfiguration {
+
+	static final String OTHER = "other";
+
+	@Bean
+	MeterFilter accessResolutionMunicipalityIdLimit(@Value("${access-configuration.metrics.maximum-tag-values}") final int maximumTagValues) {
+		return limitTagValues(TAG_MUNICIPALITY_ID, maximumTagValues);
+	}
+
+	@Bean
+	MeterFilter accessResolutionNamespaceLimit(@Value("${access-configuration.metrics.maximum-tag-values}") final int maximumTagValues) {
+		return limitTagValues(TAG_NAMESPACE, maximumTagValues);
+	}
+
+	static MeterFilter limitTagValues(final String tagKey, final int maximumTagValues) {
+		final Set<String> tagValues = ConcurrentHashMap.newKeySet();
+
+		return new MeterFilter() {
+			@Override
+			public Meter.Id map(final Meter.Id id) {
+				final var tagValue = id.getTag(tagKey);
+				if (!id.getName().startsWith(METER_PREFIX) || tagValue == null || tagValues.contains(tagValue)) {
+					return id;
+				}
+				if (tagValues.size() < maximumTagValues && tagValues.add(tagValue)) {
+					return id;
+				}
+				return id.withTag(Tag.of(tagKey, OTHER));
+			}
+		};
+	}
+}
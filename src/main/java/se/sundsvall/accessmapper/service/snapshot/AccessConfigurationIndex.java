@@ -0,0 +1,186 @@
+package se.sundsvall.accessmapper.service.snapshot;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import se.sundsvall.accessmapper.integration.db.AccessConfigurationVersionRepository;
+import se.sundsvall.accessmapper.integration.db.AccessConfigurationVersionsChangedEvent;
+import se.sundsvall.accessmapper.integration.db.AccessGroupRepository;
+import se.sundsvall.accessmapper.integration.db.AccessUserRepository;
+import se.sundsvall.accessmapper.integration.db.model.AccessConfigurationVersionEntity;
+
+import static org.springframework.transaction.TransactionDefinition.PROPAGATION_REQUIRES_NEW;
+
+/**
+ * In-memory index of access configuration snapshots per municipality and namespace.
+ * <p>
+ * Readers get the current snapshot without locking. A snapshot is built from the database on first read and is
+ * replaced as a whole when the configuration is modified, so readers never see a partially updated configuration.
+ * Modifications made on other nodes are detected by the polled configuration versions, and stale snapshots are dropped
+ * so that they are rebuilt on next read. Snapshots are loaded outside of the map holding them, so a slow database only
+ * holds up the readers of the snapshot being loaded, and a snapshot older than the last polled version is never stored.
+ */
+@Component
+public class AccessConfigurationIndex {
+
+	private final AccessGroupRepository accessGroupRepository;
+	private final AccessUserRepository accessUserRepository;
+	private final AccessConfigurationVersionRepository accessConfigurationVersionRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final ConcurrentMap<SnapshotKey, AccessConfigurationSnapshot> snapshots = new ConcurrentHashMap<>();
+	private final ConcurrentMap<SnapshotKey, CompletableFuture<AccessConfigurationSnapshot>> inFlightLoads = new ConcurrentHashMap<>();
+	private final AtomicReference<AccessConfigurationVersionsChangedEvent> polledVersions = new AtomicReference<>();
+
+	public AccessConfigurationIndex(final AccessGroupRepository accessGroupRepository, final AccessUserRepository accessUserRepository,
+		final AccessConfigurationVersionRepository accessConfigurationVersionRepository, final PlatformTransactionManager transactionManager) {
+		this.accessGroupRepository = accessGroupRepository;
+		this.accessUserRepository = accessUserRepository;
+		this.accessConfigurationVersionRepository = accessConfigurationVersionRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+		this.transactionTemplate.setPropagationBehavior(PROPAGATION_REQUIRES_NEW);
+	}
+
+	/**
+	 * Returns the snapshot for the given municipality and namespace, building it from the database if not present.
+	 * Concurrent calls for a snapshot that is not present share one load.
+	 *
+	 * @param  municipalityId the municipality id
+	 * @param  namespace      the namespace
+	 * @return                the current snapshot
+	 */
+	public AccessConfigurationSnapshot getSnapshot(final String municipalityId, final String namespace) {
+		final var key = new SnapshotKey(municipalityId, namespace);
+		final var snapshot = snapshots.get(key);
+		if (snapshot != null) {
+			return snapshot;
+		}
+
+		final var future = new CompletableFuture<AccessConfigurationSnapshot>();
+		final var inFlight = inFlightLoads.putIfAbsent(key, future);
+		if (inFlight != null) {
+			return join(inFlight);
+		}
+
+		try {
+			final var loaded = store(key, load(key));
+			future.complete(loaded);
+			return loaded;
+		} catch (final Throwable e) {
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlightLoads.remove(key, future);
+		}
+	}
+
+	/**
+	 * Returns the snapshot for the given municipality and namespace if it has been built, without touching the database.
+	 *
+	 * @param  municipalityId the municipality id
+	 * @param  namespace      the namespace
+	 * @return                the current snapshot, or empty if not built
+	 */
+	public Optional<AccessConfigurationSnapshot> findSnapshot(final String municipalityId, final String namespace) {
+		return Optional.ofNullable(snapshots.get(new SnapshotKey(municipalityId, namespace)));
+	}
+
+	/**
+	 * Rebuilds the snapshot for the given municipality and namespace and swaps it in, if a snapshot has been built. When
+	 * called within a transaction the rebuild is deferred until the transaction has been committed.
+	 *
+	 * @param municipalityId the municipality id
+	 * @param namespace      the namespace
+	 */
+	public void refresh(final String municipalityId, final String namespace) {
+		final var key = new SnapshotKey(municipalityId, namespace);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					rebuild(key);
+				}
+			});
+		} else {
+			rebuild(key);
+		}
+	}
+
+	/**
+	 * Drops every snapshot whose version differs from the polled version stored in the database.
+	 *
+	 * @param event the polled configuration versions
+	 */
+	@EventListener
+	public void evictStaleSnapshots(final AccessConfigurationVersionsChangedEvent event) {
+		polledVersions.set(event);
+		snapshots.keySet().forEach(key -> snapshots.computeIfPresent(key,
+			(k, snapshot) -> snapshot.version() == event.getVersion(k.municipalityId(), k.namespace()) ? snapshot : null));
+	}
+
+	private void rebuild(final SnapshotKey key) {
+		if (!snapshots.containsKey(key)) {
+			return;
+		}
+		final var loaded = load(key);
+		snapshots.computeIfPresent(key, (k, current) -> isStale(k, loaded, current) ? current : loaded);
+	}
+
+	/**
+	 * Stores a loaded snapshot unless a newer one has been stored, or a newer version has been polled, while it was
+	 * loaded. The check and the store are made under the lock of the key, so that a snapshot loaded before a poll is
+	 * never stored after the poll has dropped the stale snapshots.
+	 *
+	 * @param  key    the municipality and namespace of the snapshot
+	 * @param  loaded the loaded snapshot
+	 * @return        the stored snapshot, or the loaded snapshot if it was not stored
+	 */
+	private AccessConfigurationSnapshot store(final SnapshotKey key, final AccessConfigurationSnapshot loaded) {
+		final var stored = snapshots.compute(key, (k, current) -> isStale(k, loaded, current) ? current : loaded);
+		return stored == null ? loaded : stored;
+	}
+
+	private boolean isStale(final SnapshotKey key, final AccessConfigurationSnapshot loaded, final AccessConfigurationSnapshot current) {
+		if (current != null && current.version() > loaded.version()) {
+			return true;
+		}
+		final var polled = polledVersions.get();
+		return polled != null && polled.getVersion(key.municipalityId(), key.namespace()) > loaded.version();
+	}
+
+	private AccessConfigurationSnapshot load(final SnapshotKey key) {
+		return transactionTemplate.execute(status -> AccessConfigurationSnapshot.of(
+			accessConfigurationVersionRepository.findByMunicipalityIdAndNamespace(key.municipalityId(), key.namespace())
+				.map(AccessConfigurationVersionEntity::getVersion)
+				.orElse(0L),
+			accessGroupRepository.findAllByMunicipalityIdAndNamespace(key.municipalityId(), key.namespace()),
+			accessUserRepository.findAllByMunicipalityIdAndNamespace(key.municipalityId(), key.namespace())));
+	}
+
+	private static <T> T join(final CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (final CompletionException e) {
+			if (e.getCause() instanceof final RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (e.getCause() instanceof final Error error) {
+				throw error;
+			}
+			throw e;
+		}
+	}
+
+	private record SnapshotKey(String municipalityId, String namespace) {
+	}
+}
@@ -0,0 +1,158 @@
+package se.sundsvall.accessmapper.service.snapshot;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+import se.sundsvall.accessmapper.api.model.AccessGroup;
+import se.sundsvall.accessmapper.api.model.AccessLevel;
+import se.sundsvall.accessmapper.api.model.AccessType;
+import se.sundsvall.accessmapper.integration.db.model.AccessGroupEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessUserEntity;
+import se.sundsvall.accessmapper.service.mapper.Mapper;
+
+import static java.util.Collections.emptyList;
+import static java.util.Objects.nonNull;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toUnmodifiableList;
+
+/**
+ * Immutable, fully mapped view of the access configuration for one municipality and namespace.
+ *
+ * @param version                   the configuration version the snapshot was built from
+ * @param accessGroupsByGroupId     the access groups, keyed on group id
+ * @param userAccessByUserId        the locally stored user access, mapped as access groups and keyed on user id
+ * @param groupPatternsByGroupId    the compiled access patterns per access type, keyed on group id
+ * @param userPatternsByUserId      the compiled access patterns per access type of the user access, keyed on user id
+ * @param userAccessByUserIdAndType the locally stored user access, keyed on user id and then on its access types
+ */
+public record AccessConfigurationSnapshot(long version, Map<String, AccessGroup> accessGroupsByGroupId, Map<String, List<AccessGroup>> userAccessByUserId,
+	Map<String, Map<String, AccessPatternTrie>> groupPatternsByGroupId, Map<String, Map<String, AccessPatternTrie>> userPatternsByUserId,
+	Map<String, Map<String, List<AccessGroup>>> userAccessByUserIdAndType) {
+
+	public AccessConfigurationSnapshot {
+		accessGroupsByGroupId = Map.copyOf(accessGroupsByGroupId);
+		userAccessByUserId = Map.copyOf(userAccessByUserId);
+		groupPatternsByGroupId = Map.copyOf(groupPatternsByGroupId);
+		userPatternsByUserId = Map.copyOf(userPatternsByUserId);
+		userAccessByUserIdAndType = Map.copyOf(userAccessByUserIdAndType);
+	}
+
+	public static AccessConfigurationSnapshot of(final long version, final List<AccessGroupEntity> accessGroupEntities, final List<AccessUserEntity> accessUserEntities) {
+		final var accessGroupsByGroupId = Optional.ofNullable(accessGroupEntities).orElse(emptyList()).stream()
+			.filter(entity -> nonNull(entity.getGroupId()))
+			.map(Mapper::toAccessGroup)
+			.collect(toMap(AccessGroup::getGroupId, identity()));
+
+		final var userAccessByUserId = Optional.ofNullable(accessUserEntities).orElse(emptyList()).stream()
+			.filter(entity -> nonNull(entity.getUserId()))
+			.collect(groupingBy(AccessUserEntity::getUserId, mapping(Mapper::toAccessGroupFromUser, toUnmodifiableList())));
+
+		final var groupPatternsByGroupId = accessGroupsByGroupId.entrySet().stream()
+			.collect(toMap(Map.Entry::getKey, entry -> compilePatterns(List.of(entry.getValue()))));
+
+		final var userPatternsByUserId = userAccessByUserId.entrySet().stream()
+			.collect(toMap(Map.Entry::getKey, entry -> compilePatterns(entry.getValue())));
+
+		final var userAccessByUserIdAndType = userAccessByUserId.entrySet().stream()
+			.collect(toMap(Map.Entry::getKey, entry -> indexByType(entry.getValue())));
+
+		return new AccessConfigurationSnapshot(version, accessGroupsByGroupId, userAccessByUserId, groupPatternsByGroupId, userPatternsByUserId, userAccessByUserIdAndType);
+	}
+
+	public Optional<AccessGroup> getAccessGroup(final String groupId) {
+		return Optional.ofNullable(accessGroupsByGroupId.get(groupId));
+	}
+
+	/**
+	 * Returns the access group if it holds access of the given type. The type is looked up among the compiled patterns of
+	 * the group, so the access types of the group are not scanned.
+	 *
+	 * @param  groupId the group id
+	 * @param  type    the access type, or null to match any access group
+	 * @return         the access group, or empty if not present or without access of the type
+	 */
+	public Optional<AccessGroup> getAccessGroup(final String groupId, final String type) {
+		if (type != null && !groupPatternsByGroupId.getOrDefault(groupId, Map.of()).containsKey(type)) {
+			return Optional.empty();
+		}
+		return getAccessGroup(groupId);
+	}
+
+	public List<AccessGroup> getUserAccess(final String userId) {
+		return userAccessByUserId.getOrDefault(userId, emptyList());
+	}
+
+	/**
+	 * Returns the locally stored user access that holds access of the given type.
+	 *
+	 * @param  userId the user id
+	 * @param  type   the access type, or null to return all locally stored user access
+	 * @return        the user access, or an empty list if there is none
+	 */
+	public List<AccessGroup> getUserAccess(final String userId, final String type) {
+		if (type == null) {
+			return getUserAccess(userId);
+		}
+		return userAccessByUserIdAndType.getOrDefault(userId, Map.of()).getOrDefault(type, emptyList());
+	}
+
+	/**
+	 * Returns the strongest access level of the given type that the given groups and locally stored user access grant
+	 * for a resource.
+	 *
+	 * @param  groupIds the group ids the user is a member of
+	 * @param  userId   the user id to include locally stored user access for
+	 * @param  type     the access type
+	 * @param  resource the resource path, for example {@code FA/K1/T1}
+	 * @return          the strongest access level, or empty if no pattern matches the resource
+	 */
+	public Optional<AccessLevel> getAccessLevel(final Collection<String> groupIds, final String userId, final String type, final String resource) {
+		final var segments = AccessPatternTrie.split(resource);
+
+		return Stream.concat(groupIds.stream().map(groupPatternsByGroupId::get), Stream.of(userPatternsByUserId.get(userId)))
+			.filter(Objects::nonNull)
+			.map(patternsByType -> patternsByType.get(type))
+			.filter(Objects::nonNull)
+			.map(patterns -> patterns.match(segments))
+			.filter(Objects::nonNull)
+			.min(Comparator.naturalOrder());
+	}
+
+	private static Map<String, List<AccessGroup>> indexByType(final List<AccessGroup> accessGroups) {
+		final var accessGroupsByType = new HashMap<String, List<AccessGroup>>();
+
+		accessGroups.forEach(accessGroup -> accessGroup.getAccessByType().stream()
+			.map(AccessType::getType)
+			.filter(Objects::nonNull)
+			.distinct()
+			.forEach(type -> accessGroupsByType.computeIfAbsent(type, key -> new ArrayList<>()).add(accessGroup)));
+
+		return accessGroupsByType.entrySet().stream()
+			.collect(toMap(Map.Entry::getKey, entry -> List.copyOf(entry.getValue())));
+	}
+
+	private static Map<String, AccessPatternTrie> compilePatterns(final List<AccessGroup> accessGroups) {
+		final var patternsByType = new HashMap<String, AccessPatternTrie>();
+
+		accessGroups.stream()
+			.flatMap(accessGroup -> accessGroup.getAccessByType().stream())
+			.filter(accessType -> nonNull(accessType.getType()))
+			.forEach(accessType -> {
+				final var patterns = patternsByType.computeIfAbsent(accessType.getType(), type -> new AccessPatternTrie());
+				accessType.getAccess().stream()
+					.filter(access -> nonNull(access.getPattern()) && nonNull(access.getAccessLevel()))
+					.forEach(access -> patterns.add(access.getPattern(), access.getAccessLevel()));
+			});
+
+		return patternsByType;
+	}
+}
@@ -0,0 +1,115 @@
+package se.sundsvall.accessmapper.service.snapshot;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import se.sundsvall.accessmapper.api.model.AccessLevel;
+
+import static se.sundsvall.accessmapper.api.model.AccessLevel.RW;
+
+/**
+ * Segment trie of access patterns, used to find the strongest access level granted for a resource path.
+ * <p>
+ * Patterns and resources are split on {@code /}, ignoring empty segments. In a pattern {@code *} matches exactly one
+ * segment and {@code **} matches any number of segments, including none. All other segments must match exactly.
+ * <p>
+ * The trie is populated while a snapshot is built and is only read after that.
+ */
+final class AccessPatternTrie {
+
+	private static final String ANY_SEGMENT = "*";
+	private static final String ANY_SEGMENTS = "**";
+
+	private final Node root = new Node();
+
+	/**
+	 * Adds a pattern granting the given access level. If the pattern is already present the strongest level is kept.
+	 *
+	 * @param pattern     the pattern
+	 * @param accessLevel the access level granted by the pattern
+	 */
+	void add(final String pattern, final AccessLevel accessLevel) {
+		var node = root;
+		for (final var segment : split(pattern)) {
+			node = switch (segment) {
+				case ANY_SEGMENT -> node.getOrCreateAnySegment();
+				case ANY_SEGMENTS -> node.getOrCreateAnySegments();
+				default -> node.children.computeIfAbsent(segment, key -> new Node());
+			};
+		}
+		if (accessLevel.isStrongerThan(node.accessLevel)) {
+			node.accessLevel = accessLevel;
+		}
+	}
+
+	/**
+	 * Returns the strongest access level granted for the given resource segments, or null if no pattern matches.
+	 *
+	 * @param  segments the resource path, split with {@link #split(String)}
+	 * @return          the strongest matching access level or null
+	 */
+	AccessLevel match(final String[] segments) {
+		return match(root, segments, 0, null);
+	}
+
+	/**
+	 * Splits a pattern or resource path into its non-empty segments.
+	 *
+	 * @param  path the path to split
+	 * @return      the segments of the path
+	 */
+	static String[] split(final String path) {
+		return Arrays.stream(path.split("/"))
+			.filter(segment -> !segment.isEmpty())
+			.toArray(String[]::new);
+	}
+
+	private static AccessLevel match(final Node node, final String[] segments, final int index, final AccessLevel strongest) {
+		var result = strongest;
+		if (result == RW) {
+			return result;
+		}
+
+		if (index == segments.length) {
+			if (node.accessLevel != null && node.accessLevel.isStrongerThan(result)) {
+				result = node.accessLevel;
+			}
+		} else {
+			final var child = node.children.get(segments[index]);
+			if (child != null) {
+				result = match(child, segments, index + 1, result);
+			}
+			if (node.anySegment != null) {
+				result = match(node.anySegment, segments, index + 1, result);
+			}
+		}
+
+		if (node.anySegments != null) {
+			for (var next = index; next <= segments.length; next++) {
+				result = match(node.anySegments, segments, next, result);
+			}
+		}
+		return result;
+	}
+
+	private static final class Node {
+		private final Map<String, Node> children = new HashMap<>();
+		private Node anySegment;
+		private Node anySegments;
+		private AccessLevel accessLevel;
+
+		private Node getOrCreateAnySegment() {
+			if (anySegment == null) {
+				anySegment = new Node();
+			}
+			return anySegment;
+		}
+
+		private Node getOrCreateAnySegments() {
+			if (anySegments == null) {
+				anySegments = new Node();
+			}
+			return anySegments;
+		}
+	}
+}
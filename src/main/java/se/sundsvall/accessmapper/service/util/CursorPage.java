@@ -0,0 +1,13 @@
+package se.sundsvall.accessmapper.service.util;
+
+import java.util.List;
+
+/**
+ * One page of a keyset paginated listing.
+ *
+ * @param content    the elements of the page
+ * @param totalCount the number of elements in the whole listing
+ * @param nextCursor cursor for the next page, or null if this is the last page
+ */
+public record CursorPage<T>(List<T> content, long totalCount, String nextCursor) {
+}
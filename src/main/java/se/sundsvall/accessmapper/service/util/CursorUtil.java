@@ -0,0 +1,163 @@
+package se.sundsvall.accessmapper.service.util;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import se.sundsvall.dept44.problem.Problem;
+import se.sundsvall.dept44.problem.ThrowableProblem;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+import static org.springframework.data.domain.Sort.Direction.ASC;
+import static org.springframework.data.domain.Sort.Direction.DESC;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static se.sundsvall.dept44.util.LogUtils.sanitizeForLogging;
+
+public final class CursorUtil {
+
+	private static final String DESCENDING_PREFIX = "-";
+	private static final String ID_PROPERTY = "id";
+	private static final String KEY_SEPARATOR = ".";
+	private static final String NULL_KEY = "~";
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	private CursorUtil() {}
+
+	/**
+	 * Parses a sort expression, being a property name optionally prefixed with "-" for descending order.
+	 *
+	 * @param  sort the sort expression, or null for no sorting
+	 * @return      the sort
+	 */
+	public static Sort toSort(final String sort) {
+		if (sort == null) {
+			return Sort.unsorted();
+		}
+		return sort.startsWith(DESCENDING_PREFIX) ? Sort.by(DESC, sort.substring(DESCENDING_PREFIX.length())) : Sort.by(ASC, sort);
+	}
+
+	/**
+	 * Parses a sort expression into a sort usable for keyset pagination, ending with the id so that every position is
+	 * unique. Without a sort expression the id is sorted ascending.
+	 *
+	 * @param  sort the sort expression, or null for sorting on id only
+	 * @return      the sort
+	 */
+	public static Sort toKeysetSort(final String sort) {
+		final var parsed = toSort(sort);
+		if (parsed.getOrderFor(ID_PROPERTY) != null) {
+			return parsed;
+		}
+		final var direction = parsed.stream().findFirst().map(Sort.Order::getDirection).orElse(ASC);
+		return parsed.and(Sort.by(direction, ID_PROPERTY));
+	}
+
+	/**
+	 * Creates an opaque cursor pointing after the last element of the window. A sort key without value is written as
+	 * {@code ~}, which no encoded value can be mistaken for.
+	 *
+	 * @param  window the window read with the given sort
+	 * @param  sort   the keyset sort the window was read with
+	 * @return        the cursor, or null if there are no more elements after the window
+	 */
+	public static String toCursor(final Window<?> window, final Sort sort) {
+		if (!window.hasNext() || window.isEmpty()) {
+			return null;
+		}
+
+		final var keys = ((KeysetScrollPosition) window.positionAt(window.size() - 1)).getKeys();
+		return sort.stream()
+			.map(order -> keys.get(order.getProperty()))
+			.map(value -> value == null ? NULL_KEY : ENCODER.encodeToString(String.valueOf(value).getBytes(UTF_8)))
+			.collect(joining(KEY_SEPARATOR));
+	}
+
+	/**
+	 * Restricts a specification to the entities after a cursor created by {@link #toCursor(Window, Sort)} with the same
+	 * sort. The entities are to be read with the sort from the initial keyset position. Sort keys without value are
+	 * ordered as by the database, first in ascending and last in descending order, which the keyset scrolling of Spring
+	 * Data cannot express.
+	 *
+	 * @param  specification the specification to restrict
+	 * @param  cursor        the cursor, or null for the first page
+	 * @param  sort          the keyset sort
+	 * @return               the restricted specification, or the given specification when there is no cursor
+	 */
+	public static <T> Specification<T> afterCursor(final Specification<T> specification, final String cursor, final Sort sort) {
+		if (cursor == null) {
+			return specification;
+		}
+
+		final var keys = readKeys(cursor, sort);
+		return specification.and((root, query, criteriaBuilder) -> isAfter(root, criteriaBuilder, sort.toList(), keys));
+	}
+
+	static Map<String, Object> readKeys(final String cursor, final Sort sort) {
+		final var orders = sort.toList();
+		final var values = cursor.split(Pattern.quote(KEY_SEPARATOR), -1);
+		if (values.length != orders.size()) {
+			throw invalidCursor(cursor);
+		}
+
+		// Sort keys without value are kept as null, which rules out an immutable map
+		final var keys = new HashMap<String, Object>();
+		try {
+			for (var i = 0; i < values.length; i++) {
+				final var property = orders.get(i).getProperty();
+				final var value = NULL_KEY.equals(values[i]) ? null : new String(DECODER.decode(values[i]), UTF_8);
+				keys.put(property, ID_PROPERTY.equals(property) && value != null ? UUID.fromString(value) : value);
+			}
+		} catch (final IllegalArgumentException e) {
+			throw invalidCursor(cursor);
+		}
+		return keys;
+	}
+
+	/**
+	 * An entity is after the keys when it is after them in one sort order and equal to them in all preceding orders.
+	 */
+	@SuppressWarnings("rawtypes")
+	private static Predicate isAfter(final Root<?> root, final CriteriaBuilder criteriaBuilder, final List<Sort.Order> orders, final Map<String, Object> keys) {
+		final var alternatives = new ArrayList<Predicate>();
+		final var equalToKeys = new ArrayList<Predicate>();
+
+		for (final var order : orders) {
+			final Expression<Comparable> property = root.get(order.getProperty());
+			final var value = (Comparable) keys.get(order.getProperty());
+
+			final var alternative = new ArrayList<>(equalToKeys);
+			alternative.add(isAfter(criteriaBuilder, property, value, order.isAscending()));
+			alternatives.add(criteriaBuilder.and(alternative.toArray(Predicate[]::new)));
+			equalToKeys.add(value == null ? criteriaBuilder.isNull(property) : criteriaBuilder.equal(property, value));
+		}
+		return criteriaBuilder.or(alternatives.toArray(Predicate[]::new));
+	}
+
+	@SuppressWarnings({
+		"rawtypes", "unchecked"
+	})
+	private static Predicate isAfter(final CriteriaBuilder criteriaBuilder, final Expression<Comparable> property, final Comparable value, final boolean ascending) {
+		if (ascending) {
+			return value == null ? criteriaBuilder.isNotNull(property) : criteriaBuilder.greaterThan(property, value);
+		}
+		// Nothing is ordered after a missing value in descending order
+		return value == null ? criteriaBuilder.disjunction() : criteriaBuilder.or(criteriaBuilder.lessThan(property, value), criteriaBuilder.isNull(property));
+	}
+
+	private static ThrowableProblem invalidCursor(final String cursor) {
+		return Problem.valueOf(BAD_REQUEST, "Invalid cursor: %s.".formatted(sanitizeForLogging(cursor)));
+	}
+}
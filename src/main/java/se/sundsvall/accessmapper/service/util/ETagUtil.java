@@ -0,0 +1,27 @@
+package se.sundsvall.accessmapper.service.util;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import org.springframework.util.DigestUtils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public final class ETagUtil {
+
+	private ETagUtil() {}
+
+	/**
+	 * Creates a strong, quoted ETag from the given parts. Equal parts (compared by their string representation) always
+	 * give the same ETag.
+	 *
+	 * @param  parts the values the represented content is derived from
+	 * @return       the ETag
+	 */
+	public static String toETag(final Object... parts) {
+		final var value = Arrays.stream(parts)
+			.map(String::valueOf)
+			.collect(Collectors.joining("|"));
+
+		return "\"" + DigestUtils.md5DigestAsHex(value.getBytes(UTF_8)) + "\"";
+	}
+}
@@ -0,0 +1,27 @@
+package se.sundsvall.accessmapper.service.util;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public final class IdUtil {
+
+	private IdUtil() {}
+
+	/**
+	 * Parses an id in its canonical string representation.
+	 *
+	 * @param  id the id
+	 * @return    the parsed id, or empty if the id is not a valid UUID
+	 */
+	public static Optional<UUID> toUuid(final String id) {
+		if (id == null) {
+			return Optional.empty();
+		}
+		try {
+			final var uuid = UUID.fromString(id);
+			return uuid.toString().equalsIgnoreCase(id) ? Optional.of(uuid) : Optional.empty();
+		} catch (final IllegalArgumentException e) {
+			return Optional.empty();
+		}
+	}
+}
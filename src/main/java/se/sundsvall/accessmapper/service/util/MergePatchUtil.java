@@ -0,0 +1,48 @@
+package se.sundsvall.accessmapper.service.util;
+
+import se.sundsvall.dept44.problem.Problem;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+public final class MergePatchUtil {
+
+	private MergePatchUtil() {}
+
+	/**
+	 * Applies a JSON merge patch (RFC 7386) to a model. Members set to null in the patch are removed, objects are merged
+	 * recursively and all other values, arrays included, replace the current value.
+	 *
+	 * @param  jsonMapper the mapper used to convert between the model and its JSON representation
+	 * @param  target     the current model
+	 * @param  patch      the merge patch
+	 * @param  type       the model type
+	 * @return            a new model with the patch applied
+	 */
+	public static <T> T applyMergePatch(final JsonMapper jsonMapper, final T target, final JsonNode patch, final Class<T> type) {
+		try {
+			return jsonMapper.treeToValue(merge(jsonMapper.valueToTree(target), patch), type);
+		} catch (final JacksonException e) {
+			throw Problem.valueOf(BAD_REQUEST, "Invalid merge patch: %s".formatted(e.getOriginalMessage()));
+		}
+	}
+
+	static JsonNode merge(final JsonNode target, final JsonNode patch) {
+		if (!patch.isObject()) {
+			return patch;
+		}
+
+		final var result = target != null && target.isObject() ? ((ObjectNode) target).deepCopy() : ((ObjectNode) patch).objectNode();
+		patch.properties().forEach(entry -> {
+			if (entry.getValue().isNull()) {
+				result.remove(entry.getKey());
+			} else {
+				result.set(entry.getKey(), merge(result.get(entry.getKey()), entry.getValue()));
+			}
+		});
+		return result;
+	}
+}
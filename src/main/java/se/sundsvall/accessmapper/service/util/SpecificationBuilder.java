@@ -2,12 +2,14 @@ package se.sundsvall.accessmapper.service.util;
 
 import org.springframework.data.jpa.domain.Specification;
 import se.sundsvall.accessmapper.integration.db.model.AccessGroupEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessUserEntity;
 
 import static java.util.Objects.nonNull;
 
 public class SpecificationBuilder<T> {
 
 	private static final SpecificationBuilder<AccessGroupEntity> ACCESS_GROUP_ENTITY_SPECIFICATION_BUILDER = new SpecificationBuilder<>();
+	private static final SpecificationBuilder<AccessUserEntity> ACCESS_USER_ENTITY_SPECIFICATION_BUILDER = new SpecificationBuilder<>();
 
 	public static Specification<AccessGroupEntity> withNamespace(final String namespace) {
 		return ACCESS_GROUP_ENTITY_SPECIFICATION_BUILDER.buildEqualFilter("namespace", namespace);
@@ -21,6 +23,14 @@ public class SpecificationBuilder<T> {
 		return ACCESS_GROUP_ENTITY_SPECIFICATION_BUILDER.buildAccessTypeFilter(type);
 	}
 
+	public static Specification<AccessUserEntity> withUserNamespace(final String namespace) {
+		return ACCESS_USER_ENTITY_SPECIFICATION_BUILDER.buildEqualFilter("namespace", namespace);
+	}
+
+	public static Specification<AccessUserEntity> withUserMunicipalityId(final String municipalityId) {
+		return ACCESS_USER_ENTITY_SPECIFICATION_BUILDER.buildEqualFilter("municipalityId", municipalityId);
+	}
+
 	/**
 	 * Method builds an equal filter if the value is not null. If value is null, the method returns an always-true predicate
 	 * (meaning no filtering will be applied for sent in attribute)
@@ -33,12 +43,22 @@ public class SpecificationBuilder<T> {
 		return (entity, cq, cb) -> nonNull(value) ? cb.equal(entity.get(attribute), value) : cb.and();
 	}
 
+	/**
+	 * Method builds a filter matching entities that hold at least one access type of the sent in type. The access types
+	 * are matched in a correlated exists subquery rather than by joining them into the query, so that an entity holding
+	 * several access types of the same type is returned once and paging and counting are not affected.
+	 *
+	 * @param  type type (or null) to filter on
+	 * @return      Specification<T> matching entities holding the type
+	 */
 	private Specification<T> buildAccessTypeFilter(final String type) {
 		return (entity, cq, cb) -> {
 			if (type == null) {
 				return cb.and();
 			}
-			return cb.equal(entity.join("accessByType").get("type"), type);
+			final var subquery = cq.subquery(Integer.class);
+			final var accessType = subquery.correlate(entity).join("accessByType");
+			return cb.exists(subquery.select(cb.literal(1)).where(cb.equal(accessType.get("type"), type)));
 		};
 	}
 }
@@ -0,0 +1,25 @@
+package se.sundsvall.accessmapper.service.util;
+
+import java.util.List;
+import java.util.Optional;
+import se.sundsvall.accessmapper.api.model.AccessType;
+
+import static java.util.Collections.emptyList;
+
+public final class ValidationUtil {
+
+	private ValidationUtil() {}
+
+	/**
+	 * Checks that every access of the access types has an access level. Request bodies are validated by the resources,
+	 * but a model produced by a merge patch is not, so the services check this before the model is mapped to entities.
+	 *
+	 * @param  accessByType the access types, or null for none
+	 * @return              true if an access type or access is missing, or an access has no access level
+	 */
+	public static boolean isAccessLevelMissing(final List<AccessType> accessByType) {
+		return Optional.ofNullable(accessByType).orElse(emptyList()).stream()
+			.anyMatch(accessType -> accessType == null || Optional.ofNullable(accessType.getAccess()).orElse(emptyList()).stream()
+				.anyMatch(access -> access == null || access.getAccessLevel() == null));
+	}
+}
@@ -0,0 +1,7 @@
+create table if not exists access_configuration_version
+(
+    municipality_id varchar(255) not null,
+    namespace       varchar(255) not null,
+    version         bigint       not null,
+    primary key (municipality_id, namespace)
+) engine = InnoDB;
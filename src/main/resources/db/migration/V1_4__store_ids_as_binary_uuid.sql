@@ -0,0 +1,75 @@
+-- Ids are stored as 16 byte binary UUIDs instead of their 36 character string representation
+
+alter table access drop foreign key if exists fk_access_type_id;
+alter table access_type drop foreign key if exists fk_access_group_id;
+alter table access_type drop foreign key if exists fk_access_user_id;
+drop index if exists idx_id_group_id on access_group;
+
+alter table access_group add column id_binary binary(16);
+update access_group set id_binary = unhex(replace(id, '-', ''));
+alter table access_group
+    drop primary key,
+    drop column id;
+alter table access_group
+    change column id_binary id binary(16) not null first,
+    add primary key (id);
+
+alter table access_user add column id_binary binary(16);
+update access_user set id_binary = unhex(replace(id, '-', ''));
+alter table access_user
+    drop primary key,
+    drop column id;
+alter table access_user
+    change column id_binary id binary(16) not null first,
+    add primary key (id);
+
+alter table access_type
+    add column id_binary binary(16),
+    add column access_group_id_binary binary(16),
+    add column access_user_id_binary binary(16);
+update access_type
+set id_binary              = unhex(replace(id, '-', '')),
+    access_group_id_binary = unhex(replace(access_group_id, '-', '')),
+    access_user_id_binary  = unhex(replace(access_user_id, '-', ''));
+alter table access_type
+    drop primary key,
+    drop column id,
+    drop column access_group_id,
+    drop column access_user_id;
+alter table access_type
+    change column id_binary id binary(16) not null first,
+    change column access_group_id_binary access_group_id binary(16),
+    change column access_user_id_binary access_user_id binary(16),
+    add primary key (id);
+
+alter table access
+    add column id_binary binary(16),
+    add column access_type_id_binary binary(16);
+update access
+set id_binary             = unhex(replace(id, '-', '')),
+    access_type_id_binary = unhex(replace(access_type_id, '-', ''));
+alter table access
+    drop primary key,
+    drop column id,
+    drop column access_type_id;
+alter table access
+    change column id_binary id binary(16) not null first,
+    change column access_type_id_binary access_type_id binary(16),
+    add primary key (id);
+
+create index idx_id_group_id on access_group (id, group_id);
+
+alter table if exists access
+    add constraint fk_access_type_id
+        foreign key if not exists (access_type_id)
+            references access_type (id);
+
+alter table if exists access_type
+    add constraint fk_access_group_id
+        foreign key if not exists (access_group_id)
+            references access_group (id);
+
+alter table if exists access_type
+    add constraint fk_access_user_id
+        foreign key if not exists (access_user_id)
+            references access_user (id);
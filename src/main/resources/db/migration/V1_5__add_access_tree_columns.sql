@@ -0,0 +1,26 @@
+alter table access_group add column if not exists access_tree longtext;
+alter table access_user add column if not exists access_tree longtext;
+
+-- Backfill the read-optimized trees from the normalized tables. The nested aggregate is passed through json_extract so
+-- that it is embedded as JSON and not as an escaped string.
+update access_group g
+set g.access_tree = coalesce((
+    select json_arrayagg(json_object(
+        'type', t.type,
+        'access', json_extract(coalesce((
+            select json_arrayagg(json_object('pattern', a.pattern, 'accessLevel', a.access_level) order by a.id)
+            from access a
+            where a.access_type_id = t.id), '[]'), '$')) order by t.id)
+    from access_type t
+    where t.access_group_id = g.id), '[]');
+
+update access_user u
+set u.access_tree = coalesce((
+    select json_arrayagg(json_object(
+        'type', t.type,
+        'access', json_extract(coalesce((
+            select json_arrayagg(json_object('pattern', a.pattern, 'accessLevel', a.access_level) order by a.id)
+            from access a
+            where a.access_type_id = t.id), '[]'), '$')) order by t.id)
+    from access_type t
+    where t.access_user_id = u.id), '[]');
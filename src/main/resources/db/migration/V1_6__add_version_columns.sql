@@ -0,0 +1,2 @@
+alter table access_group add column if not exists version bigint not null default 0;
+alter table access_user add column if not exists version bigint not null default 0;
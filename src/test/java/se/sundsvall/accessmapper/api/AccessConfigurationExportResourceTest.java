@@ -0,0 +1,142 @@
+package se.sundsvall.accessmapper.api;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import se.sundsvall.accessmapper.Application;
+import se.sundsvall.accessmapper.api.model.AccessConfigurationExportEntry;
+import se.sundsvall.accessmapper.api.model.AccessGroup;
+import se.sundsvall.accessmapper.api.model.AccessUser;
+import se.sundsvall.accessmapper.service.AccessConfigurationExportService;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_PROBLEM_JSON;
+
+@SpringBootTest(classes = Application.class, webEnvironment = RANDOM_PORT, properties = "access-configuration.export-concurrency=1")
+@ActiveProfiles("junit")
+@AutoConfigureWebTestClient
+class AccessConfigurationExportResourceTest {
+
+	private static final String NAMESPACE = "namespace";
+
+	private static final String MUNICIPALITY_ID = "2281";
+
+	private static final String PATH = "/{municipalityId}/{namespace}/access-config/export";
+
+	@MockitoBean
+	private AccessConfigurationExportService accessConfigurationExportServiceMock;
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@AfterEach
+	void tearDown() {
+		verifyNoMoreInteractions(accessConfigurationExportServiceMock);
+	}
+
+	@Test
+	void exportAccessConfiguration() {
+		// Arrange
+		final var groupPage = List.of(
+			AccessConfigurationExportEntry.create().withAccessGroup(AccessGroup.create().withId("g1").withGroupId("G1")),
+			AccessConfigurationExportEntry.create().withAccessGroup(AccessGroup.create().withId("g2").withGroupId("G2")));
+		final var userPage = List.of(
+			AccessConfigurationExportEntry.create().withAccessUser(AccessUser.create().withId("u1").withUserId("joe01doe")));
+
+		doAnswer(invocation -> {
+			final Consumer<List<AccessConfigurationExportEntry>> pageConsumer = invocation.getArgument(2);
+			pageConsumer.accept(groupPage);
+			pageConsumer.accept(userPage);
+			return null;
+		}).when(accessConfigurationExportServiceMock).exportAccessConfiguration(eq(MUNICIPALITY_ID), eq(NAMESPACE), any());
+
+		// Act
+		final var response = webTestClient.get().uri(builder -> builder.path(PATH)
+			.build(Map.of("municipalityId", MUNICIPALITY_ID, "namespace", NAMESPACE)))
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_NDJSON)
+			.expectBodyList(AccessConfigurationExportEntry.class)
+			.returnResult();
+
+		// Assert
+		assertThat(response.getResponseBody()).containsExactly(groupPage.get(0), groupPage.get(1), userPage.getFirst());
+		verify(accessConfigurationExportServiceMock).exportAccessConfiguration(eq(MUNICIPALITY_ID), eq(NAMESPACE), any());
+	}
+
+	@Test
+	void exportAccessConfigurationOmitsAbsentEntryType() {
+		// Arrange
+		doAnswer(invocation -> {
+			final Consumer<List<AccessConfigurationExportEntry>> pageConsumer = invocation.getArgument(2);
+			pageConsumer.accept(List.of(AccessConfigurationExportEntry.create().withAccessGroup(AccessGroup.create().withGroupId("G1"))));
+			return null;
+		}).when(accessConfigurationExportServiceMock).exportAccessConfiguration(eq(MUNICIPALITY_ID), eq(NAMESPACE), any());
+
+		// Act
+		final var response = webTestClient.get().uri(builder -> builder.path(PATH)
+			.build(Map.of("municipalityId", MUNICIPALITY_ID, "namespace", NAMESPACE)))
+			.exchange()
+			.expectStatus().isOk()
+			.expectBody(String.class)
+			.returnResult()
+			.getResponseBody();
+
+		// Assert
+		assertThat(response).endsWith("\n").contains("\"accessGroup\"").doesNotContain("accessUser");
+		verify(accessConfigurationExportServiceMock).exportAccessConfiguration(eq(MUNICIPALITY_ID), eq(NAMESPACE), any());
+	}
+
+	@Test
+	void exportAccessConfigurationWhenTooManyExportsAreRunning() throws Exception {
+		// Arrange
+		final var exportStarted = new CountDownLatch(1);
+		final var exportReleased = new CountDownLatch(1);
+
+		doAnswer(invocation -> {
+			exportStarted.countDown();
+			exportReleased.await(10, SECONDS);
+			return null;
+		}).when(accessConfigurationExportServiceMock).exportAccessConfiguration(eq(MUNICIPALITY_ID), eq(NAMESPACE), any());
+
+		try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			final var runningExport = executor.submit(() -> webTestClient.get().uri(builder -> builder.path(PATH)
+				.build(Map.of("municipalityId", MUNICIPALITY_ID, "namespace", NAMESPACE)))
+				.exchange()
+				.expectStatus().isOk());
+			assertThat(exportStarted.await(10, SECONDS)).isTrue();
+
+			// Act
+			webTestClient.get().uri(builder -> builder.path(PATH)
+				.build(Map.of("municipalityId", MUNICIPALITY_ID, "namespace", NAMESPACE)))
+				.exchange()
+				.expectStatus().isEqualTo(SERVICE_UNAVAILABLE)
+				.expectHeader().contentType(APPLICATION_PROBLEM_JSON);
+
+			exportReleased.countDown();
+			runningExport.get(10, SECONDS);
+		}
+
+		// Assert
+		verify(accessConfigurationExportServiceMock).exportAccessConfiguration(eq(MUNICIPALITY_ID), eq(NAMESPACE), any());
+	}
+}
@@ -1,5 +1,6 @@
 package se.sundsvall.accessmapper.api;
 
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -62,6 +63,34 @@ class AccessGroupResourceFailureTest {
 		verifyNoInteractions(accessGroupServiceMock);
 	}
 
+	@Test
+	void getAccessGroupsWithInvalidSortAndLimit() {
+
+		// Act
+		final var response = webTestClient.get()
+			.uri(builder -> builder.path(PATH)
+				.queryParam("sort", "-type")
+				.queryParam("limit", 1001)
+				.build(Map.of("namespace", NAMESPACE, "municipalityId", MUNICIPALITY_ID)))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations())
+			.extracting(Violation::field, Violation::message)
+			.containsExactlyInAnyOrder(
+				tuple("getAccessGroups.sort", "must be a sortable property, optionally prefixed with - for descending order"),
+				tuple("getAccessGroups.limit", "must be less than or equal to 1000"));
+
+		// Assert
+		verifyNoInteractions(accessGroupServiceMock);
+	}
+
 	@Test
 	void getAccessGroupsWithInvalidMunicipalityId() {
 
@@ -182,6 +211,31 @@ class AccessGroupResourceFailureTest {
 		verifyNoInteractions(accessGroupServiceMock);
 	}
 
+	@Test
+	void importAccessGroupsWithoutAccessGroups() {
+
+		// Act
+		final var response = webTestClient.post()
+			.uri(builder -> builder.path(PATH.concat("/import")).build(Map.of("namespace", NAMESPACE, "municipalityId", MUNICIPALITY_ID)))
+			.contentType(APPLICATION_JSON)
+			.bodyValue(List.of())
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations())
+			.extracting(Violation::field, Violation::message)
+			.containsExactlyInAnyOrder(tuple("importAccessGroups.accessGroups", "must not be empty"));
+
+		// Assert
+		verifyNoInteractions(accessGroupServiceMock);
+	}
+
 	@Test
 	void createAccessGroupWithInvalidMunicipalityId() {
 
@@ -3,25 +3,35 @@ package se.sundsvall.accessmapper.api;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import se.sundsvall.accessmapper.Application;
 import se.sundsvall.accessmapper.api.model.AccessGroup;
 import se.sundsvall.accessmapper.service.AccessGroupService;
+import se.sundsvall.accessmapper.service.util.CursorPage;
+import tools.jackson.databind.JsonNode;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.http.MediaType.ALL;
 import static org.springframework.http.MediaType.ALL_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static se.sundsvall.accessmapper.Constants.APPLICATION_MERGE_PATCH_JSON_VALUE;
+import static se.sundsvall.accessmapper.Constants.NEXT_CURSOR_HEADER;
+import static se.sundsvall.accessmapper.Constants.TOTAL_COUNT_HEADER;
 
 @SpringBootTest(classes = Application.class, webEnvironment = RANDOM_PORT)
 @ActiveProfiles("junit")
@@ -34,6 +44,8 @@ class AccessGroupResourceTest {
 
 	private static final String ID = "550e8400-e29b-41d4-a716-446655440000";
 
+	private static final String E_TAG = "\"0123456789abcdef0123456789abcdef\"";
+
 	private static final String PATH = "/{municipalityId}/{namespace}/access-config/group";
 
 	@MockitoBean
@@ -47,20 +59,23 @@ class AccessGroupResourceTest {
 		// Arrange
 		final var accessGroups = List.of(new AccessGroup());
 
-		when(accessGroupServiceMock.getAccessGroups(MUNICIPALITY_ID, NAMESPACE, null)).thenReturn(accessGroups);
+		when(accessGroupServiceMock.getAccessGroupsETag(MUNICIPALITY_ID, NAMESPACE, null, null, null, null)).thenReturn(E_TAG);
+		when(accessGroupServiceMock.getAccessGroups(MUNICIPALITY_ID, NAMESPACE, null, null)).thenReturn(accessGroups);
 
 		final var response = webTestClient.get().uri(builder -> builder.path(PATH)
 			.build(Map.of("municipalityId", MUNICIPALITY_ID, "namespace", NAMESPACE)))
 			.exchange()
 			.expectStatus().isOk()
 			.expectHeader().contentType(APPLICATION_JSON)
+			.expectHeader().valueEquals(ETAG, E_TAG)
 			.expectBodyList(AccessGroup.class)
 			.returnResult();
 
 		assertThat(response.getResponseBody()).isEqualTo(accessGroups);
 
 		// Assert
-		verify(accessGroupServiceMock).getAccessGroups(MUNICIPALITY_ID, NAMESPACE, null);
+		verify(accessGroupServiceMock).getAccessGroupsETag(MUNICIPALITY_ID, NAMESPACE, null, null, null, null);
+		verify(accessGroupServiceMock).getAccessGroups(MUNICIPALITY_ID, NAMESPACE, null, null);
 	}
 
 	@Test
@@ -69,7 +84,8 @@ class AccessGroupResourceTest {
 		final var type = "label";
 		final var accessGroups = List.of(new AccessGroup());
 
-		when(accessGroupServiceMock.getAccessGroups(MUNICIPALITY_ID, NAMESPACE, type)).thenReturn(accessGroups);
+		when(accessGroupServiceMock.getAccessGroupsETag(MUNICIPALITY_ID, NAMESPACE, type, null, null, null)).thenReturn(E_TAG);
+		when(accessGroupServiceMock.getAccessGroups(MUNICIPALITY_ID, NAMESPACE, type, null)).thenReturn(accessGroups);
 
 		final var response = webTestClient.get().uri(builder -> builder.path(PATH)
 			.queryParam("type", type)
@@ -77,13 +93,87 @@ class AccessGroupResourceTest {
 			.exchange()
 			.expectStatus().isOk()
 			.expectHeader().contentType(APPLICATION_JSON)
+			.expectHeader().valueEquals(ETAG, E_TAG)
+			.expectBodyList(AccessGroup.class)
+			.returnResult();
+
+		assertThat(response.getResponseBody()).isEqualTo(accessGroups);
+
+		// Assert
+		verify(accessGroupServiceMock).getAccessGroupsETag(MUNICIPALITY_ID, NAMESPACE, type, null, null, null);
+		verify(accessGroupServiceMock).getAccessGroups(MUNICIPALITY_ID, NAMESPACE, type, null);
+	}
+
+	@Test
+	void getAccessGroupsPaged() {
+		// Arrange
+		final var sort = "-groupId";
+		final var after = "Y3Vyc29y";
+		final var accessGroups = List.of(AccessGroup.create().withGroupId("G2"), AccessGroup.create().withGroupId("G1"));
+
+		when(accessGroupServiceMock.getAccessGroupsETag(MUNICIPALITY_ID, NAMESPACE, null, sort, 2, after)).thenReturn(E_TAG);
+		when(accessGroupServiceMock.getAccessGroupPage(MUNICIPALITY_ID, NAMESPACE, null, sort, after, 2)).thenReturn(new CursorPage<>(accessGroups, 10, "bmV4dA"));
+
+		final var response = webTestClient.get().uri(builder -> builder.path(PATH)
+			.queryParam("sort", sort)
+			.queryParam("limit", 2)
+			.queryParam("after", after)
+			.build(Map.of("municipalityId", MUNICIPALITY_ID, "namespace", NAMESPACE)))
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_JSON)
+			.expectHeader().valueEquals(ETAG, E_TAG)
+			.expectHeader().valueEquals(TOTAL_COUNT_HEADER, "10")
+			.expectHeader().valueEquals(NEXT_CURSOR_HEADER, "bmV4dA")
 			.expectBodyList(AccessGroup.class)
 			.returnResult();
 
 		assertThat(response.getResponseBody()).isEqualTo(accessGroups);
 
 		// Assert
-		verify(accessGroupServiceMock).getAccessGroups(MUNICIPALITY_ID, NAMESPACE, type);
+		verify(accessGroupServiceMock).getAccessGroupsETag(MUNICIPALITY_ID, NAMESPACE, null, sort, 2, after);
+		verify(accessGroupServiceMock).getAccessGroupPage(MUNICIPALITY_ID, NAMESPACE, null, sort, after, 2);
+		verifyNoMoreInteractions(accessGroupServiceMock);
+	}
+
+	@Test
+	void getAccessGroupsLastPage() {
+		// Arrange
+		when(accessGroupServiceMock.getAccessGroupsETag(MUNICIPALITY_ID, NAMESPACE, null, null, 100, null)).thenReturn(E_TAG);
+		when(accessGroupServiceMock.getAccessGroupPage(MUNICIPALITY_ID, NAMESPACE, null, null, null, 100)).thenReturn(new CursorPage<>(List.of(), 0, null));
+
+		webTestClient.get().uri(builder -> builder.path(PATH)
+			.queryParam("limit", 100)
+			.build(Map.of("municipalityId", MUNICIPALITY_ID, "namespace", NAMESPACE)))
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().valueEquals(TOTAL_COUNT_HEADER, "0")
+			.expectHeader().doesNotExist(NEXT_CURSOR_HEADER)
+			.expectBodyList(AccessGroup.class).hasSize(0);
+
+		// Assert
+		verify(accessGroupServiceMock).getAccessGroupsETag(MUNICIPALITY_ID, NAMESPACE, null, null, 100, null);
+		verify(accessGroupServiceMock).getAccessGroupPage(MUNICIPALITY_ID, NAMESPACE, null, null, null, 100);
+		verifyNoMoreInteractions(accessGroupServiceMock);
+	}
+
+	@Test
+	void getAccessGroupsNotModified() {
+		// Arrange
+		when(accessGroupServiceMock.getAccessGroupsETag(MUNICIPALITY_ID, NAMESPACE, null, null, null, null)).thenReturn(E_TAG);
+
+		// Act
+		webTestClient.get().uri(builder -> builder.path(PATH)
+			.build(Map.of("municipalityId", MUNICIPALITY_ID, "namespace", NAMESPACE)))
+			.header(IF_NONE_MATCH, E_TAG)
+			.exchange()
+			.expectStatus().isNotModified()
+			.expectHeader().valueEquals(ETAG, E_TAG)
+			.expectBody().isEmpty();
+
+		// Assert
+		verify(accessGroupServiceMock).getAccessGroupsETag(MUNICIPALITY_ID, NAMESPACE, null, null, null, null);
+		verifyNoMoreInteractions(accessGroupServiceMock);
 	}
 
 	@Test
@@ -129,6 +219,26 @@ class AccessGroupResourceTest {
 		verify(accessGroupServiceMock).createAccessGroup(eq(MUNICIPALITY_ID), eq(NAMESPACE), any(AccessGroup.class));
 	}
 
+	@Test
+	void importAccessGroups() {
+		// Arrange
+		final var accessGroups = List.of(AccessGroup.create().withGroupId("G1"), AccessGroup.create().withGroupId("G2"));
+
+		// Act
+		webTestClient.post().uri(builder -> builder.path(PATH.concat("/import"))
+			.build(Map.of("municipalityId", MUNICIPALITY_ID, "namespace", NAMESPACE)))
+			.contentType(APPLICATION_JSON)
+			.accept(ALL)
+			.bodyValue(accessGroups)
+			.exchange()
+			.expectStatus().isNoContent()
+			.expectHeader().contentType(ALL)
+			.expectBody().isEmpty();
+
+		// Assert
+		verify(accessGroupServiceMock).importAccessGroups(MUNICIPALITY_ID, NAMESPACE, accessGroups);
+	}
+
 	@Test
 	void updateAccessGroup() {
 		// Arrange
@@ -149,6 +259,29 @@ class AccessGroupResourceTest {
 		verify(accessGroupServiceMock).updateAccessGroup(eq(MUNICIPALITY_ID), eq(NAMESPACE), eq(ID), any(AccessGroup.class));
 	}
 
+	@Test
+	void patchAccessGroup() {
+		// Arrange
+		final var patchCaptor = ArgumentCaptor.forClass(JsonNode.class);
+
+		// Act
+		webTestClient.patch().uri(builder -> builder.path(PATH.concat("/{id}"))
+			.build(Map.of("municipalityId", MUNICIPALITY_ID, "namespace", NAMESPACE, "id", ID)))
+			.contentType(MediaType.parseMediaType(APPLICATION_MERGE_PATCH_JSON_VALUE))
+			.accept(ALL)
+			.bodyValue("""
+				{"groupId": "G2"}
+				""")
+			.exchange()
+			.expectStatus().isNoContent()
+			.expectHeader().contentType(ALL_VALUE)
+			.expectBody().isEmpty();
+
+		// Assert
+		verify(accessGroupServiceMock).patchAccessGroup(eq(MUNICIPALITY_ID), eq(NAMESPACE), eq(ID), patchCaptor.capture());
+		assertThat(patchCaptor.getValue().get("groupId").asString()).isEqualTo("G2");
+	}
+
 	@Test
 	void deleteAccessGroup() {
 		webTestClient.delete().uri(builder -> builder.path(PATH.concat("/{id}"))
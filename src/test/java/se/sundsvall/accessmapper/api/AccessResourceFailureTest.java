@@ -1,5 +1,6 @@
 package se.sundsvall.accessmapper.api;
 
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +10,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import se.sundsvall.accessmapper.Application;
+import se.sundsvall.accessmapper.api.model.AccessDetailsRequest;
 import se.sundsvall.accessmapper.service.AccessService;
 import se.sundsvall.dept44.problem.Problem;
 import se.sundsvall.dept44.problem.violations.ConstraintViolationProblem;
@@ -21,6 +23,7 @@ import static org.mockito.Mockito.when;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.http.MediaType.APPLICATION_PROBLEM_JSON_VALUE;
 
 @SpringBootTest(classes = Application.class, webEnvironment = RANDOM_PORT)
@@ -35,6 +38,8 @@ class AccessResourceFailureTest {
 
 	private static final String PATH = "/{municipalityId}/{namespace}/access/ad/{adId}";
 
+	private static final String BULK_PATH = "/{municipalityId}/{namespace}/access/ad";
+
 	@Autowired
 	private WebTestClient webTestClient;
 
@@ -91,7 +96,7 @@ class AccessResourceFailureTest {
 	void getAccessDetailsNotFound() {
 
 		// Arrange
-		when(accessServiceMock.getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_ID, null))
+		when(accessServiceMock.getAccessDetailsWithMetadata(MUNICIPALITY_ID, NAMESPACE, AD_ID, null))
 			.thenThrow(Problem.valueOf(NOT_FOUND, "Access details not found for adId: " + AD_ID));
 
 		// Act
@@ -108,4 +113,114 @@ class AccessResourceFailureTest {
 		assertThat(response.getStatus()).isEqualTo(NOT_FOUND);
 		assertThat(response.getDetail()).isEqualTo("Access details not found for adId: " + AD_ID);
 	}
+
+	@Test
+	void checkAccessWithBlankResource() {
+
+		// Act
+		final var response = webTestClient.get()
+			.uri(builder -> builder.path(PATH + "/check")
+				.queryParam("type", "label")
+				.queryParam("resource", " ")
+				.build(Map.of("namespace", NAMESPACE, "municipalityId", MUNICIPALITY_ID, "adId", AD_ID)))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations())
+			.extracting(Violation::field, Violation::message)
+			.containsExactlyInAnyOrder(tuple("checkAccess.resource", "must not be blank"));
+
+		// Assert
+		verifyNoInteractions(accessServiceMock);
+	}
+
+	@Test
+	void getBulkAccessDetailsWithInvalidNamespace() {
+
+		// Arrange
+		final var request = AccessDetailsRequest.create().withAdIds(List.of(AD_ID));
+
+		// Act
+		final var response = webTestClient.post()
+			.uri(builder -> builder.path(BULK_PATH).build(Map.of("namespace", INVALID, "municipalityId", MUNICIPALITY_ID)))
+			.contentType(APPLICATION_JSON)
+			.bodyValue(request)
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations())
+			.extracting(Violation::field, Violation::message)
+			.containsExactlyInAnyOrder(tuple("getBulkAccessDetails.namespace", "can only contain A-Z, a-z, 0-9, - and _"));
+
+		// Assert
+		verifyNoInteractions(accessServiceMock);
+	}
+
+	@Test
+	void getBulkAccessDetailsWithoutAdIds() {
+
+		// Arrange
+		final var request = AccessDetailsRequest.create().withAdIds(List.of());
+
+		// Act
+		final var response = webTestClient.post()
+			.uri(builder -> builder.path(BULK_PATH).build(Map.of("namespace", NAMESPACE, "municipalityId", MUNICIPALITY_ID)))
+			.contentType(APPLICATION_JSON)
+			.bodyValue(request)
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations())
+			.extracting(Violation::field, Violation::message)
+			.containsExactlyInAnyOrder(tuple("adIds", "must not be empty"));
+
+		// Assert
+		verifyNoInteractions(accessServiceMock);
+	}
+
+	@Test
+	void getBulkAccessDetailsWithBlankAdId() {
+
+		// Arrange
+		final var request = AccessDetailsRequest.create().withAdIds(List.of(AD_ID, " "));
+
+		// Act
+		final var response = webTestClient.post()
+			.uri(builder -> builder.path(BULK_PATH).build(Map.of("namespace", NAMESPACE, "municipalityId", MUNICIPALITY_ID)))
+			.contentType(APPLICATION_JSON)
+			.bodyValue(request)
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations())
+			.extracting(Violation::field, Violation::message)
+			.containsExactlyInAnyOrder(tuple("adIds[1]", "must not be blank"));
+
+		// Assert
+		verifyNoInteractions(accessServiceMock);
+	}
 }
@@ -1,23 +1,37 @@
 package se.sundsvall.accessmapper.api;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import se.sundsvall.accessmapper.Application;
+import se.sundsvall.accessmapper.api.model.AccessDecision;
+import se.sundsvall.accessmapper.api.model.AccessDetailsResult;
+import se.sundsvall.accessmapper.api.model.AccessDetailsRequest;
 import se.sundsvall.accessmapper.api.model.AccessGroup;
+import se.sundsvall.accessmapper.api.model.AccessLevel;
+import se.sundsvall.accessmapper.api.model.AccessType;
+import se.sundsvall.accessmapper.service.AccessDetails;
 import se.sundsvall.accessmapper.service.AccessService;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpHeaders.AGE;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static se.sundsvall.accessmapper.Constants.DATA_AGE_HEADER;
 
 @SpringBootTest(classes = Application.class, webEnvironment = RANDOM_PORT)
 @ActiveProfiles("junit")
@@ -30,8 +44,14 @@ class AccessResourceTest {
 
 	private static final String AD_ID = "joe01doe";
 
+	private static final String E_TAG = "\"0123456789abcdef0123456789abcdef\"";
+
+	private static final Duration AGE_OF_GROUPS = Duration.ofSeconds(42);
+
 	private static final String PATH = "/{municipalityId}/{namespace}/access/ad/{adId}";
 
+	private static final String BULK_PATH = "/{municipalityId}/{namespace}/access/ad";
+
 	@MockitoBean
 	private AccessService accessServiceMock;
 
@@ -43,7 +63,7 @@ class AccessResourceTest {
 		// Arrange
 		final var accessGroups = List.of(new AccessGroup());
 
-		when(accessServiceMock.getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_ID, null)).thenReturn(accessGroups);
+		when(accessServiceMock.getAccessDetailsWithMetadata(MUNICIPALITY_ID, NAMESPACE, AD_ID, null)).thenReturn(new AccessDetails(accessGroups, E_TAG, AGE_OF_GROUPS));
 
 		// Act
 		final var response = webTestClient.get().uri(builder -> builder.path(PATH)
@@ -51,12 +71,36 @@ class AccessResourceTest {
 			.exchange()
 			.expectStatus().isOk()
 			.expectHeader().contentType(APPLICATION_JSON)
+			.expectHeader().valueEquals(ETAG, E_TAG)
+			.expectHeader().valueEquals(DATA_AGE_HEADER, "42")
+			.expectHeader().doesNotExist(AGE)
 			.expectBodyList(AccessGroup.class)
 			.returnResult();
 
 		// Assert
 		assertThat(response.getResponseBody()).isEqualTo(accessGroups);
-		verify(accessServiceMock).getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_ID, null);
+		verify(accessServiceMock).getAccessDetailsWithMetadata(MUNICIPALITY_ID, NAMESPACE, AD_ID, null);
+	}
+
+	@Test
+	void getAccessDetailsNotModified() {
+		// Arrange
+		when(accessServiceMock.getAccessDetailsWithMetadata(MUNICIPALITY_ID, NAMESPACE, AD_ID, null))
+			.thenReturn(new AccessDetails(E_TAG, AGE_OF_GROUPS, () -> fail("Access groups resolved for a not modified response")));
+
+		// Act
+		webTestClient.get().uri(builder -> builder.path(PATH)
+			.build(Map.of("municipalityId", MUNICIPALITY_ID, "namespace", NAMESPACE, "adId", AD_ID)))
+			.header(IF_NONE_MATCH, E_TAG)
+			.exchange()
+			.expectStatus().isNotModified()
+			.expectHeader().valueEquals(ETAG, E_TAG)
+			.expectHeader().valueEquals(DATA_AGE_HEADER, "42")
+			.expectBody().isEmpty();
+
+		// Assert
+		verify(accessServiceMock).getAccessDetailsWithMetadata(MUNICIPALITY_ID, NAMESPACE, AD_ID, null);
+		verifyNoMoreInteractions(accessServiceMock);
 	}
 
 	@Test
@@ -65,7 +109,7 @@ class AccessResourceTest {
 		final var type = "label";
 		final var accessGroups = List.of(new AccessGroup());
 
-		when(accessServiceMock.getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_ID, type)).thenReturn(accessGroups);
+		when(accessServiceMock.getAccessDetailsWithMetadata(MUNICIPALITY_ID, NAMESPACE, AD_ID, type)).thenReturn(new AccessDetails(accessGroups, E_TAG, AGE_OF_GROUPS));
 
 		// Act
 		final var response = webTestClient.get().uri(builder -> builder.path(PATH)
@@ -74,11 +118,88 @@ class AccessResourceTest {
 			.exchange()
 			.expectStatus().isOk()
 			.expectHeader().contentType(APPLICATION_JSON)
+			.expectHeader().valueEquals(ETAG, E_TAG)
+			.expectHeader().valueEquals(DATA_AGE_HEADER, "42")
 			.expectBodyList(AccessGroup.class)
 			.returnResult();
 
 		// Assert
 		assertThat(response.getResponseBody()).isEqualTo(accessGroups);
-		verify(accessServiceMock).getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_ID, type);
+		verify(accessServiceMock).getAccessDetailsWithMetadata(MUNICIPALITY_ID, NAMESPACE, AD_ID, type);
+	}
+
+	@Test
+	void getEffectiveAccess() {
+		// Arrange
+		final var type = "label";
+		final var accessTypes = List.of(AccessType.create().withType(type));
+
+		when(accessServiceMock.getEffectiveAccess(MUNICIPALITY_ID, NAMESPACE, AD_ID, type)).thenReturn(accessTypes);
+
+		// Act
+		final var response = webTestClient.get().uri(builder -> builder.path(PATH + "/effective")
+			.queryParam("type", type)
+			.build(Map.of("municipalityId", MUNICIPALITY_ID, "namespace", NAMESPACE, "adId", AD_ID)))
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_JSON)
+			.expectBodyList(AccessType.class)
+			.returnResult();
+
+		// Assert
+		assertThat(response.getResponseBody()).isEqualTo(accessTypes);
+		verify(accessServiceMock).getEffectiveAccess(MUNICIPALITY_ID, NAMESPACE, AD_ID, type);
+	}
+
+	@Test
+	void checkAccess() {
+		// Arrange
+		final var type = "label";
+		final var resource = "FA/K1/T1";
+		final var decision = AccessDecision.create().withAccessLevel(AccessLevel.R);
+
+		when(accessServiceMock.checkAccess(MUNICIPALITY_ID, NAMESPACE, AD_ID, type, resource)).thenReturn(decision);
+
+		// Act
+		final var response = webTestClient.get().uri(builder -> builder.path(PATH + "/check")
+			.queryParam("type", type)
+			.queryParam("resource", resource)
+			.build(Map.of("municipalityId", MUNICIPALITY_ID, "namespace", NAMESPACE, "adId", AD_ID)))
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_JSON)
+			.expectBody(AccessDecision.class)
+			.returnResult();
+
+		// Assert
+		assertThat(response.getResponseBody()).isEqualTo(decision);
+		verify(accessServiceMock).checkAccess(MUNICIPALITY_ID, NAMESPACE, AD_ID, type, resource);
+	}
+
+	@Test
+	void getBulkAccessDetails() {
+		// Arrange
+		final var type = "label";
+		final var adIds = List.of(AD_ID, "jane02doe");
+		final var accessGroups = Map.of(
+			AD_ID, AccessDetailsResult.create().withAccessGroups(List.of(new AccessGroup())),
+			"jane02doe", AccessDetailsResult.create().withAccessGroups(List.of()).withError("Unable to retrieve groups from active directory"));
+
+		when(accessServiceMock.getBulkAccessDetails(MUNICIPALITY_ID, NAMESPACE, adIds, type)).thenReturn(accessGroups);
+
+		// Act
+		final var response = webTestClient.post().uri(builder -> builder.path(BULK_PATH)
+			.build(Map.of("municipalityId", MUNICIPALITY_ID, "namespace", NAMESPACE)))
+			.contentType(APPLICATION_JSON)
+			.bodyValue(AccessDetailsRequest.create().withAdIds(adIds).withType(type))
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_JSON)
+			.expectBody(new ParameterizedTypeReference<Map<String, AccessDetailsResult>>() {})
+			.returnResult();
+
+		// Assert
+		assertThat(response.getResponseBody()).isEqualTo(accessGroups);
+		verify(accessServiceMock).getBulkAccessDetails(MUNICIPALITY_ID, NAMESPACE, adIds, type);
 	}
 }
@@ -62,6 +62,34 @@ class AccessUserConfigResourceFailureTest {
 		verifyNoInteractions(accessUserServiceMock);
 	}
 
+	@Test
+	void getAccessUsersWithInvalidSortAndLimit() {
+
+		// Act
+		final var response = webTestClient.get()
+			.uri(builder -> builder.path(PATH)
+				.queryParam("sort", "-type")
+				.queryParam("limit", 1001)
+				.build(Map.of("namespace", NAMESPACE, "municipalityId", MUNICIPALITY_ID)))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations())
+			.extracting(Violation::field, Violation::message)
+			.containsExactlyInAnyOrder(
+				tuple("getAccessUsers.sort", "must be a sortable property, optionally prefixed with - for descending order"),
+				tuple("getAccessUsers.limit", "must be less than or equal to 1000"));
+
+		// Assert
+		verifyNoInteractions(accessUserServiceMock);
+	}
+
 	@Test
 	void getAccessUsersWithInvalidMunicipalityId() {
 
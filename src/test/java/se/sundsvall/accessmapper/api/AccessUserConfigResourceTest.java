@@ -3,25 +3,35 @@ package se.sundsvall.accessmapper.api;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import se.sundsvall.accessmapper.Application;
 import se.sundsvall.accessmapper.api.model.AccessUser;
 import se.sundsvall.accessmapper.service.AccessUserService;
+import se.sundsvall.accessmapper.service.util.CursorPage;
+import tools.jackson.databind.JsonNode;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.http.MediaType.ALL;
 import static org.springframework.http.MediaType.ALL_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static se.sundsvall.accessmapper.Constants.APPLICATION_MERGE_PATCH_JSON_VALUE;
+import static se.sundsvall.accessmapper.Constants.NEXT_CURSOR_HEADER;
+import static se.sundsvall.accessmapper.Constants.TOTAL_COUNT_HEADER;
 
 @SpringBootTest(classes = Application.class, webEnvironment = RANDOM_PORT)
 @ActiveProfiles("junit")
@@ -34,6 +44,8 @@ class AccessUserConfigResourceTest {
 
 	private static final String ID = "81471222-5798-11e9-ae24-57fa13b361e1";
 
+	private static final String E_TAG = "\"0123456789abcdef0123456789abcdef\"";
+
 	private static final String PATH = "/{municipalityId}/{namespace}/access-config/user";
 
 	@MockitoBean
@@ -47,20 +59,71 @@ class AccessUserConfigResourceTest {
 		// Arrange
 		final var accessUsers = List.of(new AccessUser());
 
-		when(accessUserServiceMock.getAccessUsers(MUNICIPALITY_ID, NAMESPACE)).thenReturn(accessUsers);
+		when(accessUserServiceMock.getAccessUsersETag(MUNICIPALITY_ID, NAMESPACE, null, null, null)).thenReturn(E_TAG);
+		when(accessUserServiceMock.getAccessUsers(MUNICIPALITY_ID, NAMESPACE, null)).thenReturn(accessUsers);
+
+		final var response = webTestClient.get().uri(builder -> builder.path(PATH)
+			.build(Map.of("municipalityId", MUNICIPALITY_ID, "namespace", NAMESPACE)))
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_JSON)
+			.expectHeader().valueEquals(ETAG, E_TAG)
+			.expectBodyList(AccessUser.class)
+			.returnResult();
+
+		assertThat(response.getResponseBody()).isEqualTo(accessUsers);
+
+		// Assert
+		verify(accessUserServiceMock).getAccessUsersETag(MUNICIPALITY_ID, NAMESPACE, null, null, null);
+		verify(accessUserServiceMock).getAccessUsers(MUNICIPALITY_ID, NAMESPACE, null);
+	}
+
+	@Test
+	void getAccessUsersPaged() {
+		// Arrange
+		final var accessUsers = List.of(AccessUser.create().withUserId("joe01doe"));
+
+		when(accessUserServiceMock.getAccessUsersETag(MUNICIPALITY_ID, NAMESPACE, "userId", 1, null)).thenReturn(E_TAG);
+		when(accessUserServiceMock.getAccessUserPage(MUNICIPALITY_ID, NAMESPACE, "userId", null, 1)).thenReturn(new CursorPage<>(accessUsers, 3, "bmV4dA"));
 
 		final var response = webTestClient.get().uri(builder -> builder.path(PATH)
+			.queryParam("sort", "userId")
+			.queryParam("limit", 1)
 			.build(Map.of("municipalityId", MUNICIPALITY_ID, "namespace", NAMESPACE)))
 			.exchange()
 			.expectStatus().isOk()
 			.expectHeader().contentType(APPLICATION_JSON)
+			.expectHeader().valueEquals(ETAG, E_TAG)
+			.expectHeader().valueEquals(TOTAL_COUNT_HEADER, "3")
+			.expectHeader().valueEquals(NEXT_CURSOR_HEADER, "bmV4dA")
 			.expectBodyList(AccessUser.class)
 			.returnResult();
 
 		assertThat(response.getResponseBody()).isEqualTo(accessUsers);
 
 		// Assert
-		verify(accessUserServiceMock).getAccessUsers(MUNICIPALITY_ID, NAMESPACE);
+		verify(accessUserServiceMock).getAccessUsersETag(MUNICIPALITY_ID, NAMESPACE, "userId", 1, null);
+		verify(accessUserServiceMock).getAccessUserPage(MUNICIPALITY_ID, NAMESPACE, "userId", null, 1);
+		verifyNoMoreInteractions(accessUserServiceMock);
+	}
+
+	@Test
+	void getAccessUsersNotModified() {
+		// Arrange
+		when(accessUserServiceMock.getAccessUsersETag(MUNICIPALITY_ID, NAMESPACE, null, null, null)).thenReturn(E_TAG);
+
+		// Act
+		webTestClient.get().uri(builder -> builder.path(PATH)
+			.build(Map.of("municipalityId", MUNICIPALITY_ID, "namespace", NAMESPACE)))
+			.header(IF_NONE_MATCH, E_TAG)
+			.exchange()
+			.expectStatus().isNotModified()
+			.expectHeader().valueEquals(ETAG, E_TAG)
+			.expectBody().isEmpty();
+
+		// Assert
+		verify(accessUserServiceMock).getAccessUsersETag(MUNICIPALITY_ID, NAMESPACE, null, null, null);
+		verifyNoMoreInteractions(accessUserServiceMock);
 	}
 
 	@Test
@@ -135,6 +198,29 @@ class AccessUserConfigResourceTest {
 		verify(accessUserServiceMock).updateAccessUser(eq(MUNICIPALITY_ID), eq(NAMESPACE), eq(ID), any(AccessUser.class));
 	}
 
+	@Test
+	void patchAccessUser() {
+		// Arrange
+		final var patchCaptor = ArgumentCaptor.forClass(JsonNode.class);
+
+		// Act
+		webTestClient.patch().uri(builder -> builder.path(PATH.concat("/{id}"))
+			.build(Map.of("municipalityId", MUNICIPALITY_ID, "namespace", NAMESPACE, "id", ID)))
+			.contentType(MediaType.parseMediaType(APPLICATION_MERGE_PATCH_JSON_VALUE))
+			.accept(ALL)
+			.bodyValue("""
+				{"userId": "joe02doe"}
+				""")
+			.exchange()
+			.expectStatus().isNoContent()
+			.expectHeader().contentType(ALL_VALUE)
+			.expectBody().isEmpty();
+
+		// Assert
+		verify(accessUserServiceMock).patchAccessUser(eq(MUNICIPALITY_ID), eq(NAMESPACE), eq(ID), patchCaptor.capture());
+		assertThat(patchCaptor.getValue().get("userId").asString()).isEqualTo("joe02doe");
+	}
+
 	@Test
 	void deleteAccessUser() {
 		webTestClient.delete().uri(builder -> builder.path(PATH.concat("/{id}"))
@@ -0,0 +1,48 @@
+package se.sundsvall.accessmapper.api.model;
+
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+
+class AccessConfigurationExportEntryTest {
+
+	@Test
+	void testBean() {
+		MatcherAssert.assertThat(AccessConfigurationExportEntry.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testBuilderMethods() {
+		// Arrange
+		final var accessGroup = AccessGroup.create().withGroupId("G1");
+		final var accessUser = AccessUser.create().withUserId("joe01doe");
+
+		// Act
+		final var result = AccessConfigurationExportEntry.create()
+			.withAccessGroup(accessGroup)
+			.withAccessUser(accessUser);
+
+		// Assert
+		assertThat(result).isNotNull().hasNoNullFieldsOrProperties();
+		assertThat(result.getAccessGroup()).isEqualTo(accessGroup);
+		assertThat(result.getAccessUser()).isEqualTo(accessUser);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(AccessConfigurationExportEntry.create()).hasAllNullFieldsOrProperties();
+		assertThat(new AccessConfigurationExportEntry()).hasAllNullFieldsOrProperties();
+	}
+}
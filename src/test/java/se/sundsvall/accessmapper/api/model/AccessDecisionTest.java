@@ -0,0 +1,45 @@
+package se.sundsvall.accessmapper.api.model;
+
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+
+class AccessDecisionTest {
+
+	@Test
+	void testBean() {
+		MatcherAssert.assertThat(AccessDecision.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testBuilderMethods() {
+		// Arrange
+		final var accessLevel = AccessLevel.R;
+
+		// Act
+		final var result = AccessDecision.create()
+			.withAccessLevel(accessLevel);
+
+		// Assert
+		assertThat(result).isNotNull().hasNoNullFieldsOrProperties();
+		assertThat(result.getAccessLevel()).isEqualTo(accessLevel);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(AccessDecision.create()).hasAllNullFieldsOrProperties();
+		assertThat(new AccessDecision()).hasAllNullFieldsOrProperties();
+	}
+}
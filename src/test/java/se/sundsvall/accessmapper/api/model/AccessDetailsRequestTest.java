@@ -0,0 +1,49 @@
+package se.sundsvall.accessmapper.api.model;
+
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+
+class AccessDetailsRequestTest {
+
+	@Test
+	void testBean() {
+		MatcherAssert.assertThat(AccessDetailsRequest.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testBuilderMethods() {
+		// Arrange
+		final var adIds = List.of("joe01doe", "jane02doe");
+		final var type = "type";
+
+		// Act
+		final var result = AccessDetailsRequest.create()
+			.withAdIds(adIds)
+			.withType(type);
+
+		// Assert
+		assertThat(result).isNotNull().hasNoNullFieldsOrProperties();
+		assertThat(result.getAdIds()).isEqualTo(adIds);
+		assertThat(result.getType()).isEqualTo(type);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(AccessDetailsRequest.create()).hasAllNullFieldsOrProperties();
+		assertThat(new AccessDetailsRequest()).hasAllNullFieldsOrProperties();
+	}
+}
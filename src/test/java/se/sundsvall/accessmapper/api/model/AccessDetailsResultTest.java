@@ -0,0 +1,49 @@
+package se.sundsvall.accessmapper.api.model;
+
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+
+class AccessDetailsResultTest {
+
+	@Test
+	void testBean() {
+		MatcherAssert.assertThat(AccessDetailsResult.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testBuilderMethods() {
+		// Arrange
+		final var accessGroups = List.of(AccessGroup.create());
+		final var error = "error";
+
+		// Act
+		final var result = AccessDetailsResult.create()
+			.withAccessGroups(accessGroups)
+			.withError(error);
+
+		// Assert
+		assertThat(result).isNotNull().hasNoNullFieldsOrProperties();
+		assertThat(result.getAccessGroups()).isEqualTo(accessGroups);
+		assertThat(result.getError()).isEqualTo(error);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(AccessDetailsResult.create()).hasAllNullFieldsOrProperties();
+		assertThat(new AccessDetailsResult()).hasAllNullFieldsOrProperties();
+	}
+}
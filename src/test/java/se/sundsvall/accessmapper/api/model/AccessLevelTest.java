@@ -42,4 +42,13 @@ class AccessLevelTest {
 			.isInstanceOf(NullPointerException.class);
 	}
 
+	@Test
+	void testIsStrongerThan() {
+		assertThat(AccessLevel.RW.isStrongerThan(AccessLevel.R)).isTrue();
+		assertThat(AccessLevel.R.isStrongerThan(AccessLevel.LR)).isTrue();
+		assertThat(AccessLevel.LR.isStrongerThan(null)).isTrue();
+		assertThat(AccessLevel.R.isStrongerThan(AccessLevel.R)).isFalse();
+		assertThat(AccessLevel.LR.isStrongerThan(AccessLevel.RW)).isFalse();
+	}
+
 }
@@ -0,0 +1,359 @@
+package se.sundsvall.accessmapper.integration.activedirectory;
+
+import generated.se.sundsvall.activedirectory.OUChildren;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import se.sundsvall.accessmapper.integration.activedirectory.configuration.ActiveDirectoryProperties;
+import se.sundsvall.accessmapper.integration.activedirectory.configuration.ActiveDirectoryProperties.GroupCache;
+import se.sundsvall.accessmapper.integration.activedirectory.configuration.ActiveDirectoryProperties.GroupMirror;
+import se.sundsvall.accessmapper.integration.activedirectory.configuration.ActiveDirectoryProperties.LastKnownGroups;
+import se.sundsvall.dept44.exception.ClientProblem;
+import se.sundsvall.dept44.exception.ServerProblem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static se.sundsvall.accessmapper.integration.activedirectory.ActiveDirectoryIntegration.GROUP_CACHE_NAME;
+
+@ExtendWith(MockitoExtension.class)
+class ActiveDirectoryIntegrationTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String DOMAIN = "personal";
+	private static final String AD_ID = "joe01doe";
+
+	@Mock
+	private ActiveDirectoryClient activeDirectoryClientMock;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private ActiveDirectoryIntegration integration;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		integration = createIntegration(new GroupCache(100, Duration.ofMinutes(5), Duration.ofMinutes(1), Duration.ofSeconds(30)),
+			new LastKnownGroups(Duration.ofHours(24), Duration.ofSeconds(2), Duration.ofSeconds(10)));
+	}
+
+	@Test
+	void getGroupsForUserIsCached() {
+		// Arrange
+		final var groups = List.of(new OUChildren().guid(UUID.randomUUID()));
+		when(activeDirectoryClientMock.getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID)).thenReturn(groups);
+
+		// Act
+		final var first = integration.getGroupsForUser(MUNICIPALITY_ID, AD_ID);
+		final var second = integration.getGroupsForUser(MUNICIPALITY_ID, AD_ID);
+
+		// Assert
+		assertThat(first).isEqualTo(groups);
+		assertThat(second).isEqualTo(groups);
+		assertThat(meterRegistry.get("cache.gets").tag("cache", GROUP_CACHE_NAME).tag("result", "hit").functionCounter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("cache.gets").tag("cache", GROUP_CACHE_NAME).tag("result", "miss").functionCounter().count()).isEqualTo(1);
+
+		verify(activeDirectoryClientMock).getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID);
+	}
+
+	@Test
+	void getGroupsForUserIsCachedPerMunicipality() {
+		// Arrange
+		when(activeDirectoryClientMock.getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID)).thenReturn(List.of(new OUChildren()));
+		when(activeDirectoryClientMock.getGroupsForUser("2260", DOMAIN, AD_ID)).thenReturn(List.of(new OUChildren()));
+
+		// Act
+		integration.getGroupsForUser(MUNICIPALITY_ID, AD_ID);
+		integration.getGroupsForUser("2260", AD_ID);
+
+		// Assert
+		verify(activeDirectoryClientMock).getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID);
+		verify(activeDirectoryClientMock).getGroupsForUser("2260", DOMAIN, AD_ID);
+	}
+
+	@Test
+	void getGroupsForUserIsRefreshedOnVirtualThread() throws Exception {
+		// Arrange
+		final var refreshingIntegration = createIntegration(new GroupCache(100, Duration.ofMinutes(5), Duration.ofNanos(1), Duration.ofSeconds(30)),
+			new LastKnownGroups(Duration.ofHours(24), Duration.ofSeconds(2), Duration.ofSeconds(10)));
+		final var refreshThread = new CompletableFuture<Thread>();
+		when(activeDirectoryClientMock.getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID))
+			.thenReturn(List.of(new OUChildren()))
+			.thenAnswer(invocation -> {
+				refreshThread.complete(Thread.currentThread());
+				return List.of(new OUChildren());
+			});
+
+		// Act
+		refreshingIntegration.getGroupsForUser(MUNICIPALITY_ID, AD_ID);
+		refreshingIntegration.getGroupsForUser(MUNICIPALITY_ID, AD_ID);
+
+		// Assert
+		assertThat(refreshThread.get(5, TimeUnit.SECONDS).isVirtual()).isTrue();
+
+		verify(activeDirectoryClientMock, times(2)).getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID);
+	}
+
+	@Test
+	void getGroupsForUserWhenUserNotFound() {
+		// Arrange
+		when(activeDirectoryClientMock.getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID))
+			.thenThrow(new ClientProblem(NOT_FOUND, "Not Found"));
+
+		// Act
+		final var first = integration.getGroupsForUser(MUNICIPALITY_ID, AD_ID);
+		final var second = integration.getGroupsForUser(MUNICIPALITY_ID, AD_ID);
+
+		// Assert
+		assertThat(first).isEmpty();
+		assertThat(second).isEmpty();
+
+		verify(activeDirectoryClientMock).getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID);
+	}
+
+	@Test
+	void getGroupsForUserWhenClientReturnsNull() {
+		// Act
+		final var result = integration.getGroupsForUser(MUNICIPALITY_ID, AD_ID);
+
+		// Assert
+		assertThat(result).isEmpty();
+
+		verify(activeDirectoryClientMock).getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID);
+	}
+
+	@Test
+	void getGroupsForUserWhenClientThrowsNonNotFound() {
+		// Arrange
+		final var problem = new ServerProblem(INTERNAL_SERVER_ERROR, "Something went wrong");
+		when(activeDirectoryClientMock.getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID)).thenThrow(problem);
+
+		// Act & Assert
+		assertThatThrownBy(() -> integration.getGroupsForUser(MUNICIPALITY_ID, AD_ID)).isSameAs(problem);
+		assertThatThrownBy(() -> integration.getGroupsForUser(MUNICIPALITY_ID, AD_ID)).isSameAs(problem);
+
+		verify(activeDirectoryClientMock, times(2)).getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID);
+	}
+
+	@Test
+	void getGroupMembership() {
+		// Arrange
+		final var groups = List.of(new OUChildren().guid(UUID.randomUUID()));
+		when(activeDirectoryClientMock.getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID)).thenReturn(groups);
+
+		// Act
+		final var result = integration.getGroupMembership(MUNICIPALITY_ID, AD_ID);
+
+		// Assert
+		assertThat(result.groups()).isEqualTo(groups);
+		assertThat(result.stale()).isFalse();
+		assertThat(result.age()).isLessThan(Duration.ofMinutes(1));
+
+		verify(activeDirectoryClientMock).getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID);
+	}
+
+	@Test
+	void getGroupMembershipWhenCircuitBreakerIsOpenServesLastKnown() {
+		// Arrange
+		final var expiringIntegration = createIntegration(new GroupCache(100, Duration.ofNanos(1), Duration.ofMinutes(1), Duration.ofNanos(1)),
+			new LastKnownGroups(Duration.ofHours(24), Duration.ofSeconds(2), Duration.ofSeconds(10)));
+		final var groups = List.of(new OUChildren().guid(UUID.randomUUID()));
+		when(activeDirectoryClientMock.getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID))
+			.thenReturn(groups)
+			.thenThrow(CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("active-directory")));
+
+		// Act
+		final var fetched = expiringIntegration.getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		final var lastKnown = expiringIntegration.getGroupMembership(MUNICIPALITY_ID, AD_ID);
+
+		// Assert
+		assertThat(fetched.stale()).isFalse();
+		assertThat(lastKnown.stale()).isTrue();
+		assertThat(lastKnown.groups()).isEqualTo(groups);
+		assertThat(lastKnown.fetchedAt()).isEqualTo(fetched.fetchedAt());
+
+		verify(activeDirectoryClientMock, times(2)).getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID);
+	}
+
+	@Test
+	void getGroupMembershipWhenActiveDirectoryIsSlowServesLastKnownAndUpdatesInBackground() throws Exception {
+		// Arrange
+		final var expiringIntegration = createIntegration(new GroupCache(100, Duration.ofMinutes(5), Duration.ofMinutes(1), Duration.ofNanos(1)),
+			new LastKnownGroups(Duration.ofHours(24), Duration.ofMillis(10), Duration.ofMinutes(1)));
+		final var groups = List.of(new OUChildren().guid(UUID.randomUUID()));
+		final var release = new CountDownLatch(1);
+		when(activeDirectoryClientMock.getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID))
+			.thenReturn(List.of())
+			.thenAnswer(invocation -> {
+				release.await();
+				return groups;
+			});
+
+		// Act
+		expiringIntegration.getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		final var lastKnown = expiringIntegration.getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		release.countDown();
+
+		// Assert
+		assertThat(lastKnown.stale()).isTrue();
+		assertThat(lastKnown.groups()).isEmpty();
+		assertThat(awaitFreshGroupMembership(expiringIntegration).groups()).isEqualTo(groups);
+
+		verify(activeDirectoryClientMock, times(2)).getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID);
+	}
+
+	@Test
+	void getGroupMembershipWhenClientProblemDoesNotServeLastKnown() {
+		// Arrange
+		final var expiringIntegration = createIntegration(new GroupCache(100, Duration.ofNanos(1), Duration.ofMinutes(1), Duration.ofNanos(1)),
+			new LastKnownGroups(Duration.ofHours(24), Duration.ofSeconds(2), Duration.ofSeconds(10)));
+		final var problem = new ClientProblem(BAD_REQUEST, "Bad request");
+		when(activeDirectoryClientMock.getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID))
+			.thenReturn(List.of(new OUChildren()))
+			.thenThrow(problem);
+
+		// Act & Assert
+		expiringIntegration.getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		assertThatThrownBy(() -> expiringIntegration.getGroupMembership(MUNICIPALITY_ID, AD_ID)).isSameAs(problem);
+
+		verify(activeDirectoryClientMock, times(2)).getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID);
+	}
+
+	@Test
+	void getGroupsForUsers() {
+		// Arrange
+		final var otherAdId = "jane02doe";
+		final var groups = List.of(new OUChildren().guid(UUID.randomUUID()));
+		when(activeDirectoryClientMock.getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID)).thenReturn(groups);
+		when(activeDirectoryClientMock.getGroupsForUser(MUNICIPALITY_ID, DOMAIN, otherAdId)).thenThrow(new ClientProblem(NOT_FOUND, "Not Found"));
+
+		// Act
+		final var result = integration.getGroupsForUsers(MUNICIPALITY_ID, List.of(otherAdId, AD_ID, otherAdId));
+
+		// Assert
+		assertThat(result).containsExactly(entry(otherAdId, Optional.of(List.of())), entry(AD_ID, Optional.of(groups)));
+
+		verify(activeDirectoryClientMock).getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID);
+		verify(activeDirectoryClientMock).getGroupsForUser(MUNICIPALITY_ID, DOMAIN, otherAdId);
+	}
+
+	@Test
+	void getGroupsForUsersUsesCache() {
+		// Arrange
+		when(activeDirectoryClientMock.getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID)).thenReturn(List.of(new OUChildren()));
+		integration.getGroupsForUser(MUNICIPALITY_ID, AD_ID);
+
+		// Act
+		final var result = integration.getGroupsForUsers(MUNICIPALITY_ID, List.of(AD_ID));
+
+		// Assert
+		assertThat(result).containsOnlyKeys(AD_ID);
+
+		verify(activeDirectoryClientMock).getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID);
+	}
+
+	@Test
+	void getGroupsForUsersWhenClientThrowsNonNotFound() {
+		// Arrange
+		final var otherAdId = "jane02doe";
+		final var groups = List.of(new OUChildren().guid(UUID.randomUUID()));
+		when(activeDirectoryClientMock.getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID)).thenThrow(new ServerProblem(INTERNAL_SERVER_ERROR, "Something went wrong"));
+		when(activeDirectoryClientMock.getGroupsForUser(MUNICIPALITY_ID, DOMAIN, otherAdId)).thenReturn(groups);
+
+		// Act
+		final var result = integration.getGroupsForUsers(MUNICIPALITY_ID, List.of(AD_ID, otherAdId));
+
+		// Assert
+		assertThat(result).containsExactly(entry(AD_ID, Optional.empty()), entry(otherAdId, Optional.of(groups)));
+
+		verify(activeDirectoryClientMock).getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID);
+		verify(activeDirectoryClientMock).getGroupsForUser(MUNICIPALITY_ID, DOMAIN, otherAdId);
+	}
+
+	@Test
+	void getGroupMembers() {
+		// Arrange
+		final var groupId = UUID.randomUUID().toString();
+		final var members = List.of(new OUChildren().name(AD_ID));
+		when(activeDirectoryClientMock.getGroupMembers(MUNICIPALITY_ID, DOMAIN, groupId)).thenReturn(members);
+
+		// Act
+		final var first = integration.getGroupMembers(MUNICIPALITY_ID, groupId);
+		final var second = integration.getGroupMembers(MUNICIPALITY_ID, groupId);
+
+		// Assert
+		assertThat(first).isEqualTo(members);
+		assertThat(second).isEqualTo(members);
+
+		verify(activeDirectoryClientMock, times(2)).getGroupMembers(MUNICIPALITY_ID, DOMAIN, groupId);
+	}
+
+	@Test
+	void getGroupMembersWhenGroupNotFound() {
+		// Arrange
+		final var groupId = UUID.randomUUID().toString();
+		when(activeDirectoryClientMock.getGroupMembers(MUNICIPALITY_ID, DOMAIN, groupId))
+			.thenThrow(new ClientProblem(NOT_FOUND, "Not Found"));
+
+		// Act
+		final var result = integration.getGroupMembers(MUNICIPALITY_ID, groupId);
+
+		// Assert
+		assertThat(result).isEmpty();
+
+		verify(activeDirectoryClientMock).getGroupMembers(MUNICIPALITY_ID, DOMAIN, groupId);
+	}
+
+	@Test
+	void getGroupMembersWhenAdThrows() {
+		// Arrange
+		final var groupId = UUID.randomUUID().toString();
+		final var problem = new ServerProblem(INTERNAL_SERVER_ERROR, "Internal Server Error");
+		when(activeDirectoryClientMock.getGroupMembers(MUNICIPALITY_ID, DOMAIN, groupId)).thenThrow(problem);
+
+		// Act & Assert
+		assertThatThrownBy(() -> integration.getGroupMembers(MUNICIPALITY_ID, groupId)).isSameAs(problem);
+
+		verify(activeDirectoryClientMock).getGroupMembers(MUNICIPALITY_ID, DOMAIN, groupId);
+	}
+
+	private ActiveDirectoryIntegration createIntegration(final GroupCache groupCache, final LastKnownGroups lastKnownGroups) {
+		return new ActiveDirectoryIntegration(activeDirectoryClientMock, new ActiveDirectoryProperties(5, 30, DOMAIN, 4, groupCache, lastKnownGroups,
+			new GroupMirror(false, Duration.ofMinutes(5), Duration.ofHours(1))), meterRegistry);
+	}
+
+	private static GroupMembership awaitFreshGroupMembership(final ActiveDirectoryIntegration integration) throws InterruptedException {
+		final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		var groupMembership = integration.getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		while (groupMembership.stale() && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+			groupMembership = integration.getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		}
+		return groupMembership;
+	}
+
+	@AfterEach
+	void verifyNoMoreInteractionsOnMocks() {
+		verifyNoMoreInteractions(activeDirectoryClientMock);
+	}
+}
@@ -1,5 +1,6 @@
 package se.sundsvall.accessmapper.integration.activedirectory.configuration;
 
+import java.time.Duration;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -19,5 +20,17 @@ class ActiveDirectoryPropertiesTest {
 	void testProperties() {
 		assertThat(properties.connectTimeout()).isEqualTo(5);
 		assertThat(properties.readTimeout()).isEqualTo(30);
+		assertThat(properties.domain()).isEqualTo("personal");
+		assertThat(properties.bulkConcurrency()).isEqualTo(20);
+		assertThat(properties.groupCache().maximumSize()).isEqualTo(10000);
+		assertThat(properties.groupCache().timeToLive()).isEqualTo(Duration.ofMinutes(5));
+		assertThat(properties.groupCache().refreshAfter()).isEqualTo(Duration.ofMinutes(1));
+		assertThat(properties.groupCache().negativeTimeToLive()).isEqualTo(Duration.ofSeconds(30));
+		assertThat(properties.lastKnownGroups().timeToLive()).isEqualTo(Duration.ofHours(24));
+		assertThat(properties.lastKnownGroups().maximumWait()).isEqualTo(Duration.ofSeconds(2));
+		assertThat(properties.lastKnownGroups().retryAfter()).isEqualTo(Duration.ofSeconds(10));
+		assertThat(properties.groupMirror().enabled()).isFalse();
+		assertThat(properties.groupMirror().syncInterval()).isEqualTo(Duration.ofMinutes(5));
+		assertThat(properties.groupMirror().maximumAge()).isEqualTo(Duration.ofHours(1));
 	}
 }
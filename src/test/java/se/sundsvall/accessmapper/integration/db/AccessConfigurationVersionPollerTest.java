@@ -0,0 +1,100 @@
+package se.sundsvall.accessmapper.integration.db;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import se.sundsvall.accessmapper.integration.db.model.AccessConfigurationVersionEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessConfigurationVersionId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccessConfigurationVersionPollerTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String NAMESPACE = "namespace";
+
+	@Mock
+	private AccessConfigurationVersionRepository accessConfigurationVersionRepositoryMock;
+
+	@Mock
+	private ApplicationEventPublisher applicationEventPublisherMock;
+
+	@Captor
+	private ArgumentCaptor<AccessConfigurationVersionsChangedEvent> eventCaptor;
+
+	@InjectMocks
+	private AccessConfigurationVersionPoller poller;
+
+	@AfterEach
+	void verifyNoMoreInteractionsOnMocks() {
+		verifyNoMoreInteractions(accessConfigurationVersionRepositoryMock, applicationEventPublisherMock);
+	}
+
+	@Test
+	void poll() {
+		// Arrange
+		when(accessConfigurationVersionRepositoryMock.findAll())
+			.thenReturn(List.of(createVersion(1)))
+			.thenReturn(List.of(createVersion(1)))
+			.thenReturn(List.of(createVersion(2)));
+
+		// Act
+		poller.poll();
+		poller.poll();
+		poller.poll();
+
+		// Assert
+		verify(accessConfigurationVersionRepositoryMock, times(3)).findAll();
+		verify(applicationEventPublisherMock, times(2)).publishEvent(eventCaptor.capture());
+		assertThat(eventCaptor.getAllValues()).extracting(event -> event.getVersion(MUNICIPALITY_ID, NAMESPACE)).containsExactly(1L, 2L);
+		assertThat(eventCaptor.getValue().getVersion(MUNICIPALITY_ID, "other")).isZero();
+		assertThat(eventCaptor.getAllValues()).allSatisfy(event -> assertThat(event.changed()).containsExactly(versionId(NAMESPACE)));
+	}
+
+	@Test
+	void pollNamesChangedVersionsOnly() {
+		// Arrange
+		when(accessConfigurationVersionRepositoryMock.findAll())
+			.thenReturn(List.of(createVersion(NAMESPACE, 1), createVersion("other", 1), createVersion("removed", 1)))
+			.thenReturn(List.of(createVersion(NAMESPACE, 1), createVersion("other", 2), createVersion("added", 1)));
+
+		// Act
+		poller.poll();
+		poller.poll();
+
+		// Assert
+		verify(accessConfigurationVersionRepositoryMock, times(2)).findAll();
+		verify(applicationEventPublisherMock, times(2)).publishEvent(eventCaptor.capture());
+		assertThat(eventCaptor.getAllValues().getFirst().changed()).containsExactlyInAnyOrder(versionId(NAMESPACE), versionId("other"), versionId("removed"));
+		assertThat(eventCaptor.getValue().changed()).containsExactlyInAnyOrder(versionId("other"), versionId("removed"), versionId("added"));
+	}
+
+	private static AccessConfigurationVersionEntity createVersion(final long version) {
+		return createVersion(NAMESPACE, version);
+	}
+
+	private static AccessConfigurationVersionEntity createVersion(final String namespace, final long version) {
+		return AccessConfigurationVersionEntity.create()
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withNamespace(namespace)
+			.withVersion(version);
+	}
+
+	private static AccessConfigurationVersionId versionId(final String namespace) {
+		return AccessConfigurationVersionId.create()
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withNamespace(namespace);
+	}
+}
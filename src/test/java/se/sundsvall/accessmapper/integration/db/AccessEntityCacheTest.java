@@ -0,0 +1,148 @@
+package se.sundsvall.accessmapper.integration.db;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import se.sundsvall.accessmapper.integration.db.model.AccessConfigurationVersionId;
+import se.sundsvall.accessmapper.integration.db.model.AccessEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessGroupEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessTypeEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessUserEntity;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccessEntityCacheTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String NAMESPACE = "namespace";
+
+	@Mock
+	private EntityManagerFactory entityManagerFactoryMock;
+
+	@Mock
+	private SessionFactory sessionFactoryMock;
+
+	@Mock
+	private Cache cacheMock;
+
+	@Mock
+	private EntityManager entityManagerMock;
+
+	@Mock
+	private TypedQuery<Object[]> queryMock;
+
+	@InjectMocks
+	private AccessEntityCache accessEntityCache;
+
+	@BeforeEach
+	void setUp() {
+		lenient().when(entityManagerFactoryMock.unwrap(SessionFactory.class)).thenReturn(sessionFactoryMock);
+		lenient().when(sessionFactoryMock.getCache()).thenReturn(cacheMock);
+	}
+
+	@AfterEach
+	void verifyNoMoreInteractionsOnMocks() {
+		verifyNoMoreInteractions(cacheMock);
+	}
+
+	@Test
+	void evictQueryResults() {
+		// Act
+		accessEntityCache.evictQueryResults();
+
+		// Assert
+		verify(cacheMock).evictQueryRegions();
+	}
+
+	@Test
+	void evictQueryResultsWithinTransaction() {
+		// Arrange
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			// Act
+			accessEntityCache.evictQueryResults();
+
+			// Assert
+			verifyNoInteractions(cacheMock);
+			TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCommit());
+			verify(cacheMock).evictQueryRegions();
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void evictOnVersionChange() {
+		// Arrange
+		final var changed = AccessConfigurationVersionId.create().withMunicipalityId(MUNICIPALITY_ID).withNamespace(NAMESPACE);
+		final var unchanged = AccessConfigurationVersionId.create().withMunicipalityId(MUNICIPALITY_ID).withNamespace("other");
+		final var groupId = UUID.randomUUID();
+		final var userId = UUID.randomUUID();
+		final var typeId = UUID.randomUUID();
+		final var accessId = UUID.randomUUID();
+
+		when(entityManagerFactoryMock.createEntityManager()).thenReturn(entityManagerMock);
+		when(entityManagerMock.createQuery(anyString(), eq(Object[].class))).thenReturn(queryMock);
+		when(queryMock.setParameter(anyString(), any())).thenReturn(queryMock);
+		when(queryMock.getResultList())
+			.thenReturn(List.<Object[]>of(new Object[] {
+				groupId, typeId, accessId
+			}))
+			.thenReturn(List.<Object[]>of(new Object[] {
+				userId, null, null
+			}));
+
+		// Act
+		accessEntityCache.evictOnVersionChange(new AccessConfigurationVersionsChangedEvent(Map.of(changed, 2L, unchanged, 1L), Set.of(changed)));
+
+		// Assert
+		verify(entityManagerMock).createQuery(startsWith("select g.id"), eq(Object[].class));
+		verify(entityManagerMock).createQuery(startsWith("select u.id"), eq(Object[].class));
+		verify(queryMock, times(2)).setParameter("municipalityId", MUNICIPALITY_ID);
+		verify(queryMock, times(2)).setParameter("namespace", NAMESPACE);
+		verify(queryMock, times(2)).getResultList();
+		verify(entityManagerMock).close();
+		verify(cacheMock).evictEntityData(AccessGroupEntity.class, groupId);
+		verify(cacheMock).evictCollectionData(AccessGroupEntity.class.getName() + ".accessByType", groupId);
+		verify(cacheMock).evictEntityData(AccessTypeEntity.class, typeId);
+		verify(cacheMock).evictCollectionData(AccessTypeEntity.class.getName() + ".access", typeId);
+		verify(cacheMock).evictEntityData(AccessEntity.class, accessId);
+		verify(cacheMock).evictEntityData(AccessUserEntity.class, userId);
+		verify(cacheMock).evictCollectionData(AccessUserEntity.class.getName() + ".accessByType", userId);
+		verify(cacheMock).evictQueryRegions();
+		verifyNoMoreInteractions(entityManagerMock, queryMock);
+	}
+
+	@Test
+	void evictOnVersionChangeWithoutChanges() {
+		// Act
+		accessEntityCache.evictOnVersionChange(new AccessConfigurationVersionsChangedEvent(Map.of(), Set.of()));
+
+		// Assert
+		verifyNoInteractions(cacheMock, entityManagerMock);
+	}
+}
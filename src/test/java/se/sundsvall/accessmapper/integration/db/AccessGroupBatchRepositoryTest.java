@@ -0,0 +1,82 @@
+package se.sundsvall.accessmapper.integration.db;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import se.sundsvall.accessmapper.integration.db.model.AccessEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessGroupEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessTreeAccess;
+import se.sundsvall.accessmapper.integration.db.model.AccessTreeType;
+import se.sundsvall.accessmapper.integration.db.model.AccessTypeEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase.Replace.NONE;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = NONE)
+@ActiveProfiles("junit")
+@Import({
+	AccessGroupBatchRepository.class, AccessEntityCache.class
+})
+class AccessGroupBatchRepositoryTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String NAMESPACE = "namespace";
+
+	@Autowired
+	private AccessGroupBatchRepository accessGroupBatchRepository;
+
+	@Autowired
+	private AccessGroupRepository accessGroupRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void insertAll() {
+		// Arrange
+		final var groupIds = IntStream.range(0, AccessGroupBatchRepository.BATCH_SIZE + 1).mapToObj("group-%d"::formatted).toList();
+		final var accessGroups = groupIds.stream()
+			.map(groupId -> AccessGroupEntity.create()
+				.withMunicipalityId(MUNICIPALITY_ID)
+				.withNamespace(NAMESPACE)
+				.withGroupId(groupId)
+				.withAccessByType(List.of(AccessTypeEntity.create()
+					.withType("label")
+					.withAccess(List.of(
+						AccessEntity.create().withPattern(groupId + "/**").withAccessLevel("R"),
+						AccessEntity.create().withPattern(groupId + "/A").withAccessLevel("RW")))))
+				.withAccessTree(List.of(new AccessTreeType("label", List.of(
+					new AccessTreeAccess(groupId + "/**", "R"),
+					new AccessTreeAccess(groupId + "/A", "RW"))))))
+			.toList();
+
+		// Act
+		accessGroupBatchRepository.insertAll(accessGroups);
+		entityManager.clear();
+
+		// Assert
+		assertThat(accessGroups).allSatisfy(group -> assertThat(group.getId().version()).isEqualTo(7));
+		assertThat(accessGroups).extracting(AccessGroupEntity::getId).isSorted();
+		assertThat(accessGroupRepository.findGroupIdsByMunicipalityIdAndNamespaceAndGroupIdIn(MUNICIPALITY_ID, NAMESPACE, groupIds))
+			.containsExactlyInAnyOrderElementsOf(groupIds);
+
+		final var stored = accessGroupRepository.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, accessGroups.getLast().getId());
+		assertThat(stored.getGroupId()).isEqualTo(groupIds.getLast());
+		assertThat(stored.getAccessTree()).isEqualTo(accessGroups.getLast().getAccessTree());
+		assertThat(stored.getAccessByType()).singleElement().satisfies(type -> {
+			assertThat(type.getType()).isEqualTo("label");
+			assertThat(type.getAccess()).extracting(AccessEntity::getPattern, AccessEntity::getAccessLevel)
+				.containsExactlyInAnyOrder(
+					tuple(groupIds.getLast() + "/**", "R"),
+					tuple(groupIds.getLast() + "/A", "RW"));
+		});
+	}
+}
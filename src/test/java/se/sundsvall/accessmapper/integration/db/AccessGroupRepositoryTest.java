@@ -0,0 +1,112 @@
+package se.sundsvall.accessmapper.integration.db;
+
+import jakarta.persistence.EntityManager;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import se.sundsvall.accessmapper.integration.db.model.AccessGroupEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessTypeEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase.Replace.NONE;
+import static se.sundsvall.accessmapper.service.util.SpecificationBuilder.withAccessType;
+import static se.sundsvall.accessmapper.service.util.SpecificationBuilder.withMunicipalityId;
+import static se.sundsvall.accessmapper.service.util.SpecificationBuilder.withNamespace;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = NONE)
+@ActiveProfiles("junit")
+class AccessGroupRepositoryTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String NAMESPACE = "namespace";
+
+	@Autowired
+	private AccessGroupRepository accessGroupRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@BeforeEach
+	void setUp() {
+		accessGroupRepository.save(createAccessGroup("group-1", "label", "label"));
+		accessGroupRepository.save(createAccessGroup("group-2", "label", "other"));
+		accessGroupRepository.save(createAccessGroup("group-3", "other"));
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void findAllWithAccessType() {
+		// Arrange
+		final var specification = withMunicipalityId(MUNICIPALITY_ID).and(withNamespace(NAMESPACE)).and(withAccessType("label"));
+
+		// Act
+		final var result = accessGroupRepository.findAll(specification);
+
+		// Assert
+		assertThat(result).extracting(AccessGroupEntity::getGroupId).containsExactlyInAnyOrder("group-1", "group-2");
+		assertThat(accessGroupRepository.count(specification)).isEqualTo(2);
+	}
+
+	@Test
+	void scrollWithAccessType() {
+		// Arrange
+		final var specification = withMunicipalityId(MUNICIPALITY_ID).and(withNamespace(NAMESPACE)).and(withAccessType("label"));
+
+		// Act
+		final var window = accessGroupRepository.findBy(specification, query -> query.sortBy(Sort.by("groupId", "id")).limit(1).scroll(ScrollPosition.keyset()));
+
+		// Assert
+		assertThat(window.getContent()).extracting(AccessGroupEntity::getGroupId).containsExactly("group-1");
+		assertThat(window.hasNext()).isTrue();
+	}
+
+	@Test
+	void findAllWithoutAccessType() {
+		// Act
+		final var result = accessGroupRepository.findAll(withMunicipalityId(MUNICIPALITY_ID).and(withNamespace(NAMESPACE)).and(withAccessType(null)));
+
+		// Assert
+		assertThat(result).extracting(AccessGroupEntity::getGroupId).containsExactlyInAnyOrder("group-1", "group-2", "group-3");
+	}
+
+	@Test
+	void findDistinctMunicipalityIds() {
+		// Act
+		final var result = accessGroupRepository.findDistinctMunicipalityIds();
+
+		// Assert
+		assertThat(result).containsOnlyOnce(MUNICIPALITY_ID);
+	}
+
+	@Test
+	void findDistinctGroupIdsByMunicipalityId() {
+		// Arrange
+		accessGroupRepository.save(createAccessGroup("group-1", "label").withNamespace("other-namespace"));
+		entityManager.flush();
+
+		// Act
+		final var result = accessGroupRepository.findDistinctGroupIdsByMunicipalityId(MUNICIPALITY_ID);
+
+		// Assert
+		assertThat(result).containsOnlyOnce("group-1", "group-2", "group-3");
+		assertThat(accessGroupRepository.findDistinctGroupIdsByMunicipalityId("other-municipality")).isEmpty();
+	}
+
+	private static AccessGroupEntity createAccessGroup(final String groupId, final String... types) {
+		return AccessGroupEntity.create()
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withNamespace(NAMESPACE)
+			.withGroupId(groupId)
+			.withAccessByType(Stream.of(types)
+				.map(type -> AccessTypeEntity.create().withType(type))
+				.toList());
+	}
+}
@@ -0,0 +1,150 @@
+package se.sundsvall.accessmapper.integration.db;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.test.context.ActiveProfiles;
+import se.sundsvall.accessmapper.integration.db.model.AccessEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessGroupEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessTreeType;
+import se.sundsvall.accessmapper.integration.db.model.AccessTypeEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessUserEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase.Replace.NONE;
+import static se.sundsvall.accessmapper.service.mapper.Mapper.toAccessGroups;
+import static se.sundsvall.accessmapper.service.mapper.Mapper.toAccessTree;
+import static se.sundsvall.accessmapper.service.mapper.Mapper.toAccessUsers;
+import static se.sundsvall.accessmapper.service.util.SpecificationBuilder.withMunicipalityId;
+import static se.sundsvall.accessmapper.service.util.SpecificationBuilder.withNamespace;
+
+/**
+ * Verifies that the group/user -> type -> access trees are loaded in a fixed number of statements, regardless of how
+ * many groups or users that are read. Trees are read from the normalized tables unless the access tree column is set.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = NONE)
+@ActiveProfiles("junit")
+class AccessTreeFetchTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String NAMESPACE = "namespace";
+	private static final String USER_ID = "joe01doe";
+
+	// One statement for the root entities, one for all access types and one for all access entries
+	private static final long EXPECTED_STATEMENT_COUNT = 3;
+
+	// One statement for the root entities, the trees are read from their access tree column
+	private static final long EXPECTED_STATEMENT_COUNT_WITH_ACCESS_TREE = 1;
+
+	@Autowired
+	private AccessGroupRepository accessGroupRepository;
+
+	@Autowired
+	private AccessUserRepository accessUserRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {
+		1, 10, 50
+	})
+	void findAllBySpecification(final int groupCount) {
+		// Arrange
+		persistGroups(groupCount, null);
+
+		// Act
+		final var result = toAccessGroups(accessGroupRepository.findAll(withMunicipalityId(MUNICIPALITY_ID).and(withNamespace(NAMESPACE))));
+
+		// Assert
+		assertThat(result).hasSize(groupCount)
+			.allSatisfy(group -> assertThat(group.getAccessByType()).hasSize(2)
+				.allSatisfy(type -> assertThat(type.getAccess()).hasSize(2)));
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(EXPECTED_STATEMENT_COUNT);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {
+		1, 10, 50
+	})
+	void findAllBySpecificationWithAccessTree(final int groupCount) {
+		// Arrange
+		persistGroups(groupCount, toAccessTree(createAccessTypes()));
+
+		// Act
+		final var result = toAccessGroups(accessGroupRepository.findAll(withMunicipalityId(MUNICIPALITY_ID).and(withNamespace(NAMESPACE))));
+
+		// Assert
+		assertThat(result).hasSize(groupCount)
+			.allSatisfy(group -> assertThat(group.getAccessByType()).hasSize(2)
+				.allSatisfy(type -> assertThat(type.getAccess()).hasSize(2)));
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(EXPECTED_STATEMENT_COUNT_WITH_ACCESS_TREE);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {
+		1, 10, 50
+	})
+	void findAllUsers(final int userCount) {
+		// Arrange
+		IntStream.range(0, userCount).forEach(index -> accessUserRepository.save(AccessUserEntity.create()
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withNamespace(NAMESPACE)
+			.withUserId(USER_ID + index)
+			.withAccessByType(createAccessTypes())));
+		flushAndClear();
+
+		// Act
+		final var result = toAccessUsers(accessUserRepository.findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE));
+
+		// Assert
+		assertThat(result).hasSize(userCount)
+			.allSatisfy(user -> assertThat(user.getAccessByType()).hasSize(2)
+				.allSatisfy(type -> assertThat(type.getAccess()).hasSize(2)));
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(EXPECTED_STATEMENT_COUNT);
+	}
+
+	private void persistGroups(final int groupCount, final List<AccessTreeType> accessTree) {
+		IntStream.range(0, groupCount).forEach(index -> accessGroupRepository.save(AccessGroupEntity.create()
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withNamespace(NAMESPACE)
+			.withGroupId("group-" + index)
+			.withAccessByType(createAccessTypes())
+			.withAccessTree(accessTree)));
+		flushAndClear();
+	}
+
+	private void flushAndClear() {
+		entityManager.flush();
+		entityManager.clear();
+		statistics.clear();
+	}
+
+	private static List<AccessTypeEntity> createAccessTypes() {
+		return List.of(createAccessType("type-1"), createAccessType("type-2"));
+	}
+
+	private static AccessTypeEntity createAccessType(final String type) {
+		return AccessTypeEntity.create()
+			.withType(type)
+			.withAccess(List.of(
+				AccessEntity.create().withPattern(type + "/A/**").withAccessLevel("R"),
+				AccessEntity.create().withPattern(type + "/B/**").withAccessLevel("RW")));
+	}
+}
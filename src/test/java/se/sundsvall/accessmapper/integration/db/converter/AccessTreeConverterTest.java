@@ -0,0 +1,42 @@
+package se.sundsvall.accessmapper.integration.db.converter;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import se.sundsvall.accessmapper.integration.db.model.AccessTreeAccess;
+import se.sundsvall.accessmapper.integration.db.model.AccessTreeType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessTreeConverterTest {
+
+	private final AccessTreeConverter converter = new AccessTreeConverter();
+
+	@Test
+	void convertToDatabaseColumn() {
+		// Arrange
+		final var accessTree = List.of(new AccessTreeType("label", List.of(new AccessTreeAccess("FA/**", "RW"))));
+
+		// Act
+		final var result = converter.convertToDatabaseColumn(accessTree);
+
+		// Assert
+		assertThat(result).contains("\"type\":\"label\"", "\"pattern\":\"FA/**\"", "\"accessLevel\":\"RW\"");
+		assertThat(converter.convertToEntityAttribute(result)).isEqualTo(accessTree);
+	}
+
+	@Test
+	void convertToEntityAttribute() {
+		// Act
+		final var result = converter.convertToEntityAttribute("[{\"type\":\"label\",\"access\":[{\"pattern\":\"FA/**\",\"accessLevel\":\"RW\"}]}]");
+
+		// Assert
+		assertThat(result).containsExactly(new AccessTreeType("label", List.of(new AccessTreeAccess("FA/**", "RW"))));
+	}
+
+	@Test
+	void convertNull() {
+		// Act and assert
+		assertThat(converter.convertToDatabaseColumn(null)).isNull();
+		assertThat(converter.convertToEntityAttribute(null)).isNull();
+	}
+}
@@ -0,0 +1,52 @@
+package se.sundsvall.accessmapper.integration.db.model;
+
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+
+class AccessConfigurationVersionEntityTest {
+
+	@Test
+	void testBean() {
+		MatcherAssert.assertThat(AccessConfigurationVersionEntity.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void builder() {
+		// Arrange
+		final var municipalityId = "municipalityId";
+		final var namespace = "namespace";
+		final var version = 42L;
+
+		// Act
+		final var result = AccessConfigurationVersionEntity.create()
+			.withMunicipalityId(municipalityId)
+			.withNamespace(namespace)
+			.withVersion(version);
+
+		// Assert
+		assertThat(result).isNotNull().hasNoNullFieldsOrProperties();
+		assertThat(result.getMunicipalityId()).isEqualTo(municipalityId);
+		assertThat(result.getNamespace()).isEqualTo(namespace);
+		assertThat(result.getVersion()).isEqualTo(version);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(AccessConfigurationVersionEntity.create()).hasAllNullFieldsOrPropertiesExcept("version");
+		assertThat(new AccessConfigurationVersionEntity()).hasAllNullFieldsOrPropertiesExcept("version");
+		assertThat(AccessConfigurationVersionEntity.create().getVersion()).isZero();
+	}
+}
@@ -0,0 +1,48 @@
+package se.sundsvall.accessmapper.integration.db.model;
+
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+
+class AccessConfigurationVersionIdTest {
+
+	@Test
+	void testBean() {
+		MatcherAssert.assertThat(AccessConfigurationVersionId.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void builder() {
+		// Arrange
+		final var municipalityId = "municipalityId";
+		final var namespace = "namespace";
+
+		// Act
+		final var result = AccessConfigurationVersionId.create()
+			.withMunicipalityId(municipalityId)
+			.withNamespace(namespace);
+
+		// Assert
+		assertThat(result).isNotNull().hasNoNullFieldsOrProperties();
+		assertThat(result.getMunicipalityId()).isEqualTo(municipalityId);
+		assertThat(result.getNamespace()).isEqualTo(namespace);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(AccessConfigurationVersionId.create()).hasAllNullFieldsOrProperties();
+		assertThat(new AccessConfigurationVersionId()).hasAllNullFieldsOrProperties();
+	}
+}
@@ -1,6 +1,8 @@
 package se.sundsvall.accessmapper.integration.db.model;
 
+import java.util.UUID;
 import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
@@ -8,10 +10,17 @@ import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
 import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
 import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
 import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static com.google.code.beanmatchers.BeanMatchers.registerValueGenerator;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.allOf;
 
 class AccessEntityTest {
+
+	@BeforeAll
+	static void setup() {
+		registerValueGenerator(UUID::randomUUID, UUID.class);
+	}
+
 	@Test
 	void testBean() {
 		MatcherAssert.assertThat(AccessEntity.class, allOf(
@@ -25,7 +34,7 @@ class AccessEntityTest {
 	@Test
 	void builder() {
 		// Arrange
-		final var id = "id";
+		final var id = UUID.randomUUID();
 		final var accessLevel = "accessLevel";
 		final var pattern = "pattern";
 
@@ -1,7 +1,9 @@
 package se.sundsvall.accessmapper.integration.db.model;
 
 import java.util.List;
+import java.util.UUID;
 import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
@@ -9,11 +11,17 @@ import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
 import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
 import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
 import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static com.google.code.beanmatchers.BeanMatchers.registerValueGenerator;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.allOf;
 
 class AccessGroupEntityTest {
 
+	@BeforeAll
+	static void setup() {
+		registerValueGenerator(UUID::randomUUID, UUID.class);
+	}
+
 	@Test
 	void testBean() {
 		MatcherAssert.assertThat(AccessGroupEntity.class, allOf(
@@ -27,27 +35,33 @@ class AccessGroupEntityTest {
 	@Test
 	void builder() {
 		// Arrange
-		final var id = "id";
+		final var id = UUID.randomUUID();
+		final var version = 1L;
 		final var municipalityId = "municipalityId";
 		final var namespace = "namespace";
 		final var groupId = "groupId";
 		final var accessByType = List.of(new AccessTypeEntity());
+		final var accessTree = List.of(new AccessTreeType("type", List.of(new AccessTreeAccess("pattern", "R"))));
 
 		// Act
 		final var result = AccessGroupEntity.create()
 			.withId(id)
+			.withVersion(version)
 			.withMunicipalityId(municipalityId)
 			.withNamespace(namespace)
 			.withGroupId(groupId)
-			.withAccessByType(accessByType);
+			.withAccessByType(accessByType)
+			.withAccessTree(accessTree);
 
 		// Assert
 		assertThat(result).isNotNull().hasNoNullFieldsOrProperties();
 		assertThat(result.getId()).isEqualTo(id);
+		assertThat(result.getVersion()).isEqualTo(version);
 		assertThat(result.getMunicipalityId()).isEqualTo(municipalityId);
 		assertThat(result.getNamespace()).isEqualTo(namespace);
 		assertThat(result.getGroupId()).isEqualTo(groupId);
 		assertThat(result.getAccessByType()).isEqualTo(accessByType);
+		assertThat(result.getAccessTree()).isEqualTo(accessTree);
 
 	}
 
@@ -1,7 +1,9 @@
 package se.sundsvall.accessmapper.integration.db.model;
 
 import java.util.List;
+import java.util.UUID;
 import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
@@ -9,11 +11,17 @@ import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
 import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
 import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
 import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static com.google.code.beanmatchers.BeanMatchers.registerValueGenerator;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.allOf;
 
 class AccessTypeEntityTest {
 
+	@BeforeAll
+	static void setup() {
+		registerValueGenerator(UUID::randomUUID, UUID.class);
+	}
+
 	@Test
 	void testBean() {
 		MatcherAssert.assertThat(AccessTypeEntity.class, allOf(
@@ -27,7 +35,7 @@ class AccessTypeEntityTest {
 	@Test
 	void builder() {
 		// Arrange
-		final var id = "id";
+		final var id = UUID.randomUUID();
 		final var type = "type";
 		final var access = List.of(new AccessEntity());
 
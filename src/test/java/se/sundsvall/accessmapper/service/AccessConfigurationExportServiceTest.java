@@ -0,0 +1,166 @@
+package se.sundsvall.accessmapper.service;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import se.sundsvall.accessmapper.api.model.AccessConfigurationExportEntry;
+import se.sundsvall.accessmapper.integration.db.AccessGroupRepository;
+import se.sundsvall.accessmapper.integration.db.AccessUserRepository;
+import se.sundsvall.accessmapper.integration.db.model.AccessGroupEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessUserEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_CACHE_STORE_MODE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.transaction.TransactionDefinition.ISOLATION_DEFAULT;
+import static se.sundsvall.accessmapper.service.AccessConfigurationExportService.PAGE_SIZE;
+
+@ExtendWith(MockitoExtension.class)
+class AccessConfigurationExportServiceTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String NAMESPACE = "namespace";
+	private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+	@Mock
+	private AccessGroupRepository accessGroupRepositoryMock;
+
+	@Mock
+	private AccessUserRepository accessUserRepositoryMock;
+
+	@Mock
+	private EntityManager entityManagerMock;
+
+	@Mock
+	private PlatformTransactionManager transactionManagerMock;
+
+	@Mock
+	private Consumer<List<AccessConfigurationExportEntry>> pageConsumerMock;
+
+	@Captor
+	private ArgumentCaptor<TransactionDefinition> transactionDefinitionCaptor;
+
+	private AccessConfigurationExportService service;
+
+	@BeforeEach
+	void setUp() {
+		service = new AccessConfigurationExportService(accessGroupRepositoryMock, accessUserRepositoryMock, entityManagerMock, transactionManagerMock);
+	}
+
+	@AfterEach
+	void tearDown() {
+		verifyNoMoreInteractions(accessGroupRepositoryMock, accessUserRepositoryMock, entityManagerMock);
+	}
+
+	@Test
+	void exportAccessConfiguration() {
+		// Arrange
+		final var groupIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+		final var userIds = List.of(UUID.randomUUID());
+		final var pages = new ArrayList<List<AccessConfigurationExportEntry>>();
+
+		when(accessGroupRepositoryMock.findIdsByMunicipalityIdAndNamespaceAfter(MUNICIPALITY_ID, NAMESPACE, FIRST_ID, Limit.of(PAGE_SIZE))).thenReturn(groupIds);
+		when(accessGroupRepositoryMock.findAllByIdInOrderById(groupIds)).thenReturn(List.of(
+			AccessGroupEntity.create().withId(groupIds.getFirst()).withGroupId("G1"),
+			AccessGroupEntity.create().withId(groupIds.getLast()).withGroupId("G2")));
+		when(accessUserRepositoryMock.findIdsByMunicipalityIdAndNamespaceAfter(MUNICIPALITY_ID, NAMESPACE, FIRST_ID, Limit.of(PAGE_SIZE))).thenReturn(userIds);
+		when(accessUserRepositoryMock.findAllByIdInOrderById(userIds)).thenReturn(List.of(
+			AccessUserEntity.create().withId(userIds.getFirst()).withUserId("joe01doe")));
+
+		// Act
+		service.exportAccessConfiguration(MUNICIPALITY_ID, NAMESPACE, pages::add);
+
+		// Assert
+		assertThat(pages).hasSize(2);
+		assertThat(pages.getFirst()).extracting(entry -> entry.getAccessGroup().getGroupId()).containsExactly("G1", "G2");
+		assertThat(pages.getFirst()).allSatisfy(entry -> assertThat(entry.getAccessUser()).isNull());
+		assertThat(pages.getLast()).extracting(entry -> entry.getAccessUser().getUserId()).containsExactly("joe01doe");
+		assertThat(pages.getLast()).allSatisfy(entry -> assertThat(entry.getAccessGroup()).isNull());
+
+		verify(accessGroupRepositoryMock).findIdsByMunicipalityIdAndNamespaceAfter(MUNICIPALITY_ID, NAMESPACE, FIRST_ID, Limit.of(PAGE_SIZE));
+		verify(accessGroupRepositoryMock).findAllByIdInOrderById(groupIds);
+		verify(accessUserRepositoryMock).findIdsByMunicipalityIdAndNamespaceAfter(MUNICIPALITY_ID, NAMESPACE, FIRST_ID, Limit.of(PAGE_SIZE));
+		verify(accessUserRepositoryMock).findAllByIdInOrderById(userIds);
+		verify(entityManagerMock, times(2)).setProperty(HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+	}
+
+	@Test
+	void exportAccessConfigurationHandsOnPagesAfterTheirTransaction() {
+		// Arrange
+		final var groupIds = List.of(UUID.randomUUID());
+
+		when(accessGroupRepositoryMock.findIdsByMunicipalityIdAndNamespaceAfter(MUNICIPALITY_ID, NAMESPACE, FIRST_ID, Limit.of(PAGE_SIZE))).thenReturn(groupIds);
+		when(accessGroupRepositoryMock.findAllByIdInOrderById(groupIds)).thenReturn(List.of(AccessGroupEntity.create().withId(groupIds.getFirst())));
+		when(accessUserRepositoryMock.findIdsByMunicipalityIdAndNamespaceAfter(MUNICIPALITY_ID, NAMESPACE, FIRST_ID, Limit.of(PAGE_SIZE))).thenReturn(List.of());
+
+		// Act
+		service.exportAccessConfiguration(MUNICIPALITY_ID, NAMESPACE, pageConsumerMock);
+
+		// Assert
+		final var inOrder = inOrder(transactionManagerMock, accessGroupRepositoryMock, accessUserRepositoryMock, pageConsumerMock);
+		inOrder.verify(transactionManagerMock).getTransaction(transactionDefinitionCaptor.capture());
+		inOrder.verify(accessGroupRepositoryMock).findIdsByMunicipalityIdAndNamespaceAfter(MUNICIPALITY_ID, NAMESPACE, FIRST_ID, Limit.of(PAGE_SIZE));
+		inOrder.verify(accessGroupRepositoryMock).findAllByIdInOrderById(groupIds);
+		inOrder.verify(transactionManagerMock).commit(any());
+		inOrder.verify(pageConsumerMock).accept(any());
+		inOrder.verify(transactionManagerMock).getTransaction(transactionDefinitionCaptor.capture());
+		inOrder.verify(accessUserRepositoryMock).findIdsByMunicipalityIdAndNamespaceAfter(MUNICIPALITY_ID, NAMESPACE, FIRST_ID, Limit.of(PAGE_SIZE));
+		inOrder.verify(transactionManagerMock).commit(any());
+		assertThat(transactionDefinitionCaptor.getAllValues()).hasSize(2).allSatisfy(definition -> {
+			assertThat(definition.isReadOnly()).isTrue();
+			assertThat(definition.getIsolationLevel()).isEqualTo(ISOLATION_DEFAULT);
+		});
+		verify(entityManagerMock, times(2)).setProperty(HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+		verifyNoMoreInteractions(transactionManagerMock, pageConsumerMock);
+	}
+
+	@Test
+	void exportAccessConfigurationPagesByLastId() {
+		// Arrange
+		final var firstPageIds = IntStream.range(0, PAGE_SIZE).mapToObj(index -> new UUID(0L, index + 1L)).toList();
+		final var lastId = firstPageIds.getLast();
+		final var pages = new ArrayList<List<AccessConfigurationExportEntry>>();
+
+		when(accessGroupRepositoryMock.findIdsByMunicipalityIdAndNamespaceAfter(MUNICIPALITY_ID, NAMESPACE, FIRST_ID, Limit.of(PAGE_SIZE))).thenReturn(firstPageIds);
+		when(accessGroupRepositoryMock.findAllByIdInOrderById(firstPageIds)).thenReturn(firstPageIds.stream()
+			.map(id -> AccessGroupEntity.create().withId(id))
+			.toList());
+		when(accessGroupRepositoryMock.findIdsByMunicipalityIdAndNamespaceAfter(MUNICIPALITY_ID, NAMESPACE, lastId, Limit.of(PAGE_SIZE))).thenReturn(List.of());
+		when(accessUserRepositoryMock.findIdsByMunicipalityIdAndNamespaceAfter(MUNICIPALITY_ID, NAMESPACE, FIRST_ID, Limit.of(PAGE_SIZE))).thenReturn(List.of());
+
+		// Act
+		service.exportAccessConfiguration(MUNICIPALITY_ID, NAMESPACE, pages::add);
+
+		// Assert
+		assertThat(pages).hasSize(1);
+		assertThat(pages.getFirst()).hasSize(PAGE_SIZE);
+
+		verify(accessGroupRepositoryMock).findIdsByMunicipalityIdAndNamespaceAfter(MUNICIPALITY_ID, NAMESPACE, FIRST_ID, Limit.of(PAGE_SIZE));
+		verify(accessGroupRepositoryMock).findAllByIdInOrderById(firstPageIds);
+		verify(accessGroupRepositoryMock).findIdsByMunicipalityIdAndNamespaceAfter(MUNICIPALITY_ID, NAMESPACE, lastId, Limit.of(PAGE_SIZE));
+		verify(accessUserRepositoryMock).findIdsByMunicipalityIdAndNamespaceAfter(MUNICIPALITY_ID, NAMESPACE, FIRST_ID, Limit.of(PAGE_SIZE));
+		verify(accessUserRepositoryMock, never()).findAllByIdInOrderById(any());
+		verify(entityManagerMock, times(3)).setProperty(HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+	}
+}
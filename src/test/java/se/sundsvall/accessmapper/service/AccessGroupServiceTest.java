@@ -1,6 +1,10 @@
 package se.sundsvall.accessmapper.service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,26 +13,44 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import se.sundsvall.accessmapper.api.model.Access;
 import se.sundsvall.accessmapper.api.model.AccessGroup;
 import se.sundsvall.accessmapper.api.model.AccessLevel;
 import se.sundsvall.accessmapper.api.model.AccessType;
+import se.sundsvall.accessmapper.integration.db.AccessConfigurationVersionRepository;
+import se.sundsvall.accessmapper.integration.db.AccessGroupBatchRepository;
 import se.sundsvall.accessmapper.integration.db.AccessGroupRepository;
+import se.sundsvall.accessmapper.integration.db.model.AccessConfigurationVersionEntity;
 import se.sundsvall.accessmapper.integration.db.model.AccessEntity;
 import se.sundsvall.accessmapper.integration.db.model.AccessGroupEntity;
 import se.sundsvall.accessmapper.integration.db.model.AccessTypeEntity;
+import se.sundsvall.accessmapper.service.snapshot.AccessConfigurationIndex;
 import se.sundsvall.dept44.problem.ThrowableProblem;
+import tools.jackson.databind.json.JsonMapper;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.data.domain.Sort.Direction.DESC;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static se.sundsvall.accessmapper.service.util.CursorUtil.toCursor;
+import static se.sundsvall.accessmapper.service.util.CursorUtil.toKeysetSort;
 import static se.sundsvall.accessmapper.service.util.SpecificationBuilder.withAccessType;
 import static se.sundsvall.accessmapper.service.util.SpecificationBuilder.withMunicipalityId;
 import static se.sundsvall.accessmapper.service.util.SpecificationBuilder.withNamespace;
@@ -40,7 +62,8 @@ class AccessGroupServiceTest {
 
 	private static final String MUNICIPALITY_ID = "municipalityId";
 
-	private static final String ID = "id";
+	private static final String ID = "0190a3c4-7b2e-7d3f-8a1b-2c3d4e5f6a7b";
+	private static final UUID ENTITY_ID = UUID.fromString(ID);
 
 	private static final String GROUP_ID = "groupId";
 
@@ -49,17 +72,32 @@ class AccessGroupServiceTest {
 	@Mock
 	private AccessGroupRepository accessGroupRepositoryMock;
 
+	@Mock
+	private AccessGroupBatchRepository accessGroupBatchRepositoryMock;
+
+	@Mock
+	private AccessConfigurationVersionRepository accessConfigurationVersionRepositoryMock;
+
+	@Mock
+	private AccessConfigurationIndex accessConfigurationIndexMock;
+
+	@Spy
+	private JsonMapper jsonMapper = JsonMapper.builder().build();
+
 	@InjectMocks
 	private AccessGroupService service;
 
 	@Captor
 	private ArgumentCaptor<Specification<AccessGroupEntity>> specificationCaptor;
 
+	@Captor
+	private ArgumentCaptor<List<AccessGroupEntity>> accessGroupEntitiesCaptor;
+
 	@Test
 	void getAccessGroup() {
 		// Arrange
 		final var entity = AccessGroupEntity.create()
-			.withId(ID)
+			.withId(ENTITY_ID)
 			.withGroupId(GROUP_ID)
 			.withMunicipalityId(MUNICIPALITY_ID)
 			.withNamespace(NAMESPACE)
@@ -71,7 +109,7 @@ class AccessGroupServiceTest {
 					.withPattern("pattern")
 					.withAccessLevel(AccessLevel.LR.name())))));
 
-		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID))
+		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID))
 			.thenReturn(entity);
 
 		// Act
@@ -82,13 +120,13 @@ class AccessGroupServiceTest {
 		assertThat(response.getId()).isEqualTo(ID);
 		assertThat(response.getGroupId()).isEqualTo(GROUP_ID);
 
-		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID);
+		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID);
 	}
 
 	@Test
 	void getAccessGroupNotFound() {
 
-		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID))
+		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID))
 			.thenReturn(null);
 
 		// Act
@@ -98,9 +136,67 @@ class AccessGroupServiceTest {
 		// Assert
 		assertThat(exception.getStatus()).isEqualTo(NOT_FOUND);
 		assertThat(exception.getTitle()).isEqualTo(NOT_FOUND.getReasonPhrase());
-		assertThat(exception.getMessage()).isEqualTo("Not Found: Access group not found for municipalityId: municipalityId, namespace: namespace, id: id.");
+		assertThat(exception.getMessage()).isEqualTo("Not Found: Access group not found for municipalityId: municipalityId, namespace: namespace, id: " + ID + ".");
+
+		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID);
+	}
+
+	@Test
+	void getAccessGroupWithInvalidId() {
+
+		// Act
+		final var exception = assertThrows(ThrowableProblem.class,
+			() -> service.getAccessGroup(MUNICIPALITY_ID, NAMESPACE, "invalid"));
+
+		// Assert
+		assertThat(exception.getStatus()).isEqualTo(NOT_FOUND);
+		assertThat(exception.getMessage()).isEqualTo("Not Found: Access group not found for municipalityId: municipalityId, namespace: namespace, id: invalid.");
+	}
+
+	@Test
+	void getAccessGroupsETag() {
+		// Arrange
+		when(accessConfigurationVersionRepositoryMock.findByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE))
+			.thenReturn(Optional.of(AccessConfigurationVersionEntity.create().withVersion(2)))
+			.thenReturn(Optional.of(AccessConfigurationVersionEntity.create().withVersion(3)));
+
+		// Act
+		final var eTag = service.getAccessGroupsETag(MUNICIPALITY_ID, NAMESPACE, "type", null, null, null);
+		final var eTagAfterUpdate = service.getAccessGroupsETag(MUNICIPALITY_ID, NAMESPACE, "type", null, null, null);
 
-		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID);
+		// Assert
+		assertThat(eTag).startsWith("\"").endsWith("\"").isNotEqualTo(eTagAfterUpdate);
+		verify(accessConfigurationVersionRepositoryMock, times(2)).findByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void getAccessGroupsETagChangesWithRequestParameters() {
+		// Arrange
+		when(accessConfigurationVersionRepositoryMock.findByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE))
+			.thenReturn(Optional.of(AccessConfigurationVersionEntity.create().withVersion(2)));
+
+		// Act
+		final var eTag = service.getAccessGroupsETag(MUNICIPALITY_ID, NAMESPACE, "type", "groupId", 10, null);
+		final var eTagWithOtherSort = service.getAccessGroupsETag(MUNICIPALITY_ID, NAMESPACE, "type", "-groupId", 10, null);
+		final var eTagWithOtherLimit = service.getAccessGroupsETag(MUNICIPALITY_ID, NAMESPACE, "type", "groupId", 20, null);
+		final var eTagOfNextPage = service.getAccessGroupsETag(MUNICIPALITY_ID, NAMESPACE, "type", "groupId", 10, "Y3Vyc29y");
+
+		// Assert
+		assertThat(List.of(eTag, eTagWithOtherSort, eTagWithOtherLimit, eTagOfNextPage)).doesNotHaveDuplicates();
+		verify(accessConfigurationVersionRepositoryMock, times(4)).findByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void getAccessGroupsETagWithoutStoredVersion() {
+		// Arrange
+		when(accessConfigurationVersionRepositoryMock.findByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.empty());
+
+		// Act
+		final var eTag = service.getAccessGroupsETag(MUNICIPALITY_ID, NAMESPACE, null, null, null, null);
+
+		// Assert
+		assertThat(eTag).isNotBlank();
+		verify(accessConfigurationVersionRepositoryMock).findByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE);
 	}
 
 	@Test
@@ -129,37 +225,111 @@ class AccessGroupServiceTest {
 					.withPattern("pattern")
 					.withAccessLevel(AccessLevel.LR.name())))));
 
-		when(accessGroupRepositoryMock.findAll(ArgumentMatchers.<Specification<AccessGroupEntity>>any()))
+		when(accessGroupRepositoryMock.findAll(ArgumentMatchers.<Specification<AccessGroupEntity>>any(), any(Sort.class)))
 			.thenReturn(List.of(entity1, entity2));
 
 		// Act
-		final var response = service.getAccessGroups(MUNICIPALITY_ID, NAMESPACE, TYPE);
+		final var response = service.getAccessGroups(MUNICIPALITY_ID, NAMESPACE, TYPE, null);
 
 		// Assert
 		assertThat(response).isNotNull().hasSize(2);
 		assertThat(response.getFirst().getGroupId()).isEqualTo("group1");
 		assertThat(response.getLast().getGroupId()).isEqualTo("group2");
 
-		verify(accessGroupRepositoryMock).findAll(specificationCaptor.capture());
+		verify(accessGroupRepositoryMock).findAll(specificationCaptor.capture(), eq(Sort.unsorted()));
 		assertThat(specificationCaptor.getValue()).usingRecursiveComparison().isEqualTo(withMunicipalityId(MUNICIPALITY_ID).and(withNamespace(NAMESPACE)).and(withAccessType(TYPE)));
 	}
 
 	@Test
 	void getAccessGroupsWithoutMatches() {
 
-		when(accessGroupRepositoryMock.findAll(ArgumentMatchers.<Specification<AccessGroupEntity>>any()))
+		when(accessGroupRepositoryMock.findAll(ArgumentMatchers.<Specification<AccessGroupEntity>>any(), any(Sort.class)))
 			.thenReturn(List.of());
 
 		// Act
-		final var response = service.getAccessGroups(MUNICIPALITY_ID, NAMESPACE, TYPE);
+		final var response = service.getAccessGroups(MUNICIPALITY_ID, NAMESPACE, TYPE, null);
 
 		// Assert
 		assertThat(response).isNotNull().isEmpty();
 
-		verify(accessGroupRepositoryMock).findAll(specificationCaptor.capture());
+		verify(accessGroupRepositoryMock).findAll(specificationCaptor.capture(), eq(Sort.unsorted()));
 		assertThat(specificationCaptor.getValue()).usingRecursiveComparison().isEqualTo(withMunicipalityId(MUNICIPALITY_ID).and(withNamespace(NAMESPACE)).and(withAccessType(TYPE)));
 	}
 
+	@Test
+	void getAccessGroupsSorted() {
+
+		when(accessGroupRepositoryMock.findAll(ArgumentMatchers.<Specification<AccessGroupEntity>>any(), any(Sort.class)))
+			.thenReturn(List.of());
+
+		// Act
+		final var response = service.getAccessGroups(MUNICIPALITY_ID, NAMESPACE, null, "-groupId");
+
+		// Assert
+		assertThat(response).isNotNull().isEmpty();
+
+		verify(accessGroupRepositoryMock).findAll(specificationCaptor.capture(), eq(Sort.by(DESC, "groupId")));
+		assertThat(specificationCaptor.getValue()).usingRecursiveComparison().isEqualTo(withMunicipalityId(MUNICIPALITY_ID).and(withNamespace(NAMESPACE)).and(withAccessType(null)));
+	}
+
+	@Test
+	void getAccessGroupPage() {
+		// Arrange
+		final var entities = List.of(
+			AccessGroupEntity.create().withId(UUID.randomUUID()).withGroupId("group1"),
+			AccessGroupEntity.create().withId(UUID.randomUUID()).withGroupId("group2"));
+		final var window = Window.from(entities, index -> ScrollPosition.forward(Map.of("groupId", entities.get(index).getGroupId(), "id", entities.get(index).getId())), true);
+
+		when(accessGroupRepositoryMock.findBy(ArgumentMatchers.<Specification<AccessGroupEntity>>any(), any())).thenReturn(window);
+		when(accessGroupRepositoryMock.count(ArgumentMatchers.<Specification<AccessGroupEntity>>any())).thenReturn(5L);
+
+		// Act
+		final var response = service.getAccessGroupPage(MUNICIPALITY_ID, NAMESPACE, TYPE, "groupId", null, 2);
+
+		// Assert
+		assertThat(response.content()).extracting(AccessGroup::getGroupId).containsExactly("group1", "group2");
+		assertThat(response.totalCount()).isEqualTo(5);
+		assertThat(response.nextCursor()).isNotNull().isEqualTo(toCursor(window, toKeysetSort("groupId")));
+
+		verify(accessGroupRepositoryMock).findBy(specificationCaptor.capture(), any());
+		assertThat(specificationCaptor.getValue()).usingRecursiveComparison().isEqualTo(withMunicipalityId(MUNICIPALITY_ID).and(withNamespace(NAMESPACE)).and(withAccessType(TYPE)));
+		verify(accessGroupRepositoryMock).count(specificationCaptor.capture());
+		assertThat(specificationCaptor.getValue()).usingRecursiveComparison().isEqualTo(withMunicipalityId(MUNICIPALITY_ID).and(withNamespace(NAMESPACE)).and(withAccessType(TYPE)));
+	}
+
+	@Test
+	void getAccessGroupLastPage() {
+		// Arrange
+		final var entities = List.of(AccessGroupEntity.create().withId(UUID.randomUUID()).withGroupId("group3"));
+		final var window = Window.from(entities, index -> ScrollPosition.forward(Map.of("id", entities.get(index).getId())), false);
+
+		when(accessGroupRepositoryMock.findBy(ArgumentMatchers.<Specification<AccessGroupEntity>>any(), any())).thenReturn(window);
+		when(accessGroupRepositoryMock.count(ArgumentMatchers.<Specification<AccessGroupEntity>>any())).thenReturn(3L);
+
+		// Act
+		final var response = service.getAccessGroupPage(MUNICIPALITY_ID, NAMESPACE, null, null, "MDE5MGEzYzQtN2IyZS03ZDNmLThhMWItMmMzZDRlNWY2YTdi", 2);
+
+		// Assert
+		assertThat(response.content()).extracting(AccessGroup::getGroupId).containsExactly("group3");
+		assertThat(response.totalCount()).isEqualTo(3);
+		assertThat(response.nextCursor()).isNull();
+
+		verify(accessGroupRepositoryMock).findBy(ArgumentMatchers.<Specification<AccessGroupEntity>>any(), any());
+		verify(accessGroupRepositoryMock).count(ArgumentMatchers.<Specification<AccessGroupEntity>>any());
+	}
+
+	@Test
+	void getAccessGroupPageWithInvalidCursor() {
+
+		// Act
+		final var exception = assertThrows(ThrowableProblem.class,
+			() -> service.getAccessGroupPage(MUNICIPALITY_ID, NAMESPACE, null, "groupId", "not-a-cursor", 2));
+
+		// Assert
+		assertThat(exception.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(exception.getMessage()).isEqualTo("Bad Request: Invalid cursor: not-a-cursor.");
+	}
+
 	@Test
 	void createAccessGroup() {
 		// Arrange
@@ -186,6 +356,101 @@ class AccessGroupServiceTest {
 		// Assert
 		verify(accessGroupRepositoryMock).existsByMunicipalityIdAndNamespaceAndGroupId(MUNICIPALITY_ID, NAMESPACE, GROUP_ID);
 		verify(accessGroupRepositoryMock).save(any(AccessGroupEntity.class));
+		verify(accessConfigurationVersionRepositoryMock).incrementVersion(MUNICIPALITY_ID, NAMESPACE);
+		verify(accessConfigurationIndexMock).refresh(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void importAccessGroups() {
+		// Arrange
+		final var accessGroups = List.of(
+			AccessGroup.create().withGroupId("group1")
+				.withAccessByType(List.of(AccessType.create()
+					.withType(TYPE)
+					.withAccess(List.of(Access.create()
+						.withPattern("pattern")
+						.withAccessLevel(AccessLevel.RW))))),
+			AccessGroup.create().withGroupId("group2"));
+
+		when(accessGroupRepositoryMock.findGroupIdsByMunicipalityIdAndNamespaceAndGroupIdIn(MUNICIPALITY_ID, NAMESPACE, List.of("group1", "group2"))).thenReturn(List.of());
+
+		// Act
+		service.importAccessGroups(MUNICIPALITY_ID, NAMESPACE, accessGroups);
+
+		// Assert
+		verify(accessGroupRepositoryMock).findGroupIdsByMunicipalityIdAndNamespaceAndGroupIdIn(MUNICIPALITY_ID, NAMESPACE, List.of("group1", "group2"));
+		verify(accessGroupBatchRepositoryMock).insertAll(accessGroupEntitiesCaptor.capture());
+		verify(accessConfigurationVersionRepositoryMock).incrementVersion(MUNICIPALITY_ID, NAMESPACE);
+		verify(accessConfigurationIndexMock).refresh(MUNICIPALITY_ID, NAMESPACE);
+
+		assertThat(accessGroupEntitiesCaptor.getValue())
+			.extracting(AccessGroupEntity::getMunicipalityId, AccessGroupEntity::getNamespace, AccessGroupEntity::getGroupId)
+			.containsExactly(tuple(MUNICIPALITY_ID, NAMESPACE, "group1"), tuple(MUNICIPALITY_ID, NAMESPACE, "group2"));
+		assertThat(accessGroupEntitiesCaptor.getValue().getFirst().getAccessByType()).singleElement()
+			.satisfies(type -> assertThat(type.getAccess()).singleElement()
+				.satisfies(access -> assertThat(access.getAccessLevel()).isEqualTo("RW")));
+	}
+
+	@Test
+	void importAccessGroupsWithExistingGroupIds() {
+		// Arrange
+		final var accessGroups = List.of(AccessGroup.create().withGroupId("group1"), AccessGroup.create().withGroupId("group2"));
+
+		when(accessGroupRepositoryMock.findGroupIdsByMunicipalityIdAndNamespaceAndGroupIdIn(MUNICIPALITY_ID, NAMESPACE, List.of("group1", "group2"))).thenReturn(List.of("group2"));
+
+		// Act
+		final var exception = assertThrows(ThrowableProblem.class,
+			() -> service.importAccessGroups(MUNICIPALITY_ID, NAMESPACE, accessGroups));
+
+		// Assert
+		assertThat(exception.getStatus()).isEqualTo(CONFLICT);
+		assertThat(exception.getMessage()).isEqualTo("Conflict: Access groups already exist for municipalityId: municipalityId, namespace: namespace, groupIds: group2.");
+		verify(accessGroupRepositoryMock).findGroupIdsByMunicipalityIdAndNamespaceAndGroupIdIn(MUNICIPALITY_ID, NAMESPACE, List.of("group1", "group2"));
+	}
+
+	@Test
+	void importAccessGroupsWithDuplicateGroupIds() {
+		// Arrange
+		final var accessGroups = List.of(AccessGroup.create().withGroupId("group1"), AccessGroup.create().withGroupId("group2"), AccessGroup.create().withGroupId("group1"));
+
+		// Act
+		final var exception = assertThrows(ThrowableProblem.class,
+			() -> service.importAccessGroups(MUNICIPALITY_ID, NAMESPACE, accessGroups));
+
+		// Assert
+		assertThat(exception.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(exception.getMessage()).isEqualTo("Bad Request: Duplicate groupIds in import: group1.");
+	}
+
+	@Test
+	void importAccessGroupsWithoutGroupId() {
+		// Arrange
+		final var accessGroups = List.of(AccessGroup.create().withGroupId("group1"), AccessGroup.create().withGroupId(" "));
+
+		// Act
+		final var exception = assertThrows(ThrowableProblem.class,
+			() -> service.importAccessGroups(MUNICIPALITY_ID, NAMESPACE, accessGroups));
+
+		// Assert
+		assertThat(exception.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(exception.getMessage()).isEqualTo("Bad Request: Every imported access group must have a groupId.");
+	}
+
+	@Test
+	void importAccessGroupsWithoutAccessLevel() {
+		// Arrange
+		final var accessGroups = List.of(AccessGroup.create().withGroupId("group1")
+			.withAccessByType(List.of(AccessType.create()
+				.withType(TYPE)
+				.withAccess(List.of(Access.create().withPattern("pattern"))))));
+
+		// Act
+		final var exception = assertThrows(ThrowableProblem.class,
+			() -> service.importAccessGroups(MUNICIPALITY_ID, NAMESPACE, accessGroups));
+
+		// Assert
+		assertThat(exception.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(exception.getMessage()).isEqualTo("Bad Request: Access level is missing for groupIds: group1.");
 	}
 
 	@Test
@@ -218,7 +483,7 @@ class AccessGroupServiceTest {
 					.withPattern("pattern")
 					.withAccessLevel(AccessLevel.RW)))));
 		final var existingEntity = AccessGroupEntity.create()
-			.withId(ID)
+			.withId(ENTITY_ID)
 			.withGroupId(GROUP_ID)
 			.withMunicipalityId(MUNICIPALITY_ID)
 			.withNamespace(NAMESPACE)
@@ -230,7 +495,7 @@ class AccessGroupServiceTest {
 					.withPattern("pattern")
 					.withAccessLevel(AccessLevel.LR.name())))));
 
-		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID))
+		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID))
 			.thenReturn(existingEntity);
 		when(accessGroupRepositoryMock.save(any(AccessGroupEntity.class))).thenReturn(existingEntity);
 
@@ -238,8 +503,147 @@ class AccessGroupServiceTest {
 		service.updateAccessGroup(MUNICIPALITY_ID, NAMESPACE, ID, accessGroup);
 
 		// Assert
-		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID);
+		assertThat(existingEntity.getAccessByType()).singleElement()
+			.satisfies(accessType -> assertThat(accessType.getAccess()).extracting(AccessEntity::getPattern, AccessEntity::getAccessLevel)
+				.containsExactly(tuple("pattern", "RW")));
+
+		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID);
 		verify(accessGroupRepositoryMock).save(any(AccessGroupEntity.class));
+		verify(accessGroupRepositoryMock).flush();
+		verify(accessConfigurationVersionRepositoryMock).incrementVersion(MUNICIPALITY_ID, NAMESPACE);
+		verify(accessConfigurationIndexMock).refresh(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void updateUnchangedAccessGroup() {
+		// Arrange
+		final var accessGroup = AccessGroup.create().withGroupId(GROUP_ID)
+			.withAccessByType(List.of(AccessType.create()
+				.withType(TYPE)
+				.withAccess(List.of(Access.create()
+					.withPattern("pattern")
+					.withAccessLevel(AccessLevel.LR)))));
+		final var existingEntity = AccessGroupEntity.create()
+			.withId(ENTITY_ID)
+			.withGroupId(GROUP_ID)
+			.withAccessByType(new ArrayList<>(List.of(AccessTypeEntity.create()
+				.withType(TYPE)
+				.withAccess(new ArrayList<>(List.of(AccessEntity.create()
+					.withPattern("pattern")
+					.withAccessLevel(AccessLevel.LR.name())))))));
+
+		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID))
+			.thenReturn(existingEntity);
+
+		// Act
+		service.updateAccessGroup(MUNICIPALITY_ID, NAMESPACE, ID, accessGroup);
+
+		// Assert
+		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID);
+	}
+
+	@Test
+	void patchAccessGroup() {
+		// Arrange
+		final var patch = jsonMapper.readTree("""
+			{"accessByType": [{"type": "type", "access": [{"pattern": "pattern", "accessLevel": "LR"}, {"pattern": "newPattern", "accessLevel": "R"}]}]}
+			""");
+		final var existingAccess = AccessEntity.create()
+			.withPattern("pattern")
+			.withAccessLevel(AccessLevel.LR.name());
+		final var existingEntity = AccessGroupEntity.create()
+			.withId(ENTITY_ID)
+			.withGroupId(GROUP_ID)
+			.withAccessByType(new ArrayList<>(List.of(AccessTypeEntity.create()
+				.withType(TYPE)
+				.withAccess(new ArrayList<>(List.of(existingAccess, AccessEntity.create()
+					.withPattern("removedPattern")
+					.withAccessLevel(AccessLevel.RW.name())))))));
+
+		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID))
+			.thenReturn(existingEntity);
+
+		// Act
+		service.patchAccessGroup(MUNICIPALITY_ID, NAMESPACE, ID, patch);
+
+		// Assert
+		assertThat(existingEntity.getGroupId()).isEqualTo(GROUP_ID);
+		assertThat(existingEntity.getAccessByType()).singleElement().satisfies(accessType -> {
+			assertThat(accessType.getAccess()).hasSize(2).first().isSameAs(existingAccess);
+			assertThat(accessType.getAccess()).extracting(AccessEntity::getPattern, AccessEntity::getAccessLevel)
+				.containsExactly(tuple("pattern", "LR"), tuple("newPattern", "R"));
+		});
+
+		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID);
+		verify(accessGroupRepositoryMock).save(existingEntity);
+		verify(accessGroupRepositoryMock).flush();
+		verify(accessConfigurationVersionRepositoryMock).incrementVersion(MUNICIPALITY_ID, NAMESPACE);
+		verify(accessConfigurationIndexMock).refresh(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void patchAccessGroupWithInvalidPatch() {
+		// Arrange
+		final var patch = jsonMapper.readTree("""
+			{"accessByType": "label"}
+			""");
+
+		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID))
+			.thenReturn(AccessGroupEntity.create().withId(ENTITY_ID).withGroupId(GROUP_ID));
+
+		// Act
+		final var exception = assertThrows(ThrowableProblem.class,
+			() -> service.patchAccessGroup(MUNICIPALITY_ID, NAMESPACE, ID, patch));
+
+		// Assert
+		assertThat(exception.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(exception.getMessage()).startsWith("Bad Request: Invalid merge patch: ");
+
+		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID);
+	}
+
+	@Test
+	void patchAccessGroupWithoutGroupId() {
+		// Arrange
+		final var patch = jsonMapper.readTree("""
+			{"groupId": null}
+			""");
+		final var existingEntity = AccessGroupEntity.create().withId(ENTITY_ID).withGroupId(GROUP_ID);
+
+		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID))
+			.thenReturn(existingEntity);
+
+		// Act
+		final var exception = assertThrows(ThrowableProblem.class,
+			() -> service.patchAccessGroup(MUNICIPALITY_ID, NAMESPACE, ID, patch));
+
+		// Assert
+		assertThat(exception.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(exception.getMessage()).isEqualTo("Bad Request: Access group must have a groupId.");
+		assertThat(existingEntity.getGroupId()).isEqualTo(GROUP_ID);
+
+		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID);
+	}
+
+	@Test
+	void patchAccessGroupWithoutAccessLevel() {
+		// Arrange
+		final var patch = jsonMapper.readTree("""
+			{"accessByType": [{"type": "type", "access": [{"pattern": "pattern"}]}]}
+			""");
+
+		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID))
+			.thenReturn(AccessGroupEntity.create().withId(ENTITY_ID).withGroupId(GROUP_ID));
+
+		// Act
+		final var exception = assertThrows(ThrowableProblem.class,
+			() -> service.patchAccessGroup(MUNICIPALITY_ID, NAMESPACE, ID, patch));
+
+		// Assert
+		assertThat(exception.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(exception.getMessage()).isEqualTo("Bad Request: Access level is missing for groupId: " + GROUP_ID + ".");
+
+		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID);
 	}
 
 	@Test
@@ -247,7 +651,7 @@ class AccessGroupServiceTest {
 		// Arrange
 		final var accessGroup = AccessGroup.create().withGroupId(GROUP_ID);
 
-		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID))
+		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID))
 			.thenReturn(null);
 
 		// Act
@@ -257,35 +661,64 @@ class AccessGroupServiceTest {
 		// Assert
 		assertThat(exception.getStatus()).isEqualTo(NOT_FOUND);
 		assertThat(exception.getTitle()).isEqualTo(NOT_FOUND.getReasonPhrase());
-		assertThat(exception.getMessage()).isEqualTo("Not Found: Access group not found for municipalityId: municipalityId, namespace: namespace, id: id.");
+		assertThat(exception.getMessage()).isEqualTo("Not Found: Access group not found for municipalityId: municipalityId, namespace: namespace, id: " + ID + ".");
 
-		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID);
+		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID);
 	}
 
 	@Test
 	void deleteExistingAccessGroup() {
 		// Arrange
 		final var entity = AccessGroupEntity.create()
-			.withId(ID)
+			.withId(ENTITY_ID)
 			.withGroupId(GROUP_ID)
 			.withMunicipalityId(MUNICIPALITY_ID)
 			.withNamespace(NAMESPACE);
 
-		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID))
+		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID))
 			.thenReturn(entity);
 
 		// Act
 		service.deleteAccessGroup(MUNICIPALITY_ID, NAMESPACE, ID);
 
 		// Assert
-		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID);
+		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID);
 		verify(accessGroupRepositoryMock).delete(entity);
+		verify(accessGroupRepositoryMock).flush();
+		verify(accessConfigurationVersionRepositoryMock).incrementVersion(MUNICIPALITY_ID, NAMESPACE);
+		verify(accessConfigurationIndexMock).refresh(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void deleteConcurrentlyModifiedAccessGroup() {
+		// Arrange
+		final var entity = AccessGroupEntity.create()
+			.withId(ENTITY_ID)
+			.withGroupId(GROUP_ID)
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withNamespace(NAMESPACE);
+
+		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID))
+			.thenReturn(entity);
+		doThrow(new OptimisticLockingFailureException("Row was updated or deleted by another transaction")).when(accessGroupRepositoryMock).flush();
+
+		// Act
+		final var exception = assertThrows(ThrowableProblem.class,
+			() -> service.deleteAccessGroup(MUNICIPALITY_ID, NAMESPACE, ID));
+
+		// Assert
+		assertThat(exception.getStatus()).isEqualTo(CONFLICT);
+		assertThat(exception.getMessage()).isEqualTo("Conflict: Access group was modified concurrently for municipalityId: municipalityId, namespace: namespace, id: " + ID + ".");
+
+		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID);
+		verify(accessGroupRepositoryMock).delete(entity);
+		verify(accessGroupRepositoryMock).flush();
 	}
 
 	@Test
 	void deleteNonExistingAccessGroup() {
 
-		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID))
+		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID))
 			.thenReturn(null);
 
 		// Act
@@ -295,21 +728,21 @@ class AccessGroupServiceTest {
 		// Assert
 		assertThat(exception.getStatus()).isEqualTo(NOT_FOUND);
 		assertThat(exception.getTitle()).isEqualTo(NOT_FOUND.getReasonPhrase());
-		assertThat(exception.getMessage()).isEqualTo("Not Found: Access group not found for municipalityId: municipalityId, namespace: namespace, id: id.");
+		assertThat(exception.getMessage()).isEqualTo("Not Found: Access group not found for municipalityId: municipalityId, namespace: namespace, id: " + ID + ".");
 
-		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID);
+		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID);
 	}
 
 	@Test
 	void getAccessGroupEntity() {
 		// Arrange
 		final var entity = AccessGroupEntity.create()
-			.withId(ID)
+			.withId(ENTITY_ID)
 			.withGroupId(GROUP_ID)
 			.withMunicipalityId(MUNICIPALITY_ID)
 			.withNamespace(NAMESPACE);
 
-		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID))
+		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID))
 			.thenReturn(entity);
 
 		// Act
@@ -317,19 +750,19 @@ class AccessGroupServiceTest {
 
 		// Assert
 		assertThat(response).isNotNull();
-		assertThat(response.getId()).isEqualTo(ID);
+		assertThat(response.getId()).isEqualTo(ENTITY_ID);
 		assertThat(response.getGroupId()).isEqualTo(GROUP_ID);
 		assertThat(response.getMunicipalityId()).isEqualTo(MUNICIPALITY_ID);
 		assertThat(response.getNamespace()).isEqualTo(NAMESPACE);
 
-		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID);
+		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID);
 	}
 
 	@Test
 	void getAccessGroupEntityNotFound() {
 
 		// Arrange
-		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID))
+		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID))
 			.thenReturn(null);
 
 		// Act
@@ -339,13 +772,13 @@ class AccessGroupServiceTest {
 		// Assert
 		assertThat(exception.getStatus()).isEqualTo(NOT_FOUND);
 		assertThat(exception.getTitle()).isEqualTo(NOT_FOUND.getReasonPhrase());
-		assertThat(exception.getMessage()).isEqualTo("Not Found: Access group not found for municipalityId: municipalityId, namespace: namespace, id: id.");
+		assertThat(exception.getMessage()).isEqualTo("Not Found: Access group not found for municipalityId: municipalityId, namespace: namespace, id: " + ID + ".");
 
-		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID);
+		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID);
 	}
 
 	@AfterEach
 	void verifyNoMoreInteractionsOnMocks() {
-		verifyNoMoreInteractions(accessGroupRepositoryMock);
+		verifyNoMoreInteractions(accessGroupRepositoryMock, accessGroupBatchRepositoryMock, accessConfigurationVersionRepositoryMock, accessConfigurationIndexMock);
 	}
 }
@@ -1,41 +1,62 @@
 package se.sundsvall.accessmapper.service;
 
 import generated.se.sundsvall.activedirectory.OUChildren;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
 import org.junit.jupiter.api.AfterEach;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import se.sundsvall.accessmapper.api.model.Access;
+import se.sundsvall.accessmapper.api.model.AccessGroup;
 import se.sundsvall.accessmapper.api.model.AccessLevel;
-import se.sundsvall.accessmapper.integration.activedirectory.ActiveDirectoryClient;
-import se.sundsvall.accessmapper.integration.activedirectory.configuration.ActiveDirectoryProperties;
-import se.sundsvall.accessmapper.integration.db.AccessGroupRepository;
-import se.sundsvall.accessmapper.integration.db.AccessUserRepository;
+import se.sundsvall.accessmapper.api.model.AccessType;
+import se.sundsvall.accessmapper.integration.activedirectory.ActiveDirectoryIntegration;
+import se.sundsvall.accessmapper.integration.activedirectory.GroupMembership;
 import se.sundsvall.accessmapper.integration.db.model.AccessEntity;
 import se.sundsvall.accessmapper.integration.db.model.AccessGroupEntity;
 import se.sundsvall.accessmapper.integration.db.model.AccessTypeEntity;
-import se.sundsvall.dept44.exception.ClientProblem;
+import se.sundsvall.accessmapper.integration.db.model.AccessUserEntity;
+import se.sundsvall.accessmapper.service.membership.ActiveDirectoryGroupMirror;
+import se.sundsvall.accessmapper.service.metrics.AccessMetrics;
+import se.sundsvall.accessmapper.service.snapshot.AccessConfigurationIndex;
+import se.sundsvall.accessmapper.service.snapshot.AccessConfigurationSnapshot;
 import se.sundsvall.dept44.exception.ServerProblem;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
-import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static se.sundsvall.accessmapper.Constants.LOCAL_STORED_ACCESS_GROUP;
+import static se.sundsvall.accessmapper.service.metrics.AccessMetrics.ACTIVE_DIRECTORY_GROUPS_SUMMARY;
+import static se.sundsvall.accessmapper.service.metrics.AccessMetrics.MATCHED_GROUPS_SUMMARY;
+import static se.sundsvall.accessmapper.service.metrics.AccessMetrics.RESOLVED_PATTERNS_SUMMARY;
+import static se.sundsvall.accessmapper.service.metrics.AccessMetrics.STAGE_TIMER;
 
 @ExtendWith(MockitoExtension.class)
 class AccessServiceTest {
 
-	private static final String DOMAIN = "personal";
-
 	private static final String NAMESPACE = "namespace";
 
 	private static final String MUNICIPALITY_ID = "municipalityId";
@@ -45,63 +66,35 @@ class AccessServiceTest {
 	private static final String TYPE = "type";
 
 	@Mock
-	private ActiveDirectoryClient activeDirectoryClientMock;
+	private ActiveDirectoryIntegration activeDirectoryIntegrationMock;
 
 	@Mock
-	private ActiveDirectoryProperties activeDirectoryPropertiesMock;
+	private ActiveDirectoryGroupMirror activeDirectoryGroupMirrorMock;
 
 	@Mock
-	private AccessGroupRepository accessGroupRepositoryMock;
+	private AccessConfigurationIndex accessConfigurationIndexMock;
 
-	@Mock
-	private AccessUserRepository accessUserRepositoryMock;
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Spy
+	private AccessMetrics accessMetrics = new AccessMetrics(meterRegistry);
 
 	@InjectMocks
 	private AccessService service;
 
-	@BeforeEach
-	void setUp() {
-		lenient().when(activeDirectoryPropertiesMock.domain()).thenReturn(DOMAIN);
-	}
-
 	@Test
 	void getAccessDetailsWithTypeFilter() {
 		// Arrange
 		final var guid1 = UUID.randomUUID();
 		final var guid2 = UUID.randomUUID();
-		final var ouChild1 = new OUChildren().guid(guid1);
-		final var ouChild2 = new OUChildren().guid(guid2);
 
-		final var entity1 = AccessGroupEntity.create()
-			.withGroupId(guid1.toString())
-			.withMunicipalityId(MUNICIPALITY_ID)
-			.withNamespace(NAMESPACE)
-			.withAccessByType(List.of(AccessTypeEntity
-				.create()
-				.withType(TYPE)
-				.withAccess(List.of(AccessEntity
-					.create()
-					.withPattern("pattern1")
-					.withAccessLevel(AccessLevel.LR.name())))));
-
-		final var entity2 = AccessGroupEntity.create()
-			.withGroupId(guid2.toString())
-			.withMunicipalityId(MUNICIPALITY_ID)
-			.withNamespace(NAMESPACE)
-			.withAccessByType(List.of(AccessTypeEntity
-				.create()
-				.withType(TYPE)
-				.withAccess(List.of(AccessEntity
-					.create()
-					.withPattern("pattern2")
-					.withAccessLevel(AccessLevel.RW.name())))));
+		final var snapshot = AccessConfigurationSnapshot.of(1, List.of(
+			createAccessGroupEntity(guid2.toString(), TYPE, "pattern2", AccessLevel.RW),
+			createAccessGroupEntity(guid1.toString(), TYPE, "pattern1", AccessLevel.LR)), List.of());
 
-		when(activeDirectoryClientMock.getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID))
-			.thenReturn(List.of(ouChild1, ouChild2));
-		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndGroupId(MUNICIPALITY_ID, NAMESPACE, guid1.toString()))
-			.thenReturn(entity1);
-		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndGroupId(MUNICIPALITY_ID, NAMESPACE, guid2.toString()))
-			.thenReturn(entity2);
+		when(activeDirectoryIntegrationMock.getGroupMembership(MUNICIPALITY_ID, AD_ID))
+			.thenReturn(fetched(List.of(new OUChildren().guid(guid1), new OUChildren().guid(guid2))));
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.of(snapshot));
 
 		// Act
 		final var response = service.getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE);
@@ -111,34 +104,51 @@ class AccessServiceTest {
 		assertThat(response.getFirst().getGroupId()).isEqualTo(guid1.toString());
 		assertThat(response.getLast().getGroupId()).isEqualTo(guid2.toString());
 
-		verify(activeDirectoryClientMock).getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID);
-		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndGroupId(MUNICIPALITY_ID, NAMESPACE, guid1.toString());
-		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndGroupId(MUNICIPALITY_ID, NAMESPACE, guid2.toString());
-		verify(accessUserRepositoryMock).findAllByMunicipalityIdAndNamespaceAndUserId(MUNICIPALITY_ID, NAMESPACE, AD_ID);
+		verify(activeDirectoryIntegrationMock).getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		verify(accessConfigurationIndexMock).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void getAccessDetailsRecordsMetrics() {
+		// Arrange
+		final var guid = UUID.randomUUID();
+
+		final var snapshot = AccessConfigurationSnapshot.of(1, List.of(
+			createAccessGroupEntity(guid.toString(), TYPE, "pattern", AccessLevel.LR)), List.of(createAccessUserEntity(AD_ID, TYPE)));
+
+		when(activeDirectoryIntegrationMock.getGroupMembership(MUNICIPALITY_ID, AD_ID))
+			.thenReturn(fetched(List.of(new OUChildren().guid(guid), new OUChildren().guid(UUID.randomUUID()))));
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.empty());
+		when(accessConfigurationIndexMock.getSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(snapshot);
+
+		// Act
+		service.getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_ID, null);
+
+		// Assert
+		assertThat(meterRegistry.get(STAGE_TIMER).tag("operation", "details").tag("municipalityId", MUNICIPALITY_ID).tag("namespace", NAMESPACE).timers())
+			.extracting(timer -> timer.getId().getTag("stage"))
+			.containsExactlyInAnyOrder("active-directory", "snapshot", "groups", "user");
+		assertThat(meterRegistry.get(ACTIVE_DIRECTORY_GROUPS_SUMMARY).tag("operation", "details").summary().totalAmount()).isEqualTo(2);
+		assertThat(meterRegistry.get(MATCHED_GROUPS_SUMMARY).tag("operation", "details").summary().totalAmount()).isEqualTo(1);
+		assertThat(meterRegistry.get(RESOLVED_PATTERNS_SUMMARY).tag("operation", "details").summary().totalAmount()).isEqualTo(2);
+
+		verify(activeDirectoryIntegrationMock).getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		verify(accessConfigurationIndexMock).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+		verify(accessConfigurationIndexMock).getSnapshot(MUNICIPALITY_ID, NAMESPACE);
+		verifyNoInteractions(activeDirectoryGroupMirrorMock);
 	}
 
 	@Test
 	void getAccessDetailsWithoutTypeFilter() {
 		// Arrange
 		final var guid = UUID.randomUUID();
-		final var ouChild = new OUChildren().guid(guid);
 
-		final var entity = AccessGroupEntity.create()
-			.withGroupId(guid.toString())
-			.withMunicipalityId(MUNICIPALITY_ID)
-			.withNamespace(NAMESPACE)
-			.withAccessByType(List.of(AccessTypeEntity
-				.create()
-				.withType(TYPE)
-				.withAccess(List.of(AccessEntity
-					.create()
-					.withPattern("pattern")
-					.withAccessLevel(AccessLevel.LR.name())))));
+		final var snapshot = AccessConfigurationSnapshot.of(1, List.of(
+			createAccessGroupEntity(guid.toString(), TYPE, "pattern", AccessLevel.LR)), List.of());
 
-		when(activeDirectoryClientMock.getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID))
-			.thenReturn(List.of(ouChild));
-		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndGroupId(MUNICIPALITY_ID, NAMESPACE, guid.toString()))
-			.thenReturn(entity);
+		when(activeDirectoryIntegrationMock.getGroupMembership(MUNICIPALITY_ID, AD_ID))
+			.thenReturn(fetched(List.of(new OUChildren().guid(guid))));
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.of(snapshot));
 
 		// Act
 		final var response = service.getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_ID, null);
@@ -147,9 +157,8 @@ class AccessServiceTest {
 		assertThat(response).isNotNull().hasSize(1);
 		assertThat(response.getFirst().getGroupId()).isEqualTo(guid.toString());
 
-		verify(activeDirectoryClientMock).getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID);
-		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndGroupId(MUNICIPALITY_ID, NAMESPACE, guid.toString());
-		verify(accessUserRepositoryMock).findAllByMunicipalityIdAndNamespaceAndUserId(MUNICIPALITY_ID, NAMESPACE, AD_ID);
+		verify(activeDirectoryIntegrationMock).getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		verify(accessConfigurationIndexMock).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
 	}
 
 	@Test
@@ -157,39 +166,14 @@ class AccessServiceTest {
 		// Arrange
 		final var guid1 = UUID.randomUUID();
 		final var guid2 = UUID.randomUUID();
-		final var ouChild1 = new OUChildren().guid(guid1);
-		final var ouChild2 = new OUChildren().guid(guid2);
 
-		final var entity1 = AccessGroupEntity.create()
-			.withGroupId(guid1.toString())
-			.withMunicipalityId(MUNICIPALITY_ID)
-			.withNamespace(NAMESPACE)
-			.withAccessByType(List.of(AccessTypeEntity
-				.create()
-				.withType(TYPE)
-				.withAccess(List.of(AccessEntity
-					.create()
-					.withPattern("pattern1")
-					.withAccessLevel(AccessLevel.LR.name())))));
-
-		final var entity2 = AccessGroupEntity.create()
-			.withGroupId(guid2.toString())
-			.withMunicipalityId(MUNICIPALITY_ID)
-			.withNamespace(NAMESPACE)
-			.withAccessByType(List.of(AccessTypeEntity
-				.create()
-				.withType("otherType")
-				.withAccess(List.of(AccessEntity
-					.create()
-					.withPattern("pattern2")
-					.withAccessLevel(AccessLevel.RW.name())))));
+		final var snapshot = AccessConfigurationSnapshot.of(1, List.of(
+			createAccessGroupEntity(guid1.toString(), TYPE, "pattern1", AccessLevel.LR),
+			createAccessGroupEntity(guid2.toString(), "otherType", "pattern2", AccessLevel.RW)), List.of());
 
-		when(activeDirectoryClientMock.getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID))
-			.thenReturn(List.of(ouChild1, ouChild2));
-		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndGroupId(MUNICIPALITY_ID, NAMESPACE, guid1.toString()))
-			.thenReturn(entity1);
-		when(accessGroupRepositoryMock.findByMunicipalityIdAndNamespaceAndGroupId(MUNICIPALITY_ID, NAMESPACE, guid2.toString()))
-			.thenReturn(entity2);
+		when(activeDirectoryIntegrationMock.getGroupMembership(MUNICIPALITY_ID, AD_ID))
+			.thenReturn(fetched(List.of(new OUChildren().guid(guid1), new OUChildren().guid(guid2))));
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.of(snapshot));
 
 		// Act
 		final var response = service.getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE);
@@ -198,33 +182,66 @@ class AccessServiceTest {
 		assertThat(response).isNotNull().hasSize(1);
 		assertThat(response.getFirst().getGroupId()).isEqualTo(guid1.toString());
 
-		verify(activeDirectoryClientMock).getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID);
-		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndGroupId(MUNICIPALITY_ID, NAMESPACE, guid1.toString());
-		verify(accessGroupRepositoryMock).findByMunicipalityIdAndNamespaceAndGroupId(MUNICIPALITY_ID, NAMESPACE, guid2.toString());
-		verify(accessUserRepositoryMock).findAllByMunicipalityIdAndNamespaceAndUserId(MUNICIPALITY_ID, NAMESPACE, AD_ID);
+		verify(activeDirectoryIntegrationMock).getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		verify(accessConfigurationIndexMock).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
 	}
 
 	@Test
-	void getAccessDetailsNoGroups() {
+	void getAccessDetailsKeepsActiveDirectoryOrderAndSkipsUnmatchedGroups() {
+		// Arrange
+		final var guid1 = UUID.randomUUID();
+		final var guid2 = UUID.randomUUID();
+		final var guid3 = UUID.randomUUID();
+
+		final var snapshot = AccessConfigurationSnapshot.of(1, List.of(
+			createAccessGroupEntity(guid1.toString(), TYPE, "pattern1", AccessLevel.LR),
+			createAccessGroupEntity(guid3.toString(), TYPE, "pattern3", AccessLevel.R)), List.of());
+
+		when(activeDirectoryIntegrationMock.getGroupMembership(MUNICIPALITY_ID, AD_ID))
+			.thenReturn(fetched(List.of(new OUChildren().guid(guid3), new OUChildren(), new OUChildren().guid(guid2), new OUChildren().guid(guid1), new OUChildren().guid(guid3))));
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.of(snapshot));
+
+		// Act
+		final var response = service.getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_ID, null);
+
+		// Assert
+		assertThat(response).extracting(AccessGroup::getGroupId).containsExactly(guid3.toString(), guid1.toString());
+
+		verify(activeDirectoryIntegrationMock).getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		verify(accessConfigurationIndexMock).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void getAccessDetailsIncludesLocalUserAccess() {
 		// Arrange
-		when(activeDirectoryClientMock.getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID))
-			.thenReturn(List.of());
+		final var guid = UUID.randomUUID();
+
+		final var snapshot = AccessConfigurationSnapshot.of(1, List.of(
+			createAccessGroupEntity(guid.toString(), TYPE, "pattern", AccessLevel.LR)), List.of(
+				createAccessUserEntity(AD_ID, TYPE),
+				createAccessUserEntity(AD_ID, "otherType"),
+				createAccessUserEntity("otherUser", TYPE)));
+
+		when(activeDirectoryIntegrationMock.getGroupMembership(MUNICIPALITY_ID, AD_ID))
+			.thenReturn(fetched(List.of(new OUChildren().guid(guid))));
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.of(snapshot));
 
 		// Act
 		final var response = service.getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE);
 
 		// Assert
-		assertThat(response).isNotNull().isEmpty();
+		assertThat(response).extracting(AccessGroup::getGroupId).containsExactly(guid.toString(), LOCAL_STORED_ACCESS_GROUP);
+		assertThat(response.getLast().getAccessByType()).singleElement().satisfies(accessType -> assertThat(accessType.getType()).isEqualTo(TYPE));
 
-		verify(activeDirectoryClientMock).getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID);
-		verify(accessUserRepositoryMock).findAllByMunicipalityIdAndNamespaceAndUserId(MUNICIPALITY_ID, NAMESPACE, AD_ID);
+		verify(activeDirectoryIntegrationMock).getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		verify(accessConfigurationIndexMock).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
 	}
 
 	@Test
-	void getAccessDetailsWhenAdUserNotFound() {
+	void getAccessDetailsNoGroups() {
 		// Arrange
-		when(activeDirectoryClientMock.getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID))
-			.thenThrow(new ClientProblem(NOT_FOUND, "Not Found"));
+		when(activeDirectoryIntegrationMock.getGroupMembership(MUNICIPALITY_ID, AD_ID)).thenReturn(fetched(List.of()));
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.of(AccessConfigurationSnapshot.of(1, List.of(), List.of())));
 
 		// Act
 		final var response = service.getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE);
@@ -232,28 +249,568 @@ class AccessServiceTest {
 		// Assert
 		assertThat(response).isNotNull().isEmpty();
 
-		verify(activeDirectoryClientMock).getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID);
-		verifyNoInteractions(accessGroupRepositoryMock);
-		verify(accessUserRepositoryMock).findAllByMunicipalityIdAndNamespaceAndUserId(MUNICIPALITY_ID, NAMESPACE, AD_ID);
+		verify(activeDirectoryIntegrationMock).getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		verify(accessConfigurationIndexMock).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
 	}
 
 	@Test
 	void getAccessDetailsWhenAdThrowsNonNotFound() {
 		// Arrange
 		final var problem = new ServerProblem(INTERNAL_SERVER_ERROR, "Something went wrong");
-		when(activeDirectoryClientMock.getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID))
+		when(activeDirectoryIntegrationMock.getGroupMembership(MUNICIPALITY_ID, AD_ID))
 			.thenThrow(problem);
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.of(AccessConfigurationSnapshot.of(1, List.of(), List.of())));
 
 		// Act & Assert
 		assertThatThrownBy(() -> service.getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE))
 			.isSameAs(problem);
 
-		verify(activeDirectoryClientMock).getGroupsForUser(MUNICIPALITY_ID, DOMAIN, AD_ID);
-		verifyNoInteractions(accessGroupRepositoryMock, accessUserRepositoryMock);
+		verify(activeDirectoryIntegrationMock).getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		verify(accessConfigurationIndexMock).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void getAccessDetailsLoadsSnapshotConcurrentlyWithActiveDirectoryLookup() throws Exception {
+		// Arrange
+		final var guid = UUID.randomUUID();
+		final var snapshot = AccessConfigurationSnapshot.of(1, List.of(
+			createAccessGroupEntity(guid.toString(), TYPE, "pattern", AccessLevel.LR)), List.of());
+		final var snapshotLoadStarted = new CountDownLatch(1);
+		final var adLookupStarted = new CountDownLatch(1);
+
+		when(activeDirectoryIntegrationMock.getGroupMembership(MUNICIPALITY_ID, AD_ID)).thenAnswer(invocation -> {
+			adLookupStarted.countDown();
+			assertThat(snapshotLoadStarted.await(5, SECONDS)).isTrue();
+			return fetched(List.of(new OUChildren().guid(guid)));
+		});
+		when(accessConfigurationIndexMock.getSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenAnswer(invocation -> {
+			snapshotLoadStarted.countDown();
+			assertThat(adLookupStarted.await(5, SECONDS)).isTrue();
+			return snapshot;
+		});
+
+		// Act
+		final var response = service.getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE);
+
+		// Assert
+		assertThat(response).extracting(AccessGroup::getGroupId).containsExactly(guid.toString());
+
+		verify(accessConfigurationIndexMock).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+		verify(activeDirectoryIntegrationMock).getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		verify(accessConfigurationIndexMock).getSnapshot(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void getAccessDetailsWhenSnapshotLoadFails() {
+		// Arrange
+		final var problem = new ServerProblem(INTERNAL_SERVER_ERROR, "Database unavailable");
+
+		when(activeDirectoryIntegrationMock.getGroupMembership(MUNICIPALITY_ID, AD_ID)).thenReturn(fetched(List.of()));
+		when(accessConfigurationIndexMock.getSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenThrow(problem);
+
+		// Act & Assert
+		assertThatThrownBy(() -> service.getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE)).isSameAs(problem);
+
+		verify(accessConfigurationIndexMock).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+		verify(activeDirectoryIntegrationMock).getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		verify(accessConfigurationIndexMock).getSnapshot(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void getAccessDetailsCoalescesConcurrentCalls() throws Exception {
+		// Arrange
+		final var guid = UUID.randomUUID();
+		final var snapshot = AccessConfigurationSnapshot.of(1, List.of(
+			createAccessGroupEntity(guid.toString(), TYPE, "pattern", AccessLevel.LR)), List.of());
+		final var started = new CountDownLatch(1);
+		final var release = new CountDownLatch(1);
+
+		when(activeDirectoryIntegrationMock.getGroupMembership(MUNICIPALITY_ID, AD_ID)).thenAnswer(invocation -> {
+			started.countDown();
+			release.await();
+			return fetched(List.of(new OUChildren().guid(guid)));
+		});
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.of(snapshot));
+
+		try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			// Act
+			final var first = executor.submit(() -> service.getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE));
+			started.await();
+			final var second = executor.submit(() -> service.getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE));
+			awaitWaitingCalls();
+			release.countDown();
+
+			// Assert
+			assertThat(first.get()).extracting(AccessGroup::getGroupId).containsExactly(guid.toString());
+			assertThat(second.get()).isSameAs(first.get());
+		}
+
+		verify(activeDirectoryIntegrationMock).getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		verify(accessConfigurationIndexMock).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void getAccessDetailsPropagatesProblemToConcurrentCalls() throws Exception {
+		// Arrange
+		final var problem = new ServerProblem(INTERNAL_SERVER_ERROR, "Something went wrong");
+		final var started = new CountDownLatch(1);
+		final var release = new CountDownLatch(1);
+
+		when(activeDirectoryIntegrationMock.getGroupMembership(MUNICIPALITY_ID, AD_ID)).thenAnswer(invocation -> {
+			started.countDown();
+			release.await();
+			throw problem;
+		});
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.of(AccessConfigurationSnapshot.of(1, List.of(), List.of())));
+
+		try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			// Act
+			final var first = executor.submit(() -> service.getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE));
+			started.await();
+			final var second = executor.submit(() -> service.getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE));
+			awaitWaitingCalls();
+			release.countDown();
+
+			// Assert
+			assertThatThrownBy(first::get).isInstanceOf(ExecutionException.class).hasCause(problem);
+			assertThatThrownBy(second::get).isInstanceOf(ExecutionException.class).cause().isSameAs(problem);
+		}
+
+		verify(activeDirectoryIntegrationMock).getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		verify(accessConfigurationIndexMock).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void getAccessDetailsPropagatesErrorToConcurrentCalls() throws Exception {
+		// Arrange
+		final var error = new StackOverflowError();
+		final var started = new CountDownLatch(1);
+		final var release = new CountDownLatch(1);
+
+		when(activeDirectoryIntegrationMock.getGroupMembership(MUNICIPALITY_ID, AD_ID)).thenAnswer(invocation -> {
+			started.countDown();
+			release.await();
+			throw error;
+		});
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.of(AccessConfigurationSnapshot.of(1, List.of(), List.of())));
+
+		try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			// Act
+			final var first = executor.submit(() -> service.getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE));
+			started.await();
+			final var second = executor.submit(() -> service.getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE));
+			awaitWaitingCalls();
+			release.countDown();
+
+			// Assert
+			assertThatThrownBy(() -> first.get(5, SECONDS)).isInstanceOf(ExecutionException.class).hasCause(error);
+			assertThatThrownBy(() -> second.get(5, SECONDS)).isInstanceOf(ExecutionException.class).cause().isSameAs(error);
+		}
+
+		verify(activeDirectoryIntegrationMock).getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		verify(accessConfigurationIndexMock).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void getAccessDetailsDoesNotReuseCompletedCalls() {
+		// Arrange
+		when(activeDirectoryIntegrationMock.getGroupMembership(MUNICIPALITY_ID, AD_ID)).thenReturn(fetched(List.of()));
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.of(AccessConfigurationSnapshot.of(1, List.of(), List.of())));
+
+		// Act
+		service.getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE);
+		service.getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE);
+
+		// Assert
+		verify(activeDirectoryIntegrationMock, times(2)).getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		verify(accessConfigurationIndexMock, times(2)).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void getAccessDetailsETag() {
+		// Arrange
+		final var guid1 = UUID.randomUUID();
+		final var guid2 = UUID.randomUUID();
+		final var unconfiguredGuid = UUID.randomUUID();
+		final var snapshot = AccessConfigurationSnapshot.of(1, List.of(
+			createAccessGroupEntity(guid1.toString(), TYPE, "pattern", AccessLevel.LR),
+			createAccessGroupEntity(guid2.toString(), TYPE, "pattern", AccessLevel.R)), List.of());
+
+		when(activeDirectoryIntegrationMock.getGroupMembership(MUNICIPALITY_ID, AD_ID))
+			.thenReturn(fetched(List.of(new OUChildren().guid(guid1), new OUChildren(), new OUChildren().guid(guid2))))
+			.thenReturn(fetched(List.of(new OUChildren().guid(guid2), new OUChildren().guid(unconfiguredGuid), new OUChildren().guid(guid1))))
+			.thenReturn(fetched(List.of(new OUChildren().guid(guid1), new OUChildren().guid(unconfiguredGuid))));
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.of(snapshot));
+
+		// Act
+		final var eTag = service.getAccessDetailsWithMetadata(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE).eTag();
+		final var eTagWithReorderedAndUnconfiguredGroups = service.getAccessDetailsWithMetadata(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE).eTag();
+		final var eTagWithChangedGroups = service.getAccessDetailsWithMetadata(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE).eTag();
+
+		// Assert
+		assertThat(eTag).isEqualTo(eTagWithReorderedAndUnconfiguredGroups).isNotEqualTo(eTagWithChangedGroups);
+
+		verify(activeDirectoryIntegrationMock, times(3)).getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		verify(accessConfigurationIndexMock, times(3)).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void getAccessDetailsETagChangesWithVersion() {
+		// Arrange
+		when(activeDirectoryIntegrationMock.getGroupMembership(MUNICIPALITY_ID, AD_ID)).thenReturn(fetched(List.of()));
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE))
+			.thenReturn(Optional.of(AccessConfigurationSnapshot.of(1, List.of(), List.of())))
+			.thenReturn(Optional.of(AccessConfigurationSnapshot.of(2, List.of(), List.of())));
+
+		// Act
+		final var eTag = service.getAccessDetailsWithMetadata(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE).eTag();
+		final var eTagAfterUpdate = service.getAccessDetailsWithMetadata(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE).eTag();
+
+		// Assert
+		assertThat(eTag).isNotEqualTo(eTagAfterUpdate);
+
+		verify(activeDirectoryIntegrationMock, times(2)).getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		verify(accessConfigurationIndexMock, times(2)).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void getAccessDetailsWithMetadataFromOneLookup() {
+		// Arrange
+		final var guid = UUID.randomUUID();
+		final var snapshot = AccessConfigurationSnapshot.of(1, List.of(
+			createAccessGroupEntity(guid.toString(), TYPE, "pattern", AccessLevel.LR)), List.of());
+
+		when(activeDirectoryIntegrationMock.getGroupMembership(MUNICIPALITY_ID, AD_ID))
+			.thenReturn(new GroupMembership(List.of(new OUChildren().guid(guid)), Instant.now().minusSeconds(90), true))
+			.thenReturn(fetched(List.of()));
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.of(snapshot));
+
+		// Act
+		final var accessDetails = service.getAccessDetailsWithMetadata(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE);
+		final var accessDetailsWithoutGroups = service.getAccessDetailsWithMetadata(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE);
+
+		// Assert
+		assertThat(accessDetails.accessGroups()).extracting(AccessGroup::getGroupId).containsExactly(guid.toString());
+		assertThat(accessDetails.age()).isBetween(Duration.ofSeconds(90), Duration.ofSeconds(120));
+		assertThat(accessDetailsWithoutGroups.accessGroups()).isEmpty();
+		assertThat(accessDetailsWithoutGroups.age()).isLessThan(Duration.ofSeconds(30));
+		assertThat(accessDetails.eTag()).isNotEqualTo(accessDetailsWithoutGroups.eTag());
+
+		verify(activeDirectoryIntegrationMock, times(2)).getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		verify(accessConfigurationIndexMock, times(2)).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void getAccessDetailsWithMetadataResolvesAccessGroupsWhenAskedFor() {
+		// Arrange
+		final var guid = UUID.randomUUID();
+		final var snapshot = AccessConfigurationSnapshot.of(1, List.of(
+			createAccessGroupEntity(guid.toString(), TYPE, "pattern", AccessLevel.LR)), List.of());
+
+		when(activeDirectoryIntegrationMock.getGroupMembership(MUNICIPALITY_ID, AD_ID)).thenReturn(fetched(List.of(new OUChildren().guid(guid))));
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.of(snapshot));
+
+		// Act
+		final var accessDetails = service.getAccessDetailsWithMetadata(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE);
+
+		// Assert
+		assertThat(accessDetails.eTag()).isNotNull();
+		assertThat(meterRegistry.find(MATCHED_GROUPS_SUMMARY).summary()).isNull();
+
+		assertThat(accessDetails.accessGroups()).extracting(AccessGroup::getGroupId).containsExactly(guid.toString());
+		assertThat(accessDetails.accessGroups()).isSameAs(accessDetails.accessGroups());
+		assertThat(meterRegistry.get(MATCHED_GROUPS_SUMMARY).summary().count()).isOne();
+
+		verify(activeDirectoryIntegrationMock).getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		verify(accessConfigurationIndexMock).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void getAccessDetailsWithMetadataFromGroupMirror() {
+		// Arrange
+		when(activeDirectoryGroupMirrorMock.findGroupMembership(MUNICIPALITY_ID, Set.of(), AD_ID))
+			.thenReturn(Optional.of(new GroupMembership(List.of(), Instant.now().minusSeconds(90), false)));
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.of(AccessConfigurationSnapshot.of(1, List.of(), List.of())));
+
+		// Act
+		final var accessDetails = service.getAccessDetailsWithMetadata(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE);
+
+		// Assert
+		assertThat(accessDetails.age()).isBetween(Duration.ofSeconds(90), Duration.ofSeconds(120));
+		verify(activeDirectoryGroupMirrorMock).findGroupMembership(MUNICIPALITY_ID, Set.of(), AD_ID);
+		verify(accessConfigurationIndexMock).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void getAccessDetailsFromGroupMirror() {
+		// Arrange
+		final var guid = UUID.randomUUID();
+
+		final var snapshot = AccessConfigurationSnapshot.of(1, List.of(
+			createAccessGroupEntity(guid.toString(), TYPE, "pattern", AccessLevel.LR)), List.of());
+
+		when(activeDirectoryGroupMirrorMock.findGroupMembership(MUNICIPALITY_ID, Set.of(guid.toString()), AD_ID))
+			.thenReturn(Optional.of(new GroupMembership(List.of(new OUChildren().guid(guid)), Instant.now(), false)));
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.of(snapshot));
+
+		// Act
+		final var response = service.getAccessDetails(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE);
+
+		// Assert
+		assertThat(response).extracting(AccessGroup::getGroupId).containsExactly(guid.toString());
+
+		verify(activeDirectoryGroupMirrorMock).findGroupMembership(MUNICIPALITY_ID, Set.of(guid.toString()), AD_ID);
+		verify(accessConfigurationIndexMock).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void getEffectiveAccess() {
+		// Arrange
+		final var guid1 = UUID.randomUUID();
+		final var guid2 = UUID.randomUUID();
+
+		final var snapshot = AccessConfigurationSnapshot.of(1, List.of(
+			createAccessGroupEntity(guid1.toString(), TYPE, "FA/**", AccessLevel.LR),
+			createAccessGroupEntity(guid2.toString(), TYPE, "FA/**", AccessLevel.R)), List.of(
+				createAccessUserEntity(AD_ID, TYPE),
+				createAccessUserEntity(AD_ID, "otherType")));
+
+		when(activeDirectoryIntegrationMock.getGroupMembership(MUNICIPALITY_ID, AD_ID))
+			.thenReturn(fetched(List.of(new OUChildren().guid(guid1), new OUChildren().guid(guid2))));
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.of(snapshot));
+
+		// Act
+		final var response = service.getEffectiveAccess(MUNICIPALITY_ID, NAMESPACE, AD_ID, null);
+
+		// Assert
+		assertThat(response).extracting(AccessType::getType).containsExactly(TYPE, "otherType");
+		assertThat(response.getFirst().getAccess()).containsExactly(
+			Access.create().withPattern("FA/**").withAccessLevel(AccessLevel.R),
+			Access.create().withPattern("USER/**").withAccessLevel(AccessLevel.RW));
+		assertThat(response.getLast().getAccess()).containsExactly(
+			Access.create().withPattern("USER/**").withAccessLevel(AccessLevel.RW));
+
+		verify(activeDirectoryIntegrationMock).getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		verify(accessConfigurationIndexMock).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void getEffectiveAccessWithTypeFilter() {
+		// Arrange
+		final var guid = UUID.randomUUID();
+
+		final var snapshot = AccessConfigurationSnapshot.of(1, List.of(
+			createAccessGroupEntity(guid.toString(), TYPE, "FA/**", AccessLevel.LR)), List.of(
+				createAccessUserEntity(AD_ID, "otherType")));
+
+		when(activeDirectoryIntegrationMock.getGroupMembership(MUNICIPALITY_ID, AD_ID)).thenReturn(fetched(List.of(new OUChildren().guid(guid))));
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.of(snapshot));
+
+		// Act
+		final var response = service.getEffectiveAccess(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE);
+
+		// Assert
+		assertThat(response).singleElement().satisfies(accessType -> {
+			assertThat(accessType.getType()).isEqualTo(TYPE);
+			assertThat(accessType.getAccess()).containsExactly(Access.create().withPattern("FA/**").withAccessLevel(AccessLevel.LR));
+		});
+
+		verify(activeDirectoryIntegrationMock).getGroupMembership(MUNICIPALITY_ID, AD_ID);
+		verify(accessConfigurationIndexMock).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void checkAccess() {
+		// Arrange
+		final var guid1 = UUID.randomUUID();
+		final var guid2 = UUID.randomUUID();
+
+		final var snapshot = AccessConfigurationSnapshot.of(1, List.of(
+			createAccessGroupEntity(guid1.toString(), TYPE, "FA/**", AccessLevel.LR),
+			createAccessGroupEntity(guid2.toString(), TYPE, "FA/K1/*", AccessLevel.R)), List.of(
+				createAccessUserEntity(AD_ID, TYPE)));
+
+		when(activeDirectoryIntegrationMock.getGroupsForUser(MUNICIPALITY_ID, AD_ID))
+			.thenReturn(List.of(new OUChildren().guid(guid1), new OUChildren(), new OUChildren().guid(guid2)));
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.of(snapshot));
+
+		// Act
+		final var response = service.checkAccess(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE, "/FA/K1/T1");
+
+		// Assert
+		assertThat(response.getAccessLevel()).isEqualTo(AccessLevel.R);
+
+		verify(activeDirectoryIntegrationMock).getGroupsForUser(MUNICIPALITY_ID, AD_ID);
+		verify(accessConfigurationIndexMock).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void checkAccessWithoutMatch() {
+		// Arrange
+		final var guid = UUID.randomUUID();
+
+		final var snapshot = AccessConfigurationSnapshot.of(1, List.of(
+			createAccessGroupEntity(guid.toString(), TYPE, "FA/**", AccessLevel.LR)), List.of());
+
+		when(activeDirectoryIntegrationMock.getGroupsForUser(MUNICIPALITY_ID, AD_ID)).thenReturn(List.of(new OUChildren().guid(guid)));
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.of(snapshot));
+
+		// Act
+		final var response = service.checkAccess(MUNICIPALITY_ID, NAMESPACE, AD_ID, TYPE, "FB/K1");
+
+		// Assert
+		assertThat(response.getAccessLevel()).isNull();
+
+		verify(activeDirectoryIntegrationMock).getGroupsForUser(MUNICIPALITY_ID, AD_ID);
+		verify(accessConfigurationIndexMock).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void getBulkAccessDetails() {
+		// Arrange
+		final var otherAdId = "otherAdId";
+		final var guid1 = UUID.randomUUID();
+		final var guid2 = UUID.randomUUID();
+		final var adIds = List.of(AD_ID, otherAdId);
+
+		final var snapshot = AccessConfigurationSnapshot.of(1, List.of(
+			createAccessGroupEntity(guid1.toString(), TYPE, "pattern1", AccessLevel.LR),
+			createAccessGroupEntity(guid2.toString(), "otherType", "pattern2", AccessLevel.RW)), List.of(
+				createAccessUserEntity(otherAdId, TYPE)));
+
+		when(activeDirectoryIntegrationMock.getGroupsForUsers(MUNICIPALITY_ID, adIds)).thenReturn(Map.of(
+			AD_ID, Optional.of(List.of(new OUChildren().guid(guid1), new OUChildren().guid(guid2))),
+			otherAdId, Optional.of(List.of(new OUChildren().guid(guid2)))));
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.of(snapshot));
+
+		// Act
+		final var response = service.getBulkAccessDetails(MUNICIPALITY_ID, NAMESPACE, adIds, TYPE);
+
+		// Assert
+		assertThat(response).containsOnlyKeys(AD_ID, otherAdId);
+		assertThat(response.get(AD_ID).getAccessGroups()).extracting(AccessGroup::getGroupId).containsExactly(guid1.toString());
+		assertThat(response.get(AD_ID).getError()).isNull();
+		assertThat(response.get(otherAdId).getAccessGroups()).extracting(AccessGroup::getGroupId).containsExactly(LOCAL_STORED_ACCESS_GROUP);
+
+		verify(activeDirectoryIntegrationMock).getGroupsForUsers(MUNICIPALITY_ID, adIds);
+		verify(accessConfigurationIndexMock).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void getBulkAccessDetailsWhenLookupOfOneUserFails() {
+		// Arrange
+		final var otherAdId = "otherAdId";
+		final var guid = UUID.randomUUID();
+		final var adIds = List.of(AD_ID, otherAdId);
+
+		final var snapshot = AccessConfigurationSnapshot.of(1, List.of(
+			createAccessGroupEntity(guid.toString(), TYPE, "pattern", AccessLevel.LR)), List.of(
+				createAccessUserEntity(otherAdId, TYPE)));
+
+		final var adGroupsByAdId = new LinkedHashMap<String, Optional<List<OUChildren>>>();
+		adGroupsByAdId.put(AD_ID, Optional.of(List.of(new OUChildren().guid(guid))));
+		adGroupsByAdId.put(otherAdId, Optional.empty());
+		when(activeDirectoryIntegrationMock.getGroupsForUsers(MUNICIPALITY_ID, adIds)).thenReturn(adGroupsByAdId);
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.of(snapshot));
+
+		// Act
+		final var response = service.getBulkAccessDetails(MUNICIPALITY_ID, NAMESPACE, adIds, TYPE);
+
+		// Assert
+		assertThat(response).containsOnlyKeys(AD_ID, otherAdId);
+		assertThat(response.get(AD_ID).getAccessGroups()).extracting(AccessGroup::getGroupId).containsExactly(guid.toString());
+		assertThat(response.get(otherAdId).getAccessGroups()).isEmpty();
+		assertThat(response.get(otherAdId).getError()).isEqualTo("Unable to retrieve groups from active directory");
+
+		verify(activeDirectoryIntegrationMock).getGroupsForUsers(MUNICIPALITY_ID, adIds);
+		verify(accessConfigurationIndexMock).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void getBulkAccessDetailsWhenAdThrows() {
+		// Arrange
+		final var adIds = List.of(AD_ID);
+		final var problem = new ServerProblem(INTERNAL_SERVER_ERROR, "Something went wrong");
+		when(activeDirectoryIntegrationMock.getGroupsForUsers(MUNICIPALITY_ID, adIds)).thenThrow(problem);
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.of(AccessConfigurationSnapshot.of(1, List.of(), List.of())));
+
+		// Act & Assert
+		assertThatThrownBy(() -> service.getBulkAccessDetails(MUNICIPALITY_ID, NAMESPACE, adIds, TYPE))
+			.isSameAs(problem);
+
+		verify(activeDirectoryIntegrationMock).getGroupsForUsers(MUNICIPALITY_ID, adIds);
+		verify(accessConfigurationIndexMock).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void getBulkAccessDetailsFromGroupMirror() {
+		// Arrange
+		final var guid = UUID.randomUUID();
+		final var adIds = List.of(AD_ID);
+
+		final var snapshot = AccessConfigurationSnapshot.of(1, List.of(
+			createAccessGroupEntity(guid.toString(), TYPE, "pattern", AccessLevel.LR)), List.of());
+
+		when(activeDirectoryGroupMirrorMock.findGroupsForUsers(MUNICIPALITY_ID, Set.of(guid.toString()), adIds))
+			.thenReturn(Optional.of(Map.of(AD_ID, Optional.of(List.of(new OUChildren().guid(guid))))));
+		when(accessConfigurationIndexMock.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).thenReturn(Optional.of(snapshot));
+
+		// Act
+		final var response = service.getBulkAccessDetails(MUNICIPALITY_ID, NAMESPACE, adIds, TYPE);
+
+		// Assert
+		assertThat(response).containsOnlyKeys(AD_ID);
+		assertThat(response.get(AD_ID).getAccessGroups()).extracting(AccessGroup::getGroupId).containsExactly(guid.toString());
+
+		verify(activeDirectoryGroupMirrorMock).findGroupsForUsers(MUNICIPALITY_ID, Set.of(guid.toString()), adIds);
+		verify(accessConfigurationIndexMock).findSnapshot(MUNICIPALITY_ID, NAMESPACE);
 	}
 
 	@AfterEach
 	void verifyNoMoreInteractionsOnMocks() {
-		verifyNoMoreInteractions(activeDirectoryClientMock, accessGroupRepositoryMock, accessUserRepositoryMock);
+		verifyNoMoreInteractions(activeDirectoryIntegrationMock, accessConfigurationIndexMock);
+	}
+
+	/**
+	 * Waits until a second call has joined the resolution in flight.
+	 */
+	@SuppressWarnings("unchecked")
+	private void awaitWaitingCalls() throws InterruptedException {
+		final var inFlight = (ConcurrentMap<?, CompletableFuture<?>>) ReflectionTestUtils.getField(service, "inFlightAccessDetails");
+		while (inFlight.values().stream().allMatch(future -> future.getNumberOfDependents() == 0)) {
+			Thread.sleep(1);
+		}
+	}
+
+	private static GroupMembership fetched(final List<OUChildren> groups) {
+		return new GroupMembership(groups, Instant.now(), false);
+	}
+
+	private static AccessGroupEntity createAccessGroupEntity(final String groupId, final String type, final String pattern, final AccessLevel accessLevel) {
+		return AccessGroupEntity.create()
+			.withGroupId(groupId)
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withNamespace(NAMESPACE)
+			.withAccessByType(List.of(AccessTypeEntity
+				.create()
+				.withType(type)
+				.withAccess(List.of(AccessEntity
+					.create()
+					.withPattern(pattern)
+					.withAccessLevel(accessLevel.name())))));
+	}
+
+	private static AccessUserEntity createAccessUserEntity(final String userId, final String type) {
+		return AccessUserEntity.create()
+			.withUserId(userId)
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withNamespace(NAMESPACE)
+			.withAccessByType(List.of(AccessTypeEntity
+				.create()
+				.withType(type)
+				.withAccess(List.of(AccessEntity
+					.create()
+					.withPattern("USER/**")
+					.withAccessLevel(AccessLevel.RW.name())))));
 	}
 }
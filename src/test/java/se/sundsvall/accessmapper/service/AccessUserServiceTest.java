@@ -1,30 +1,51 @@
 package se.sundsvall.accessmapper.service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import se.sundsvall.accessmapper.api.model.Access;
 import se.sundsvall.accessmapper.api.model.AccessLevel;
 import se.sundsvall.accessmapper.api.model.AccessType;
 import se.sundsvall.accessmapper.api.model.AccessUser;
+import se.sundsvall.accessmapper.integration.db.AccessConfigurationVersionRepository;
 import se.sundsvall.accessmapper.integration.db.AccessUserRepository;
+import se.sundsvall.accessmapper.integration.db.model.AccessConfigurationVersionEntity;
 import se.sundsvall.accessmapper.integration.db.model.AccessEntity;
 import se.sundsvall.accessmapper.integration.db.model.AccessTypeEntity;
 import se.sundsvall.accessmapper.integration.db.model.AccessUserEntity;
+import se.sundsvall.accessmapper.service.snapshot.AccessConfigurationIndex;
 import se.sundsvall.dept44.problem.ThrowableProblem;
+import tools.jackson.databind.json.JsonMapper;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static se.sundsvall.accessmapper.service.util.CursorUtil.toCursor;
+import static se.sundsvall.accessmapper.service.util.CursorUtil.toKeysetSort;
 
 @ExtendWith(MockitoExtension.class)
 class AccessUserServiceTest {
@@ -33,7 +54,8 @@ class AccessUserServiceTest {
 
 	private static final String MUNICIPALITY_ID = "municipalityId";
 
-	private static final String ID = "id";
+	private static final String ID = "0190a3c4-7b2e-7d3f-8a1b-2c3d4e5f6a7b";
+	private static final UUID ENTITY_ID = UUID.fromString(ID);
 
 	private static final String USER_ID = "userId";
 
@@ -42,6 +64,15 @@ class AccessUserServiceTest {
 	@Mock
 	private AccessUserRepository accessUserRepositoryMock;
 
+	@Mock
+	private AccessConfigurationVersionRepository accessConfigurationVersionRepositoryMock;
+
+	@Mock
+	private AccessConfigurationIndex accessConfigurationIndexMock;
+
+	@Spy
+	private JsonMapper jsonMapper = JsonMapper.builder().build();
+
 	@InjectMocks
 	private AccessUserService service;
 
@@ -49,7 +80,7 @@ class AccessUserServiceTest {
 	void getAccessUsers() {
 		// Arrange
 		final var entity = AccessUserEntity.create()
-			.withId(ID)
+			.withId(ENTITY_ID)
 			.withMunicipalityId(MUNICIPALITY_ID)
 			.withNamespace(NAMESPACE)
 			.withUserId(USER_ID)
@@ -59,11 +90,11 @@ class AccessUserServiceTest {
 					.withPattern("pattern")
 					.withAccessLevel(AccessLevel.LR.name())))));
 
-		when(accessUserRepositoryMock.findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE))
+		when(accessUserRepositoryMock.findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE, Sort.unsorted()))
 			.thenReturn(List.of(entity));
 
 		// Act
-		final var response = service.getAccessUsers(MUNICIPALITY_ID, NAMESPACE);
+		final var response = service.getAccessUsers(MUNICIPALITY_ID, NAMESPACE, null);
 
 		// Assert
 		assertThat(response).hasSize(1);
@@ -71,29 +102,100 @@ class AccessUserServiceTest {
 		assertThat(response.getFirst().getUserId()).isEqualTo(USER_ID);
 		assertThat(response.getFirst().getAccessByType()).hasSize(1);
 
-		verify(accessUserRepositoryMock).findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE);
+		verify(accessUserRepositoryMock).findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE, Sort.unsorted());
+	}
+
+	@Test
+	void getAccessUsersSorted() {
+		// Arrange
+		when(accessUserRepositoryMock.findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE, Sort.by(Sort.Direction.DESC, "userId")))
+			.thenReturn(List.of());
+
+		// Act
+		final var response = service.getAccessUsers(MUNICIPALITY_ID, NAMESPACE, "-userId");
+
+		// Assert
+		assertThat(response).isEmpty();
+
+		verify(accessUserRepositoryMock).findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE, Sort.by(Sort.Direction.DESC, "userId"));
+	}
+
+	@Test
+	void getAccessUserPage() {
+		// Arrange
+		final var entities = List.of(
+			AccessUserEntity.create().withId(UUID.randomUUID()).withUserId("user1"),
+			AccessUserEntity.create().withId(UUID.randomUUID()).withUserId("user2"));
+		final var window = Window.from(entities, index -> ScrollPosition.forward(Map.of("userId", entities.get(index).getUserId(), "id", entities.get(index).getId())), true);
+
+		when(accessUserRepositoryMock.findBy(ArgumentMatchers.<Specification<AccessUserEntity>>any(), any())).thenReturn(window);
+		when(accessUserRepositoryMock.count(ArgumentMatchers.<Specification<AccessUserEntity>>any())).thenReturn(4L);
+
+		// Act
+		final var response = service.getAccessUserPage(MUNICIPALITY_ID, NAMESPACE, "userId", null, 2);
+
+		// Assert
+		assertThat(response.content()).extracting(AccessUser::getUserId).containsExactly("user1", "user2");
+		assertThat(response.totalCount()).isEqualTo(4);
+		assertThat(response.nextCursor()).isNotNull().isEqualTo(toCursor(window, toKeysetSort("userId")));
+
+		verify(accessUserRepositoryMock).findBy(ArgumentMatchers.<Specification<AccessUserEntity>>any(), any());
+		verify(accessUserRepositoryMock).count(ArgumentMatchers.<Specification<AccessUserEntity>>any());
+	}
+
+	@Test
+	void getAccessUsersETag() {
+		// Arrange
+		when(accessConfigurationVersionRepositoryMock.findByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE))
+			.thenReturn(Optional.of(AccessConfigurationVersionEntity.create().withVersion(2)))
+			.thenReturn(Optional.empty());
+
+		// Act
+		final var eTag = service.getAccessUsersETag(MUNICIPALITY_ID, NAMESPACE, null, null, null);
+		final var eTagWithoutVersion = service.getAccessUsersETag(MUNICIPALITY_ID, NAMESPACE, null, null, null);
+
+		// Assert
+		assertThat(eTag).startsWith("\"").endsWith("\"").isNotEqualTo(eTagWithoutVersion);
+		verify(accessConfigurationVersionRepositoryMock, times(2)).findByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void getAccessUsersETagChangesWithRequestParameters() {
+		// Arrange
+		when(accessConfigurationVersionRepositoryMock.findByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE))
+			.thenReturn(Optional.of(AccessConfigurationVersionEntity.create().withVersion(2)));
+
+		// Act
+		final var eTag = service.getAccessUsersETag(MUNICIPALITY_ID, NAMESPACE, "userId", 10, null);
+		final var eTagWithOtherSort = service.getAccessUsersETag(MUNICIPALITY_ID, NAMESPACE, "-userId", 10, null);
+		final var eTagWithOtherLimit = service.getAccessUsersETag(MUNICIPALITY_ID, NAMESPACE, "userId", 20, null);
+		final var eTagOfNextPage = service.getAccessUsersETag(MUNICIPALITY_ID, NAMESPACE, "userId", 10, "Y3Vyc29y");
+
+		// Assert
+		assertThat(List.of(eTag, eTagWithOtherSort, eTagWithOtherLimit, eTagOfNextPage)).doesNotHaveDuplicates();
+		verify(accessConfigurationVersionRepositoryMock, times(4)).findByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE);
 	}
 
 	@Test
 	void getAccessUsersEmpty() {
 		// Arrange
-		when(accessUserRepositoryMock.findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE))
+		when(accessUserRepositoryMock.findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE, Sort.unsorted()))
 			.thenReturn(List.of());
 
 		// Act
-		final var response = service.getAccessUsers(MUNICIPALITY_ID, NAMESPACE);
+		final var response = service.getAccessUsers(MUNICIPALITY_ID, NAMESPACE, null);
 
 		// Assert
 		assertThat(response).isEmpty();
 
-		verify(accessUserRepositoryMock).findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE);
+		verify(accessUserRepositoryMock).findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE, Sort.unsorted());
 	}
 
 	@Test
 	void getAccessUser() {
 		// Arrange
 		final var entity = AccessUserEntity.create()
-			.withId(ID)
+			.withId(ENTITY_ID)
 			.withMunicipalityId(MUNICIPALITY_ID)
 			.withNamespace(NAMESPACE)
 			.withUserId(USER_ID)
@@ -103,7 +205,7 @@ class AccessUserServiceTest {
 					.withPattern("pattern")
 					.withAccessLevel(AccessLevel.LR.name())))));
 
-		when(accessUserRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID))
+		when(accessUserRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID))
 			.thenReturn(Optional.of(entity));
 
 		// Act
@@ -115,13 +217,13 @@ class AccessUserServiceTest {
 		assertThat(response.getUserId()).isEqualTo(USER_ID);
 		assertThat(response.getAccessByType()).hasSize(1);
 
-		verify(accessUserRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID);
+		verify(accessUserRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID);
 	}
 
 	@Test
 	void getAccessUserNotFound() {
 		// Arrange
-		when(accessUserRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID))
+		when(accessUserRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID))
 			.thenReturn(Optional.empty());
 
 		// Act
@@ -131,9 +233,21 @@ class AccessUserServiceTest {
 		// Assert
 		assertThat(exception.getStatus()).isEqualTo(NOT_FOUND);
 		assertThat(exception.getTitle()).isEqualTo(NOT_FOUND.getReasonPhrase());
-		assertThat(exception.getMessage()).isEqualTo("Not Found: Access user not found for municipalityId: municipalityId, namespace: namespace, id: id.");
+		assertThat(exception.getMessage()).isEqualTo("Not Found: Access user not found for municipalityId: municipalityId, namespace: namespace, id: " + ID + ".");
 
-		verify(accessUserRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID);
+		verify(accessUserRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID);
+	}
+
+	@Test
+	void getAccessUserWithInvalidId() {
+
+		// Act
+		final var exception = assertThrows(ThrowableProblem.class,
+			() -> service.getAccessUser(MUNICIPALITY_ID, NAMESPACE, "invalid"));
+
+		// Assert
+		assertThat(exception.getStatus()).isEqualTo(NOT_FOUND);
+		assertThat(exception.getMessage()).isEqualTo("Not Found: Access user not found for municipalityId: municipalityId, namespace: namespace, id: invalid.");
 	}
 
 	@Test
@@ -148,7 +262,7 @@ class AccessUserServiceTest {
 					.withAccessLevel(AccessLevel.RW)))));
 
 		final var savedEntity = AccessUserEntity.create()
-			.withId(ID)
+			.withId(ENTITY_ID)
 			.withMunicipalityId(MUNICIPALITY_ID)
 			.withNamespace(NAMESPACE)
 			.withUserId(USER_ID)
@@ -170,6 +284,8 @@ class AccessUserServiceTest {
 		assertThat(response.getAccessByType()).hasSize(1);
 
 		verify(accessUserRepositoryMock).save(any(AccessUserEntity.class));
+		verify(accessConfigurationVersionRepositoryMock).incrementVersion(MUNICIPALITY_ID, NAMESPACE);
+		verify(accessConfigurationIndexMock).refresh(MUNICIPALITY_ID, NAMESPACE);
 	}
 
 	@Test
@@ -184,17 +300,18 @@ class AccessUserServiceTest {
 					.withAccessLevel(AccessLevel.RW)))));
 
 		final var existingEntity = AccessUserEntity.create()
-			.withId(ID)
+			.withId(ENTITY_ID)
 			.withMunicipalityId(MUNICIPALITY_ID)
 			.withNamespace(NAMESPACE)
 			.withUserId(USER_ID)
-			.withAccessByType(new java.util.ArrayList<>(List.of(AccessTypeEntity.create()
+			.withAccessByType(new ArrayList<>(List.of(AccessTypeEntity.create()
 				.withType(TYPE)
-				.withAccess(List.of(AccessEntity.create()
+				.withAccess(new ArrayList<>(List.of(AccessEntity.create()
 					.withPattern("pattern")
-					.withAccessLevel(AccessLevel.LR.name()))))));
+					.withAccessLevel(AccessLevel.LR.name())))))));
+		final var existingAccessType = existingEntity.getAccessByType().getFirst();
 
-		when(accessUserRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID))
+		when(accessUserRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID))
 			.thenReturn(Optional.of(existingEntity));
 		when(accessUserRepositoryMock.save(any(AccessUserEntity.class))).thenReturn(existingEntity);
 
@@ -202,8 +319,97 @@ class AccessUserServiceTest {
 		service.updateAccessUser(MUNICIPALITY_ID, NAMESPACE, ID, accessUser);
 
 		// Assert
-		verify(accessUserRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID);
+		assertThat(existingEntity.getAccessByType()).singleElement().isSameAs(existingAccessType);
+		assertThat(existingAccessType.getAccess()).extracting(AccessEntity::getPattern, AccessEntity::getAccessLevel)
+			.containsExactly(tuple("newPattern", "RW"));
+		verify(accessUserRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID);
 		verify(accessUserRepositoryMock).save(any(AccessUserEntity.class));
+		verify(accessUserRepositoryMock).flush();
+		verify(accessConfigurationVersionRepositoryMock).incrementVersion(MUNICIPALITY_ID, NAMESPACE);
+		verify(accessConfigurationIndexMock).refresh(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void updateUnchangedAccessUser() {
+		// Arrange
+		final var accessUser = AccessUser.create()
+			.withUserId(USER_ID)
+			.withAccessByType(List.of(AccessType.create()
+				.withType(TYPE)
+				.withAccess(List.of(Access.create()
+					.withPattern("pattern")
+					.withAccessLevel(AccessLevel.LR)))));
+		final var existingEntity = AccessUserEntity.create()
+			.withId(ENTITY_ID)
+			.withUserId(USER_ID)
+			.withAccessByType(new ArrayList<>(List.of(AccessTypeEntity.create()
+				.withType(TYPE)
+				.withAccess(new ArrayList<>(List.of(AccessEntity.create()
+					.withPattern("pattern")
+					.withAccessLevel(AccessLevel.LR.name())))))));
+
+		when(accessUserRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID))
+			.thenReturn(Optional.of(existingEntity));
+
+		// Act
+		service.updateAccessUser(MUNICIPALITY_ID, NAMESPACE, ID, accessUser);
+
+		// Assert
+		verify(accessUserRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID);
+	}
+
+	@Test
+	void patchAccessUser() {
+		// Arrange
+		final var patch = jsonMapper.readTree("""
+			{"userId": "newUserId"}
+			""");
+		final var existingEntity = AccessUserEntity.create()
+			.withId(ENTITY_ID)
+			.withUserId(USER_ID)
+			.withAccessByType(new ArrayList<>(List.of(AccessTypeEntity.create()
+				.withType(TYPE)
+				.withAccess(new ArrayList<>(List.of(AccessEntity.create()
+					.withPattern("pattern")
+					.withAccessLevel(AccessLevel.LR.name())))))));
+		final var existingAccessType = existingEntity.getAccessByType().getFirst();
+
+		when(accessUserRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID))
+			.thenReturn(Optional.of(existingEntity));
+
+		// Act
+		service.patchAccessUser(MUNICIPALITY_ID, NAMESPACE, ID, patch);
+
+		// Assert
+		assertThat(existingEntity.getUserId()).isEqualTo("newUserId");
+		assertThat(existingEntity.getAccessByType()).singleElement().isSameAs(existingAccessType);
+
+		verify(accessUserRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID);
+		verify(accessUserRepositoryMock).save(existingEntity);
+		verify(accessUserRepositoryMock).flush();
+		verify(accessConfigurationVersionRepositoryMock).incrementVersion(MUNICIPALITY_ID, NAMESPACE);
+		verify(accessConfigurationIndexMock).refresh(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void patchAccessUserWithoutAccessLevel() {
+		// Arrange
+		final var patch = jsonMapper.readTree("""
+			{"accessByType": [{"type": "type", "access": [{"pattern": "pattern", "accessLevel": null}]}]}
+			""");
+
+		when(accessUserRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID))
+			.thenReturn(Optional.of(AccessUserEntity.create().withId(ENTITY_ID).withUserId(USER_ID)));
+
+		// Act
+		final var exception = assertThrows(ThrowableProblem.class,
+			() -> service.patchAccessUser(MUNICIPALITY_ID, NAMESPACE, ID, patch));
+
+		// Assert
+		assertThat(exception.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(exception.getMessage()).isEqualTo("Bad Request: Access level is missing for userId: " + USER_ID + ".");
+
+		verify(accessUserRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID);
 	}
 
 	@Test
@@ -212,7 +418,7 @@ class AccessUserServiceTest {
 		final var accessUser = AccessUser.create()
 			.withUserId(USER_ID);
 
-		when(accessUserRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID))
+		when(accessUserRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID))
 			.thenReturn(Optional.empty());
 
 		// Act
@@ -221,35 +427,72 @@ class AccessUserServiceTest {
 
 		// Assert
 		assertThat(exception.getStatus()).isEqualTo(NOT_FOUND);
-		assertThat(exception.getMessage()).isEqualTo("Not Found: Access user not found for municipalityId: municipalityId, namespace: namespace, id: id.");
+		assertThat(exception.getMessage()).isEqualTo("Not Found: Access user not found for municipalityId: municipalityId, namespace: namespace, id: " + ID + ".");
 
-		verify(accessUserRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID);
+		verify(accessUserRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID);
 	}
 
 	@Test
 	void deleteAccessUser() {
 		// Arrange
 		final var entity = AccessUserEntity.create()
-			.withId(ID)
+			.withId(ENTITY_ID)
 			.withMunicipalityId(MUNICIPALITY_ID)
 			.withNamespace(NAMESPACE)
 			.withUserId(USER_ID);
 
-		when(accessUserRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID))
+		when(accessUserRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID))
 			.thenReturn(Optional.of(entity));
 
 		// Act
 		service.deleteAccessUser(MUNICIPALITY_ID, NAMESPACE, ID);
 
 		// Assert
-		verify(accessUserRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID);
+		verify(accessUserRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID);
 		verify(accessUserRepositoryMock).delete(entity);
+		verify(accessUserRepositoryMock).flush();
+		verify(accessConfigurationVersionRepositoryMock).incrementVersion(MUNICIPALITY_ID, NAMESPACE);
+		verify(accessConfigurationIndexMock).refresh(MUNICIPALITY_ID, NAMESPACE);
+	}
+
+	@Test
+	void updateConcurrentlyModifiedAccessUser() {
+		// Arrange
+		final var accessUser = AccessUser.create()
+			.withUserId(USER_ID)
+			.withAccessByType(List.of(AccessType.create()
+				.withType(TYPE)
+				.withAccess(List.of(Access.create()
+					.withPattern("newPattern")
+					.withAccessLevel(AccessLevel.RW)))));
+		final var existingEntity = AccessUserEntity.create()
+			.withId(ENTITY_ID)
+			.withMunicipalityId(MUNICIPALITY_ID)
+			.withNamespace(NAMESPACE)
+			.withUserId(USER_ID)
+			.withAccessByType(new ArrayList<>());
+
+		when(accessUserRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID))
+			.thenReturn(Optional.of(existingEntity));
+		doThrow(new OptimisticLockingFailureException("Row was updated or deleted by another transaction")).when(accessUserRepositoryMock).flush();
+
+		// Act
+		final var exception = assertThrows(ThrowableProblem.class,
+			() -> service.updateAccessUser(MUNICIPALITY_ID, NAMESPACE, ID, accessUser));
+
+		// Assert
+		assertThat(exception.getStatus()).isEqualTo(CONFLICT);
+		assertThat(exception.getMessage()).isEqualTo("Conflict: Access user was modified concurrently for municipalityId: municipalityId, namespace: namespace, id: " + ID + ".");
+
+		verify(accessUserRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID);
+		verify(accessUserRepositoryMock).save(existingEntity);
+		verify(accessUserRepositoryMock).flush();
 	}
 
 	@Test
 	void deleteAccessUserNotFound() {
 		// Arrange
-		when(accessUserRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID))
+		when(accessUserRepositoryMock.findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID))
 			.thenReturn(Optional.empty());
 
 		// Act
@@ -258,13 +501,13 @@ class AccessUserServiceTest {
 
 		// Assert
 		assertThat(exception.getStatus()).isEqualTo(NOT_FOUND);
-		assertThat(exception.getMessage()).isEqualTo("Not Found: Access user not found for municipalityId: municipalityId, namespace: namespace, id: id.");
+		assertThat(exception.getMessage()).isEqualTo("Not Found: Access user not found for municipalityId: municipalityId, namespace: namespace, id: " + ID + ".");
 
-		verify(accessUserRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ID);
+		verify(accessUserRepositoryMock).findByMunicipalityIdAndNamespaceAndId(MUNICIPALITY_ID, NAMESPACE, ENTITY_ID);
 	}
 
 	@AfterEach
 	void verifyNoMoreInteractionsOnMocks() {
-		verifyNoMoreInteractions(accessUserRepositoryMock);
+		verifyNoMoreInteractions(accessUserRepositoryMock, accessConfigurationVersionRepositoryMock, accessConfigurationIndexMock);
 	}
 }
@@ -1,5 +1,6 @@
 package se.sundsvall.accessmapper.service.mapper;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -7,11 +8,16 @@ import se.sundsvall.accessmapper.api.model.Access;
 import se.sundsvall.accessmapper.api.model.AccessGroup;
 import se.sundsvall.accessmapper.api.model.AccessLevel;
 import se.sundsvall.accessmapper.api.model.AccessType;
+import se.sundsvall.accessmapper.api.model.AccessUser;
 import se.sundsvall.accessmapper.integration.db.model.AccessEntity;
 import se.sundsvall.accessmapper.integration.db.model.AccessGroupEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessTreeAccess;
+import se.sundsvall.accessmapper.integration.db.model.AccessTreeType;
 import se.sundsvall.accessmapper.integration.db.model.AccessTypeEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessUserEntity;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 class MapperTest {
 
@@ -94,6 +100,25 @@ class MapperTest {
 		assertThat(response.getAccessByType().getFirst().getType()).isEqualTo(TYPE);
 	}
 
+	@Test
+	void toAccessGroupWithAccessTree() {
+		// Arrange
+		final var entity = AccessGroupEntity.create()
+			.withGroupId(GROUP_ID)
+			.withAccessByType(List.of(AccessTypeEntity.create().withType("stale")))
+			.withAccessTree(List.of(new AccessTreeType(TYPE, List.of(new AccessTreeAccess(PATTERN, AccessLevel.RW.name())))));
+
+		// Act
+		final var response = Mapper.toAccessGroup(entity);
+
+		// Assert
+		assertThat(response.getAccessByType()).containsExactly(AccessType.create()
+			.withType(TYPE)
+			.withAccess(List.of(Access.create()
+				.withPattern(PATTERN)
+				.withAccessLevel(AccessLevel.RW))));
+	}
+
 	@Test
 	void toAccessGroupWithNullAccessByType() {
 		// Arrange
@@ -287,6 +312,7 @@ class MapperTest {
 		assertThat(response.getAccessByType().getFirst().getAccess()).hasSize(1);
 		assertThat(response.getAccessByType().getFirst().getAccess().getFirst().getPattern()).isEqualTo(PATTERN);
 		assertThat(response.getAccessByType().getFirst().getAccess().getFirst().getAccessLevel()).isEqualTo(AccessLevel.RW.name());
+		assertThat(response.getAccessTree()).containsExactly(new AccessTreeType(TYPE, List.of(new AccessTreeAccess(PATTERN, AccessLevel.RW.name()))));
 	}
 
 	@Test
@@ -347,6 +373,8 @@ class MapperTest {
 		assertThat(response).isNotNull().hasSize(2);
 		assertThat(response.getFirst().getType()).isEqualTo("type1");
 		assertThat(response.getLast().getType()).isEqualTo("type2");
+		assertThat(response).isInstanceOf(ArrayList.class);
+		assertThat(response).allSatisfy(accessType -> assertThat(accessType.getAccess()).isInstanceOf(ArrayList.class));
 	}
 
 	@Test
@@ -469,4 +497,83 @@ class MapperTest {
 		assertThat(response.getAccessByType().getLast().getType()).isEqualTo("type2");
 		assertThat(response.getAccessByType().getLast().getAccess()).hasSize(1);
 	}
+
+	@Test
+	void updateAccessGroupEntity() {
+		// Arrange
+		final var keptAccess = AccessEntity.create().withPattern("pattern1").withAccessLevel("LR");
+		final var changedAccess = AccessEntity.create().withPattern("pattern2").withAccessLevel("LR");
+		final var keptType = AccessTypeEntity.create().withType("type1").withAccess(new ArrayList<>(List.of(keptAccess, changedAccess,
+			AccessEntity.create().withPattern("pattern3").withAccessLevel("R"))));
+		final var entity = AccessGroupEntity.create()
+			.withGroupId(GROUP_ID)
+			.withAccessByType(new ArrayList<>(List.of(keptType, AccessTypeEntity.create().withType("type2"))));
+		final var accessGroup = AccessGroup.create()
+			.withGroupId("newGroupId")
+			.withAccessByType(List.of(
+				AccessType.create()
+					.withType("type1")
+					.withAccess(List.of(
+						Access.create().withPattern("pattern1").withAccessLevel(AccessLevel.LR),
+						Access.create().withPattern("pattern2").withAccessLevel(AccessLevel.RW),
+						Access.create().withPattern("pattern4").withAccessLevel(AccessLevel.R))),
+				AccessType.create()
+					.withType("type3")
+					.withAccess(List.of(Access.create().withPattern("pattern5").withAccessLevel(AccessLevel.R)))));
+
+		// Act
+		final var changed = Mapper.updateAccessGroupEntity(entity, accessGroup);
+
+		// Assert
+		assertThat(changed).isTrue();
+		assertThat(entity.getGroupId()).isEqualTo("newGroupId");
+		assertThat(entity.getAccessByType()).extracting(AccessTypeEntity::getType).containsExactly("type1", "type3");
+		assertThat(entity.getAccessByType().getFirst()).isSameAs(keptType);
+		assertThat(keptType.getAccess()).extracting(AccessEntity::getPattern, AccessEntity::getAccessLevel)
+			.containsExactly(tuple("pattern1", "LR"), tuple("pattern2", "RW"), tuple("pattern4", "R"));
+		assertThat(keptType.getAccess().getFirst()).isSameAs(keptAccess);
+		assertThat(keptType.getAccess().get(1)).isSameAs(changedAccess);
+		assertThat(entity.getAccessTree()).containsExactly(
+			new AccessTreeType("type1", List.of(new AccessTreeAccess("pattern1", "LR"), new AccessTreeAccess("pattern2", "RW"), new AccessTreeAccess("pattern4", "R"))),
+			new AccessTreeType("type3", List.of(new AccessTreeAccess("pattern5", "R"))));
+	}
+
+	@Test
+	void updateAccessGroupEntityWithoutChanges() {
+		// Arrange
+		final var entity = AccessGroupEntity.create()
+			.withGroupId(GROUP_ID)
+			.withAccessByType(new ArrayList<>(List.of(AccessTypeEntity.create().withType("type1").withAccess(new ArrayList<>(List.of(
+				AccessEntity.create().withPattern("pattern1").withAccessLevel("LR")))))));
+		final var accessGroup = AccessGroup.create()
+			.withGroupId(GROUP_ID)
+			.withAccessByType(List.of(AccessType.create()
+				.withType("type1")
+				.withAccess(List.of(Access.create().withPattern("pattern1").withAccessLevel(AccessLevel.LR)))));
+
+		// Act & Assert
+		assertThat(Mapper.updateAccessGroupEntity(entity, accessGroup)).isFalse();
+		assertThat(entity.getAccessTree()).isNull();
+	}
+
+	@Test
+	void updateAccessUserEntity() {
+		// Arrange
+		final var entity = AccessUserEntity.create()
+			.withUserId("userId")
+			.withAccessByType(new ArrayList<>(List.of(AccessTypeEntity.create().withType("type1").withAccess(new ArrayList<>(List.of(
+				AccessEntity.create().withPattern("pattern1").withAccessLevel("LR")))))));
+		final var accessUser = AccessUser.create()
+			.withUserId("userId")
+			.withAccessByType(Collections.emptyList());
+
+		// Act
+		final var changed = Mapper.updateAccessUserEntity(entity, accessUser);
+
+		// Assert
+		assertThat(changed).isTrue();
+		assertThat(entity.getAccessByType()).isEmpty();
+		assertThat(entity.getAccessTree()).isEmpty();
+		assertThat(Mapper.updateAccessUserEntity(entity, accessUser)).isFalse();
+	}
 }
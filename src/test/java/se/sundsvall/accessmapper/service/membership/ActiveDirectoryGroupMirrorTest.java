@@ -0,0 +1,242 @@
+package se.sundsvall.accessmapper.service.membership;
+
+import generated.se.sundsvall.activedirectory.OUChildren;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import se.sundsvall.accessmapper.integration.activedirectory.ActiveDirectoryIntegration;
+import se.sundsvall.accessmapper.integration.activedirectory.configuration.ActiveDirectoryProperties;
+import se.sundsvall.accessmapper.integration.activedirectory.configuration.ActiveDirectoryProperties.GroupCache;
+import se.sundsvall.accessmapper.integration.activedirectory.configuration.ActiveDirectoryProperties.GroupMirror;
+import se.sundsvall.accessmapper.integration.activedirectory.configuration.ActiveDirectoryProperties.LastKnownGroups;
+import se.sundsvall.accessmapper.integration.db.AccessGroupRepository;
+import se.sundsvall.dept44.exception.ServerProblem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+
+@ExtendWith(MockitoExtension.class)
+class ActiveDirectoryGroupMirrorTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String AD_ID = "joe01doe";
+	private static final String GROUP_ID_1 = UUID.randomUUID().toString();
+	private static final String GROUP_ID_2 = UUID.randomUUID().toString();
+	private static final List<String> GROUP_IDS = List.of(GROUP_ID_1, GROUP_ID_2, "not-a-guid");
+
+	@Mock
+	private AccessGroupRepository accessGroupRepositoryMock;
+
+	@Mock
+	private ActiveDirectoryIntegration activeDirectoryIntegrationMock;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private ActiveDirectoryGroupMirror mirror;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		mirror = createMirror(true, Duration.ofHours(1));
+	}
+
+	@Test
+	void findGroupMembershipBeforeSync() {
+		// Act & Assert
+		assertThat(mirror.findGroupMembership(MUNICIPALITY_ID, GROUP_IDS, AD_ID)).isEmpty();
+		assertThat(mirror.findGroupsForUsers(MUNICIPALITY_ID, GROUP_IDS, List.of(AD_ID))).isEmpty();
+	}
+
+	@Test
+	void sync() {
+		// Arrange
+		when(accessGroupRepositoryMock.findDistinctMunicipalityIds()).thenReturn(List.of(MUNICIPALITY_ID));
+		when(accessGroupRepositoryMock.findDistinctGroupIdsByMunicipalityId(MUNICIPALITY_ID)).thenReturn(List.of(GROUP_ID_1, GROUP_ID_2, "not-a-guid"));
+		when(activeDirectoryIntegrationMock.getGroupMembers(MUNICIPALITY_ID, GROUP_ID_1)).thenReturn(List.of(new OUChildren().name(AD_ID)));
+		when(activeDirectoryIntegrationMock.getGroupMembers(MUNICIPALITY_ID, GROUP_ID_2)).thenReturn(List.of(new OUChildren().name("jane01doe")));
+
+		// Act
+		mirror.sync();
+
+		// Assert
+		final var groupMembership = mirror.findGroupMembership(MUNICIPALITY_ID, GROUP_IDS, AD_ID);
+		assertThat(groupMembership).isPresent();
+		assertThat(groupMembership.get().groups()).extracting(OUChildren::getGuid).containsExactly(UUID.fromString(GROUP_ID_1));
+		assertThat(groupMembership.get().stale()).isFalse();
+		assertThat(mirror.findGroupsForUsers(MUNICIPALITY_ID, GROUP_IDS, List.of(AD_ID, "jane01doe", "unknown"))).hasValueSatisfying(groupsByAdId -> {
+			assertThat(groupsByAdId).containsOnlyKeys(AD_ID, "jane01doe", "unknown");
+			assertThat(groupsByAdId.get("jane01doe")).hasValueSatisfying(groups -> assertThat(groups).extracting(OUChildren::getGuid).containsExactly(UUID.fromString(GROUP_ID_2)));
+			assertThat(groupsByAdId.get("unknown")).contains(List.of());
+		});
+		assertThat(mirror.findGroupMembership("other-municipality", GROUP_IDS, AD_ID)).isEmpty();
+
+		verify(accessGroupRepositoryMock).findDistinctMunicipalityIds();
+		verify(accessGroupRepositoryMock).findDistinctGroupIdsByMunicipalityId(MUNICIPALITY_ID);
+		verify(activeDirectoryIntegrationMock).getGroupMembers(MUNICIPALITY_ID, GROUP_ID_1);
+		verify(activeDirectoryIntegrationMock).getGroupMembers(MUNICIPALITY_ID, GROUP_ID_2);
+	}
+
+	@Test
+	void syncKeepsPreviousMembersOfGroupThatFails() {
+		// Arrange
+		when(accessGroupRepositoryMock.findDistinctGroupIdsByMunicipalityId(MUNICIPALITY_ID)).thenReturn(List.of(GROUP_ID_1, GROUP_ID_2));
+		when(activeDirectoryIntegrationMock.getGroupMembers(MUNICIPALITY_ID, GROUP_ID_1))
+			.thenReturn(List.of(new OUChildren().name(AD_ID)))
+			.thenThrow(new ServerProblem(INTERNAL_SERVER_ERROR, "Internal Server Error"));
+		when(activeDirectoryIntegrationMock.getGroupMembers(MUNICIPALITY_ID, GROUP_ID_2))
+			.thenReturn(List.of())
+			.thenReturn(List.of(new OUChildren().name(AD_ID)));
+
+		// Act
+		mirror.sync(MUNICIPALITY_ID);
+		mirror.sync(MUNICIPALITY_ID);
+
+		// Assert
+		assertThat(mirror.findGroupMembership(MUNICIPALITY_ID, GROUP_IDS, AD_ID)).hasValueSatisfying(groupMembership -> assertThat(groupMembership.groups())
+			.extracting(OUChildren::getGuid)
+			.containsExactlyInAnyOrder(UUID.fromString(GROUP_ID_1), UUID.fromString(GROUP_ID_2)));
+
+		verify(accessGroupRepositoryMock, times(2)).findDistinctGroupIdsByMunicipalityId(MUNICIPALITY_ID);
+		verify(activeDirectoryIntegrationMock, times(2)).getGroupMembers(MUNICIPALITY_ID, GROUP_ID_1);
+		verify(activeDirectoryIntegrationMock, times(2)).getGroupMembers(MUNICIPALITY_ID, GROUP_ID_2);
+	}
+
+	@Test
+	void syncWhenGroupNeverSyncedFails() {
+		// Arrange
+		when(accessGroupRepositoryMock.findDistinctGroupIdsByMunicipalityId(MUNICIPALITY_ID)).thenReturn(List.of(GROUP_ID_1, GROUP_ID_2));
+		when(activeDirectoryIntegrationMock.getGroupMembers(MUNICIPALITY_ID, GROUP_ID_1)).thenReturn(List.of(new OUChildren().name(AD_ID)));
+		when(activeDirectoryIntegrationMock.getGroupMembers(MUNICIPALITY_ID, GROUP_ID_2)).thenThrow(new ServerProblem(INTERNAL_SERVER_ERROR, "Internal Server Error"));
+
+		// Act
+		mirror.sync(MUNICIPALITY_ID);
+
+		// Assert
+		assertThat(mirror.findGroupMembership(MUNICIPALITY_ID, GROUP_IDS, AD_ID)).isEmpty();
+		assertThat(meterRegistry.get(ActiveDirectoryGroupMirror.SYNC_FAILURES_COUNTER).tag("municipalityId", MUNICIPALITY_ID).counter().count()).isOne();
+
+		verify(accessGroupRepositoryMock).findDistinctGroupIdsByMunicipalityId(MUNICIPALITY_ID);
+		verify(activeDirectoryIntegrationMock).getGroupMembers(MUNICIPALITY_ID, GROUP_ID_1);
+		verify(activeDirectoryIntegrationMock).getGroupMembers(MUNICIPALITY_ID, GROUP_ID_2);
+	}
+
+	@Test
+	void syncExpandsNestedGroups() {
+		// Arrange
+		final var nestedGroupGuid = UUID.randomUUID();
+		when(accessGroupRepositoryMock.findDistinctGroupIdsByMunicipalityId(MUNICIPALITY_ID)).thenReturn(List.of(GROUP_ID_1));
+		when(activeDirectoryIntegrationMock.getGroupMembers(MUNICIPALITY_ID, GROUP_ID_1)).thenReturn(List.of(
+			new OUChildren().name(AD_ID).schemaClassName("user"),
+			new OUChildren().name("nested-group").guid(nestedGroupGuid).schemaClassName("group")));
+		when(activeDirectoryIntegrationMock.getGroupMembers(MUNICIPALITY_ID, nestedGroupGuid.toString())).thenReturn(List.of(
+			new OUChildren().name("jane01doe").schemaClassName("user"),
+			new OUChildren().guid(UUID.fromString(GROUP_ID_1)).schemaClassName("group")));
+
+		// Act
+		mirror.sync(MUNICIPALITY_ID);
+
+		// Assert
+		assertThat(mirror.findGroupsForUsers(MUNICIPALITY_ID, List.of(GROUP_ID_1), List.of(AD_ID, "jane01doe", "nested-group"))).hasValueSatisfying(groupsByAdId -> {
+			assertThat(groupsByAdId.get(AD_ID)).hasValueSatisfying(groups -> assertThat(groups).extracting(OUChildren::getGuid).containsExactly(UUID.fromString(GROUP_ID_1)));
+			assertThat(groupsByAdId.get("jane01doe")).hasValueSatisfying(groups -> assertThat(groups).extracting(OUChildren::getGuid).containsExactly(UUID.fromString(GROUP_ID_1)));
+			assertThat(groupsByAdId.get("nested-group")).contains(List.of());
+		});
+
+		verify(accessGroupRepositoryMock).findDistinctGroupIdsByMunicipalityId(MUNICIPALITY_ID);
+		verify(activeDirectoryIntegrationMock).getGroupMembers(MUNICIPALITY_ID, GROUP_ID_1);
+		verify(activeDirectoryIntegrationMock).getGroupMembers(MUNICIPALITY_ID, nestedGroupGuid.toString());
+	}
+
+	@Test
+	void syncDropsRemovedMunicipalities() {
+		// Arrange
+		when(accessGroupRepositoryMock.findDistinctMunicipalityIds()).thenReturn(List.of(MUNICIPALITY_ID)).thenReturn(List.of());
+		when(accessGroupRepositoryMock.findDistinctGroupIdsByMunicipalityId(MUNICIPALITY_ID)).thenReturn(List.of());
+
+		// Act
+		mirror.sync();
+		final var before = mirror.findGroupMembership(MUNICIPALITY_ID, List.of(), AD_ID);
+		mirror.sync();
+
+		// Assert
+		assertThat(before).hasValueSatisfying(groupMembership -> assertThat(groupMembership.groups()).isEmpty());
+		assertThat(mirror.findGroupMembership(MUNICIPALITY_ID, List.of(), AD_ID)).isEmpty();
+
+		verify(accessGroupRepositoryMock, times(2)).findDistinctMunicipalityIds();
+		verify(accessGroupRepositoryMock).findDistinctGroupIdsByMunicipalityId(MUNICIPALITY_ID);
+	}
+
+	@Test
+	void findGroupMembershipWhenGroupNotSynced() {
+		// Arrange
+		final var newGroupId = UUID.randomUUID().toString();
+		when(accessGroupRepositoryMock.findDistinctGroupIdsByMunicipalityId(MUNICIPALITY_ID)).thenReturn(List.of(GROUP_ID_1));
+		when(activeDirectoryIntegrationMock.getGroupMembers(MUNICIPALITY_ID, GROUP_ID_1)).thenReturn(List.of(new OUChildren().name(AD_ID)));
+
+		// Act
+		mirror.sync(MUNICIPALITY_ID);
+
+		// Assert
+		assertThat(mirror.findGroupMembership(MUNICIPALITY_ID, List.of(GROUP_ID_1, "not-a-guid"), AD_ID)).isPresent();
+		assertThat(mirror.findGroupMembership(MUNICIPALITY_ID, List.of(GROUP_ID_1, newGroupId), AD_ID)).isEmpty();
+		assertThat(mirror.findGroupsForUsers(MUNICIPALITY_ID, List.of(GROUP_ID_1, newGroupId), List.of(AD_ID))).isEmpty();
+
+		verify(accessGroupRepositoryMock).findDistinctGroupIdsByMunicipalityId(MUNICIPALITY_ID);
+		verify(activeDirectoryIntegrationMock).getGroupMembers(MUNICIPALITY_ID, GROUP_ID_1);
+	}
+
+	@Test
+	void findGroupMembershipWhenOlderThanMaximumAge() {
+		// Arrange
+		final var expiringMirror = createMirror(true, Duration.ofSeconds(-1));
+		when(accessGroupRepositoryMock.findDistinctGroupIdsByMunicipalityId(MUNICIPALITY_ID)).thenReturn(List.of(GROUP_ID_1));
+		when(activeDirectoryIntegrationMock.getGroupMembers(MUNICIPALITY_ID, GROUP_ID_1)).thenReturn(List.of(new OUChildren().name(AD_ID)));
+
+		// Act
+		expiringMirror.sync(MUNICIPALITY_ID);
+
+		// Assert
+		assertThat(expiringMirror.findGroupMembership(MUNICIPALITY_ID, List.of(GROUP_ID_1), AD_ID)).isEmpty();
+
+		verify(accessGroupRepositoryMock).findDistinctGroupIdsByMunicipalityId(MUNICIPALITY_ID);
+		verify(activeDirectoryIntegrationMock).getGroupMembers(MUNICIPALITY_ID, GROUP_ID_1);
+	}
+
+	@Test
+	void syncWhenDisabled() {
+		// Arrange
+		final var disabledMirror = createMirror(false, Duration.ofHours(1));
+
+		// Act
+		disabledMirror.sync();
+
+		// Assert
+		assertThat(disabledMirror.findGroupMembership(MUNICIPALITY_ID, List.of(), AD_ID)).isEmpty();
+
+		verifyNoInteractions(accessGroupRepositoryMock, activeDirectoryIntegrationMock);
+	}
+
+	@AfterEach
+	void verifyNoMoreInteractionsOnMocks() {
+		verifyNoMoreInteractions(accessGroupRepositoryMock, activeDirectoryIntegrationMock);
+	}
+
+	private ActiveDirectoryGroupMirror createMirror(final boolean enabled, final Duration maximumAge) {
+		return new ActiveDirectoryGroupMirror(accessGroupRepositoryMock, activeDirectoryIntegrationMock, meterRegistry, new ActiveDirectoryProperties(5, 30, "personal", 4,
+			new GroupCache(100, Duration.ofMinutes(5), Duration.ofMinutes(1), Duration.ofSeconds(30)),
+			new LastKnownGroups(Duration.ofHours(24), Duration.ofSeconds(2), Duration.ofSeconds(10)),
+			new GroupMirror(enabled, Duration.ofMinutes(5), maximumAge)));
+	}
+}
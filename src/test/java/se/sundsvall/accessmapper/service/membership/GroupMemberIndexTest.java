@@ -0,0 +1,81 @@
+package se.sundsvall.accessmapper.service.membership;
+
+import generated.se.sundsvall.activedirectory.OUChildren;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import se.sundsvall.accessmapper.service.membership.GroupMemberIndex.GroupMembers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GroupMemberIndexTest {
+
+	private static final String GROUP_ID_1 = UUID.randomUUID().toString();
+	private static final String GROUP_ID_2 = UUID.randomUUID().toString();
+
+	@Test
+	void getGroups() {
+		// Arrange
+		final var memberGuid = UUID.randomUUID();
+		final var index = GroupMemberIndex.empty().update(Map.of(
+			GROUP_ID_1, GroupMembers.of(List.of(new OUChildren().name("Joe01Doe").guid(memberGuid)), Instant.now()),
+			GROUP_ID_2, GroupMembers.of(List.of(new OUChildren().name("joe01doe"), new OUChildren().name("jane01doe")), Instant.now())));
+
+		// Act & Assert
+		assertThat(index.getGroups("JOE01DOE")).extracting(OUChildren::getGuid).containsExactlyInAnyOrder(UUID.fromString(GROUP_ID_1), UUID.fromString(GROUP_ID_2));
+		assertThat(index.getGroups(memberGuid.toString())).extracting(OUChildren::getGuid).containsExactly(UUID.fromString(GROUP_ID_1));
+		assertThat(index.getGroups("jane01doe")).extracting(OUChildren::getGuid).containsExactly(UUID.fromString(GROUP_ID_2));
+		assertThat(index.getGroups("unknown")).isEmpty();
+		assertThat(index.getGroups(null)).isEmpty();
+	}
+
+	@Test
+	void update() {
+		// Arrange
+		final var index = GroupMemberIndex.empty().update(Map.of(
+			GROUP_ID_1, GroupMembers.of(List.of(new OUChildren().name("joe01doe"), new OUChildren().name("jane01doe")), Instant.now()),
+			GROUP_ID_2, GroupMembers.of(List.of(new OUChildren().name("joe01doe")), Instant.now())));
+
+		// Act
+		final var updated = index.update(Map.of(
+			GROUP_ID_1, GroupMembers.of(List.of(new OUChildren().name("jane01doe"), new OUChildren().name("john01doe")), Instant.now())));
+
+		// Assert
+		assertThat(updated.getGroups("joe01doe")).isEmpty();
+		assertThat(updated.getGroups("jane01doe")).extracting(OUChildren::getGuid).containsExactly(UUID.fromString(GROUP_ID_1));
+		assertThat(updated.getGroups("john01doe")).extracting(OUChildren::getGuid).containsExactly(UUID.fromString(GROUP_ID_1));
+		assertThat(updated.groupIdsByMember()).containsOnlyKeys("jane01doe", "john01doe");
+		assertThat(updated.findMembers(GROUP_ID_2)).isEmpty();
+		assertThat(index.getGroups("joe01doe")).hasSize(2);
+	}
+
+	@Test
+	void covers() {
+		// Arrange
+		final var index = GroupMemberIndex.empty().update(Map.of(
+			GROUP_ID_1, GroupMembers.of(List.of(new OUChildren().name("joe01doe")), Instant.now())));
+
+		// Act & Assert
+		assertThat(index.covers(List.of(GROUP_ID_1, "not-a-guid"))).isTrue();
+		assertThat(index.covers(List.of())).isTrue();
+		assertThat(index.covers(List.of(GROUP_ID_1, GROUP_ID_2))).isFalse();
+	}
+
+	@Test
+	void syncedAt() {
+		// Arrange
+		final var oldest = Instant.now().minusSeconds(60);
+
+		// Act
+		final var index = GroupMemberIndex.empty().update(Map.of(
+			GROUP_ID_1, GroupMembers.of(List.of(), oldest),
+			GROUP_ID_2, GroupMembers.of(List.of(), Instant.now())));
+		final var emptyIndex = GroupMemberIndex.empty().update(Map.of());
+
+		// Assert
+		assertThat(index.syncedAt()).isEqualTo(oldest);
+		assertThat(emptyIndex.syncedAt()).isAfter(oldest);
+	}
+}
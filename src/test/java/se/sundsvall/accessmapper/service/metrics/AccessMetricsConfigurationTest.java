@@ -0,0 +1,48 @@
+package se.sundsvall.accessmapper.service.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.accessmapper.service.metrics.AccessMetrics.RESOLVED_PATTERNS_SUMMARY;
+import static se.sundsvall.accessmapper.service.metrics.AccessMetrics.TAG_NAMESPACE;
+import static se.sundsvall.accessmapper.service.metrics.AccessMetricsConfiguration.OTHER;
+
+class AccessMetricsConfigurationTest {
+
+	@Test
+	void limitTagValues() {
+		// Arrange
+		final var meterRegistry = new SimpleMeterRegistry();
+		meterRegistry.config().meterFilter(AccessMetricsConfiguration.limitTagValues(TAG_NAMESPACE, 2));
+		final var accessMetrics = new AccessMetrics(meterRegistry);
+
+		// Act
+		accessMetrics.recordSizes("details", "2281", "namespace-1", 1, 1, 1);
+		accessMetrics.recordSizes("details", "2281", "namespace-2", 1, 1, 1);
+		accessMetrics.recordSizes("details", "2281", "namespace-3", 1, 1, 1);
+		accessMetrics.recordSizes("details", "2281", "namespace-4", 1, 1, 1);
+		accessMetrics.recordSizes("details", "2281", "namespace-1", 1, 1, 1);
+
+		// Assert
+		assertThat(meterRegistry.get(RESOLVED_PATTERNS_SUMMARY).summaries())
+			.extracting(summary -> summary.getId().getTag(TAG_NAMESPACE))
+			.containsExactlyInAnyOrder("namespace-1", "namespace-2", OTHER);
+		assertThat(meterRegistry.get(RESOLVED_PATTERNS_SUMMARY).tag(TAG_NAMESPACE, "namespace-1").summary().count()).isEqualTo(2);
+		assertThat(meterRegistry.get(RESOLVED_PATTERNS_SUMMARY).tag(TAG_NAMESPACE, OTHER).summary().count()).isEqualTo(2);
+	}
+
+	@Test
+	void limitTagValuesIgnoresOtherMeters() {
+		// Arrange
+		final var meterRegistry = new SimpleMeterRegistry();
+		meterRegistry.config().meterFilter(AccessMetricsConfiguration.limitTagValues(TAG_NAMESPACE, 1));
+
+		// Act
+		meterRegistry.counter("other.meter", TAG_NAMESPACE, "namespace-1").increment();
+		meterRegistry.counter("other.meter", TAG_NAMESPACE, "namespace-2").increment();
+
+		// Assert
+		assertThat(meterRegistry.get("other.meter").counters()).hasSize(2);
+	}
+}
@@ -0,0 +1,68 @@
+package se.sundsvall.accessmapper.service.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static se.sundsvall.accessmapper.service.metrics.AccessMetrics.ACTIVE_DIRECTORY_GROUPS_SUMMARY;
+import static se.sundsvall.accessmapper.service.metrics.AccessMetrics.MATCHED_GROUPS_SUMMARY;
+import static se.sundsvall.accessmapper.service.metrics.AccessMetrics.RESOLVED_PATTERNS_SUMMARY;
+import static se.sundsvall.accessmapper.service.metrics.AccessMetrics.STAGE_ACTIVE_DIRECTORY;
+import static se.sundsvall.accessmapper.service.metrics.AccessMetrics.STAGE_TIMER;
+
+class AccessMetricsTest {
+
+	private static final String OPERATION = "details";
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String NAMESPACE = "namespace";
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private AccessMetrics accessMetrics;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		accessMetrics = new AccessMetrics(meterRegistry);
+	}
+
+	@Test
+	void recordStage() {
+		// Act
+		final var result = accessMetrics.recordStage(OPERATION, STAGE_ACTIVE_DIRECTORY, MUNICIPALITY_ID, NAMESPACE, () -> "result");
+
+		// Assert
+		assertThat(result).isEqualTo("result");
+		assertThat(meterRegistry.get(STAGE_TIMER)
+			.tag("operation", OPERATION)
+			.tag("stage", STAGE_ACTIVE_DIRECTORY)
+			.tag("municipalityId", MUNICIPALITY_ID)
+			.tag("namespace", NAMESPACE)
+			.timer().count()).isOne();
+	}
+
+	@Test
+	void recordStageWhenStageFails() {
+		// Arrange
+		final var exception = new IllegalStateException("failure");
+
+		// Act & Assert
+		assertThatThrownBy(() -> accessMetrics.recordStage(OPERATION, STAGE_ACTIVE_DIRECTORY, MUNICIPALITY_ID, NAMESPACE, () -> {
+			throw exception;
+		})).isSameAs(exception);
+		assertThat(meterRegistry.get(STAGE_TIMER).tag("stage", STAGE_ACTIVE_DIRECTORY).timer().count()).isOne();
+	}
+
+	@Test
+	void recordSizes() {
+		// Act
+		accessMetrics.recordSizes(OPERATION, MUNICIPALITY_ID, NAMESPACE, 12, 3, 40);
+
+		// Assert
+		assertThat(meterRegistry.get(ACTIVE_DIRECTORY_GROUPS_SUMMARY).tag("namespace", NAMESPACE).summary().totalAmount()).isEqualTo(12);
+		assertThat(meterRegistry.get(MATCHED_GROUPS_SUMMARY).tag("namespace", NAMESPACE).summary().totalAmount()).isEqualTo(3);
+		assertThat(meterRegistry.get(RESOLVED_PATTERNS_SUMMARY).tag("namespace", NAMESPACE).summary().totalAmount()).isEqualTo(40);
+	}
+}
@@ -0,0 +1,230 @@
+package se.sundsvall.accessmapper.service.snapshot;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import se.sundsvall.accessmapper.integration.db.AccessConfigurationVersionRepository;
+import se.sundsvall.accessmapper.integration.db.AccessConfigurationVersionsChangedEvent;
+import se.sundsvall.accessmapper.integration.db.AccessGroupRepository;
+import se.sundsvall.accessmapper.integration.db.AccessUserRepository;
+import se.sundsvall.accessmapper.integration.db.model.AccessConfigurationVersionEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessConfigurationVersionId;
+import se.sundsvall.accessmapper.integration.db.model.AccessGroupEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessUserEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccessConfigurationIndexTest {
+
+	private static final String MUNICIPALITY_ID = "2281";
+	private static final String NAMESPACE = "namespace";
+
+	@Mock
+	private AccessGroupRepository accessGroupRepositoryMock;
+
+	@Mock
+	private AccessUserRepository accessUserRepositoryMock;
+
+	@Mock
+	private AccessConfigurationVersionRepository accessConfigurationVersionRepositoryMock;
+
+	@Mock
+	private PlatformTransactionManager transactionManagerMock;
+
+	private AccessConfigurationIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new AccessConfigurationIndex(accessGroupRepositoryMock, accessUserRepositoryMock, accessConfigurationVersionRepositoryMock, transactionManagerMock);
+	}
+
+	@Test
+	void getSnapshotIsBuiltOnce() {
+		// Arrange
+		when(accessGroupRepositoryMock.findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE))
+			.thenReturn(List.of(AccessGroupEntity.create().withGroupId("groupId")));
+		when(accessUserRepositoryMock.findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE))
+			.thenReturn(List.of(AccessUserEntity.create().withUserId("userId")));
+		when(accessConfigurationVersionRepositoryMock.findByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE))
+			.thenReturn(Optional.of(AccessConfigurationVersionEntity.create().withVersion(3)));
+
+		// Act
+		final var first = index.getSnapshot(MUNICIPALITY_ID, NAMESPACE);
+		final var second = index.getSnapshot(MUNICIPALITY_ID, NAMESPACE);
+
+		// Assert
+		assertThat(first).isSameAs(second);
+		assertThat(first.version()).isEqualTo(3);
+		assertThat(first.getAccessGroup("groupId")).isPresent();
+		assertThat(first.getUserAccess("userId")).hasSize(1);
+
+		verify(accessGroupRepositoryMock).findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE);
+		verify(accessUserRepositoryMock).findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE);
+		verify(accessConfigurationVersionRepositoryMock).findByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE);
+		verify(transactionManagerMock).getTransaction(any());
+		verify(transactionManagerMock).commit(any());
+	}
+
+	@Test
+	void findSnapshot() {
+		// Arrange
+		when(accessGroupRepositoryMock.findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE)).thenReturn(List.of());
+		when(accessUserRepositoryMock.findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE)).thenReturn(List.of());
+
+		// Act
+		final var beforeBuild = index.findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+		final var snapshot = index.getSnapshot(MUNICIPALITY_ID, NAMESPACE);
+		final var afterBuild = index.findSnapshot(MUNICIPALITY_ID, NAMESPACE);
+
+		// Assert
+		assertThat(beforeBuild).isEmpty();
+		assertThat(afterBuild).containsSame(snapshot);
+
+		verify(accessGroupRepositoryMock).findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE);
+		verify(accessUserRepositoryMock).findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE);
+		verify(accessConfigurationVersionRepositoryMock).findByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE);
+		verify(transactionManagerMock).getTransaction(any());
+		verify(transactionManagerMock).commit(any());
+	}
+
+	@Test
+	void refreshSwapsSnapshot() {
+		// Arrange
+		when(accessGroupRepositoryMock.findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE))
+			.thenReturn(List.of())
+			.thenReturn(List.of(AccessGroupEntity.create().withGroupId("groupId")));
+		when(accessUserRepositoryMock.findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE))
+			.thenReturn(List.of());
+
+		final var before = index.getSnapshot(MUNICIPALITY_ID, NAMESPACE);
+
+		// Act
+		index.refresh(MUNICIPALITY_ID, NAMESPACE);
+
+		// Assert
+		final var after = index.getSnapshot(MUNICIPALITY_ID, NAMESPACE);
+		assertThat(before.getAccessGroup("groupId")).isEmpty();
+		assertThat(after).isNotSameAs(before);
+		assertThat(after.getAccessGroup("groupId")).isPresent();
+
+		verify(accessGroupRepositoryMock, times(2)).findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE);
+		verify(accessUserRepositoryMock, times(2)).findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE);
+		verify(accessConfigurationVersionRepositoryMock, times(2)).findByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE);
+		verify(transactionManagerMock, times(2)).getTransaction(any());
+		verify(transactionManagerMock, times(2)).commit(any());
+	}
+
+	@Test
+	void getSnapshotOlderThanPolledVersionIsNotStored() {
+		// Arrange
+		when(accessGroupRepositoryMock.findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE)).thenReturn(List.of());
+		when(accessUserRepositoryMock.findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE)).thenReturn(List.of());
+		when(accessConfigurationVersionRepositoryMock.findByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE))
+			.thenReturn(Optional.of(AccessConfigurationVersionEntity.create().withVersion(1)));
+
+		final var versionId = AccessConfigurationVersionId.create().withMunicipalityId(MUNICIPALITY_ID).withNamespace(NAMESPACE);
+		index.evictStaleSnapshots(new AccessConfigurationVersionsChangedEvent(Map.of(versionId, 2L), Set.of(versionId)));
+
+		// Act
+		final var snapshot = index.getSnapshot(MUNICIPALITY_ID, NAMESPACE);
+
+		// Assert
+		assertThat(snapshot.version()).isEqualTo(1);
+		assertThat(index.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).isEmpty();
+
+		verify(accessGroupRepositoryMock).findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE);
+		verify(accessUserRepositoryMock).findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE);
+		verify(accessConfigurationVersionRepositoryMock).findByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE);
+		verify(transactionManagerMock).getTransaction(any());
+		verify(transactionManagerMock).commit(any());
+	}
+
+	@Test
+	void getSnapshotWhenLoadFails() {
+		// Arrange
+		when(accessConfigurationVersionRepositoryMock.findByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE))
+			.thenThrow(new IllegalStateException("database unavailable"));
+
+		// Act & Assert
+		assertThatThrownBy(() -> index.getSnapshot(MUNICIPALITY_ID, NAMESPACE))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessage("database unavailable");
+		assertThat(index.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).isEmpty();
+
+		verify(accessConfigurationVersionRepositoryMock).findByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE);
+		verify(transactionManagerMock).getTransaction(any());
+		verify(transactionManagerMock).rollback(any());
+	}
+
+	@Test
+	void refreshWhenNotBuilt() {
+		// Act
+		index.refresh(MUNICIPALITY_ID, NAMESPACE);
+
+		// Assert
+		verifyNoInteractions(accessGroupRepositoryMock, accessUserRepositoryMock, accessConfigurationVersionRepositoryMock, transactionManagerMock);
+	}
+
+	@Test
+	void evictStaleSnapshots() {
+		// Arrange
+		when(accessGroupRepositoryMock.findAllByMunicipalityIdAndNamespace(any(), any())).thenReturn(List.of());
+		when(accessUserRepositoryMock.findAllByMunicipalityIdAndNamespace(any(), any())).thenReturn(List.of());
+		when(accessConfigurationVersionRepositoryMock.findByMunicipalityIdAndNamespace(any(), any()))
+			.thenReturn(Optional.of(AccessConfigurationVersionEntity.create().withVersion(1)));
+		final var otherVersionId = AccessConfigurationVersionId.create().withMunicipalityId(MUNICIPALITY_ID).withNamespace("other");
+		final var event = new AccessConfigurationVersionsChangedEvent(Map.of(
+			AccessConfigurationVersionId.create().withMunicipalityId(MUNICIPALITY_ID).withNamespace(NAMESPACE), 1L,
+			otherVersionId, 2L), Set.of(otherVersionId));
+
+		final var current = index.getSnapshot(MUNICIPALITY_ID, NAMESPACE);
+		final var stale = index.getSnapshot(MUNICIPALITY_ID, "other");
+
+		// Act
+		index.evictStaleSnapshots(event);
+
+		// Assert
+		assertThat(index.getSnapshot(MUNICIPALITY_ID, NAMESPACE)).isSameAs(current);
+		assertThat(index.getSnapshot(MUNICIPALITY_ID, "other")).isNotSameAs(stale);
+
+		verify(accessGroupRepositoryMock).findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE);
+		verify(accessGroupRepositoryMock, times(2)).findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, "other");
+		verify(accessUserRepositoryMock).findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE);
+		verify(accessUserRepositoryMock, times(2)).findAllByMunicipalityIdAndNamespace(MUNICIPALITY_ID, "other");
+		verify(accessConfigurationVersionRepositoryMock).findByMunicipalityIdAndNamespace(MUNICIPALITY_ID, NAMESPACE);
+		verify(accessConfigurationVersionRepositoryMock, times(2)).findByMunicipalityIdAndNamespace(MUNICIPALITY_ID, "other");
+		verify(transactionManagerMock, times(3)).getTransaction(any());
+		verify(transactionManagerMock, times(3)).commit(any());
+	}
+
+	@Test
+	void evictStaleSnapshotsWhenNoSnapshotsBuilt() {
+		// Act
+		index.evictStaleSnapshots(new AccessConfigurationVersionsChangedEvent(Map.of(), Set.of()));
+
+		// Assert
+		assertThat(index.findSnapshot(MUNICIPALITY_ID, NAMESPACE)).isEmpty();
+		verifyNoInteractions(accessGroupRepositoryMock, accessUserRepositoryMock, accessConfigurationVersionRepositoryMock, transactionManagerMock);
+	}
+
+	@AfterEach
+	void verifyNoMoreInteractionsOnMocks() {
+		verifyNoMoreInteractions(accessGroupRepositoryMock, accessUserRepositoryMock, accessConfigurationVersionRepositoryMock, transactionManagerMock);
+	}
+}
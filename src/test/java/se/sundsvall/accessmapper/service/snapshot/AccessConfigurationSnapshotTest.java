@@ -0,0 +1,135 @@
+package se.sundsvall.accessmapper.service.snapshot;
+
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import se.sundsvall.accessmapper.api.model.AccessGroup;
+import se.sundsvall.accessmapper.api.model.AccessLevel;
+import se.sundsvall.accessmapper.integration.db.model.AccessEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessGroupEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessTypeEntity;
+import se.sundsvall.accessmapper.integration.db.model.AccessUserEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static se.sundsvall.accessmapper.Constants.LOCAL_STORED_ACCESS_GROUP;
+
+class AccessConfigurationSnapshotTest {
+
+	private static final UUID ID = UUID.randomUUID();
+
+	@Test
+	void of() {
+		// Arrange
+		final var groupEntity = AccessGroupEntity.create()
+			.withId(ID)
+			.withGroupId("groupId")
+			.withAccessByType(List.of(AccessTypeEntity.create()
+				.withType("type")
+				.withAccess(List.of(AccessEntity.create().withPattern("pattern").withAccessLevel("RW")))));
+		final var userEntity1 = AccessUserEntity.create().withUserId("userId").withAccessByType(List.of(AccessTypeEntity.create().withType("type1")));
+		final var userEntity2 = AccessUserEntity.create().withUserId("userId").withAccessByType(List.of(AccessTypeEntity.create().withType("type2")));
+
+		// Act
+		final var snapshot = AccessConfigurationSnapshot.of(1, List.of(groupEntity, AccessGroupEntity.create()), List.of(userEntity1, userEntity2, AccessUserEntity.create()));
+
+		// Assert
+		assertThat(snapshot.accessGroupsByGroupId()).containsOnlyKeys("groupId");
+		assertThat(snapshot.getAccessGroup("groupId")).hasValueSatisfying(accessGroup -> {
+			assertThat(accessGroup.getId()).isEqualTo(ID.toString());
+			assertThat(accessGroup.getAccessByType()).singleElement().satisfies(accessType -> {
+				assertThat(accessType.getType()).isEqualTo("type");
+				assertThat(accessType.getAccess()).hasSize(1);
+			});
+		});
+		assertThat(snapshot.getAccessGroup("unknown")).isEmpty();
+		assertThat(snapshot.getUserAccess("userId"))
+			.hasSize(2)
+			.extracting(AccessGroup::getGroupId).containsOnly(LOCAL_STORED_ACCESS_GROUP);
+		assertThat(snapshot.getUserAccess("unknown")).isEmpty();
+	}
+
+	@Test
+	void getAccessLevel() {
+		// Arrange
+		final var groupEntity1 = createAccessGroupEntity("group1", "type", "FA/**", "LR");
+		final var groupEntity2 = createAccessGroupEntity("group2", "type", "FA/K1/*", "R");
+		final var groupEntity3 = createAccessGroupEntity("group3", "otherType", "FA/**", "RW");
+		final var userEntity = AccessUserEntity.create()
+			.withUserId("userId")
+			.withAccessByType(List.of(AccessTypeEntity.create()
+				.withType("type")
+				.withAccess(List.of(AccessEntity.create().withPattern("USER/**").withAccessLevel("RW")))));
+
+		final var snapshot = AccessConfigurationSnapshot.of(1, List.of(groupEntity1, groupEntity2, groupEntity3), List.of(userEntity));
+		final var groupIds = List.of("group1", "group2", "group3", "unknown");
+
+		// Act & Assert
+		assertThat(snapshot.getAccessLevel(groupIds, "userId", "type", "FA/K1/T1")).hasValue(AccessLevel.R);
+		assertThat(snapshot.getAccessLevel(groupIds, "userId", "type", "FA/K2/T1")).hasValue(AccessLevel.LR);
+		assertThat(snapshot.getAccessLevel(groupIds, "userId", "type", "USER/T1")).hasValue(AccessLevel.RW);
+		assertThat(snapshot.getAccessLevel(groupIds, "otherUser", "type", "USER/T1")).isEmpty();
+		assertThat(snapshot.getAccessLevel(groupIds, "userId", "otherType", "FA/K1/T1")).hasValue(AccessLevel.RW);
+		assertThat(snapshot.getAccessLevel(List.of(), "userId", "unknownType", "FA/K1/T1")).isEmpty();
+	}
+
+	@Test
+	void getByType() {
+		// Arrange
+		final var groupEntity = AccessGroupEntity.create()
+			.withGroupId("groupId")
+			.withAccessByType(List.of(
+				AccessTypeEntity.create().withType("type").withAccess(List.of(AccessEntity.create().withPattern("FA/**").withAccessLevel("R"))),
+				AccessTypeEntity.create().withType("type").withAccess(List.of(AccessEntity.create().withPattern("FB/**").withAccessLevel("R")))));
+		final var userEntity1 = AccessUserEntity.create().withUserId("userId").withAccessByType(List.of(
+			AccessTypeEntity.create().withType("type1"),
+			AccessTypeEntity.create().withType("type1")));
+		final var userEntity2 = AccessUserEntity.create().withUserId("userId").withAccessByType(List.of(AccessTypeEntity.create().withType("type2")));
+
+		final var snapshot = AccessConfigurationSnapshot.of(1, List.of(groupEntity), List.of(userEntity1, userEntity2));
+
+		// Act & Assert
+		assertThat(snapshot.getAccessGroup("groupId", "type")).isPresent();
+		assertThat(snapshot.getAccessGroup("groupId", null)).isPresent();
+		assertThat(snapshot.getAccessGroup("groupId", "otherType")).isEmpty();
+		assertThat(snapshot.getAccessGroup("unknown", "type")).isEmpty();
+		assertThat(snapshot.getUserAccess("userId", "type1")).singleElement()
+			.satisfies(accessGroup -> assertThat(accessGroup.getAccessByType()).hasSize(2));
+		assertThat(snapshot.getUserAccess("userId", "type2")).hasSize(1);
+		assertThat(snapshot.getUserAccess("userId", null)).hasSize(2);
+		assertThat(snapshot.getUserAccess("userId", "otherType")).isEmpty();
+		assertThat(snapshot.getUserAccess("unknown", "type1")).isEmpty();
+	}
+
+	@Test
+	void ofNullLists() {
+		// Act
+		final var snapshot = AccessConfigurationSnapshot.of(1, null, null);
+
+		// Assert
+		assertThat(snapshot.accessGroupsByGroupId()).isEmpty();
+		assertThat(snapshot.userAccessByUserId()).isEmpty();
+		assertThat(snapshot.groupPatternsByGroupId()).isEmpty();
+		assertThat(snapshot.userPatternsByUserId()).isEmpty();
+		assertThat(snapshot.userAccessByUserIdAndType()).isEmpty();
+	}
+
+	@Test
+	void isImmutable() {
+		// Arrange
+		final var snapshot = AccessConfigurationSnapshot.of(1, List.of(), List.of());
+		final var accessGroupsByGroupId = snapshot.accessGroupsByGroupId();
+		final var accessGroup = AccessGroup.create();
+
+		// Act & Assert
+		assertThatThrownBy(() -> accessGroupsByGroupId.put("groupId", accessGroup)).isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	private static AccessGroupEntity createAccessGroupEntity(final String groupId, final String type, final String pattern, final String accessLevel) {
+		return AccessGroupEntity.create()
+			.withGroupId(groupId)
+			.withAccessByType(List.of(AccessTypeEntity.create()
+				.withType(type)
+				.withAccess(List.of(AccessEntity.create().withPattern(pattern).withAccessLevel(accessLevel)))));
+	}
+}
@@ -0,0 +1,83 @@
+package se.sundsvall.accessmapper.service.snapshot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import se.sundsvall.accessmapper.api.model.AccessLevel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.accessmapper.api.model.AccessLevel.LR;
+import static se.sundsvall.accessmapper.api.model.AccessLevel.R;
+import static se.sundsvall.accessmapper.api.model.AccessLevel.RW;
+
+class AccessPatternTrieTest {
+
+	@ParameterizedTest
+	@CsvSource(nullValues = "NULL", value = {
+		"FA/K1/T1, R",
+		"/FA/K1/T1/, R",
+		"FA/K2, LR",
+		"FA/K2/T1/T2, LR",
+		"FB/K1/T1, RW",
+		"FB/K1/T2, NULL",
+		"FC/X/T1, R",
+		"FC/T1, NULL",
+		"FD, NULL"
+	})
+	void match(final String resource, final AccessLevel expectedAccessLevel) {
+		// Arrange
+		final var trie = new AccessPatternTrie();
+		trie.add("FA/K1/T1", R);
+		trie.add("FA/K2/**", LR);
+		trie.add("FB/*/T1", RW);
+		trie.add("FC/*/T1", R);
+
+		// Act
+		final var result = trie.match(AccessPatternTrie.split(resource));
+
+		// Assert
+		assertThat(result).isEqualTo(expectedAccessLevel);
+	}
+
+	@Test
+	void matchReturnsStrongestLevel() {
+		// Arrange
+		final var trie = new AccessPatternTrie();
+		trie.add("FA/**", LR);
+		trie.add("FA/K1/*", RW);
+		trie.add("FA/K1/T1", R);
+
+		// Act & Assert
+		assertThat(trie.match(AccessPatternTrie.split("FA/K1/T1"))).isEqualTo(RW);
+		assertThat(trie.match(AccessPatternTrie.split("FA/K2/T1"))).isEqualTo(LR);
+	}
+
+	@Test
+	void addKeepsStrongestLevelForSamePattern() {
+		// Arrange
+		final var trie = new AccessPatternTrie();
+		trie.add("FA/**", RW);
+		trie.add("FA/**", LR);
+
+		// Act & Assert
+		assertThat(trie.match(AccessPatternTrie.split("FA"))).isEqualTo(RW);
+	}
+
+	@Test
+	void matchAnySegmentsInTheMiddle() {
+		// Arrange
+		final var trie = new AccessPatternTrie();
+		trie.add("FA/**/T1", R);
+
+		// Act & Assert
+		assertThat(trie.match(AccessPatternTrie.split("FA/T1"))).isEqualTo(R);
+		assertThat(trie.match(AccessPatternTrie.split("FA/K1/K2/T1"))).isEqualTo(R);
+		assertThat(trie.match(AccessPatternTrie.split("FA/K1/T2"))).isNull();
+	}
+
+	@Test
+	void split() {
+		assertThat(AccessPatternTrie.split("/FA//K1/")).containsExactly("FA", "K1");
+		assertThat(AccessPatternTrie.split("")).isEmpty();
+	}
+}
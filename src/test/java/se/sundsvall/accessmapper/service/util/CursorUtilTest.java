@@ -0,0 +1,114 @@
+package se.sundsvall.accessmapper.service.util;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import se.sundsvall.dept44.problem.ThrowableProblem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.springframework.data.domain.Sort.Direction.ASC;
+import static org.springframework.data.domain.Sort.Direction.DESC;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+class CursorUtilTest {
+
+	@Test
+	void toSort() {
+		assertThat(CursorUtil.toSort(null)).isEqualTo(Sort.unsorted());
+		assertThat(CursorUtil.toSort("groupId")).isEqualTo(Sort.by(ASC, "groupId"));
+		assertThat(CursorUtil.toSort("-groupId")).isEqualTo(Sort.by(DESC, "groupId"));
+	}
+
+	@Test
+	void toKeysetSort() {
+		assertThat(CursorUtil.toKeysetSort(null)).isEqualTo(Sort.by(ASC, "id"));
+		assertThat(CursorUtil.toKeysetSort("-id")).isEqualTo(Sort.by(DESC, "id"));
+		assertThat(CursorUtil.toKeysetSort("groupId")).isEqualTo(Sort.by(ASC, "groupId", "id"));
+		assertThat(CursorUtil.toKeysetSort("-groupId")).isEqualTo(Sort.by(DESC, "groupId", "id"));
+	}
+
+	@Test
+	void cursorRoundTrip() {
+		// Arrange
+		final var sort = CursorUtil.toKeysetSort("-groupId");
+		final var ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+		final var window = Window.from(List.of("first", "last"), index -> ScrollPosition.forward(Map.of("groupId", "group.with.dots", "id", ids.get(index))), true);
+
+		// Act
+		final var cursor = CursorUtil.toCursor(window, sort);
+		final var keys = CursorUtil.readKeys(cursor, sort);
+
+		// Assert
+		assertThat(cursor).doesNotContain("group");
+		assertThat(keys).containsExactlyInAnyOrderEntriesOf(Map.of("groupId", "group.with.dots", "id", ids.getLast()));
+	}
+
+	@Test
+	void cursorRoundTripWithoutSortKey() {
+		// Arrange
+		final var sort = CursorUtil.toKeysetSort("groupId");
+		final var id = UUID.randomUUID();
+		final var keysWithoutGroupId = new HashMap<String, Object>();
+		keysWithoutGroupId.put("groupId", null);
+		keysWithoutGroupId.put("id", id);
+		final var window = Window.from(List.of("last"), index -> ScrollPosition.forward(keysWithoutGroupId), true);
+
+		// Act
+		final var cursor = CursorUtil.toCursor(window, sort);
+		final var keys = CursorUtil.readKeys(cursor, sort);
+
+		// Assert
+		assertThat(cursor).startsWith("~.");
+		assertThat(keys).containsEntry("groupId", null).containsEntry("id", id).hasSize(2);
+	}
+
+	@Test
+	void cursorRoundTripWithNullAsText() {
+		// Arrange
+		final var sort = CursorUtil.toKeysetSort("groupId");
+		final var id = UUID.randomUUID();
+		final var window = Window.from(List.of("last"), index -> ScrollPosition.forward(Map.of("groupId", "null", "id", id)), true);
+
+		// Act
+		final var keys = CursorUtil.readKeys(CursorUtil.toCursor(window, sort), sort);
+
+		// Assert
+		assertThat(keys).containsExactlyInAnyOrderEntriesOf(Map.of("groupId", "null", "id", id));
+	}
+
+	@Test
+	void toCursorOnLastWindow() {
+		// Arrange
+		final var window = Window.from(List.of("last"), index -> ScrollPosition.forward(Map.of("id", "id")), false);
+
+		// Act & Assert
+		assertThat(CursorUtil.toCursor(window, Sort.by("id"))).isNull();
+	}
+
+	@Test
+	void afterCursorWithoutCursor() {
+		final Specification<Object> specification = (root, query, criteriaBuilder) -> null;
+
+		assertThat(CursorUtil.afterCursor(specification, null, Sort.by("id"))).isSameAs(specification);
+	}
+
+	@Test
+	void afterInvalidCursor() {
+		assertThatExceptionOfType(ThrowableProblem.class)
+			.isThrownBy(() -> CursorUtil.afterCursor((root, query, criteriaBuilder) -> null, "a.b.c", Sort.by("groupId", "id")))
+			.satisfies(problem -> assertThat(problem.getStatus()).isEqualTo(BAD_REQUEST));
+		assertThatExceptionOfType(ThrowableProblem.class)
+			.isThrownBy(() -> CursorUtil.afterCursor((root, query, criteriaBuilder) -> null, "!!", Sort.by("id")))
+			.satisfies(problem -> assertThat(problem.getStatus()).isEqualTo(BAD_REQUEST));
+		assertThatExceptionOfType(ThrowableProblem.class)
+			.isThrownBy(() -> CursorUtil.afterCursor((root, query, criteriaBuilder) -> null, "aWQy", Sort.by("id")))
+			.satisfies(problem -> assertThat(problem.getStatus()).isEqualTo(BAD_REQUEST));
+	}
+}
@@ -0,0 +1,20 @@
+package se.sundsvall.accessmapper.service.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ETagUtilTest {
+
+	@Test
+	void toETag() {
+		// Act
+		final var eTag = ETagUtil.toETag(1L, "joe01doe", null);
+
+		// Assert
+		assertThat(eTag).matches("\"[0-9a-f]{32}\"");
+		assertThat(ETagUtil.toETag(1L, "joe01doe", null)).isEqualTo(eTag);
+		assertThat(ETagUtil.toETag(2L, "joe01doe", null)).isNotEqualTo(eTag);
+		assertThat(ETagUtil.toETag(1L, "joe01doe", "type")).isNotEqualTo(eTag);
+	}
+}
@@ -0,0 +1,32 @@
+package se.sundsvall.accessmapper.service.util;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdUtilTest {
+
+	@Test
+	void toUuid() {
+		// Arrange
+		final var id = "0190a3c4-7b2e-7d3f-8a1b-2c3d4e5f6a7b";
+
+		// Act & Assert
+		assertThat(IdUtil.toUuid(id)).contains(UUID.fromString(id));
+		assertThat(IdUtil.toUuid(id.toUpperCase())).contains(UUID.fromString(id));
+	}
+
+	@ParameterizedTest
+	@NullSource
+	@ValueSource(strings = {
+		"", "not-a-uuid", "1-1-1-1-1", "0190a3c4-7b2e-7d3f-8a1b-2c3d4e5f6a7b0"
+	})
+	void toUuidInvalid(final String id) {
+		// Act & Assert
+		assertThat(IdUtil.toUuid(id)).isEmpty();
+	}
+}
@@ -0,0 +1,74 @@
+package se.sundsvall.accessmapper.service.util;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import se.sundsvall.accessmapper.api.model.Access;
+import se.sundsvall.accessmapper.api.model.AccessGroup;
+import se.sundsvall.accessmapper.api.model.AccessLevel;
+import se.sundsvall.accessmapper.api.model.AccessType;
+import se.sundsvall.dept44.problem.ThrowableProblem;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+class MergePatchUtilTest {
+
+	private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+
+	@Test
+	void merge() {
+		// Arrange
+		final var target = JSON_MAPPER.readTree("""
+			{"a": "b", "c": {"d": "e", "f": "g"}, "h": [1, 2]}
+			""");
+		final var patch = JSON_MAPPER.readTree("""
+			{"a": "z", "c": {"f": null}, "h": [3], "i": {"j": "k"}}
+			""");
+
+		// Act
+		final var result = MergePatchUtil.merge(target, patch);
+
+		// Assert
+		assertThat(result).isEqualTo(JSON_MAPPER.readTree("""
+			{"a": "z", "c": {"d": "e"}, "h": [3], "i": {"j": "k"}}
+			"""));
+		assertThat(target).isEqualTo(JSON_MAPPER.readTree("""
+			{"a": "b", "c": {"d": "e", "f": "g"}, "h": [1, 2]}
+			"""));
+	}
+
+	@Test
+	void applyMergePatch() {
+		// Arrange
+		final var accessGroup = AccessGroup.create()
+			.withId("id")
+			.withGroupId("groupId")
+			.withAccessByType(List.of(AccessType.create()
+				.withType("type")
+				.withAccess(List.of(Access.create().withPattern("pattern").withAccessLevel(AccessLevel.R)))));
+		final var patch = JSON_MAPPER.readTree("""
+			{"groupId": "newGroupId"}
+			""");
+
+		// Act
+		final var result = MergePatchUtil.applyMergePatch(JSON_MAPPER, accessGroup, patch, AccessGroup.class);
+
+		// Assert
+		assertThat(result).isEqualTo(accessGroup.withGroupId("newGroupId"));
+	}
+
+	@Test
+	void applyInvalidMergePatch() {
+		// Arrange
+		final var patch = JSON_MAPPER.readTree("""
+			{"accessByType": [{"access": [{"accessLevel": "UNKNOWN"}]}]}
+			""");
+
+		// Act & Assert
+		assertThatExceptionOfType(ThrowableProblem.class)
+			.isThrownBy(() -> MergePatchUtil.applyMergePatch(JSON_MAPPER, AccessGroup.create(), patch, AccessGroup.class))
+			.satisfies(problem -> assertThat(problem.getStatus()).isEqualTo(BAD_REQUEST));
+	}
+}
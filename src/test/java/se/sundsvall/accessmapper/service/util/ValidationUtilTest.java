@@ -0,0 +1,27 @@
+package se.sundsvall.accessmapper.service.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import se.sundsvall.accessmapper.api.model.Access;
+import se.sundsvall.accessmapper.api.model.AccessLevel;
+import se.sundsvall.accessmapper.api.model.AccessType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValidationUtilTest {
+
+	@Test
+	void isAccessLevelMissing() {
+		final var withAccessLevel = Access.create().withPattern("pattern").withAccessLevel(AccessLevel.R);
+		final var withoutAccessLevel = Access.create().withPattern("pattern");
+		final var accessList = new ArrayList<Access>();
+		accessList.add(null);
+
+		assertThat(ValidationUtil.isAccessLevelMissing(null)).isFalse();
+		assertThat(ValidationUtil.isAccessLevelMissing(List.of(AccessType.create().withType("type")))).isFalse();
+		assertThat(ValidationUtil.isAccessLevelMissing(List.of(AccessType.create().withType("type").withAccess(List.of(withAccessLevel))))).isFalse();
+		assertThat(ValidationUtil.isAccessLevelMissing(List.of(AccessType.create().withType("type").withAccess(List.of(withAccessLevel, withoutAccessLevel))))).isTrue();
+		assertThat(ValidationUtil.isAccessLevelMissing(List.of(AccessType.create().withType("type").withAccess(accessList)))).isTrue();
+	}
+}
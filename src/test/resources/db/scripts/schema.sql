@@ -1,33 +1,44 @@
 
     create table access (
+        access_type_id binary(16),
+        id binary(16) not null,
         access_level varchar(255),
-        access_type_id varchar(255),
-        id varchar(255) not null,
         pattern varchar(255),
         primary key (id)
     ) engine=InnoDB;
 
+    create table access_configuration_version (
+        version bigint not null,
+        municipality_id varchar(255) not null,
+        namespace varchar(255) not null,
+        primary key (municipality_id, namespace)
+    ) engine=InnoDB;
+
     create table access_group (
+        version bigint not null,
+        id binary(16) not null,
         group_id varchar(36),
-        id varchar(255) not null,
         municipality_id varchar(255),
         namespace varchar(255),
+        access_tree longtext,
         primary key (id)
     ) engine=InnoDB;
 
     create table access_type (
-        access_group_id varchar(255),
-        access_user_id varchar(255),
-        id varchar(255) not null,
+        access_group_id binary(16),
+        access_user_id binary(16),
+        id binary(16) not null,
         type varchar(255),
         primary key (id)
     ) engine=InnoDB;
 
     create table access_user (
-        id varchar(255) not null,
+        version bigint not null,
+        id binary(16) not null,
         municipality_id varchar(255),
         namespace varchar(255),
         user_id varchar(255),
+        access_tree longtext,
         primary key (id)
     ) engine=InnoDB;
 
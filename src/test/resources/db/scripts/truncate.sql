@@ -3,4 +3,5 @@ truncate table access_type;
 truncate table access_group;
 truncate table access_user;
 truncate table access;
+truncate table access_configuration_version;
 SET FOREIGN_KEY_CHECKS = 1;